@@ -0,0 +1,172 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.example.cs5031p3.demo.backend.model.SyntheticCohort;
+import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.service.CohortGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the DAO hot paths against an in-memory H2 database holding a cohort of 1k, 10k or 100k
+ * registrations. Every student registers for five projects, there is one project for every twenty registrations and
+ * one staff member for every five projects, so the staff listing returns about a hundred registrations on average at
+ * any size; project popularity follows a Zipf distribution, so some staff members get many more.
+ * <p>
+ * The benchmarks only run in the benchmark profile, which adds JMH and this source folder. Run them with
+ * {@code mvn -Pbenchmark test-compile exec:exec}, which profiles the allocation rate with {@code -prof gc}; other JMH
+ * options, such as {@code -p registrations=10000}, go in {@code -Djmh.args="DaoBenchmark -prof gc ..."}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DaoBenchmark {
+
+    private static final int REGISTRATIONS_PER_STUDENT = 5;
+    private static final int REGISTRATIONS_PER_PROJECT = 20;
+    private static final int PROJECTS_PER_STAFF = 5;
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    /**
+     * The number of seeded registrations.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int registrations;
+
+    private EmbeddedDatabase dataSource;
+    private ProjectDAO projectDAO;
+    private UserDAO userDAO;
+    private ProjectRegistrationsDAO projectRegistrationsDAO;
+    private int[] studentIds;
+    private int[] staffIds;
+    private int[] projectIds;
+    private String[] usernames;
+    private int lastSeededRegistration;
+
+    /**
+     * Creates the database and seeds the cohort with the CohortGenerator.
+     * @throws SQLException if a database access error occurs
+     */
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        DatabaseManager databaseManager = new DatabaseManager(dataSource);
+        projectDAO = new ProjectDAO(databaseManager);
+        userDAO = new UserDAO(databaseManager);
+        projectRegistrationsDAO = new ProjectRegistrationsDAO(databaseManager);
+
+        int students = registrations / REGISTRATIONS_PER_STUDENT;
+        int projects = Math.max(REGISTRATIONS_PER_STUDENT, registrations / REGISTRATIONS_PER_PROJECT);
+        int staff = Math.max(1, projects / PROJECTS_PER_STAFF);
+        SyntheticCohort cohort = new CohortGenerator(userDAO, projectDAO, projectRegistrationsDAO)
+                .generate(students, staff, projects, REGISTRATIONS_PER_STUDENT, ZIPF_EXPONENT, 42);
+        studentIds = cohort.getStudentIds();
+        staffIds = cohort.getStaffIds();
+        projectIds = cohort.getProjectIds();
+        lastSeededRegistration = cohort.getRegistrationIds()[cohort.getRegistrationIds().length - 1];
+        usernames = new String[studentIds.length + staffIds.length];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = i < studentIds.length
+                    ? SyntheticCohort.studentUsername(i)
+                    : SyntheticCohort.staffUsername(i - studentIds.length);
+        }
+    }
+
+    /**
+     * Deletes the registrations created by the previous iteration, so that every iteration sees the seeded cohort.
+     * @throws SQLException if a database access error occurs
+     */
+    @Setup(Level.Iteration)
+    public void resetRegistrations() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(
+                     "DELETE FROM project_registrations WHERE registration_id > ?")) {
+            pstmt.setInt(1, lastSeededRegistration);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Shuts the database down.
+     */
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Reads the whole project catalogue.
+     * @return The projects
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public List<Project> getAllProjects() throws SQLException {
+        return projectDAO.getAllProjects();
+    }
+
+    /**
+     * Looks a random user up by username, as a login does.
+     * @return The user
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public User getUserByUsername() throws SQLException {
+        return userDAO.getUserByUsername(usernames[ThreadLocalRandom.current().nextInt(usernames.length)]);
+    }
+
+    /**
+     * Lists the registrations for the projects of a random staff member.
+     * @return The registrations
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public List<Registration> findRegistrationStudentsByStaffId() throws SQLException {
+        return projectRegistrationsDAO.findRegistrationStudentsByStaffId(
+                staffIds[ThreadLocalRandom.current().nextInt(staffIds.length)]);
+    }
+
+    /**
+     * Registers a random student for a random project; most pairs are new, the rest are rejected as duplicates.
+     * @return The outcome of the registration
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public RegistrationResultEnum createProjectRegistration() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return projectRegistrationsDAO.createProjectRegistration(projectIds[random.nextInt(projectIds.length)],
+                studentIds[random.nextInt(studentIds.length)]);
+    }
+}
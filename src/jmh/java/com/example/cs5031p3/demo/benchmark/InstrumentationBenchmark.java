@@ -0,0 +1,183 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.service.MethodMetricsAspect;
+import com.example.cs5031p3.demo.backend.service.ProjectCatalogueCache;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import com.example.cs5031p3.demo.backend.service.UserService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the overhead of the MethodMetricsAspect. Each call is made directly and through a proxy recording
+ * into a Prometheus registry with the histogram buckets the application uses, and the difference between the two is
+ * the cost per instrumented call. A service call answered from memory, by a DAO stub, isolates that cost; the cheapest
+ * DAO call, a primary-key lookup of a user type, and a read of the sample catalogue put it next to real queries.
+ * <p>
+ * The benchmarks only run in the benchmark profile. Run them with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="InstrumentationBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private EmbeddedDatabase dataSource;
+    private UserDAO userDAO;
+    private UserDAO instrumentedUserDAO;
+    private ProjectDAO projectDAO;
+    private ProjectDAO instrumentedProjectDAO;
+    private UserService userService;
+    private UserService instrumentedUserService;
+
+    /**
+     * Creates the database with the sample data and the direct and instrumented DAOs.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        DatabaseManager databaseManager = new DatabaseManager(dataSource);
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(10))
+                        .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(10))
+                        .build()
+                        .merge(config);
+            }
+        });
+        MethodMetricsAspect aspect = new MethodMetricsAspect(meterRegistry);
+        userDAO = new UserDAO(databaseManager);
+        projectDAO = new ProjectDAO(databaseManager);
+        instrumentedUserDAO = instrument(userDAO, aspect);
+        instrumentedProjectDAO = instrument(projectDAO, aspect);
+
+        User user = new User(1, "Student John Doe", "20240001", "password", 1);
+        UserDAO stub = new UserDAO(databaseManager) {
+            @Override
+            public User getUserById(int id) {
+                return user;
+            }
+        };
+        userService = new UserService(stub, new UserRoleCache(stub), new ProjectCatalogueCache(projectDAO, 0));
+        instrumentedUserService = instrument(userService, aspect);
+    }
+
+    /**
+     * Shuts the database down.
+     */
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Proxies a DAO with the aspect, as the application context does.
+     * @param target The DAO
+     * @param aspect The aspect
+     * @return The proxy
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T instrument(T target, MethodMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    /**
+     * Calls a service method answered from memory directly.
+     * @return The user
+     * @throws SQLException never, as the DAO is a stub
+     */
+    @Benchmark
+    public User getUserById() throws SQLException {
+        return userService.getUserById(1);
+    }
+
+    /**
+     * Calls a service method answered from memory through the instrumented proxy.
+     * @return The user
+     * @throws SQLException never, as the DAO is a stub
+     */
+    @Benchmark
+    public User getUserByIdInstrumented() throws SQLException {
+        return instrumentedUserService.getUserById(1);
+    }
+
+    /**
+     * Looks a user type up directly.
+     * @return The type code
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public Integer getUserTypeId() throws SQLException {
+        return userDAO.getUserTypeId(1);
+    }
+
+    /**
+     * Looks a user type up through the instrumented proxy.
+     * @return The type code
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public Integer getUserTypeIdInstrumented() throws SQLException {
+        return instrumentedUserDAO.getUserTypeId(1);
+    }
+
+    /**
+     * Reads the sample catalogue directly.
+     * @return The projects
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public List<Project> getAllProjects() throws SQLException {
+        return projectDAO.getAllProjects();
+    }
+
+    /**
+     * Reads the sample catalogue through the instrumented proxy.
+     * @return The projects
+     * @throws SQLException if a database access error occurs
+     */
+    @Benchmark
+    public List<Project> getAllProjectsInstrumented() throws SQLException {
+        return instrumentedProjectDAO.getAllProjects();
+    }
+}
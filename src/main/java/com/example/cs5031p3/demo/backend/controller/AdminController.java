@@ -0,0 +1,50 @@
+package com.example.cs5031p3.demo.backend.controller;
+
+import com.example.cs5031p3.demo.backend.dao.QueryMonitor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller class for handling HTTP requests related to operating the backend.
+ */
+@RestController
+@CrossOrigin
+@RequestMapping("/admin")
+public class AdminController {
+
+    /**
+     * The largest number of database events returned at once.
+     */
+    public static final int MAX_EVENTS = 1000;
+
+    private final QueryMonitor queryMonitor;
+
+    public AdminController(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    /**
+     * Endpoint for the most recent slow queries and long-held connections flagged by the query monitor.
+     *
+     * @param limit The largest number of events returned, 100 by default and at most {@link #MAX_EVENTS}
+     * @return ResponseEntity containing the events, newest first, or a bad request if the limit is out of range
+     */
+    @GetMapping("/db-events")
+    public ResponseEntity<Object> getDatabaseEvents(@RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_EVENTS) {
+            return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_EVENTS);
+        }
+        return ResponseEntity.ok(queryMonitor.getEvents(limit));
+    }
+
+    /**
+     * Endpoint for discarding the database events kept by the query monitor.
+     *
+     * @return ResponseEntity indicating the events were discarded
+     */
+    @DeleteMapping("/db-events")
+    public ResponseEntity<String> clearDatabaseEvents() {
+        queryMonitor.clear();
+        return ResponseEntity.ok("Database events cleared");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.cs5031p3.demo.backend.controller;
+
+import com.example.cs5031p3.demo.backend.dto.AllocationJobDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.service.AllocationJobScheduler;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import com.example.cs5031p3.demo.backend.service.SimulationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controller class for handling HTTP requests related to bulk project allocation.
+ */
+@RestController
+@CrossOrigin
+@RequestMapping("/allocation")
+public class AllocationController {
+    private final AllocationService allocationService;
+    private final SimulationService simulationService;
+    private final AllocationJobScheduler allocationJobScheduler;
+
+    public AllocationController(AllocationService allocationService, SimulationService simulationService,
+                                AllocationJobScheduler allocationJobScheduler) {
+        this.allocationService = allocationService;
+        this.simulationService = simulationService;
+        this.allocationJobScheduler = allocationJobScheduler;
+    }
+
+    /**
+     * Endpoint for allocating projects to every unassigned student from their ranked registrations.
+     *
+     * @param mode The algorithm to allocate with, STABLE by default or OPTIMAL
+     * @param improveMillis The time to spend improving the allocation by local search, none by default and at most
+     *                      {@link AllocationService#MAX_IMPROVE_MILLIS}
+     * @return ResponseEntity containing the summary of the run, or an error message if it failed
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Object> runAllocation(@RequestParam(defaultValue = "STABLE") AllocationModeEnum mode,
+                                                @RequestParam(defaultValue = "0") long improveMillis) {
+        if (improveMillis < 0 || improveMillis > AllocationService.MAX_IMPROVE_MILLIS) {
+            return ResponseEntity.badRequest().body(
+                    "The improvement budget must be between 0 and " + AllocationService.MAX_IMPROVE_MILLIS + " ms");
+        }
+        try {
+            return ResponseEntity.ok(allocationService.runAllocation(mode, improveMillis));
+        } catch (SQLException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for a dry run of what-if scenarios over the current registrations, which writes nothing.
+     *
+     * @param scenarios The variants to simulate, at most {@link SimulationService#MAX_SCENARIOS}
+     * @return ResponseEntity containing the quality statistics of each scenario, or an error message if it failed
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<Object> simulate(@RequestBody List<SimulationScenarioDTO> scenarios) {
+        if (scenarios.isEmpty() || scenarios.size() > SimulationService.MAX_SCENARIOS) {
+            return ResponseEntity.badRequest()
+                    .body("Between 1 and " + SimulationService.MAX_SCENARIOS + " scenarios can be simulated");
+        }
+        try {
+            return ResponseEntity.ok(simulationService.simulate(scenarios));
+        } catch (SQLException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for queuing an allocation run in the background. Runs are serialised, in the order they were queued.
+     *
+     * @param mode The algorithm to allocate with, STABLE by default or OPTIMAL
+     * @param improveMillis The time to spend improving the allocation by local search, none by default and at most
+     *                      {@link AllocationService#MAX_IMPROVE_MILLIS}
+     * @return ResponseEntity containing the state of the queued job, or an error message if the queue is full
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<Object> submitJob(@RequestParam(defaultValue = "STABLE") AllocationModeEnum mode,
+                                            @RequestParam(defaultValue = "0") long improveMillis) {
+        if (improveMillis < 0 || improveMillis > AllocationService.MAX_IMPROVE_MILLIS) {
+            return ResponseEntity.badRequest().body(
+                    "The improvement budget must be between 0 and " + AllocationService.MAX_IMPROVE_MILLIS + " ms");
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(allocationJobScheduler.submit(mode, improveMillis));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many allocation jobs are queued");
+        }
+    }
+
+    /**
+     * Endpoint for the phase, progress and timings of a queued allocation run.
+     *
+     * @param id The ID of the job
+     * @return ResponseEntity containing the state of the job, or not found if it is unknown or expired
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Object> getJob(@PathVariable long id) {
+        AllocationJobDTO job = allocationJobScheduler.getJob(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    /**
+     * Endpoint for cancelling a queued allocation run. A running job stops before its next phase or within its
+     * local-search pass, so nothing is written unless it has already started writing back.
+     *
+     * @param id The ID of the job
+     * @return ResponseEntity containing the state of the job, or not found if it is unknown or expired
+     */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<Object> cancelJob(@PathVariable long id) {
+        AllocationJobDTO job = allocationJobScheduler.cancel(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+}
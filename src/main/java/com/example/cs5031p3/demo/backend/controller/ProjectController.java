@@ -3,12 +3,24 @@ package com.example.cs5031p3.demo.backend.controller;
 import com.example.cs5031p3.demo.backend.model.Project;
 import com.example.cs5031p3.demo.backend.model.User;
 import com.example.cs5031p3.demo.backend.service.ProjectService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,11 +32,28 @@ import java.util.Objects;
 @CrossOrigin
 @RequestMapping("/project")
 public class ProjectController {
+    /**
+     * The error returned for a project whose capacity is below 1.
+     */
+    private static final String INVALID_CAPACITY = "The capacity must be at least 1";
+
     private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private volatile SerializedCatalogue serializedCatalogue;
+
+    /**
+     * The JSON of one catalogue version, kept so that it is serialized and hashed only once.
+     * @param projects The catalogue list the JSON was written from, compared by identity
+     * @param json The UTF-8 JSON bytes of the list
+     * @param eTag The strong entity tag of the bytes
+     */
+    private record SerializedCatalogue(List<Project> projects, byte[] json, String eTag) {
+    }
 
     @Autowired
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ObjectMapper objectMapper) {
         this.projectService = projectService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -35,6 +64,9 @@ public class ProjectController {
      */
     @PostMapping("/create")
     public ResponseEntity<String> createProject(@RequestBody Project project){
+        if (!hasValidCapacity(project)) {
+            return ResponseEntity.badRequest().body(INVALID_CAPACITY);
+        }
         try {
             projectService.createProject(project);
             return ResponseEntity.ok("The new project is created");
@@ -43,6 +75,25 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Endpoint for creating several projects at once.
+     *
+     * @param projects The projects to be created
+     * @return ResponseEntity indicating success or failure of the operation
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<String> createProjects(@RequestBody List<Project> projects){
+        if (!projects.stream().allMatch(ProjectController::hasValidCapacity)) {
+            return ResponseEntity.badRequest().body(INVALID_CAPACITY);
+        }
+        try {
+            projectService.createProjects(projects);
+            return ResponseEntity.ok(projects.size() + " new projects are created");
+        } catch (SQLException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
     /**
      * Endpoint for retrieving a project by its ID.
      *
@@ -61,13 +112,16 @@ public class ProjectController {
     }
 
     /**
-     * Endpoint for updating an existing project.
+     * Endpoint for updating an existing project. A project sent without a capacity keeps its stored one.
      *
      * @param project The project with updated information
      * @return ResponseEntity indicating success or failure of the operation
      */
     @PutMapping("/")
     public ResponseEntity<?> updateProject(@RequestBody Project project) {
+        if (!hasValidCapacity(project)) {
+            return ResponseEntity.badRequest().body(INVALID_CAPACITY);
+        }
         try {
             projectService.updateProject(project);
             return ResponseEntity.ok().body("Project updated successfully.");
@@ -93,24 +147,108 @@ public class ProjectController {
     }
 
     /**
-     * Endpoint for retrieving all projects.
+     * Endpoint for retrieving all projects, or one page of them when a limit is given.
+     * The full list is written from JSON bytes serialized once per catalogue version and carries a strong ETag,
+     * so a client sending the current tag in If-None-Match gets 304 Not Modified without a body. A page is sliced
+     * out of the same catalogue version and carries a tag derived from the catalogue's, so polling a page is
+     * answered with 304 too until the catalogue changes.
      *
-     * @return ResponseEntity containing a list of projects if available, or an error message if not
+     * @param after The cursor returned with the previous page; only used together with limit
+     * @param limit The page size; when absent, every project is returned as a plain list
+     * @param request The current request, used to evaluate If-None-Match
+     * @return ResponseEntity containing a list of projects or a page of projects, or an error message if not available
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Project>> getAllProjects() {
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false, defaultValue = "0") int after,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest request) {
         try {
+            if (limit != null && limit < 1) {
+                return ResponseEntity.badRequest().body("The limit must be positive");
+            }
             List<Project> projects = projectService.getAllProjects();
-            if (projects.isEmpty()) {
+            if (limit == null && projects.isEmpty()) {
                 return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.ok(projects);
             }
-        } catch (SQLException e) {
+            SerializedCatalogue catalogue = serialize(projects);
+            String eTag = limit == null ? catalogue.eTag()
+                    : catalogue.eTag().substring(0, catalogue.eTag().length() - 1) + "-" + after + "-" + limit + "\"";
+            if (request.checkNotModified(eTag)) {
+                // The status and ETag of the 304 response have already been set
+                return null;
+            }
+            if (limit != null) {
+                return ResponseEntity.ok().eTag(eTag).body(projectService.getProjectsPage(projects, after, limit));
+            }
+            return ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(catalogue.json());
+        } catch (SQLException | JsonProcessingException e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Checks that a project's capacity is either absent or at least 1.
+     *
+     * @param project The project sent by the client
+     * @return true if the capacity can be stored
+     */
+    private static boolean hasValidCapacity(Project project) {
+        return project.getCapacity() == null || project.getCapacity() >= 1;
+    }
+
+    /**
+     * Returns the JSON and ETag of the given catalogue, serializing it only if it is a different list
+     * from the one serialized last. The catalogue cache hands out the same list until a write or expiry.
+     *
+     * @param projects The catalogue list
+     * @return The serialized catalogue
+     * @throws JsonProcessingException if the projects cannot be serialized
+     */
+    private SerializedCatalogue serialize(List<Project> projects) throws JsonProcessingException {
+        SerializedCatalogue current = serializedCatalogue;
+        if (current != null && current.projects() == projects) {
+            return current;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(projects);
+        String eTag;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            eTag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        current = new SerializedCatalogue(projects, json, eTag);
+        serializedCatalogue = current;
+        return current;
+    }
+
+    /**
+     * Endpoint for streaming all projects, selected with /project/all?stream=true.
+     * Every project is written to the response as one JSON array while it is read from the database, so the
+     * catalogue is never held in memory; an empty catalogue is returned as [] rather than 204.
+     * Errors met after the response has started can only abort it, so they surface as an IOException.
+     *
+     * @return ResponseEntity whose body writes the projects a project at a time
+     */
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllProjects() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            try {
+                generator.writeStartArray();
+                projectService.streamAllProjects(project -> writer.writeValue(generator, project));
+                generator.writeEndArray();
+            } catch (SQLException e) {
+                throw new IOException("Failed to stream projects", e);
+            } finally {
+                generator.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Endpoint for retrieving projects by staff ID.
      *
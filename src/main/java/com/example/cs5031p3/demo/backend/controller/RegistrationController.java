@@ -1,10 +1,22 @@
 package com.example.cs5031p3.demo.backend.controller;
 
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import com.example.cs5031p3.demo.backend.service.RegistrationService;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -18,9 +30,14 @@ import java.util.Map;
 @RequestMapping("/registration")
 public class RegistrationController {
     private final RegistrationService registrationService;
+    private final WaitlistService waitlistService;
+    private final ObjectMapper objectMapper;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService, WaitlistService waitlistService,
+                                  ObjectMapper objectMapper) {
         this.registrationService = registrationService;
+        this.waitlistService = waitlistService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -34,8 +51,12 @@ public class RegistrationController {
         int projectId = requestBody.get("projectId");
         int studentId = requestBody.get("studentId");
         try {
-            registrationService.createProjectRegistration(projectId, studentId);
-            return ResponseEntity.ok("Project registration created successfully");
+            RegistrationResultEnum result = registrationService.createProjectRegistration(projectId, studentId);
+            if (result == RegistrationResultEnum.CREATED) {
+                return ResponseEntity.ok(result.getDescription());
+            } else {
+                return ResponseEntity.badRequest().body(result.getDescription());
+            }
         } catch (SQLException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -72,6 +93,45 @@ public class RegistrationController {
         }
     }
 
+    /**
+     * Endpoint for streaming registration students by staff ID, selected with ?stream=true.
+     * The registrations are written to the response as one JSON array while they are read from the database.
+     * The staff check runs before the response starts; errors met after that can only abort it.
+     *
+     * @param staffId The ID of the staff member
+     * @return ResponseEntity whose body writes the registrations a row at a time, or the error message
+     */
+    @GetMapping(value = "/students-registration/{staffId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamRegistrationStudentsByStaffId(@PathVariable int staffId) {
+        String error;
+        try {
+            error = registrationService.isStaff(staffId) ? null : "The user is not a staff";
+        } catch (SQLException e) {
+            error = e.getMessage();
+        }
+        if (error != null) {
+            // The return type is fixed by the streaming handler, so the message is written as a streamed body
+            byte[] message = error.getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(message));
+        }
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            try {
+                generator.writeStartArray();
+                registrationService.streamRegistrationStudentsByStaffId(staffId,
+                        registration -> writer.writeValue(generator, registration));
+                generator.writeEndArray();
+            } catch (SQLException e) {
+                throw new IOException("Failed to stream registrations", e);
+            } finally {
+                generator.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Endpoint for assigning a project registration.
      *
@@ -81,11 +141,107 @@ public class RegistrationController {
     @PutMapping("/assign/{registrationId}")
     public ResponseEntity<String> assignRegistration(@PathVariable int registrationId) {
         try {
-            boolean approved = registrationService.assignRegistration(registrationId);
-            if (approved) {
-                return ResponseEntity.ok("Registration approved successfully");
+            AssignmentResultEnum result = registrationService.assignRegistration(registrationId);
+            switch (result) {
+                case ASSIGNED:
+                    return ResponseEntity.ok(result.getDescription());
+                case STUDENT_ALREADY_ASSIGNED:
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(result.getDescription());
+                default:
+                    return ResponseEntity.badRequest().body(result.getDescription());
+            }
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for assigning many project registrations at once, in one transaction.
+     *
+     * @param registrationIds The IDs of the registrations to assign, at most one per student
+     * @return ResponseEntity containing the outcome of each registration, or an error message if none was assigned
+     */
+    @PutMapping("/assign-batch")
+    public ResponseEntity<Object> assignRegistrations(@RequestBody List<Integer> registrationIds) {
+        if (registrationIds.isEmpty()) {
+            return ResponseEntity.badRequest().body("No registrations to assign");
+        }
+        try {
+            return ResponseEntity.ok(registrationService.assignRegistrations(registrationIds));
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for putting an interested registration on its project's waitlist.
+     *
+     * @param registrationId The ID of the registration to waitlist
+     * @return ResponseEntity containing the registration with its waitlist position, or an error message if it is
+     *         not an interested registration
+     */
+    @PutMapping("/waitlist/{registrationId}")
+    public ResponseEntity<Object> joinWaitlist(@PathVariable int registrationId) {
+        try {
+            Registration registration = waitlistService.join(registrationId);
+            if (registration == null) {
+                return ResponseEntity.badRequest().body("Only interested registrations can be waitlisted");
+            }
+            return ResponseEntity.ok(registration);
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for taking an assignment away, which promotes the head of the project's waitlist.
+     *
+     * @param registrationId The ID of the assigned registration
+     * @return ResponseEntity containing the IDs of the promoted registrations, or an error message if the
+     *         registration is not assigned
+     */
+    @PutMapping("/unassign/{registrationId}")
+    public ResponseEntity<Object> unassignRegistration(@PathVariable int registrationId) {
+        try {
+            List<Integer> promoted = waitlistService.unassign(registrationId);
+            if (promoted == null) {
+                return ResponseEntity.badRequest().body("Only assigned registrations can be unassigned");
+            }
+            return ResponseEntity.ok(promoted);
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for retrieving the waitlist of a project.
+     *
+     * @param projectId The ID of the project
+     * @return ResponseEntity containing the waitlisted registrations, first in line first
+     */
+    @GetMapping("/waitlist/project/{projectId}")
+    public ResponseEntity<Object> getWaitlist(@PathVariable int projectId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getWaitlist(projectId));
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint for ranking the projects a student registered for, used by the allocation run.
+     *
+     * @param studentId The ID of the student
+     * @param projectIds The IDs of the projects the student registered for, best first
+     * @return ResponseEntity indicating success or failure of the operation
+     */
+    @PutMapping("/student/{studentId}/preferences")
+    public ResponseEntity<String> updatePreferences(@PathVariable int studentId, @RequestBody List<Integer> projectIds) {
+        try {
+            if (registrationService.updatePreferences(studentId, projectIds)) {
+                return ResponseEntity.ok("Preferences updated successfully");
             } else {
-                return ResponseEntity.badRequest().body("Failed to approve registration");
+                return ResponseEntity.badRequest().body("Only registered projects can be ranked");
             }
         } catch (SQLException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
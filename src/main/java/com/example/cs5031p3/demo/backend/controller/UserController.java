@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller class for handling HTTP requests related to user operations.
@@ -43,6 +44,24 @@ public class UserController {
         }
     }
 
+    /**
+     * Endpoint for creating several users at once.
+     *
+     * @param users The user objects to create
+     * @return ResponseEntity indicating success or failure of the operation
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<String> createUsers(@RequestBody List<User> users) {
+        try
+        {
+            userService.createUsers(users);
+            return ResponseEntity.ok(users.size() + " new users are created");
+        }catch (SQLException e)
+        {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Endpoint for retrieving a user by ID.
      *
@@ -112,13 +131,20 @@ public class UserController {
     }
 
     /**
-     * Endpoint for retrieving all users.
+     * Endpoint for retrieving all users, or one page of them when a limit is given.
      *
-     * @return ResponseEntity containing a list of all users
+     * @param after The cursor returned with the previous page; only used together with limit
+     * @param limit The page size; when absent, every user is returned as a plain list
+     * @return ResponseEntity containing a list of all users or a page of users
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllUsers() {
+    public ResponseEntity<Object> getAllUsers(@RequestParam(required = false, defaultValue = "0") int after,
+                                              @RequestParam(required = false) Integer limit) {
         try {
+            if (limit != null) {
+                if (limit < 1) return ResponseEntity.badRequest().body("The limit must be positive");
+                return ResponseEntity.ok(userService.getUsersPage(after, limit));
+            }
             return ResponseEntity.ok(userService.getAllUsers());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(e.getMessage());
@@ -144,6 +170,23 @@ public class UserController {
         }
     }
 
+    /**
+     * Endpoint for setting the maximum number of students a staff member supervises.
+     *
+     * @param id The ID of the staff member
+     * @param requestBody The request body containing maxLoad, or a null maxLoad to remove the limit
+     * @return ResponseEntity indicating success or failure of the operation
+     */
+    @PutMapping("/{id}/max-load")
+    public ResponseEntity<String> updateMaxLoad(@PathVariable int id, @RequestBody Map<String, Integer> requestBody) {
+        try {
+            userService.updateMaxLoad(id, requestBody.get("maxLoad"));
+            return ResponseEntity.ok("Maximum load updated");
+        } catch (SQLException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Endpoint for user login.
      *
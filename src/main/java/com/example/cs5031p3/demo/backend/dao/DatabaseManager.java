@@ -1,69 +1,203 @@
 package com.example.cs5031p3.demo.backend.dao;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
- * The DatabaseManager class is responsible for managing the database, including table creation and sample data insertion.
+ * The DatabaseManager class is responsible for managing the database, including versioned schema migrations and sample data insertion.
  */
 @Component
 public class DatabaseManager {
 
+    /**
+     * The ordered list of schema migrations. New schema changes are appended here with the next version number;
+     * applied migrations must never be edited.
+     */
+    private static final List<SchemaMigration> MIGRATIONS = List.of(
+            new SchemaMigration(1, "Create users, projects and project_registrations tables",
+                    "CREATE TABLE IF NOT EXISTS users (" +
+                            "    user_id INT AUTO_INCREMENT PRIMARY KEY," +
+                            "    name VARCHAR(255)," +
+                            "    username VARCHAR(255) NOT NULL," +
+                            "    password VARCHAR(255) NOT NULL," +
+                            "    type_id INT" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS projects (" +
+                            "    project_id INT AUTO_INCREMENT PRIMARY KEY," +
+                            "    title VARCHAR(255) NOT NULL," +
+                            "    description TEXT," +
+                            "    staff_id INT," +
+                            "    available INT," +
+                            "    FOREIGN KEY (staff_id) REFERENCES users(user_id)" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS project_registrations (" +
+                            "registration_id INT AUTO_INCREMENT PRIMARY KEY," +
+                            "project_id INT," +
+                            "student_id INT," +
+                            "registration_state INT NOT NULL," +
+                            "FOREIGN KEY (project_id) REFERENCES projects(project_id)," +
+                            "FOREIGN KEY (student_id) REFERENCES users(user_id));"),
+            new SchemaMigration(2, "Add secondary indexes for username, staff and registration lookups",
+                    "CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);",
+                    "CREATE INDEX IF NOT EXISTS idx_projects_staff_id ON projects(staff_id);",
+                    "CREATE INDEX IF NOT EXISTS idx_registrations_student_state " +
+                            "ON project_registrations(student_id, registration_state);",
+                    "CREATE INDEX IF NOT EXISTS idx_registrations_project_student " +
+                            "ON project_registrations(project_id, student_id);"),
+            new SchemaMigration(3, "Make (project_id, student_id) unique in project_registrations",
+                    "DELETE FROM project_registrations pr WHERE EXISTS (" +
+                            "SELECT 1 FROM project_registrations o " +
+                            "WHERE o.project_id = pr.project_id AND o.student_id = pr.student_id " +
+                            "AND (o.registration_state > pr.registration_state " +
+                            "OR (o.registration_state = pr.registration_state AND o.registration_id < pr.registration_id)));",
+                    "ALTER TABLE project_registrations ADD CONSTRAINT IF NOT EXISTS uq_registrations_project_student " +
+                            "UNIQUE (project_id, student_id);",
+                    "DROP INDEX IF EXISTS idx_registrations_project_student;"),
+            new SchemaMigration(4, "Add the student's preference rank to project_registrations",
+                    "ALTER TABLE project_registrations ADD COLUMN IF NOT EXISTS preference_rank INT;"),
+            new SchemaMigration(5, "Add project capacities and staff maximum loads",
+                    "ALTER TABLE projects ADD COLUMN IF NOT EXISTS capacity INT DEFAULT 1 NOT NULL;",
+                    "ALTER TABLE projects ADD CONSTRAINT IF NOT EXISTS ck_projects_capacity CHECK (capacity >= 1);",
+                    "ALTER TABLE users ADD COLUMN IF NOT EXISTS max_load INT;",
+                    "ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS ck_users_max_load CHECK (max_load >= 0);"),
+            new SchemaMigration(6, "Add waitlist positions to project_registrations",
+                    "ALTER TABLE project_registrations ADD COLUMN IF NOT EXISTS waitlist_position INT;",
+                    "CREATE INDEX IF NOT EXISTS idx_registrations_project_waitlist " +
+                            "ON project_registrations(project_id, waitlist_position);")
+    );
+
+    /**
+     * The number of rows sent to the database in one JDBC batch by the bulk insert methods of the DAOs.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * The number of rows fetched from the database at a time by the streaming queries of the DAOs.
+     */
+    public static final int STREAM_FETCH_SIZE = 200;
+
     private final DataSource dataSource;
+    private final QueryMonitor queryMonitor;
 
     /**
      * Constructs a DatabaseManager with the provided DataSource and initializes the database by creating tables and inserting sample data.
+     * The connections it hands out are not monitored.
      * @param dataSource The DataSource for connecting to the database
      */
     public DatabaseManager(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Constructs a DatabaseManager whose connections are watched by a QueryMonitor, and initializes the database by
+     * creating tables and inserting sample data.
+     * @param dataSource The DataSource for connecting to the database
+     * @param queryMonitor The monitor timing the statements and tracking the connections, or null for none
+     */
+    @Autowired
+    public DatabaseManager(DataSource dataSource, QueryMonitor queryMonitor) {
         this.dataSource = dataSource;
+        this.queryMonitor = queryMonitor;
         createTable();
         insertSampleData();
     }
 
     /**
-     * Creates tables in the database if they do not exist already.
+     * Creates the tables in the database, or upgrades an existing schema, by applying every pending migration.
      */
     public void createTable() {
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
-                    "    user_id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "    name VARCHAR(255)," +
-                    "    username VARCHAR(255) NOT NULL," +
-                    "    password VARCHAR(255) NOT NULL," +
-                    "    type_id INT" +
-                    ");");
-            stmt.execute("CREATE TABLE IF NOT EXISTS projects (" +
-                    "    project_id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "    title VARCHAR(255) NOT NULL," +
-                    "    description TEXT," +
-                    "    staff_id INT," +
-                    "    available INT," +
-                    "    FOREIGN KEY (staff_id) REFERENCES users(user_id)" +
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "    version INT PRIMARY KEY," +
+                    "    description VARCHAR(255) NOT NULL," +
+                    "    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
                     ");");
-             stmt.execute("CREATE TABLE IF NOT EXISTS project_registrations (" +
-                          "registration_id INT AUTO_INCREMENT PRIMARY KEY," +
-                          "project_id INT," +
-                          "student_id INT," +
-                          "registration_state INT NOT NULL," +//这里我先用1和2代表interested和assigned
-                          "FOREIGN KEY (project_id) REFERENCES projects(project_id)," +
-                          "FOREIGN KEY (student_id) REFERENCES users(user_id));");
+            int currentVersion = readSchemaVersion(stmt);
+            for (SchemaMigration migration : MIGRATIONS) {
+                if (migration.getVersion() > currentVersion) {
+                    applyMigration(connection, migration);
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Retrieves a connection to the database.
+     * Retrieves the version of the latest migration applied to the database.
+     * @return The current schema version, or 0 if no migration has been applied
+     * @throws SQLException if a database access error occurs
+     */
+    public int getSchemaVersion() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            return readSchemaVersion(stmt);
+        }
+    }
+
+    /**
+     * Retrieves the version of the latest migration known to this DatabaseManager.
+     * @return The target schema version
+     */
+    public static int getLatestSchemaVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Reads the highest applied version from the schema_version table.
+     * @param stmt The statement used to run the query
+     * @return The highest applied version, or 0 if none
+     * @throws SQLException if a database access error occurs
+     */
+    private int readSchemaVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies a single migration and records its version, in one transaction.
+     * @param connection The connection to apply the migration on
+     * @param migration The migration to apply
+     * @throws SQLException if a database access error occurs, in which case the migration is rolled back
+     */
+    private void applyMigration(Connection connection, SchemaMigration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement pstmt = connection.prepareStatement(
+                     "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            for (String sql : migration.getStatements()) {
+                stmt.execute(sql);
+            }
+            pstmt.setInt(1, migration.getVersion());
+            pstmt.setString(2, migration.getDescription());
+            pstmt.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Retrieves a connection to the database, watched by the QueryMonitor if there is one.
      * @return Connection to the database
      * @throws SQLException if a database access error occurs
      */
     public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        Connection connection = dataSource.getConnection();
+        return queryMonitor == null ? connection : queryMonitor.track(connection);
     }
 
     /**
@@ -4,11 +4,13 @@ import com.example.cs5031p3.demo.backend.model.Project;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.*;
 
 /**
@@ -28,18 +30,20 @@ public class ProjectDAO {
     }
 
     /**
-     * Creates a new project in the database.
+     * Creates a new project in the database. A project without a capacity takes one student.
      * @param project The project to be created
      * @throws SQLException if a database access error occurs
      */
     public void createProject(Project project) throws SQLException {
-        String sql = "INSERT INTO projects (title, description, staff_id, available) VALUES (?, ?, ?, ?)";
+        String sql = "INSERT INTO projects (title, description, staff_id, available, capacity) " +
+                "VALUES (?, ?, ?, ?, COALESCE(?, 1))";
         try (Connection connection = databaseManager.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, project.getTitle());
             pstmt.setString(2, project.getDescription());
             pstmt.setInt(3, project.getStaffId());
             pstmt.setInt(4, project.getAvailable());
+            pstmt.setObject(5, project.getCapacity(), Types.INTEGER);
             pstmt.executeUpdate();
             try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
@@ -49,6 +53,49 @@ public class ProjectDAO {
         }
     }
 
+    /**
+     * Creates several projects in the database with JDBC batches in one transaction.
+     * The generated IDs are written back onto the given project objects.
+     *
+     * @param projects The projects to be created
+     * @throws SQLException if a database access error occurs, in which case no project is created
+     */
+    public void createProjects(List<Project> projects) throws SQLException {
+        String sql = "INSERT INTO projects (title, description, staff_id, available, capacity) " +
+                "VALUES (?, ?, ?, ?, COALESCE(?, 1))";
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < projects.size(); i++) {
+                    Project project = projects.get(i);
+                    pstmt.setString(1, project.getTitle());
+                    pstmt.setString(2, project.getDescription());
+                    pstmt.setInt(3, project.getStaffId());
+                    pstmt.setInt(4, project.getAvailable());
+                    pstmt.setObject(5, project.getCapacity(), Types.INTEGER);
+                    pstmt.addBatch();
+                    if (i + 1 - batchStart == DatabaseManager.BATCH_SIZE || i == projects.size() - 1) {
+                        pstmt.executeBatch();
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && generatedKeys.next(); j++) {
+                                projects.get(j).setId(generatedKeys.getInt(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     /**
      * Retrieves a project from the database by its ID.
      * @param projectId The ID of the project to retrieve
@@ -56,7 +103,8 @@ public class ProjectDAO {
      * @throws SQLException if a database access error occurs
      */
     public Project getProjectById(int projectId) throws SQLException {
-        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, p.available, u.name as staff_name " +
+        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, p.available, p.capacity, " +
+                "u.name as staff_name " +
                 "FROM projects p " +
                 "INNER JOIN users u ON p.staff_id = u.user_id " +
                 "WHERE project_id = ?";
@@ -71,6 +119,7 @@ public class ProjectDAO {
                     project.setDescription(rs.getString("description"));
                     project.setStaffId(rs.getInt("staff_id"));
                     project.setAvailable(rs.getInt("available"));
+                    project.setCapacity(rs.getInt("capacity"));
                     project.setStaffName(rs.getString("staff_name"));
                     return project;
                 }
@@ -80,20 +129,22 @@ public class ProjectDAO {
     }
 
     /**
-     * Updates the details of a project in the database.
+     * Updates the details of a project in the database. A project without a capacity keeps its stored one.
      *
      * @param project The Project object containing updated information
      * @throws SQLException if a database access error occurs
      */
     public void updateProject(Project project) throws SQLException {
-        String sql = "UPDATE projects SET title = ?, description = ?, staff_id = ?, available = ? WHERE project_id = ?";
+        String sql = "UPDATE projects SET title = ?, description = ?, staff_id = ?, available = ?, " +
+                "capacity = COALESCE(?, capacity) WHERE project_id = ?";
         try (Connection connection = databaseManager.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, project.getTitle());
             pstmt.setString(2, project.getDescription());
             pstmt.setInt(3, project.getStaffId());
             pstmt.setInt(4, project.getAvailable());
-            pstmt.setInt(5, project.getId());
+            pstmt.setObject(5, project.getCapacity(), Types.INTEGER);
+            pstmt.setInt(6, project.getId());
             pstmt.executeUpdate();
         }
     }
@@ -121,7 +172,8 @@ public class ProjectDAO {
      */
     public List<Project> getAllProjects() throws SQLException {
         List<Project> projects = new ArrayList<>();
-        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, u.name AS staff_name, p.available " +
+        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, u.name AS staff_name, " +
+                "p.available, p.capacity " +
                 "FROM projects p " +
                 "JOIN users u ON p.staff_id = u.user_id";
 
@@ -136,6 +188,7 @@ public class ProjectDAO {
                     project.setStaffId(rs.getInt("staff_id"));
                     project.setStaffName(rs.getString("staff_name"));
                     project.setAvailable(rs.getInt("available"));
+                    project.setCapacity(rs.getInt("capacity"));
                     projects.add(project);
                 }
             }
@@ -143,6 +196,42 @@ public class ProjectDAO {
         return projects;
     }
 
+    /**
+     * Streams all projects from the database to the given callback, one row at a time.
+     * The query runs on a forward-only, read-only cursor with a bounded fetch size, so the number of
+     * projects held in memory does not grow with the size of the table.
+     *
+     * @param callback The callback that receives each project while the cursor is open
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the callback fails to write a project out
+     */
+    public void streamAllProjects(RowCallback<Project> callback) throws SQLException, IOException {
+        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, u.name AS staff_name, " +
+                "p.available, p.capacity " +
+                "FROM projects p " +
+                "JOIN users u ON p.staff_id = u.user_id " +
+                "ORDER BY p.project_id";
+
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(DatabaseManager.STREAM_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Project project = new Project();
+                    project.setId(rs.getInt("project_id"));
+                    project.setTitle(rs.getString("title"));
+                    project.setDescription(rs.getString("description"));
+                    project.setStaffId(rs.getInt("staff_id"));
+                    project.setStaffName(rs.getString("staff_name"));
+                    project.setAvailable(rs.getInt("available"));
+                    project.setCapacity(rs.getInt("capacity"));
+                    callback.accept(project);
+                }
+            }
+        }
+    }
+
     /**
      * Retrieves all projects associated with a staff member from the database.
      *
@@ -152,7 +241,8 @@ public class ProjectDAO {
      */
     public List<Project> findProjectsByStaffId(int staffId) throws SQLException {
         List<Project> projects = new ArrayList<>();
-        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, u.name AS staff_name, p.available " +
+        String sql = "SELECT p.project_id, p.title, p.description, p.staff_id, u.name AS staff_name, " +
+                "p.available, p.capacity " +
                 "FROM projects p " +
                 "JOIN users u ON p.staff_id = u.user_id " +
                 "WHERE p.staff_id = ?";
@@ -169,6 +259,7 @@ public class ProjectDAO {
                     project.setStaffId(rs.getInt("staff_id"));
                     project.setStaffName(rs.getString("staff_name"));
                     project.setAvailable(rs.getInt("available"));
+                    project.setCapacity(rs.getInt("capacity"));
                     projects.add(project);
                 }
             }
@@ -1,16 +1,30 @@
 package com.example.cs5031p3.demo.backend.dao;
 
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+import com.example.cs5031p3.demo.backend.model.ProjectVacancy;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Data Access Object (DAO) class for managing project registrations in the database.
@@ -19,11 +33,72 @@ import java.util.Map;
 public class ProjectRegistrationsDAO {
     private final DatabaseManager databaseManager;
 
+    /**
+     * The select list and joins shared by the queries that return registrations with the student name,
+     * project title and staff name; the column order is the one read by {@link #mapRegistrationDetails}.
+     */
+    private static final String REGISTRATION_DETAILS_SELECT =
+            "SELECT pr.registration_id, pr.project_id, pr.student_id, pr.registration_state, " +
+            "u.name AS student_name, p.title AS project_title, uf.name AS staff_name " +
+            "FROM project_registrations pr " +
+            "JOIN users u ON pr.student_id = u.user_id " +
+            "JOIN projects p ON pr.project_id = p.project_id " +
+            "JOIN users uf ON p.staff_id = uf.user_id ";
+
+    /**
+     * Assigns an interested registration whose student holds no other assignment; takes the new state,
+     * the registration ID, the interested state and the assigned state.
+     */
+    private static final String ASSIGN_ALLOCATED_SQL = "UPDATE project_registrations pr SET registration_state = ? " +
+            "WHERE pr.registration_id = ? AND pr.registration_state = ? AND NOT EXISTS (" +
+            "SELECT 1 FROM project_registrations a WHERE a.student_id = pr.student_id AND a.registration_state = ?)";
+
+    /**
+     * Releases an assigned registration; takes the new state, the registration ID and the assigned state.
+     */
+    private static final String RELEASE_ALLOCATED_SQL = "UPDATE project_registrations SET registration_state = ? " +
+            "WHERE registration_id = ? AND registration_state = ?";
+
+    /**
+     * The SQLState of a unique key violation, which tells a duplicate registration apart from other constraint
+     * violations.
+     */
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+
     @Autowired
     public ProjectRegistrationsDAO(DatabaseManager databaseManager) {
         this.databaseManager = databaseManager;
     }
 
+    /**
+     * Maps the current row of a query selecting registration_id, project_id, student_id and
+     * registration_state, in that order, to a Registration.
+     *
+     * @param rs The result set positioned on the row to map
+     * @return The registration read from the row
+     * @throws SQLException if a database access error occurs
+     */
+    private static Registration mapRegistration(ResultSet rs) throws SQLException {
+        return new Registration(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                RegistrationStateEnum.fromCode(rs.getInt(4)));
+    }
+
+    /**
+     * Maps the current row of a query built on {@link #REGISTRATION_DETAILS_SELECT} to a Registration,
+     * including the student name, project title and staff name.
+     *
+     * @param rs The result set positioned on the row to map
+     * @return The registration read from the row
+     * @throws SQLException if a database access error occurs
+     */
+    private static Registration mapRegistrationDetails(ResultSet rs) throws SQLException {
+        Registration registration = mapRegistration(rs);
+        registration.setStudentName(rs.getString(5));
+        registration.setProjectTitle(rs.getString(6));
+        registration.setStaffName(rs.getString(7));
+        return registration;
+    }
+
     /**
      * Inserts a new project registration into the database.
      *
@@ -42,6 +117,126 @@ public class ProjectRegistrationsDAO {
         }
     }
 
+    /**
+     * Inserts several interested project registrations with JDBC batches in one transaction.
+     * The i-th registration pairs projectIds[i] with studentIds[i].
+     *
+     * @param projectIds The IDs of the projects being registered for
+     * @param studentIds The IDs of the students registering, parallel to projectIds
+     * @return The generated registration IDs, in input order
+     * @throws SQLException if a database access error occurs, in which case no registration is inserted
+     */
+    public int[] insertProjectRegistrations(int[] projectIds, int[] studentIds) throws SQLException {
+        return insertProjectRegistrations(projectIds, studentIds, null);
+    }
+
+    /**
+     * Inserts several interested project registrations with their preference ranks, with JDBC batches in one
+     * transaction. The i-th registration pairs projectIds[i] with studentIds[i] at rank preferenceRanks[i].
+     *
+     * @param projectIds The IDs of the projects being registered for
+     * @param studentIds The IDs of the students registering, parallel to projectIds
+     * @param preferenceRanks The rank of each registration in its student's preferences, 1 being the best, or null
+     *                        to leave the registrations unranked
+     * @return The generated registration IDs, in input order
+     * @throws SQLException if a database access error occurs, in which case no registration is inserted
+     */
+    public int[] insertProjectRegistrations(int[] projectIds, int[] studentIds, int[] preferenceRanks)
+            throws SQLException {
+        if (projectIds.length != studentIds.length
+                || (preferenceRanks != null && preferenceRanks.length != projectIds.length)) {
+            throw new IllegalArgumentException("projectIds, studentIds and preferenceRanks must have the same length");
+        }
+        int[] registrationIds = new int[projectIds.length];
+        String sql = "INSERT INTO project_registrations (project_id, student_id, registration_state, preference_rank) " +
+                "VALUES (?, ?, ?, ?)";
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < projectIds.length; i++) {
+                    pstmt.setInt(1, projectIds[i]);
+                    pstmt.setInt(2, studentIds[i]);
+                    pstmt.setInt(3, RegistrationStateEnum.WAIT.getCode());
+                    if (preferenceRanks == null) {
+                        pstmt.setNull(4, Types.INTEGER);
+                    } else {
+                        pstmt.setInt(4, preferenceRanks[i]);
+                    }
+                    pstmt.addBatch();
+                    if (i + 1 - batchStart == DatabaseManager.BATCH_SIZE || i == projectIds.length - 1) {
+                        pstmt.executeBatch();
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && generatedKeys.next(); j++) {
+                                registrationIds[j] = generatedKeys.getInt(1);
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return registrationIds;
+    }
+
+    /**
+     * Registers a student's interest in a project with a single conditional insert. The row is only inserted
+     * when the student holds no assignment and has not registered for the project yet; the unique constraint on
+     * (project_id, student_id) rejects a concurrent duplicate that slips past the check. Any other constraint
+     * violation, such as a project or student that does not exist, is thrown.
+     *
+     * @param projectId The ID of the project being registered for
+     * @param studentId The ID of the student registering for the project
+     * @return The outcome of the registration
+     * @throws SQLException if a database access error occurs
+     */
+    public RegistrationResultEnum createProjectRegistration(int projectId, int studentId) throws SQLException {
+        String sql = "INSERT INTO project_registrations (project_id, student_id, registration_state) " +
+                "SELECT CAST(? AS INT), CAST(? AS INT), CAST(? AS INT) " +
+                "WHERE NOT EXISTS (SELECT 1 FROM project_registrations WHERE student_id = ? AND registration_state = ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM project_registrations WHERE project_id = ? AND student_id = ?)";
+        try (Connection connection = databaseManager.getConnection()) {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setInt(1, projectId);
+                pstmt.setInt(2, studentId);
+                pstmt.setInt(3, RegistrationStateEnum.WAIT.getCode());
+                pstmt.setInt(4, studentId);
+                pstmt.setInt(5, RegistrationStateEnum.SUCCESS.getCode());
+                pstmt.setInt(6, projectId);
+                pstmt.setInt(7, studentId);
+                if (pstmt.executeUpdate() > 0) {
+                    return RegistrationResultEnum.CREATED;
+                }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Only the unique key means a duplicate; a foreign key violation is an unknown project or student
+                if (UNIQUE_VIOLATION_STATE.equals(e.getSQLState())) {
+                    return RegistrationResultEnum.DUPLICATE;
+                }
+                throw e;
+            }
+
+            // Nothing was inserted, so find out which condition rejected the row
+            String assignedSql = "SELECT COUNT(*) FROM project_registrations WHERE student_id = ? AND registration_state = ?";
+            try (PreparedStatement pstmt = connection.prepareStatement(assignedSql)) {
+                pstmt.setInt(1, studentId);
+                pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return RegistrationResultEnum.ALREADY_ASSIGNED;
+                    }
+                }
+            }
+            return RegistrationResultEnum.DUPLICATE;
+        }
+    }
+
     /**
      * Retrieves project registrations by student ID from the database.
      *
@@ -49,29 +244,15 @@ public class ProjectRegistrationsDAO {
      * @return A list of project registrations associated with the student
      * @throws SQLException if a database access error occurs
      */
-    public List<Map<String, Object>> findByStudentId(int studentId) throws SQLException {
-        List<Map<String, Object>> registrations = new ArrayList<>();
-        String sql = "SELECT pr.registration_id, pr.project_id, pr.student_id, pr.registration_state, " +
-                "u.name AS student_name, p.title AS project_title, uf.name AS staff_name " +
-                "FROM project_registrations pr " +
-                "JOIN users u ON pr.student_id = u.user_id " +
-                "JOIN projects p ON pr.project_id = p.project_id " +
-                "JOIN users uf ON p.staff_id = uf.user_id " +
-                "WHERE pr.student_id = ?";
+    public List<Registration> findByStudentId(int studentId) throws SQLException {
+        List<Registration> registrations = new ArrayList<>();
+        String sql = REGISTRATION_DETAILS_SELECT + "WHERE pr.student_id = ?";
         try (Connection connection = databaseManager.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, studentId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Map<String, Object> registration = new HashMap<>();
-                    registration.put("registrationId", rs.getInt("registration_id"));
-                    registration.put("projectId", rs.getInt("project_id"));
-                    registration.put("studentId", rs.getInt("student_id"));
-                    registration.put("registrationState", rs.getInt("registration_state"));
-                    registration.put("studentName", rs.getString("student_name"));
-                    registration.put("projectTitle", rs.getString("project_title"));
-                    registration.put("staffName", rs.getString("staff_name"));
-                    registrations.add(registration);
+                    registrations.add(mapRegistrationDetails(rs));
                 }
             }
         }
@@ -109,35 +290,47 @@ public class ProjectRegistrationsDAO {
      * @return A list of project registrations associated with the staff member
      * @throws SQLException if a database access error occurs
      */
-    public List<Map<String, Object>> findRegistrationStudentsByStaffId(int staffId) throws SQLException {
-        List<Map<String, Object>> interestedStudents = new ArrayList<>();
-        String sql = "SELECT pr.registration_id, pr.project_id, pr.student_id, pr.registration_state, " +
-                "u.name AS student_name, p.title AS project_title, uf.name AS staff_name " +
-                "FROM project_registrations pr " +
-                "JOIN users u ON pr.student_id = u.user_id " +
-                "JOIN projects p ON pr.project_id = p.project_id " +
-                "JOIN users uf ON p.staff_id = uf.user_id " +
-                "WHERE p.staff_id = ?";
+    public List<Registration> findRegistrationStudentsByStaffId(int staffId) throws SQLException {
+        List<Registration> interestedStudents = new ArrayList<>();
+        String sql = REGISTRATION_DETAILS_SELECT + "WHERE p.staff_id = ?";
         try (Connection connection = databaseManager.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, staffId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Map<String, Object> interestedStudent = new HashMap<>();
-                    interestedStudent.put("registrationId", rs.getInt("registration_id"));
-                    interestedStudent.put("projectId", rs.getInt("project_id"));
-                    interestedStudent.put("studentId", rs.getInt("student_id"));
-                    interestedStudent.put("studentName", rs.getString("student_name"));
-                    interestedStudent.put("projectTitle", rs.getString("project_title"));
-                    interestedStudent.put("staffName", rs.getString("staff_name"));
-                    interestedStudent.put("registrationState", rs.getInt("registration_state"));
-                    interestedStudents.add(interestedStudent);
+                    interestedStudents.add(mapRegistrationDetails(rs));
                 }
             }
         }
         return interestedStudents;
     }
 
+    /**
+     * Streams the project registrations associated with a staff member to the given callback, one row at a time.
+     * The query runs on a forward-only, read-only cursor with a bounded fetch size, and each row is handed over
+     * as soon as it is read instead of being collected into a list.
+     *
+     * @param staffId The ID of the staff member
+     * @param callback The callback that receives each registration while the cursor is open
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the callback fails to write a registration out
+     */
+    public void streamRegistrationStudentsByStaffId(int staffId, RowCallback<Registration> callback)
+            throws SQLException, IOException {
+        String sql = REGISTRATION_DETAILS_SELECT + "WHERE p.staff_id = ?";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setInt(1, staffId);
+            pstmt.setFetchSize(DatabaseManager.STREAM_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(mapRegistrationDetails(rs));
+                }
+            }
+        }
+    }
+
     /**
      * Checks if a student is assigned to any project.
      *
@@ -182,22 +375,18 @@ public class ProjectRegistrationsDAO {
      * Retrieves a project registration by its ID.
      *
      * @param registrationId The ID of the registration
-     * @return A map containing registration details if found, otherwise null
+     * @return The registration if found, otherwise null
      * @throws SQLException if a database access error occurs
      */
-    public Map<String, Object> getRegistrationById(int registrationId) throws SQLException {
-        String sql = "SELECT * FROM project_registrations WHERE registration_id = ?";
+    public Registration getRegistrationById(int registrationId) throws SQLException {
+        String sql = "SELECT registration_id, project_id, student_id, registration_state " +
+                "FROM project_registrations WHERE registration_id = ?";
         try (Connection connection = databaseManager.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, registrationId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Map<String, Object> registration = new HashMap<>();
-                    registration.put("registrationId", rs.getInt("registration_id"));
-                    registration.put("projectId", rs.getInt("project_id"));
-                    registration.put("studentId", rs.getInt("student_id"));
-                    registration.put("registrationState", rs.getInt("registration_state"));
-                    return registration;
+                    return mapRegistration(rs);
                 }
             }
         }
@@ -220,4 +409,921 @@ public class ProjectRegistrationsDAO {
             pstmt.executeUpdate();
         }
     }
+
+    /**
+     * Assigns a project registration to its student in a single transaction on one connection.
+     * The registration and all other registrations of the same student are locked with SELECT ... FOR UPDATE,
+     * so two concurrent assignments for the same student cannot both succeed. A waitlisted registration is left
+     * unchanged, as it may only be assigned through {@link #promoteWaitlisted(int, int)}.
+     *
+     * @param registrationId The ID of the registration to assign
+     * @return The outcome of the assignment
+     * @throws SQLException if a database access error occurs, in which case the transaction is rolled back
+     */
+    public AssignmentResultEnum assignRegistration(int registrationId) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                AssignmentResultEnum result = assignRegistration(connection, registrationId, false);
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Runs the locking reads, the delete of the student's other interested and waitlisted registrations and the state
+     * update of an assignment on the given connection, which must already be inside a transaction.
+     *
+     * @param connection The transactional connection to use
+     * @param registrationId The ID of the registration to assign
+     * @param promotion Whether the registration is being promoted from its waitlist, which is the only way a
+     *                  waitlisted registration may be assigned
+     * @return The outcome of the assignment
+     * @throws SQLException if a database access error occurs
+     */
+    private AssignmentResultEnum assignRegistration(Connection connection, int registrationId, boolean promotion)
+            throws SQLException {
+        int studentId;
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT student_id, registration_state FROM project_registrations " +
+                        "WHERE registration_id = ? FOR UPDATE")) {
+            pstmt.setInt(1, registrationId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return AssignmentResultEnum.NOT_FOUND;
+                }
+                if (!promotion && rs.getInt(2) == RegistrationStateEnum.WAITLISTED.getCode()) {
+                    return AssignmentResultEnum.WAITLISTED;
+                }
+                studentId = rs.getInt(1);
+            }
+        }
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT registration_id, registration_state FROM project_registrations " +
+                        "WHERE student_id = ? FOR UPDATE")) {
+            pstmt.setInt(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getInt(1) != registrationId
+                            && rs.getInt(2) == RegistrationStateEnum.SUCCESS.getCode()) {
+                        return AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED;
+                    }
+                }
+            }
+        }
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "DELETE FROM project_registrations " +
+                        "WHERE student_id = ? AND registration_state IN (?, ?) AND registration_id != ?")) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, RegistrationStateEnum.WAIT.getCode());
+            pstmt.setInt(3, RegistrationStateEnum.WAITLISTED.getCode());
+            pstmt.setInt(4, registrationId);
+            pstmt.executeUpdate();
+        }
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "UPDATE project_registrations SET registration_state = ?, waitlist_position = NULL " +
+                        "WHERE registration_id = ?")) {
+            pstmt.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+            pstmt.setInt(2, registrationId);
+            pstmt.executeUpdate();
+        }
+        return AssignmentResultEnum.ASSIGNED;
+    }
+
+    /**
+     * Assigns many project registrations in a single transaction on one connection, as approved together by a
+     * staff member. The registrations and all registrations of their students are locked with SELECT ... FOR UPDATE,
+     * then the students' other interested and waitlisted registrations are deleted and the registrations assigned
+     * with batched statements. A registration that is missing or waitlisted, whose student already holds another
+     * assignment, or whose student is also assigned by another registration of the batch is left unchanged; the
+     * others are applied.
+     *
+     * @param registrationIds The IDs of the registrations to assign
+     * @return The outcome of each registration, in the order of the IDs
+     * @throws SQLException if a database access error occurs, in which case the transaction is rolled back and no
+     *                      registration is assigned
+     */
+    public AssignmentResultEnum[] assignRegistrations(int[] registrationIds) throws SQLException {
+        AssignmentResultEnum[] results = new AssignmentResultEnum[registrationIds.length];
+        Integer[] ids = Arrays.stream(registrationIds).boxed().toArray(Integer[]::new);
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Map<Integer, Integer> studentByRegistration = new HashMap<>();
+                Set<Integer> waitlisted = new HashSet<>();
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT registration_id, student_id, registration_state FROM project_registrations " +
+                                "WHERE registration_id = ANY(?) FOR UPDATE")) {
+                    pstmt.setObject(1, ids);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            if (rs.getInt(3) == RegistrationStateEnum.WAITLISTED.getCode()) {
+                                waitlisted.add(rs.getInt(1));
+                            } else {
+                                studentByRegistration.put(rs.getInt(1), rs.getInt(2));
+                            }
+                        }
+                    }
+                }
+
+                Map<Integer, Integer> batchCount = new HashMap<>();
+                for (int registrationId : registrationIds) {
+                    Integer studentId = studentByRegistration.get(registrationId);
+                    if (studentId != null) {
+                        batchCount.merge(studentId, 1, Integer::sum);
+                    }
+                }
+                Map<Integer, Integer> assignedRegistration = new HashMap<>();
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT student_id, registration_id FROM project_registrations " +
+                                "WHERE student_id = ANY(?) AND registration_state = ? FOR UPDATE")) {
+                    pstmt.setObject(1, batchCount.keySet().toArray(new Integer[0]));
+                    pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            assignedRegistration.put(rs.getInt(1), rs.getInt(2));
+                        }
+                    }
+                }
+
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM project_registrations " +
+                                "WHERE student_id = ? AND registration_state IN (?, ?) AND registration_id != ?");
+                     PreparedStatement update = connection.prepareStatement(
+                             "UPDATE project_registrations SET registration_state = ?, waitlist_position = NULL " +
+                                     "WHERE registration_id = ?")) {
+                    int batchSize = 0;
+                    for (int i = 0; i < registrationIds.length; i++) {
+                        Integer studentId = studentByRegistration.get(registrationIds[i]);
+                        Integer assigned = studentId == null ? null : assignedRegistration.get(studentId);
+                        if (waitlisted.contains(registrationIds[i])) {
+                            results[i] = AssignmentResultEnum.WAITLISTED;
+                        } else if (studentId == null) {
+                            results[i] = AssignmentResultEnum.NOT_FOUND;
+                        } else if (batchCount.get(studentId) > 1) {
+                            results[i] = AssignmentResultEnum.DUPLICATE_STUDENT;
+                        } else if (assigned != null && assigned != registrationIds[i]) {
+                            results[i] = AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED;
+                        } else {
+                            results[i] = AssignmentResultEnum.ASSIGNED;
+                            delete.setInt(1, studentId);
+                            delete.setInt(2, RegistrationStateEnum.WAIT.getCode());
+                            delete.setInt(3, RegistrationStateEnum.WAITLISTED.getCode());
+                            delete.setInt(4, registrationIds[i]);
+                            delete.addBatch();
+                            update.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+                            update.setInt(2, registrationIds[i]);
+                            update.addBatch();
+                            batchSize++;
+                        }
+                        if (batchSize == DatabaseManager.BATCH_SIZE
+                                || (batchSize > 0 && i == registrationIds.length - 1)) {
+                            delete.executeBatch();
+                            update.executeBatch();
+                            batchSize = 0;
+                        }
+                    }
+                }
+                connection.commit();
+                return results;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Replaces a student's preference ranking in one transaction. The i-th project ID gets rank i + 1 and the
+     * student's registrations that are not listed lose their rank.
+     *
+     * @param studentId The ID of the student
+     * @param projectIds The IDs of the projects the student registered for, best first
+     * @return true if every listed project has a registration of the student, false if one does not,
+     *         in which case no rank is changed
+     * @throws SQLException if a database access error occurs, in which case no rank is changed
+     */
+    public boolean updatePreferenceRanks(int studentId, int[] projectIds) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement clear = connection.prepareStatement(
+                         "UPDATE project_registrations SET preference_rank = NULL WHERE student_id = ?");
+                 PreparedStatement rank = connection.prepareStatement(
+                         "UPDATE project_registrations SET preference_rank = ? WHERE student_id = ? AND project_id = ?")) {
+                clear.setInt(1, studentId);
+                clear.executeUpdate();
+                for (int i = 0; i < projectIds.length; i++) {
+                    rank.setInt(1, i + 1);
+                    rank.setInt(2, studentId);
+                    rank.setInt(3, projectIds[i]);
+                    rank.addBatch();
+                }
+                for (int count : rank.executeBatch()) {
+                    if (count == 0) {
+                        connection.rollback();
+                        return false;
+                    }
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Loads the input of an allocation run: every interested registration on an available project of a student
+     * who holds no assignment yet, with the students' preferences ordered by rank, unranked registrations last in
+     * registration order. Each available project can take its capacity, and each supervisor with a maximum load
+     * that load, less the students already assigned to them.
+     *
+     * @return The allocation problem, with students, projects and load-limited supervisors ordered by ID
+     * @throws SQLException if a database access error occurs
+     */
+    public AllocationProblem loadAllocationProblem() throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            return loadAllocationProblem(connection).problem();
+        }
+    }
+
+    /**
+     * Loads a consistent snapshot of the input of an allocation run for a simulation: the problem
+     * {@link #loadAllocationProblem()} reads, the supervisor of each of its projects and the students already
+     * assigned to each supervisor. All of it is read in one read-only, repeatable-read transaction on one connection,
+     * so a project deleted or reassigned meanwhile cannot leave the parts disagreeing.
+     *
+     * @return The snapshot
+     * @throws SQLException if a database access error occurs
+     */
+    public AllocationSnapshot loadAllocationSnapshot() throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            boolean readOnly = connection.isReadOnly();
+            int isolation = connection.getTransactionIsolation();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                ProblemLoad load = loadAllocationProblem(connection);
+                Map<Integer, Integer> staffLoads = countAssignedRegistrationsByStaff(connection);
+                connection.commit();
+                return new AllocationSnapshot(load.problem(), load.projectStaff(), staffLoads);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setTransactionIsolation(isolation);
+                connection.setReadOnly(readOnly);
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * An allocation problem read from the database, with the staff ID of the supervisor of each of its projects.
+     *
+     * @param problem The allocation problem
+     * @param projectStaff The staff ID of each project's supervisor, by project index
+     */
+    private record ProblemLoad(AllocationProblem problem, int[] projectStaff) {
+    }
+
+    /**
+     * Runs the queries of {@link #loadAllocationProblem()} on the given connection.
+     *
+     * @param connection The connection to use
+     * @return The allocation problem and the supervisor of each of its projects
+     * @throws SQLException if a database access error occurs
+     */
+    private static ProblemLoad loadAllocationProblem(Connection connection) throws SQLException {
+        String supervisorSql = "SELECT u.user_id, u.max_load - (SELECT COUNT(*) FROM project_registrations pr " +
+                "JOIN projects p ON pr.project_id = p.project_id " +
+                "WHERE p.staff_id = u.user_id AND pr.registration_state = ?) " +
+                "FROM users u WHERE u.max_load IS NOT NULL ORDER BY u.user_id";
+        String projectSql = "SELECT p.project_id, p.capacity - COUNT(pr.registration_id), p.staff_id FROM projects p " +
+                "LEFT JOIN project_registrations pr ON pr.project_id = p.project_id AND pr.registration_state = ? " +
+                "WHERE p.available = 1 GROUP BY p.project_id, p.capacity, p.staff_id ORDER BY p.project_id";
+        String preferenceSql = "SELECT pr.registration_id, pr.project_id, pr.student_id FROM project_registrations pr " +
+                "JOIN projects p ON pr.project_id = p.project_id " +
+                "WHERE pr.registration_state = ? AND p.available = 1 AND NOT EXISTS (" +
+                "SELECT 1 FROM project_registrations a WHERE a.student_id = pr.student_id AND a.registration_state = ?) " +
+                "ORDER BY pr.student_id, pr.preference_rank NULLS LAST, pr.registration_id";
+        int[] supervisorIds = new int[16];
+        int[] supervisorCapacity = new int[16];
+        int supervisorCount = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(supervisorSql)) {
+            pstmt.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (supervisorCount == supervisorIds.length) {
+                        supervisorIds = Arrays.copyOf(supervisorIds, supervisorCount * 2);
+                        supervisorCapacity = Arrays.copyOf(supervisorCapacity, supervisorCount * 2);
+                    }
+                    supervisorIds[supervisorCount] = rs.getInt(1);
+                    supervisorCapacity[supervisorCount] = Math.max(0, rs.getInt(2));
+                    supervisorCount++;
+                }
+            }
+        }
+        supervisorIds = Arrays.copyOf(supervisorIds, supervisorCount);
+        supervisorCapacity = Arrays.copyOf(supervisorCapacity, supervisorCount);
+
+        int[] projectIds = new int[16];
+        int[] capacity = new int[16];
+        int[] projectSupervisor = new int[16];
+        int[] projectStaff = new int[16];
+        int projectCount = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(projectSql)) {
+            pstmt.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (projectCount == projectIds.length) {
+                        projectIds = Arrays.copyOf(projectIds, projectCount * 2);
+                        capacity = Arrays.copyOf(capacity, projectCount * 2);
+                        projectSupervisor = Arrays.copyOf(projectSupervisor, projectCount * 2);
+                        projectStaff = Arrays.copyOf(projectStaff, projectCount * 2);
+                    }
+                    projectIds[projectCount] = rs.getInt(1);
+                    capacity[projectCount] = Math.max(0, rs.getInt(2));
+                    projectStaff[projectCount] = rs.getInt(3);
+                    int supervisor = Arrays.binarySearch(supervisorIds, rs.getInt(3));
+                    projectSupervisor[projectCount] = supervisor < 0 ? -1 : supervisor;
+                    projectCount++;
+                }
+            }
+        }
+        projectIds = Arrays.copyOf(projectIds, projectCount);
+        capacity = Arrays.copyOf(capacity, projectCount);
+        projectSupervisor = Arrays.copyOf(projectSupervisor, projectCount);
+        projectStaff = Arrays.copyOf(projectStaff, projectCount);
+
+        int[] studentIds = new int[16];
+        int[] preferenceStart = new int[17];
+        int[] preferenceProject = new int[16];
+        int[] preferenceRegistration = new int[16];
+        int studentCount = 0;
+        int preferenceCount = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(preferenceSql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setInt(1, RegistrationStateEnum.WAIT.getCode());
+            pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+            pstmt.setFetchSize(DatabaseManager.STREAM_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int project = Arrays.binarySearch(projectIds, rs.getInt(2));
+                    if (project < 0) {
+                        continue; // the project was made available after it was loaded
+                    }
+                    int studentId = rs.getInt(3);
+                    if (studentCount == 0 || studentIds[studentCount - 1] != studentId) {
+                        if (studentCount == studentIds.length) {
+                            studentIds = Arrays.copyOf(studentIds, studentCount * 2);
+                            preferenceStart = Arrays.copyOf(preferenceStart, studentCount * 2 + 1);
+                        }
+                        preferenceStart[studentCount] = preferenceCount;
+                        studentIds[studentCount++] = studentId;
+                    }
+                    if (preferenceCount == preferenceProject.length) {
+                        preferenceProject = Arrays.copyOf(preferenceProject, preferenceCount * 2);
+                        preferenceRegistration = Arrays.copyOf(preferenceRegistration, preferenceCount * 2);
+                    }
+                    preferenceProject[preferenceCount] = project;
+                    preferenceRegistration[preferenceCount++] = rs.getInt(1);
+                }
+            }
+        }
+        preferenceStart[studentCount] = preferenceCount;
+        AllocationProblem problem = new AllocationProblem(Arrays.copyOf(studentIds, studentCount), projectIds,
+                capacity, Arrays.copyOf(preferenceStart, studentCount + 1),
+                Arrays.copyOf(preferenceProject, preferenceCount),
+                Arrays.copyOf(preferenceRegistration, preferenceCount),
+                projectSupervisor, supervisorCapacity);
+        return new ProblemLoad(problem, projectStaff);
+    }
+
+    /**
+     * Counts the students assigned to the projects of each staff member.
+     *
+     * @return The number of assigned students by staff ID, for staff members who have any
+     * @throws SQLException if a database access error occurs
+     */
+    public Map<Integer, Integer> countAssignedRegistrationsByStaff() throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            return countAssignedRegistrationsByStaff(connection);
+        }
+    }
+
+    /**
+     * Runs the query of {@link #countAssignedRegistrationsByStaff()} on the given connection.
+     *
+     * @param connection The connection to use
+     * @return The number of assigned students by staff ID, for staff members who have any
+     * @throws SQLException if a database access error occurs
+     */
+    private static Map<Integer, Integer> countAssignedRegistrationsByStaff(Connection connection)
+            throws SQLException {
+        String sql = "SELECT p.staff_id, COUNT(*) FROM project_registrations pr " +
+                "JOIN projects p ON pr.project_id = p.project_id " +
+                "WHERE pr.registration_state = ? GROUP BY p.staff_id";
+        Map<Integer, Integer> loads = new HashMap<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    loads.put(rs.getInt(1), rs.getInt(2));
+                }
+            }
+        }
+        return loads;
+    }
+
+    /**
+     * Marks the registrations chosen by an allocation run as assigned, with JDBC batches in one transaction.
+     * Each update only applies while the registration is still interested and its student holds no other
+     * assignment, so a registration changed since the problem was loaded fails the whole write.
+     * The students' other interested registrations are kept as their remaining preferences.
+     *
+     * @param registrationIds The IDs of the registrations to assign, at most one per student
+     * @throws SQLException if a database access error occurs or a registration changed since it was loaded,
+     *                      in which case no registration is assigned
+     */
+    public void assignAllocatedRegistrations(int[] registrationIds) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                executeGuardedUpdates(connection, ASSIGN_ALLOCATED_SQL, registrationIds,
+                        RegistrationStateEnum.SUCCESS.getCode(),
+                        RegistrationStateEnum.WAIT.getCode(), RegistrationStateEnum.SUCCESS.getCode());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Runs a guarded update once per registration with JDBC batches on a connection that is already inside a
+     * transaction. The statement takes the new state, the registration ID and then the given conditions.
+     *
+     * @param connection The transactional connection to use
+     * @param sql The update statement
+     * @param registrationIds The IDs of the registrations to update
+     * @param state The new registration state
+     * @param conditions The remaining parameters of the statement
+     * @throws SQLException if a database access error occurs or an update matched no row, that is, a registration
+     *                      changed since it was loaded
+     */
+    private static void executeGuardedUpdates(Connection connection, String sql, int[] registrationIds, int state,
+                                              int... conditions) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int batchSize = 0;
+            for (int i = 0; i < registrationIds.length; i++) {
+                pstmt.setInt(1, state);
+                pstmt.setInt(2, registrationIds[i]);
+                for (int j = 0; j < conditions.length; j++) {
+                    pstmt.setInt(3 + j, conditions[j]);
+                }
+                pstmt.addBatch();
+                if (++batchSize == DatabaseManager.BATCH_SIZE || i == registrationIds.length - 1) {
+                    for (int count : pstmt.executeBatch()) {
+                        if (count == 0) {
+                            throw new SQLException("The registrations changed while the allocation was running");
+                        }
+                    }
+                    batchSize = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the assignments to a project away from their students in one transaction, before the project is made
+     * unavailable or when it is deleted. When the project is being deleted all of its registrations and then the
+     * project itself are deleted in the same transaction, so a registration created meanwhile fails the whole delete
+     * rather than leaving the project listed without its students. Otherwise its assigned registrations go back to
+     * interested.
+     *
+     * @param projectId The ID of the project
+     * @param delete Whether to delete the project and its registrations rather than keep them
+     * @return The IDs of the students who were assigned to the project, in ascending order
+     * @throws SQLException if a database access error occurs, in which case nothing is changed
+     */
+    public int[] releaseAssignedRegistrations(int projectId, boolean delete) throws SQLException {
+        String selectSql = "SELECT student_id FROM project_registrations " +
+                "WHERE project_id = ? AND registration_state = ? ORDER BY student_id FOR UPDATE";
+        String releaseSql = delete
+                ? "DELETE FROM project_registrations WHERE project_id = ?"
+                : "UPDATE project_registrations SET registration_state = ? WHERE project_id = ? AND registration_state = ?";
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int[] studentIds = new int[16];
+                int count = 0;
+                try (PreparedStatement pstmt = connection.prepareStatement(selectSql)) {
+                    pstmt.setInt(1, projectId);
+                    pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            if (count == studentIds.length) {
+                                studentIds = Arrays.copyOf(studentIds, count * 2);
+                            }
+                            studentIds[count++] = rs.getInt(1);
+                        }
+                    }
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(releaseSql)) {
+                    if (delete) {
+                        pstmt.setInt(1, projectId);
+                    } else {
+                        pstmt.setInt(1, RegistrationStateEnum.WAIT.getCode());
+                        pstmt.setInt(2, projectId);
+                        pstmt.setInt(3, RegistrationStateEnum.SUCCESS.getCode());
+                    }
+                    pstmt.executeUpdate();
+                }
+                if (delete) {
+                    try (PreparedStatement pstmt = connection.prepareStatement(
+                            "DELETE FROM projects WHERE project_id = ?")) {
+                        pstmt.setInt(1, projectId);
+                        pstmt.executeUpdate();
+                    }
+                }
+                connection.commit();
+                return Arrays.copyOf(studentIds, count);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the registrations of the given students on available projects, both interested and assigned.
+     * Each student's registrations are ordered by preference rank, unranked registrations last in registration order.
+     *
+     * @param studentIds The IDs of the students
+     * @return The registrations, grouped by student in ascending student ID order
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Registration> findPreferencesByStudentIds(int[] studentIds) throws SQLException {
+        String sql = "SELECT pr.registration_id, pr.project_id, pr.student_id, pr.registration_state " +
+                "FROM project_registrations pr JOIN projects p ON pr.project_id = p.project_id " +
+                "WHERE pr.student_id = ANY(?) AND pr.registration_state IN (?, ?) AND p.available = 1 " +
+                "ORDER BY pr.student_id, pr.preference_rank NULLS LAST, pr.registration_id";
+        List<Registration> registrations = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setObject(1, Arrays.stream(studentIds).boxed().toArray(Integer[]::new));
+            pstmt.setInt(2, RegistrationStateEnum.WAIT.getCode());
+            pstmt.setInt(3, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    registrations.add(mapRegistration(rs));
+                }
+            }
+        }
+        return registrations;
+    }
+
+    /**
+     * Retrieves the assigned registrations of the given projects.
+     *
+     * @param projectIds The IDs of the projects
+     * @return The assigned registrations, in registration ID order
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Registration> findAssignedRegistrationsByProjectIds(int[] projectIds) throws SQLException {
+        String sql = "SELECT registration_id, project_id, student_id, registration_state FROM project_registrations " +
+                "WHERE project_id = ANY(?) AND registration_state = ? ORDER BY registration_id";
+        List<Registration> registrations = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setObject(1, Arrays.stream(projectIds).boxed().toArray(Integer[]::new));
+            pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    registrations.add(mapRegistration(rs));
+                }
+            }
+        }
+        return registrations;
+    }
+
+    /**
+     * Retrieves how many more students each of the given projects and their supervisors can take.
+     * Unavailable projects are left out.
+     *
+     * @param projectIds The IDs of the projects
+     * @return The vacancies of the available projects among them
+     * @throws SQLException if a database access error occurs
+     */
+    public List<ProjectVacancy> findProjectVacancies(int[] projectIds) throws SQLException {
+        String sql = "SELECT p.project_id, p.staff_id, p.capacity - (SELECT COUNT(*) FROM project_registrations pr " +
+                "WHERE pr.project_id = p.project_id AND pr.registration_state = ?), " +
+                "u.max_load - (SELECT COUNT(*) FROM project_registrations pr " +
+                "JOIN projects q ON pr.project_id = q.project_id " +
+                "WHERE q.staff_id = p.staff_id AND pr.registration_state = ?) " +
+                "FROM projects p JOIN users u ON p.staff_id = u.user_id " +
+                "WHERE p.project_id = ANY(?) AND p.available = 1";
+        List<ProjectVacancy> vacancies = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, RegistrationStateEnum.SUCCESS.getCode());
+            pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+            pstmt.setObject(3, Arrays.stream(projectIds).boxed().toArray(Integer[]::new));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int staffPlaces = rs.getInt(4);
+                    boolean unlimited = rs.wasNull();
+                    vacancies.add(new ProjectVacancy(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                            unlimited ? null : staffPlaces));
+                }
+            }
+        }
+        return vacancies;
+    }
+
+    /**
+     * Moves assignments in one transaction: the released registrations go back to interested, then the assigned
+     * ones become assigned. Each update only applies while the registration is still in the state it was loaded in,
+     * so a registration changed since then fails the whole write.
+     *
+     * @param releasedIds The IDs of the assigned registrations to release
+     * @param assignedIds The IDs of the interested registrations to assign, at most one per student
+     * @throws SQLException if a database access error occurs or a registration changed since it was loaded,
+     *                      in which case nothing is changed
+     */
+    public void moveAllocatedRegistrations(int[] releasedIds, int[] assignedIds) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                executeGuardedUpdates(connection, RELEASE_ALLOCATED_SQL, releasedIds,
+                        RegistrationStateEnum.WAIT.getCode(), RegistrationStateEnum.SUCCESS.getCode());
+                executeGuardedUpdates(connection, ASSIGN_ALLOCATED_SQL, assignedIds,
+                        RegistrationStateEnum.SUCCESS.getCode(),
+                        RegistrationStateEnum.WAIT.getCode(), RegistrationStateEnum.SUCCESS.getCode());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Puts an interested registration at the end of its project's waitlist in one transaction. The project row is
+     * locked with SELECT ... FOR UPDATE so that two registrations joining the same waitlist get distinct positions.
+     *
+     * @param registrationId The ID of the registration
+     * @return The registration with its new state and waitlist position, or null if it is not an interested
+     *         registration
+     * @throws SQLException if a database access error occurs, in which case nothing is changed
+     */
+    public Registration addToWaitlist(int registrationId) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Registration registration = null;
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT registration_id, project_id, student_id, registration_state " +
+                                "FROM project_registrations WHERE registration_id = ? FOR UPDATE")) {
+                    pstmt.setInt(1, registrationId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (rs.next()) {
+                            registration = mapRegistration(rs);
+                        }
+                    }
+                }
+                if (registration == null || registration.getState() != RegistrationStateEnum.WAIT) {
+                    connection.rollback();
+                    return null;
+                }
+
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT project_id FROM projects WHERE project_id = ? FOR UPDATE")) {
+                    pstmt.setInt(1, registration.getProjectId());
+                    pstmt.executeQuery().close();
+                }
+                int position;
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT COALESCE(MAX(waitlist_position), 0) + 1 FROM project_registrations " +
+                                "WHERE project_id = ? AND registration_state = ?")) {
+                    pstmt.setInt(1, registration.getProjectId());
+                    pstmt.setInt(2, RegistrationStateEnum.WAITLISTED.getCode());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        position = rs.getInt(1);
+                    }
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "UPDATE project_registrations SET registration_state = ?, waitlist_position = ? " +
+                                "WHERE registration_id = ?")) {
+                    pstmt.setInt(1, RegistrationStateEnum.WAITLISTED.getCode());
+                    pstmt.setInt(2, position);
+                    pstmt.setInt(3, registrationId);
+                    pstmt.executeUpdate();
+                }
+                connection.commit();
+                registration.setState(RegistrationStateEnum.WAITLISTED);
+                registration.setWaitlistPosition(position);
+                return registration;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the waitlist of a project.
+     *
+     * @param projectId The ID of the project
+     * @return The waitlisted registrations with their positions, first in line first
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Registration> findWaitlistByProjectId(int projectId) throws SQLException {
+        String sql = "SELECT registration_id, project_id, student_id, registration_state, waitlist_position " +
+                "FROM project_registrations WHERE project_id = ? AND registration_state = ? " +
+                "ORDER BY waitlist_position";
+        List<Registration> registrations = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            pstmt.setInt(2, RegistrationStateEnum.WAITLISTED.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Registration registration = mapRegistration(rs);
+                    registration.setWaitlistPosition(rs.getInt(5));
+                    registrations.add(registration);
+                }
+            }
+        }
+        return registrations;
+    }
+
+    /**
+     * Retrieves the waitlisted registrations that assigning the given registrations would delete, that is, the other
+     * waitlisted registrations of their students.
+     *
+     * @param registrationIds The IDs of the registrations about to be assigned
+     * @return The waitlisted registrations of each given registration's student, keyed by the given registration ID;
+     *         registrations whose student has none are left out
+     * @throws SQLException if a database access error occurs
+     */
+    public Map<Integer, List<Registration>> findOtherWaitlistedRegistrations(int[] registrationIds)
+            throws SQLException {
+        String sql = "SELECT w.registration_id, w.project_id, w.student_id, w.registration_state, o.registration_id " +
+                "FROM project_registrations o JOIN project_registrations w " +
+                "ON w.student_id = o.student_id AND w.registration_id != o.registration_id " +
+                "WHERE o.registration_id = ANY(?) AND w.registration_state = ?";
+        Map<Integer, List<Registration>> waitlisted = new HashMap<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setObject(1, Arrays.stream(registrationIds).boxed().toArray(Integer[]::new));
+            pstmt.setInt(2, RegistrationStateEnum.WAITLISTED.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    waitlisted.computeIfAbsent(rs.getInt(5), id -> new ArrayList<>()).add(mapRegistration(rs));
+                }
+            }
+        }
+        return waitlisted;
+    }
+
+    /**
+     * Assigns a waitlisted registration if its project has a free place, in one transaction. The project row is
+     * locked first, so promotions to the same project never exceed its capacity, and the assignment then locks,
+     * deletes and updates the student's registrations as {@link #assignRegistration(int)} does. When the student
+     * already holds another assignment, for example one made by an allocation run, the registration leaves the
+     * waitlist and goes back to interested in the same transaction.
+     *
+     * @param projectId The ID of the project
+     * @param registrationId The ID of the waitlisted registration
+     * @return ASSIGNED if it was promoted, PROJECT_FULL if the project is unavailable or has no free place,
+     *         NOT_FOUND if it is no longer waitlisted on the project, or STUDENT_ALREADY_ASSIGNED if it was taken
+     *         off the waitlist instead
+     * @throws SQLException if a database access error occurs, in which case the transaction is rolled back
+     */
+    public AssignmentResultEnum promoteWaitlisted(int projectId, int registrationId) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                AssignmentResultEnum result = promoteWaitlisted(connection, projectId, registrationId);
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Runs the capacity check and the assignment of a promotion on a connection already inside a transaction, and
+     * takes the registration off the waitlist when its student turns out to be assigned elsewhere.
+     *
+     * @param connection The transactional connection to use
+     * @param projectId The ID of the project
+     * @param registrationId The ID of the waitlisted registration
+     * @return The outcome of the promotion
+     * @throws SQLException if a database access error occurs
+     */
+    private AssignmentResultEnum promoteWaitlisted(Connection connection, int projectId, int registrationId)
+            throws SQLException {
+        int capacity;
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT capacity FROM projects WHERE project_id = ? AND available = 1 FOR UPDATE")) {
+            pstmt.setInt(1, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return AssignmentResultEnum.PROJECT_FULL;
+                }
+                capacity = rs.getInt(1);
+            }
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT COUNT(*) FROM project_registrations WHERE project_id = ? AND registration_state = ?")) {
+            pstmt.setInt(1, projectId);
+            pstmt.setInt(2, RegistrationStateEnum.SUCCESS.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) >= capacity) {
+                    return AssignmentResultEnum.PROJECT_FULL;
+                }
+            }
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT 1 FROM project_registrations " +
+                        "WHERE registration_id = ? AND project_id = ? AND registration_state = ? FOR UPDATE")) {
+            pstmt.setInt(1, registrationId);
+            pstmt.setInt(2, projectId);
+            pstmt.setInt(3, RegistrationStateEnum.WAITLISTED.getCode());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return AssignmentResultEnum.NOT_FOUND;
+                }
+            }
+        }
+        AssignmentResultEnum result = assignRegistration(connection, registrationId, true);
+        if (result == AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED) {
+            try (PreparedStatement pstmt = connection.prepareStatement(
+                    "UPDATE project_registrations SET registration_state = ?, waitlist_position = NULL " +
+                            "WHERE registration_id = ?")) {
+                pstmt.setInt(1, RegistrationStateEnum.WAIT.getCode());
+                pstmt.setInt(2, registrationId);
+                pstmt.executeUpdate();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes an assignment away from its student, who goes back to being interested in the project.
+     *
+     * @param registrationId The ID of the assigned registration
+     * @return true if the registration was assigned and is now interested, false otherwise
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean releaseAssignment(int registrationId) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(RELEASE_ALLOCATED_SQL)) {
+            pstmt.setInt(1, RegistrationStateEnum.WAIT.getCode());
+            pstmt.setInt(2, registrationId);
+            pstmt.setInt(3, RegistrationStateEnum.SUCCESS.getCode());
+            return pstmt.executeUpdate() > 0;
+        }
+    }
 }
@@ -0,0 +1,388 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import com.example.cs5031p3.demo.backend.enums.DatabaseEventTypeEnum;
+import com.example.cs5031p3.demo.backend.model.DatabaseEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The QueryMonitor class watches the connections handed out by {@link DatabaseManager#getConnection()} to find
+ * production regressions without a profiler.
+ * <p>
+ * Each connection is wrapped in a dynamic proxy, and so is each statement it creates. Every execute call is timed;
+ * one that runs longer than the slow-query threshold is logged with its SQL and the shape of its bind parameters,
+ * such as {@code (Integer[200], Int)}, never their values. A sampled fraction of slow queries also get their plan,
+ * read with {@code EXPLAIN} on the same connection. A connection held longer than the leak threshold is flagged with
+ * the stack trace of the code that acquired it, when it is closed or, if it never is, when the open connections are
+ * next swept. The trace is captured as a bare Throwable at acquisition and only formatted once flagged.
+ * <p>
+ * Flagged events are kept in a ring buffer of fixed size, newest first, read through the admin endpoint.
+ */
+@Component
+public class QueryMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    /**
+     * The largest number of stack frames kept for a long-held connection.
+     */
+    private static final int MAX_STACK_FRAMES = 40;
+
+    private final boolean enabled;
+    private final long slowQueryNanos;
+    private final long leakNanos;
+    private final double planSampleRate;
+    private final DatabaseEvent[] events;
+    private int nextEvent;
+    private int eventCount;
+    private final Set<TrackedConnection> openConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    /**
+     * Constructs a QueryMonitor.
+     * @param enabled Whether connections are monitored at all.
+     * @param slowQueryMillis The time above which a statement is flagged as slow, or a negative value to flag none.
+     * @param leakMillis The time above which a held connection is flagged, or 0 to flag none.
+     * @param planSampleRate The fraction of slow queries whose plan is read, from 0 to 1.
+     * @param bufferSize The number of most recent events kept.
+     */
+    public QueryMonitor(@Value("${db.monitor.enabled:true}") boolean enabled,
+                        @Value("${db.monitor.slow-query-ms:200}") long slowQueryMillis,
+                        @Value("${db.monitor.leak-ms:5000}") long leakMillis,
+                        @Value("${db.monitor.plan-sample-rate:0.1}") double planSampleRate,
+                        @Value("${db.monitor.buffer-size:256}") int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("The event buffer must hold at least one event");
+        }
+        this.enabled = enabled;
+        this.slowQueryNanos = slowQueryMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.leakNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, leakMillis));
+        this.planSampleRate = planSampleRate;
+        this.events = new DatabaseEvent[bufferSize];
+    }
+
+    /**
+     * Wraps a connection so that its statements are timed and the time it is held is tracked.
+     * @param connection The connection from the data source.
+     * @return The monitored connection, or the connection itself if monitoring is disabled.
+     */
+    public Connection track(Connection connection) {
+        if (!enabled) {
+            return connection;
+        }
+        TrackedConnection tracked = new TrackedConnection(connection);
+        if (leakNanos > 0) {
+            openConnections.add(tracked);
+            sweepIfDue(tracked.acquiredNanos);
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, tracked);
+    }
+
+    /**
+     * Get the most recent events, after flagging the open connections held too long.
+     * @param limit The largest number of events returned.
+     * @return The events, newest first.
+     */
+    public List<DatabaseEvent> getEvents(int limit) {
+        sweep(System.nanoTime());
+        synchronized (this) {
+            int count = Math.min(Math.max(0, limit), eventCount);
+            List<DatabaseEvent> recent = new ArrayList<>(count);
+            for (int i = 1; i <= count; i++) {
+                recent.add(events[Math.floorMod(nextEvent - i, events.length)]);
+            }
+            return recent;
+        }
+    }
+
+    /**
+     * Discards every event kept.
+     */
+    public synchronized void clear() {
+        Arrays.fill(events, null);
+        nextEvent = 0;
+        eventCount = 0;
+    }
+
+    /**
+     * Adds an event to the ring buffer, overwriting the oldest one if it is full.
+     * @param event The event.
+     */
+    private synchronized void record(DatabaseEvent event) {
+        events[nextEvent] = event;
+        nextEvent = (nextEvent + 1) % events.length;
+        eventCount = Math.min(eventCount + 1, events.length);
+    }
+
+    /**
+     * Sweeps the open connections if half the leak threshold has passed since the last sweep, so that connections
+     * which are never closed are still flagged while others are being acquired.
+     * @param now The current value of System.nanoTime().
+     */
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= leakNanos / 2 && lastSweep.compareAndSet(last, now)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * Flags every open connection held longer than the leak threshold that is not flagged yet.
+     * @param now The current value of System.nanoTime().
+     */
+    private void sweep(long now) {
+        if (leakNanos <= 0) {
+            return;
+        }
+        for (TrackedConnection connection : openConnections) {
+            connection.flagIfHeldTooLong(now);
+        }
+    }
+
+    /**
+     * Checks a finished statement against the slow-query threshold and flags it if it is slow.
+     * @param statement The statement.
+     * @param sql The SQL that ran.
+     * @param elapsedNanos The time the execute call took.
+     */
+    private void afterExecute(TrackedStatement statement, String sql, long elapsedNanos) {
+        if (slowQueryNanos < 0 || elapsedNanos < slowQueryNanos) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        String bindShape = statement.bindShape();
+        String plan = null;
+        if (statement.prepared && planSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < planSampleRate) {
+            plan = explain(statement, sql);
+        }
+        logger.warn("Slow query ({} ms): {} {}", millis, sql, bindShape);
+        record(new DatabaseEvent(DatabaseEventTypeEnum.SLOW_QUERY, System.currentTimeMillis(), millis,
+                Thread.currentThread().getName(), sql, bindShape, plan, null));
+    }
+
+    /**
+     * Reads the plan of a query with the bind values it last ran with.
+     * @param statement The statement.
+     * @param sql The SQL of the query.
+     * @return The plan, or null if the statement is not a query.
+     */
+    private static String explain(TrackedStatement statement, String sql) {
+        String head = sql.stripLeading().toUpperCase(Locale.ROOT);
+        if (!head.startsWith("SELECT") && !head.startsWith("WITH")) {
+            return null;
+        }
+        try (PreparedStatement pstmt = statement.connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < statement.values.size(); i++) {
+                pstmt.setObject(i + 1, statement.values.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().strip();
+        } catch (SQLException e) {
+            return "Plan unavailable: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Calls a method on the wrapped JDBC object, rethrowing what it throws rather than a reflection exception.
+     * @param target The JDBC object.
+     * @param method The method.
+     * @param args The arguments.
+     * @return The result of the method.
+     * @throws Throwable the exception thrown by the method.
+     */
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The proxy handler of a monitored connection.
+     */
+    private final class TrackedConnection implements InvocationHandler {
+        private final Connection target;
+        private final long acquiredNanos = System.nanoTime();
+        private final Throwable acquiredAt;
+        private final String thread = Thread.currentThread().getName();
+        private boolean closed;
+        private boolean flagged;
+
+        TrackedConnection(Connection target) {
+            this.target = target;
+            this.acquiredAt = leakNanos > 0 ? new Throwable("Connection acquired") : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        openConnections.remove(this);
+                        flagIfHeldTooLong(System.nanoTime());
+                    }
+                    return call(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = call(target, method, args);
+            if (result instanceof Statement && method.getName().startsWith("prepare")) {
+                return wrap(method, new TrackedStatement(target, (Statement) result, (String) args[0], true));
+            }
+            if (result instanceof Statement && method.getName().equals("createStatement")) {
+                return wrap(method, new TrackedStatement(target, (Statement) result, null, false));
+            }
+            return result;
+        }
+
+        /**
+         * Flags the connection once if it has been held longer than the leak threshold.
+         * @param now The current value of System.nanoTime().
+         */
+        synchronized void flagIfHeldTooLong(long now) {
+            if (leakNanos <= 0 || flagged || now - acquiredNanos < leakNanos) {
+                return;
+            }
+            flagged = true;
+            long millis = TimeUnit.NANOSECONDS.toMillis(now - acquiredNanos);
+            List<String> stackTrace = Arrays.stream(acquiredAt.getStackTrace())
+                    .filter(frame -> !frame.getClassName().equals(DatabaseManager.class.getName())
+                            && !frame.getClassName().equals(QueryMonitor.class.getName())
+                            && !frame.getClassName().startsWith(QueryMonitor.class.getName() + "$"))
+                    .limit(MAX_STACK_FRAMES)
+                    .map(StackTraceElement::toString)
+                    .toList();
+            logger.warn("Connection held for {} ms{}, acquired by {} at {}", millis, closed ? "" : " and still open",
+                    thread, stackTrace.isEmpty() ? "an unknown caller" : stackTrace.get(0));
+            record(new DatabaseEvent(DatabaseEventTypeEnum.LONG_HELD_CONNECTION, System.currentTimeMillis(), millis,
+                    thread, null, null, null, stackTrace));
+        }
+
+        /**
+         * Wraps a statement in a proxy of the interface the creating method returns.
+         * @param method The method that created the statement.
+         * @param statement The proxy handler of the statement.
+         * @return The monitored statement.
+         */
+        private Object wrap(Method method, TrackedStatement statement) {
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()}, statement);
+        }
+    }
+
+    /**
+     * The proxy handler of a monitored statement, which records the bind parameters of a prepared statement.
+     */
+    private final class TrackedStatement implements InvocationHandler {
+        private final Connection connection;
+        private final Statement target;
+        private final String sql;
+        private final boolean prepared;
+        private final List<String> types = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private int batchSize;
+
+        TrackedStatement(Connection connection, Statement target, String sql, boolean prepared) {
+            this.connection = connection;
+            this.target = target;
+            this.sql = sql;
+            this.prepared = prepared;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    return call(target, method, args);
+                } finally {
+                    afterExecute(this, args != null && args.length > 0 && args[0] instanceof String
+                            ? (String) args[0] : sql, System.nanoTime() - start);
+                    if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (prepared && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer && method.getDeclaringClass() != Statement.class) {
+                bind((Integer) args[0], name, args[1]);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("clearParameters")) {
+                types.clear();
+                values.clear();
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return call(target, method, args);
+        }
+
+        /**
+         * Records the type and value of a bind parameter.
+         * @param index The index of the parameter, from 1.
+         * @param setter The name of the setter called.
+         * @param value The value bound.
+         */
+        private void bind(int index, String setter, Object value) {
+            while (types.size() < index) {
+                types.add("?");
+                values.add(null);
+            }
+            String type = setter.substring(3);
+            if (value instanceof Object[] array) {
+                type = array.getClass().getComponentType().getSimpleName() + "[" + array.length + "]";
+            } else if (setter.equals("setObject")) {
+                type = value == null ? "Null" : value.getClass().getSimpleName();
+            }
+            types.set(index - 1, type);
+            values.set(index - 1, setter.equals("setNull") ? null : value);
+        }
+
+        /**
+         * Describes the types of the bound parameters.
+         * @return The bind shape, with the number of rows for a batch.
+         */
+        String bindShape() {
+            String shape = "(" + String.join(", ", types) + ")";
+            return batchSize > 0 ? shape + " x " + batchSize : shape;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import java.io.IOException;
+
+/**
+ * The RowCallback interface receives the rows of a streamed query one at a time, while the cursor is still open.
+ * It lets the caller write each row out (for example as JSON) without the DAO building a list of every row first.
+ * @param <T> The type of the mapped row
+ */
+@FunctionalInterface
+public interface RowCallback<T> {
+
+    /**
+     * Handles one mapped row.
+     * @param row The row read from the current cursor position
+     * @throws IOException if the row cannot be written out
+     */
+    void accept(T row) throws IOException;
+}
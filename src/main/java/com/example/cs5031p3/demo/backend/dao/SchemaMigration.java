@@ -0,0 +1,50 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import java.util.List;
+
+/**
+ * The SchemaMigration class represents one versioned step of the database schema.
+ * Migrations are applied in ascending version order by the DatabaseManager, and each applied
+ * version is recorded in the schema_version table so it is never applied twice.
+ */
+public class SchemaMigration {
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    /**
+     * Constructs a SchemaMigration with the given version, description and DDL statements.
+     * @param version The version number of the migration, which must be unique and increasing
+     * @param description A short description of what the migration changes
+     * @param statements The SQL statements to execute, in order
+     */
+    public SchemaMigration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+
+    /**
+     * Get the version number of the migration.
+     * @return The version number
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the description of the migration.
+     * @return The description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the SQL statements of the migration.
+     * @return The statements in execution order
+     */
+    public List<String> getStatements() {
+        return statements;
+    }
+}
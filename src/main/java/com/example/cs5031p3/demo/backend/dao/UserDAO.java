@@ -9,8 +9,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object (DAO) for managing user data in the database.
@@ -47,6 +51,90 @@ public class UserDAO {
         }
     }
 
+    /**
+     * Creates several users in the database with JDBC batches in one transaction.
+     * The generated IDs are written back onto the given user objects.
+     *
+     * @param users The user objects to be created
+     * @throws SQLException if a database access error occurs, in which case no user is created
+     */
+    public void createUsers(List<User> users) throws SQLException {
+        String sql = "INSERT INTO users (name, username, password, type_id) VALUES (?, ?, ?, ?)";
+        try (Connection connection = databaseManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < users.size(); i++) {
+                    User user = users.get(i);
+                    pstmt.setString(1, user.getName());
+                    pstmt.setString(2, user.getUsername());
+                    pstmt.setString(3, user.getPassword());
+                    pstmt.setInt(4, user.getTypeId());
+                    pstmt.addBatch();
+                    if (i + 1 - batchStart == DatabaseManager.BATCH_SIZE || i == users.size() - 1) {
+                        pstmt.executeBatch();
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && generatedKeys.next(); j++) {
+                                users.get(j).setId(generatedKeys.getInt(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Retrieves which of the given usernames are already taken, with a single query.
+     *
+     * @param usernames The usernames to check
+     * @return The subset of the usernames that already exist in the database
+     * @throws SQLException if a database access error occurs
+     */
+    public Set<String> findExistingUsernames(Collection<String> usernames) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        String sql = "SELECT username FROM users WHERE username = ANY(?)";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setObject(1, usernames.toArray(new String[0]));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString("username"));
+                }
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Retrieves only the type of a user, without reading the rest of the row.
+     *
+     * @param userId The ID of the user
+     * @return The type code of the user if found, otherwise null
+     * @throws SQLException if a database access error occurs
+     */
+    public Integer getUserTypeId(int userId) throws SQLException {
+        String sql = "SELECT type_id FROM users WHERE user_id = ?";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Retrieves a user from the database by its ID.
      *
@@ -159,6 +247,36 @@ public class UserDAO {
         return userList;
     }
 
+    /**
+     * Retrieves a page of users ordered by ID, starting after the given ID (keyset pagination).
+     *
+     * @param afterId Only users with an ID greater than this are returned; 0 starts from the beginning
+     * @param limit The maximum number of users to return
+     * @return A list of at most limit user objects in ascending ID order
+     * @throws SQLException if a database access error occurs
+     */
+    public List<User> getUsersAfter(int afterId, int limit) throws SQLException {
+        List<User> userList = new ArrayList<>();
+        String sql = "SELECT * FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    User user = new User(
+                            rs.getInt("user_id"),
+                            rs.getString("name"),
+                            rs.getString("username"),
+                            rs.getString("password"),
+                            rs.getInt("type_id"));
+                    userList.add(user);
+                }
+            }
+        }
+        return userList;
+    }
+
     /**
      * Updates the password of a user in the database.
      *
@@ -175,6 +293,27 @@ public class UserDAO {
         }
     }
 
+    /**
+     * Updates the maximum number of students a staff member supervises, which allocation runs respect.
+     *
+     * @param userId The ID of the staff member
+     * @param maxLoad The maximum load, or null to remove the limit
+     * @throws SQLException if a database access error occurs or the load is negative
+     */
+    public void updateMaxLoad(int userId, Integer maxLoad) throws SQLException {
+        String sql = "UPDATE users SET max_load = ? WHERE user_id = ?";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (maxLoad == null) {
+                pstmt.setNull(1, Types.INTEGER);
+            } else {
+                pstmt.setInt(1, maxLoad);
+            }
+            pstmt.setInt(2, userId);
+            pstmt.executeUpdate();
+        }
+    }
+
     /**
      * Verifies the password of a user in the database.
      *
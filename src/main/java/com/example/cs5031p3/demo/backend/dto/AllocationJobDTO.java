@@ -0,0 +1,185 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationJob;
+
+/**
+ * Data Transfer Object (DTO) reporting the progress of an asynchronous allocation job: its phase, how much of it
+ * is done, how long it has waited and run, and its summary or error once it has finished.
+ */
+public class AllocationJobDTO {
+    private long id;
+    private AllocationModeEnum mode;
+    private long improveMillis;
+    private AllocationJobPhaseEnum phase;
+    private int percent;
+    private long queueMillis;
+    private long runMillis;
+    private AllocationResultDTO result;
+    private String error;
+
+    /**
+     * Public constructor for AllocationJobDTO, reading the state of a job at one point in time.
+     * @param job The job to report on.
+     * @param now The current time, in epoch milliseconds.
+     */
+    public AllocationJobDTO(AllocationJob job, long now) {
+        AllocationJobPhaseEnum current = job.getPhase();
+        long startedAt = job.getStartedAt();
+        long finishedAt = job.getFinishedAt();
+        this.id = job.getId();
+        this.mode = job.getMode();
+        this.improveMillis = job.getImproveMillis();
+        this.phase = current;
+        this.percent = job.getPercent();
+        this.queueMillis = (startedAt == 0 ? now : startedAt) - job.getQueuedAt();
+        this.runMillis = startedAt == 0 ? 0 : (finishedAt == 0 ? now : finishedAt) - startedAt;
+        this.result = job.getResult();
+        this.error = job.getError();
+    }
+
+    /**
+     * Get the ID of the job.
+     * @return The job ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Set the ID of the job.
+     * @param id The job ID to set.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the algorithm the job allocates with.
+     * @return The allocation mode.
+     */
+    public AllocationModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * Set the algorithm the job allocates with.
+     * @param mode The allocation mode to set.
+     */
+    public void setMode(AllocationModeEnum mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Get the time the job spends improving the allocation by local search.
+     * @return The budget in milliseconds, 0 for none.
+     */
+    public long getImproveMillis() {
+        return improveMillis;
+    }
+
+    /**
+     * Set the time the job spends improving the allocation by local search.
+     * @param improveMillis The budget in milliseconds to set.
+     */
+    public void setImproveMillis(long improveMillis) {
+        this.improveMillis = improveMillis;
+    }
+
+    /**
+     * Get the current phase of the job.
+     * @return The phase.
+     */
+    public AllocationJobPhaseEnum getPhase() {
+        return phase;
+    }
+
+    /**
+     * Set the current phase of the job.
+     * @param phase The phase to set.
+     */
+    public void setPhase(AllocationJobPhaseEnum phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Get a rough estimate of how much of the run is done.
+     * @return The percentage complete.
+     */
+    public int getPercent() {
+        return percent;
+    }
+
+    /**
+     * Set a rough estimate of how much of the run is done.
+     * @param percent The percentage complete to set.
+     */
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+
+    /**
+     * Get the time the job spent waiting in the queue.
+     * @return The time in milliseconds.
+     */
+    public long getQueueMillis() {
+        return queueMillis;
+    }
+
+    /**
+     * Set the time the job spent waiting in the queue.
+     * @param queueMillis The time in milliseconds to set.
+     */
+    public void setQueueMillis(long queueMillis) {
+        this.queueMillis = queueMillis;
+    }
+
+    /**
+     * Get the time the job spent running.
+     * @return The time in milliseconds.
+     */
+    public long getRunMillis() {
+        return runMillis;
+    }
+
+    /**
+     * Set the time the job spent running.
+     * @param runMillis The time in milliseconds to set.
+     */
+    public void setRunMillis(long runMillis) {
+        this.runMillis = runMillis;
+    }
+
+    /**
+     * Get the summary of the run, which holds the time spent in each phase.
+     * @return The summary, or null unless the job completed.
+     */
+    public AllocationResultDTO getResult() {
+        return result;
+    }
+
+    /**
+     * Set the summary of the run, which holds the time spent in each phase.
+     * @param result The summary, or null unless the job completed to set.
+     */
+    public void setResult(AllocationResultDTO result) {
+        this.result = result;
+    }
+
+    /**
+     * Get the reason the run failed.
+     * @return The error message, or null unless the job failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Set the reason the run failed.
+     * @param error The error message, or null unless the job failed to set.
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+}
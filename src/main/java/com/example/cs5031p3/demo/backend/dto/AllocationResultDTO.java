@@ -0,0 +1,205 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+
+/**
+ * Data Transfer Object (DTO) summarising one allocation run: how many students took part, how many were assigned
+ * a project and how well they were placed, and how long loading, matching and writing back took. Runs with a
+ * local-search pass also report how much it lowered its objective, which is included in the match time.
+ */
+public class AllocationResultDTO {
+    private AllocationModeEnum mode;
+    private int students;
+    private int assigned;
+    private long rankSum;
+    private long loadMillis;
+    private long matchMillis;
+    private long writeMillis;
+    private long improveMillis;
+    private long improvement;
+    private double improvementPerSecond;
+
+    /**
+     * Public constructor for AllocationResultDTO.
+     * @param students The number of unassigned students with interested registrations.
+     * @param assigned The number of those students assigned a project by the run.
+     * @param loadMillis The time spent loading the registrations, in milliseconds.
+     * @param matchMillis The time spent computing the matching, in milliseconds.
+     * @param writeMillis The time spent writing the assignments back, in milliseconds.
+     */
+    public AllocationResultDTO(int students, int assigned, long loadMillis, long matchMillis, long writeMillis) {
+        this.students = students;
+        this.assigned = assigned;
+        this.loadMillis = loadMillis;
+        this.matchMillis = matchMillis;
+        this.writeMillis = writeMillis;
+    }
+
+    /**
+     * Get the algorithm the run allocated with.
+     * @return The allocation mode.
+     */
+    public AllocationModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * Set the algorithm the run allocated with.
+     * @param mode The allocation mode to set.
+     */
+    public void setMode(AllocationModeEnum mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Get the number of students taking part in the run.
+     * @return The number of students.
+     */
+    public int getStudents() {
+        return students;
+    }
+
+    /**
+     * Set the number of students taking part in the run.
+     * @param students The number of students to set.
+     */
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    /**
+     * Get the number of students assigned a project by the run.
+     * @return The number of assigned students.
+     */
+    public int getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * Set the number of students assigned a project by the run.
+     * @param assigned The number of assigned students to set.
+     */
+    public void setAssigned(int assigned) {
+        this.assigned = assigned;
+    }
+
+    /**
+     * Get the number of students left without a project by the run.
+     * @return The number of unassigned students.
+     */
+    public int getUnassigned() {
+        return students - assigned;
+    }
+
+    /**
+     * Get the sum of the preference ranks the assigned students got, counting a first choice as 0.
+     * @return The rank sum, lower being better.
+     */
+    public long getRankSum() {
+        return rankSum;
+    }
+
+    /**
+     * Set the sum of the preference ranks the assigned students got.
+     * @param rankSum The rank sum to set.
+     */
+    public void setRankSum(long rankSum) {
+        this.rankSum = rankSum;
+    }
+
+    /**
+     * Get the time spent loading the registrations.
+     * @return The load time in milliseconds.
+     */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * Set the time spent loading the registrations.
+     * @param loadMillis The load time in milliseconds to set.
+     */
+    public void setLoadMillis(long loadMillis) {
+        this.loadMillis = loadMillis;
+    }
+
+    /**
+     * Get the time spent computing the matching.
+     * @return The match time in milliseconds.
+     */
+    public long getMatchMillis() {
+        return matchMillis;
+    }
+
+    /**
+     * Set the time spent computing the matching.
+     * @param matchMillis The match time in milliseconds to set.
+     */
+    public void setMatchMillis(long matchMillis) {
+        this.matchMillis = matchMillis;
+    }
+
+    /**
+     * Get the time spent writing the assignments back.
+     * @return The write time in milliseconds.
+     */
+    public long getWriteMillis() {
+        return writeMillis;
+    }
+
+    /**
+     * Set the time spent writing the assignments back.
+     * @param writeMillis The write time in milliseconds to set.
+     */
+    public void setWriteMillis(long writeMillis) {
+        this.writeMillis = writeMillis;
+    }
+
+    /**
+     * Get the time spent improving the allocation by local search.
+     * @return The local-search time in milliseconds, 0 if the run had no local-search pass.
+     */
+    public long getImproveMillis() {
+        return improveMillis;
+    }
+
+    /**
+     * Set the time spent improving the allocation by local search.
+     * @param improveMillis The local-search time in milliseconds to set.
+     */
+    public void setImproveMillis(long improveMillis) {
+        this.improveMillis = improveMillis;
+    }
+
+    /**
+     * Get how much the local search lowered its objective, the rank sum plus the sum of squared supervisor loads.
+     * @return The improvement, 0 if the run had no local-search pass.
+     */
+    public long getImprovement() {
+        return improvement;
+    }
+
+    /**
+     * Set how much the local search lowered its objective.
+     * @param improvement The improvement to set.
+     */
+    public void setImprovement(long improvement) {
+        this.improvement = improvement;
+    }
+
+    /**
+     * Get the rate at which the local search lowered its objective.
+     * @return The improvement per second of local search.
+     */
+    public double getImprovementPerSecond() {
+        return improvementPerSecond;
+    }
+
+    /**
+     * Set the rate at which the local search lowered its objective.
+     * @param improvementPerSecond The improvement per second to set.
+     */
+    public void setImprovementPerSecond(double improvementPerSecond) {
+        this.improvementPerSecond = improvementPerSecond;
+    }
+}
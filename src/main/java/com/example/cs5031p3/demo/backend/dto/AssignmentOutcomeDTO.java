@@ -0,0 +1,61 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of one registration in a batch assignment.
+ */
+public class AssignmentOutcomeDTO {
+    private int registrationId;
+    private AssignmentResultEnum result;
+
+    /**
+     * Public constructor for AssignmentOutcomeDTO.
+     * @param registrationId The ID of the registration.
+     * @param result The outcome of assigning it.
+     */
+    public AssignmentOutcomeDTO(int registrationId, AssignmentResultEnum result) {
+        this.registrationId = registrationId;
+        this.result = result;
+    }
+
+    /**
+     * Get the ID of the registration.
+     * @return The registration ID.
+     */
+    public int getRegistrationId() {
+        return registrationId;
+    }
+
+    /**
+     * Set the ID of the registration.
+     * @param registrationId The registration ID to set.
+     */
+    public void setRegistrationId(int registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    /**
+     * Get the outcome of assigning the registration.
+     * @return The outcome.
+     */
+    public AssignmentResultEnum getResult() {
+        return result;
+    }
+
+    /**
+     * Set the outcome of assigning the registration.
+     * @param result The outcome to set.
+     */
+    public void setResult(AssignmentResultEnum result) {
+        this.result = result;
+    }
+
+    /**
+     * Get the description of the outcome, for display.
+     * @return The description of the outcome.
+     */
+    public String getMessage() {
+        return result.getDescription();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing one page of a keyset-paginated listing.
+ * The next page is requested by passing nextCursor as the "after" parameter; a null nextCursor marks the last page.
+ * @param <T> The type of the items in the page.
+ */
+public class PageDTO<T> {
+
+    /**
+     * The largest number of items returned in one page, whatever limit the client asks for.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Integer nextCursor;
+
+    /**
+     * Public constructor for PageDTO.
+     * @param items The items of the page.
+     * @param nextCursor The cursor of the next page, or null if this is the last page.
+     */
+    public PageDTO(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the items of the page.
+     * @return The items of the page.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Set the items of the page.
+     * @param items The items to set.
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Get the cursor of the next page.
+     * @return The cursor of the next page, or null if this is the last page.
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Set the cursor of the next page.
+     * @param nextCursor The cursor to set.
+     */
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
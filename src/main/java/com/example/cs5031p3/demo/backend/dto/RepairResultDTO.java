@@ -0,0 +1,118 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+/**
+ * Data Transfer Object (DTO) summarising one allocation repair after a project was made unavailable or deleted:
+ * how many of its students lost their assignment, how many of them were re-assigned, how many other students moved
+ * to make room, and how long the repair took.
+ */
+public class RepairResultDTO {
+    private int projectId;
+    private int affected;
+    private int reassigned;
+    private int moved;
+    private long millis;
+
+    /**
+     * Public constructor for RepairResultDTO.
+     * @param projectId The ID of the project that was taken away.
+     * @param affected The number of students who were assigned to the project.
+     * @param reassigned The number of those students assigned another project by the repair.
+     * @param moved The number of other students moved to another project by the repair.
+     * @param millis The time spent on the repair, in milliseconds.
+     */
+    public RepairResultDTO(int projectId, int affected, int reassigned, int moved, long millis) {
+        this.projectId = projectId;
+        this.affected = affected;
+        this.reassigned = reassigned;
+        this.moved = moved;
+        this.millis = millis;
+    }
+
+    /**
+     * Get the ID of the project that was taken away.
+     * @return The project ID.
+     */
+    public int getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Set the ID of the project that was taken away.
+     * @param projectId The project ID to set.
+     */
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    /**
+     * Get the number of students who were assigned to the project.
+     * @return The number of affected students.
+     */
+    public int getAffected() {
+        return affected;
+    }
+
+    /**
+     * Set the number of students who were assigned to the project.
+     * @param affected The number of affected students to set.
+     */
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    /**
+     * Get the number of affected students assigned another project by the repair.
+     * @return The number of re-assigned students.
+     */
+    public int getReassigned() {
+        return reassigned;
+    }
+
+    /**
+     * Set the number of affected students assigned another project by the repair.
+     * @param reassigned The number of re-assigned students to set.
+     */
+    public void setReassigned(int reassigned) {
+        this.reassigned = reassigned;
+    }
+
+    /**
+     * Get the number of affected students left without a project.
+     * @return The number of unassigned students.
+     */
+    public int getUnassigned() {
+        return affected - reassigned;
+    }
+
+    /**
+     * Get the number of other students moved to another project to make room.
+     * @return The number of moved students.
+     */
+    public int getMoved() {
+        return moved;
+    }
+
+    /**
+     * Set the number of other students moved to another project to make room.
+     * @param moved The number of moved students to set.
+     */
+    public void setMoved(int moved) {
+        this.moved = moved;
+    }
+
+    /**
+     * Get the time spent on the repair.
+     * @return The repair time in milliseconds.
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Set the time spent on the repair.
+     * @param millis The repair time in milliseconds to set.
+     */
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) holding the quality of one simulated allocation: how many students would be assigned,
+ * at which preference ranks, and how many students each supervisor would then have.
+ */
+public class SimulationResultDTO {
+    private String name;
+    private AllocationModeEnum mode;
+    private int students;
+    private int assigned;
+    private long rankSum;
+    private int[] rankHistogram;
+    private Map<Integer, Integer> supervisorLoads;
+    private long millis;
+
+    /**
+     * Public constructor for SimulationResultDTO.
+     * @param name The name of the scenario.
+     * @param mode The algorithm the scenario allocated with.
+     * @param students The number of unassigned students with interested registrations.
+     * @param assigned The number of those students the scenario would assign.
+     * @param rankSum The sum of the preference ranks the assigned students would get, counting a first choice as 0.
+     * @param rankHistogram The number of assigned students at each preference rank, first choices first.
+     * @param supervisorLoads The number of students each supervisor would have, including earlier assignments.
+     * @param millis The time spent on the scenario, in milliseconds.
+     */
+    public SimulationResultDTO(String name, AllocationModeEnum mode, int students, int assigned, long rankSum,
+                               int[] rankHistogram, Map<Integer, Integer> supervisorLoads, long millis) {
+        this.name = name;
+        this.mode = mode;
+        this.students = students;
+        this.assigned = assigned;
+        this.rankSum = rankSum;
+        this.rankHistogram = rankHistogram;
+        this.supervisorLoads = supervisorLoads;
+        this.millis = millis;
+    }
+
+    /**
+     * Get the name of the scenario.
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of the scenario.
+     * @param name The name to set.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the algorithm the scenario allocated with.
+     * @return The allocation mode.
+     */
+    public AllocationModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * Set the algorithm the scenario allocated with.
+     * @param mode The allocation mode to set.
+     */
+    public void setMode(AllocationModeEnum mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Get the number of students taking part in the scenario.
+     * @return The number of students.
+     */
+    public int getStudents() {
+        return students;
+    }
+
+    /**
+     * Set the number of students taking part in the scenario.
+     * @param students The number of students to set.
+     */
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    /**
+     * Get the number of students the scenario would assign.
+     * @return The number of assigned students.
+     */
+    public int getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * Set the number of students the scenario would assign.
+     * @param assigned The number of assigned students to set.
+     */
+    public void setAssigned(int assigned) {
+        this.assigned = assigned;
+    }
+
+    /**
+     * Get the number of students the scenario would leave without a project.
+     * @return The number of unassigned students.
+     */
+    public int getUnassigned() {
+        return students - assigned;
+    }
+
+    /**
+     * Get the sum of the preference ranks the assigned students would get.
+     * @return The rank sum, lower being better.
+     */
+    public long getRankSum() {
+        return rankSum;
+    }
+
+    /**
+     * Set the sum of the preference ranks the assigned students would get.
+     * @param rankSum The rank sum to set.
+     */
+    public void setRankSum(long rankSum) {
+        this.rankSum = rankSum;
+    }
+
+    /**
+     * Get the number of assigned students at each preference rank.
+     * @return The histogram, whose entry i counts the students getting their (i + 1)-th choice.
+     */
+    public int[] getRankHistogram() {
+        return rankHistogram;
+    }
+
+    /**
+     * Set the number of assigned students at each preference rank.
+     * @param rankHistogram The histogram to set.
+     */
+    public void setRankHistogram(int[] rankHistogram) {
+        this.rankHistogram = rankHistogram;
+    }
+
+    /**
+     * Get the number of students each supervisor would have, including earlier assignments.
+     * @return The loads by staff ID.
+     */
+    public Map<Integer, Integer> getSupervisorLoads() {
+        return supervisorLoads;
+    }
+
+    /**
+     * Set the number of students each supervisor would have.
+     * @param supervisorLoads The loads by staff ID to set.
+     */
+    public void setSupervisorLoads(Map<Integer, Integer> supervisorLoads) {
+        this.supervisorLoads = supervisorLoads;
+    }
+
+    /**
+     * Get the time spent on the scenario.
+     * @return The time in milliseconds.
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Set the time spent on the scenario.
+     * @param millis The time in milliseconds to set.
+     */
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.cs5031p3.demo.backend.dto;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.enums.TieBreakEnum;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) describing one what-if variant of an allocation run to simulate: the algorithm,
+ * projects to leave out, changed supervisor maximum loads and how ties between students are broken.
+ */
+public class SimulationScenarioDTO {
+    private String name;
+    private AllocationModeEnum mode = AllocationModeEnum.STABLE;
+    private List<Integer> removedProjectIds = new ArrayList<>();
+    private Map<Integer, Integer> maxLoads = new HashMap<>();
+    private TieBreakEnum tieBreak = TieBreakEnum.EARLIEST_REGISTRATION;
+    private long seed;
+
+    /**
+     * Default constructor for SimulationScenarioDTO.
+     */
+    public SimulationScenarioDTO() {
+    }
+
+    /**
+     * Parameterized constructor for SimulationScenarioDTO.
+     * @param name The name of the scenario, echoed in its result.
+     * @param mode The algorithm to allocate with.
+     */
+    public SimulationScenarioDTO(String name, AllocationModeEnum mode) {
+        this.name = name;
+        this.mode = mode;
+    }
+
+    /**
+     * Get the name of the scenario.
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of the scenario.
+     * @param name The name to set.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the algorithm to allocate with.
+     * @return The allocation mode.
+     */
+    public AllocationModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * Set the algorithm to allocate with.
+     * @param mode The allocation mode to set.
+     */
+    public void setMode(AllocationModeEnum mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Get the IDs of the projects to leave out of the allocation.
+     * @return The removed project IDs.
+     */
+    public List<Integer> getRemovedProjectIds() {
+        return removedProjectIds;
+    }
+
+    /**
+     * Set the IDs of the projects to leave out of the allocation.
+     * @param removedProjectIds The removed project IDs to set.
+     */
+    public void setRemovedProjectIds(List<Integer> removedProjectIds) {
+        this.removedProjectIds = removedProjectIds;
+    }
+
+    /**
+     * Get the changed maximum loads, by staff ID; a null load removes the staff member's limit.
+     * @return The maximum loads.
+     */
+    public Map<Integer, Integer> getMaxLoads() {
+        return maxLoads;
+    }
+
+    /**
+     * Set the changed maximum loads, by staff ID; a null load removes the staff member's limit.
+     * @param maxLoads The maximum loads to set.
+     */
+    public void setMaxLoads(Map<Integer, Integer> maxLoads) {
+        this.maxLoads = maxLoads;
+    }
+
+    /**
+     * Get how ties between students competing for a project are broken in a stable allocation.
+     * @return The tie-break.
+     */
+    public TieBreakEnum getTieBreak() {
+        return tieBreak;
+    }
+
+    /**
+     * Set how ties between students competing for a project are broken in a stable allocation.
+     * @param tieBreak The tie-break to set.
+     */
+    public void setTieBreak(TieBreakEnum tieBreak) {
+        this.tieBreak = tieBreak;
+    }
+
+    /**
+     * Get the seed of the random tie-break.
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set the seed of the random tie-break.
+     * @param seed The seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
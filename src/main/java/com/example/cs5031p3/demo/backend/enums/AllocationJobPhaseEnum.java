@@ -0,0 +1,61 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing the phase of an asynchronous allocation job.
+ */
+public enum AllocationJobPhaseEnum {
+
+    QUEUED(0,"Waiting for earlier allocation runs to finish"),
+
+    LOADING(1,"Loading the registrations"),
+
+    SOLVING(2,"Computing the allocation"),
+
+    WRITING(3,"Writing the assignments back"),
+
+    COMPLETED(4,"Finished"),
+
+    FAILED(5,"Failed"),
+
+    CANCELLED(6,"Cancelled before anything was written"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for AllocationJobPhaseEnum.
+     * @param code The code representing the job phase.
+     * @param description The description of the job phase.
+     */
+    AllocationJobPhaseEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the job phase.
+     * @return The code representing the job phase.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the job phase.
+     * @return The description of the job phase.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Check whether a job in this phase has finished, successfully or not.
+     * @return true for COMPLETED, FAILED and CANCELLED.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing the algorithm used by an allocation run.
+ */
+public enum AllocationModeEnum {
+
+    STABLE(0,"Stable matching by student-proposing Gale-Shapley"),
+
+    OPTIMAL(1,"Most students at the lowest total preference rank by min-cost max-flow"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for AllocationModeEnum.
+     * @param code The code representing the allocation mode.
+     * @param description The description of the allocation mode.
+     */
+    AllocationModeEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the allocation mode.
+     * @return The code representing the allocation mode.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the allocation mode.
+     * @return The description of the allocation mode.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
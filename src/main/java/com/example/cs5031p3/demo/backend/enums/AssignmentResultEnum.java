@@ -0,0 +1,51 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing the outcome of assigning a project registration to a student.
+ */
+public enum AssignmentResultEnum {
+
+    ASSIGNED(0,"Registration approved successfully"),
+
+    NOT_FOUND(1,"Failed to approve registration"),
+
+    STUDENT_ALREADY_ASSIGNED(2,"Student is already assigned to another project"),
+
+    DUPLICATE_STUDENT(3,"Another registration in the batch assigns the same student"),
+
+    PROJECT_FULL(4,"The project has no free place"),
+
+    WAITLISTED(5,"The registration is waitlisted and is assigned when it reaches the head of the waitlist"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for AssignmentResultEnum.
+     * @param code The code representing the assignment outcome.
+     * @param description The description of the assignment outcome.
+     */
+    AssignmentResultEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the assignment outcome.
+     * @return The code representing the assignment outcome.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the assignment outcome.
+     * @return The description of the assignment outcome.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
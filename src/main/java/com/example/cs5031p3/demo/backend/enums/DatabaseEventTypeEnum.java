@@ -0,0 +1,43 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing the kinds of database events flagged by the query monitor.
+ */
+public enum DatabaseEventTypeEnum {
+
+    SLOW_QUERY(1,"Statement slower than the slow-query threshold"),
+
+    LONG_HELD_CONNECTION(2,"Connection held longer than the leak threshold"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for DatabaseEventTypeEnum.
+     * @param code The code representing the event type.
+     * @param description The description of the event type.
+     */
+    DatabaseEventTypeEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the event type.
+     * @return The code representing the event type.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the event type.
+     * @return The description of the event type.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
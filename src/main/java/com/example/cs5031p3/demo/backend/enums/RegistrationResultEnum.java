@@ -0,0 +1,45 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing the outcome of registering a student's interest in a project.
+ */
+public enum RegistrationResultEnum {
+
+    CREATED(0,"Project registration created successfully"),
+
+    DUPLICATE(1,"Student is already interested in this project"),
+
+    ALREADY_ASSIGNED(2,"Student is already assigned to a project"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for RegistrationResultEnum.
+     * @param code The code representing the registration outcome.
+     * @param description The description of the registration outcome.
+     */
+    RegistrationResultEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the registration outcome.
+     * @return The code representing the registration outcome.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the registration outcome.
+     * @return The description of the registration outcome.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -9,6 +9,8 @@ public enum RegistrationStateEnum {
 
     SUCCESS(2,"Assigned"),
 
+    WAITLISTED(3,"Waitlisted"),
+
     ;
 
     Integer code;
@@ -40,4 +42,19 @@ public enum RegistrationStateEnum {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Get the registration state with the given code.
+     * @param code The code stored in the registration_state column.
+     * @return The registration state.
+     * @throws IllegalArgumentException if no state has the code.
+     */
+    public static RegistrationStateEnum fromCode(int code) {
+        for (RegistrationStateEnum state : values()) {
+            if (state.code == code) {
+                return state;
+            }
+        }
+        throw new IllegalArgumentException("Unknown registration state: " + code);
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.cs5031p3.demo.backend.enums;
+
+/**
+ * Enum representing how a simulated stable allocation orders students who compete for the same project.
+ */
+public enum TieBreakEnum {
+
+    EARLIEST_REGISTRATION(0,"The earlier registration wins, as in a real allocation run"),
+
+    LATEST_REGISTRATION(1,"The later registration wins"),
+
+    RANDOM(2,"A seeded random order of the registrations"),
+
+    ;
+
+    Integer code;
+
+    String description;
+
+    /**
+     * Constructor for TieBreakEnum.
+     * @param code The code representing the tie-break.
+     * @param description The description of the tie-break.
+     */
+    TieBreakEnum(Integer code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Get the code associated with the tie-break.
+     * @return The code representing the tie-break.
+     */
+    public Integer getCode() {
+        return code;
+    }
+
+    /**
+     * Get the description of the tie-break.
+     * @return The description of the tie-break.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
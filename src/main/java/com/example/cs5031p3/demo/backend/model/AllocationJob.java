@@ -0,0 +1,223 @@
+package com.example.cs5031p3.demo.backend.model;
+
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * The AllocationJob class holds the state of an allocation run queued by the job scheduler. Its phase is advanced
+ * by the worker running it and read by any request thread; cancellation is cooperative, so a running job stops at
+ * the next phase it enters or the next checkpoint of its local-search pass.
+ */
+public class AllocationJob {
+    private final long id;
+    private final AllocationModeEnum mode;
+    private final long improveMillis;
+    private final long queuedAt;
+    private volatile AllocationJobPhaseEnum phase = AllocationJobPhaseEnum.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile boolean cancelRequested;
+    private volatile AllocationResultDTO result;
+    private volatile String error;
+    private Future<?> future;
+
+    /**
+     * Constructs a queued AllocationJob.
+     * @param id The ID of the job
+     * @param mode The algorithm to allocate with
+     * @param queuedAt The time the job was queued, in epoch milliseconds
+     */
+    public AllocationJob(long id, AllocationModeEnum mode, long queuedAt) {
+        this(id, mode, 0, queuedAt);
+    }
+
+    /**
+     * Constructs a queued AllocationJob whose allocation is improved by local search.
+     * @param id The ID of the job
+     * @param mode The algorithm to allocate with
+     * @param improveMillis The time to spend improving the allocation by local search, 0 for none
+     * @param queuedAt The time the job was queued, in epoch milliseconds
+     */
+    public AllocationJob(long id, AllocationModeEnum mode, long improveMillis, long queuedAt) {
+        this.id = id;
+        this.mode = mode;
+        this.improveMillis = improveMillis;
+        this.queuedAt = queuedAt;
+    }
+
+    /**
+     * Moves a running job to the next phase, unless it has been asked to stop.
+     * @param next The phase the run is entering
+     * @throws CancellationException if the job has been cancelled
+     */
+    public synchronized void enterPhase(AllocationJobPhaseEnum next) {
+        if (cancelRequested) {
+            throw new CancellationException("The allocation job was cancelled");
+        }
+        if (phase == AllocationJobPhaseEnum.QUEUED) {
+            startedAt = System.currentTimeMillis();
+        }
+        phase = next;
+    }
+
+    /**
+     * Stops a running job within its current phase if it has been asked to stop.
+     * @throws CancellationException if the job has been cancelled
+     */
+    public void checkpoint() {
+        if (cancelRequested) {
+            throw new CancellationException("The allocation job was cancelled");
+        }
+    }
+
+    /**
+     * Finishes the job with the summary of its run.
+     * @param result The summary of the run
+     */
+    public synchronized void complete(AllocationResultDTO result) {
+        this.result = result;
+        finish(AllocationJobPhaseEnum.COMPLETED);
+    }
+
+    /**
+     * Finishes the job after its run failed.
+     * @param error The reason the run failed
+     */
+    public synchronized void fail(String error) {
+        this.error = error;
+        finish(AllocationJobPhaseEnum.FAILED);
+    }
+
+    /**
+     * Finishes the job after it stopped on a cancellation.
+     */
+    public synchronized void markCancelled() {
+        finish(AllocationJobPhaseEnum.CANCELLED);
+    }
+
+    /**
+     * Asks the job to stop. A queued job is taken off the queue at once; a running one stops at its next phase or
+     * checkpoint.
+     * @return true if the job had not finished yet, false otherwise
+     */
+    public synchronized boolean requestCancel() {
+        if (phase.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (phase == AllocationJobPhaseEnum.QUEUED && future != null && future.cancel(false)) {
+            finish(AllocationJobPhaseEnum.CANCELLED);
+        }
+        return true;
+    }
+
+    /**
+     * Records the end of the job.
+     * @param last The phase the job finished in
+     */
+    private void finish(AllocationJobPhaseEnum last) {
+        if (startedAt == 0) {
+            startedAt = System.currentTimeMillis();
+        }
+        finishedAt = System.currentTimeMillis();
+        phase = last;
+    }
+
+    /**
+     * Get the ID of the job.
+     * @return The job ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Get the algorithm the job allocates with.
+     * @return The allocation mode
+     */
+    public AllocationModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the time the job spends improving the allocation by local search.
+     * @return The budget in milliseconds, 0 for none
+     */
+    public long getImproveMillis() {
+        return improveMillis;
+    }
+
+    /**
+     * Get the current phase of the job.
+     * @return The phase
+     */
+    public AllocationJobPhaseEnum getPhase() {
+        return phase;
+    }
+
+    /**
+     * Get a rough estimate of how much of the run is done, from the share of a typical run spent before each phase.
+     * @return The percentage complete, from 0 to 100
+     */
+    public int getPercent() {
+        return switch (phase) {
+            case QUEUED -> 0;
+            case LOADING -> 10;
+            case SOLVING -> 40;
+            case WRITING -> 80;
+            case COMPLETED, FAILED, CANCELLED -> 100;
+        };
+    }
+
+    /**
+     * Get the time the job was queued.
+     * @return The time in epoch milliseconds
+     */
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    /**
+     * Get the time the job left the queue.
+     * @return The time in epoch milliseconds, or 0 if it is still queued
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Get the time the job finished.
+     * @return The time in epoch milliseconds, or 0 if it has not finished
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Get the summary of the run.
+     * @return The summary, or null unless the job completed
+     */
+    public AllocationResultDTO getResult() {
+        return result;
+    }
+
+    /**
+     * Get the reason the run failed.
+     * @return The error message, or null unless the job failed
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Set the future of the queued run, used to take a cancelled job off the queue.
+     * @param future The future returned by the executor
+     */
+    public synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.cs5031p3.demo.backend.model;
+
+import java.util.Arrays;
+
+/**
+ * The AllocationProblem class is the in-memory input of an allocation run, held in primitive arrays.
+ * Students and projects are addressed by dense indexes. The preferences of student s are the entries
+ * preferenceStart[s] (inclusive) to preferenceStart[s + 1] (exclusive) of preferenceProject and
+ * preferenceRegistration, best first. A project may belong to a supervisor whose total load is limited; projects whose
+ * supervisor has no limit have supervisor index -1.
+ */
+public class AllocationProblem {
+    private final int[] studentIds;
+    private final int[] projectIds;
+    private final int[] projectCapacity;
+    private final int[] preferenceStart;
+    private final int[] preferenceProject;
+    private final int[] preferenceRegistration;
+    private final int[] projectSupervisor;
+    private final int[] supervisorCapacity;
+
+    /**
+     * Constructs an AllocationProblem without supervisor load limits.
+     * @param studentIds The user ID of each student
+     * @param projectIds The project ID of each project
+     * @param projectCapacity The number of students each project can still take
+     * @param preferenceStart The offset of the first preference of each student, with one extra trailing entry
+     * @param preferenceProject The project index of each preference
+     * @param preferenceRegistration The registration ID of each preference
+     */
+    public AllocationProblem(int[] studentIds, int[] projectIds, int[] projectCapacity,
+                             int[] preferenceStart, int[] preferenceProject, int[] preferenceRegistration) {
+        this(studentIds, projectIds, projectCapacity, preferenceStart, preferenceProject, preferenceRegistration,
+                unlimitedSupervisors(projectIds.length), new int[0]);
+    }
+
+    /**
+     * Constructs an AllocationProblem from its arrays, which are used as given and must not be modified afterwards.
+     * @param studentIds The user ID of each student
+     * @param projectIds The project ID of each project
+     * @param projectCapacity The number of students each project can still take
+     * @param preferenceStart The offset of the first preference of each student, with one extra trailing entry
+     * @param preferenceProject The project index of each preference
+     * @param preferenceRegistration The registration ID of each preference
+     * @param projectSupervisor The supervisor index of each project, or -1 if its supervisor has no load limit
+     * @param supervisorCapacity The number of students each load-limited supervisor can still take
+     */
+    public AllocationProblem(int[] studentIds, int[] projectIds, int[] projectCapacity,
+                             int[] preferenceStart, int[] preferenceProject, int[] preferenceRegistration,
+                             int[] projectSupervisor, int[] supervisorCapacity) {
+        if (projectCapacity.length != projectIds.length || preferenceStart.length != studentIds.length + 1
+                || preferenceProject.length != preferenceRegistration.length
+                || preferenceStart[studentIds.length] != preferenceProject.length
+                || projectSupervisor.length != projectIds.length) {
+            throw new IllegalArgumentException("The allocation arrays have inconsistent lengths");
+        }
+        this.studentIds = studentIds;
+        this.projectIds = projectIds;
+        this.projectCapacity = projectCapacity;
+        this.preferenceStart = preferenceStart;
+        this.preferenceProject = preferenceProject;
+        this.preferenceRegistration = preferenceRegistration;
+        this.projectSupervisor = projectSupervisor;
+        this.supervisorCapacity = supervisorCapacity;
+    }
+
+    /**
+     * Creates the supervisor indexes of projects whose supervisors have no load limit.
+     * @param projectCount The number of projects
+     * @return An array of -1 entries, one per project
+     */
+    private static int[] unlimitedSupervisors(int projectCount) {
+        int[] projectSupervisor = new int[projectCount];
+        Arrays.fill(projectSupervisor, -1);
+        return projectSupervisor;
+    }
+
+    /**
+     * Get the number of students taking part in the run.
+     * @return The number of students
+     */
+    public int getStudentCount() {
+        return studentIds.length;
+    }
+
+    /**
+     * Get the number of projects open in the run.
+     * @return The number of projects
+     */
+    public int getProjectCount() {
+        return projectIds.length;
+    }
+
+    /**
+     * Get the total number of preferences of all students.
+     * @return The number of preferences
+     */
+    public int getPreferenceCount() {
+        return preferenceProject.length;
+    }
+
+    /**
+     * Get the number of supervisors with a load limit.
+     * @return The number of load-limited supervisors
+     */
+    public int getSupervisorCount() {
+        return supervisorCapacity.length;
+    }
+
+    /**
+     * Get the user ID of each student.
+     * @return The student IDs, indexed by student
+     */
+    public int[] getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * Get the project ID of each project.
+     * @return The project IDs, indexed by project
+     */
+    public int[] getProjectIds() {
+        return projectIds;
+    }
+
+    /**
+     * Get the number of students each project can still take.
+     * @return The capacities, indexed by project
+     */
+    public int[] getProjectCapacity() {
+        return projectCapacity;
+    }
+
+    /**
+     * Get the offset of the first preference of each student.
+     * @return The offsets, indexed by student, with one extra trailing entry
+     */
+    public int[] getPreferenceStart() {
+        return preferenceStart;
+    }
+
+    /**
+     * Get the project index of each preference.
+     * @return The project indexes, indexed by preference
+     */
+    public int[] getPreferenceProject() {
+        return preferenceProject;
+    }
+
+    /**
+     * Get the registration ID of each preference.
+     * @return The registration IDs, indexed by preference
+     */
+    public int[] getPreferenceRegistration() {
+        return preferenceRegistration;
+    }
+
+    /**
+     * Get the supervisor index of each project.
+     * @return The supervisor indexes, indexed by project, with -1 for supervisors without a load limit
+     */
+    public int[] getProjectSupervisor() {
+        return projectSupervisor;
+    }
+
+    /**
+     * Get the number of students each load-limited supervisor can still take.
+     * @return The capacities, indexed by supervisor
+     */
+    public int[] getSupervisorCapacity() {
+        return supervisorCapacity;
+    }
+}
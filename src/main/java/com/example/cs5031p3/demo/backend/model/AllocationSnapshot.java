@@ -0,0 +1,62 @@
+package com.example.cs5031p3.demo.backend.model;
+
+import java.util.Map;
+
+/**
+ * The AllocationSnapshot class is a read-only, in-memory copy of the input of an allocation run, together with the
+ * supervisor of every project and the students already assigned to each supervisor. It is shared by the scenarios of
+ * a simulation, which copy only the arrays they change.
+ */
+public class AllocationSnapshot {
+    private final AllocationProblem problem;
+    private final int[] projectStaff;
+    private final Map<Integer, Integer> staffLoads;
+
+    /**
+     * Constructs an AllocationSnapshot.
+     * @param problem The allocation problem, which must not be modified afterwards
+     * @param projectStaff The staff ID of the supervisor of each project of the problem, by project index
+     * @param staffLoads The number of students already assigned to each staff member who has any
+     */
+    public AllocationSnapshot(AllocationProblem problem, int[] projectStaff, Map<Integer, Integer> staffLoads) {
+        if (projectStaff.length != problem.getProjectCount()) {
+            throw new IllegalArgumentException("The allocation arrays have inconsistent lengths");
+        }
+        this.problem = problem;
+        this.projectStaff = projectStaff;
+        this.staffLoads = Map.copyOf(staffLoads);
+    }
+
+    /**
+     * Get the allocation problem.
+     * @return The allocation problem
+     */
+    public AllocationProblem getProblem() {
+        return problem;
+    }
+
+    /**
+     * Get the staff ID of the supervisor of each project, by project index. The array must not be modified.
+     * @return The staff IDs
+     */
+    public int[] getProjectStaff() {
+        return projectStaff;
+    }
+
+    /**
+     * Get the number of students already assigned to a staff member.
+     * @param staffId The ID of the staff member
+     * @return The number of assigned students
+     */
+    public int getStaffLoad(int staffId) {
+        return staffLoads.getOrDefault(staffId, 0);
+    }
+
+    /**
+     * Get the number of students already assigned to each staff member who has any.
+     * @return A read-only map from staff ID to the number of assigned students
+     */
+    public Map<Integer, Integer> getStaffLoads() {
+        return staffLoads;
+    }
+}
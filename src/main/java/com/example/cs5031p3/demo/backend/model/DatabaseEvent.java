@@ -0,0 +1,110 @@
+package com.example.cs5031p3.demo.backend.model;
+
+import com.example.cs5031p3.demo.backend.enums.DatabaseEventTypeEnum;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * The DatabaseEvent class holds a slow statement or a long-held connection flagged by the query monitor.
+ * A slow query carries its SQL, the shape of its bind parameters and, when sampled, its query plan; a long-held
+ * connection carries the stack trace of the code that acquired it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatabaseEvent {
+    private final DatabaseEventTypeEnum type;
+    private final long timestamp;
+    private final long millis;
+    private final String thread;
+    private final String sql;
+    private final String bindShape;
+    private final String plan;
+    private final List<String> stackTrace;
+
+    /**
+     * Constructs a DatabaseEvent.
+     * @param type The kind of event
+     * @param timestamp The time the event was flagged, in milliseconds since the epoch
+     * @param millis How long the statement ran or the connection was held, in milliseconds
+     * @param thread The name of the thread that ran the statement or acquired the connection
+     * @param sql The SQL of a slow statement, or null
+     * @param bindShape The types of the bind parameters of a slow statement, or null
+     * @param plan The query plan of a slow statement, or null if it was not sampled
+     * @param stackTrace The frames of the code that acquired a long-held connection, or null
+     */
+    public DatabaseEvent(DatabaseEventTypeEnum type, long timestamp, long millis, String thread, String sql,
+                         String bindShape, String plan, List<String> stackTrace) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.millis = millis;
+        this.thread = thread;
+        this.sql = sql;
+        this.bindShape = bindShape;
+        this.plan = plan;
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * Get the kind of event.
+     * @return The event type
+     */
+    public DatabaseEventTypeEnum getType() {
+        return type;
+    }
+
+    /**
+     * Get the time the event was flagged.
+     * @return The timestamp in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Get how long the statement ran or the connection was held.
+     * @return The duration in milliseconds
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Get the name of the thread that ran the statement or acquired the connection.
+     * @return The thread name
+     */
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * Get the SQL of a slow statement.
+     * @return The SQL, or null for a long-held connection
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Get the types of the bind parameters of a slow statement, such as {@code (Int, String) x 500} for a batch.
+     * @return The bind shape, or null for a long-held connection
+     */
+    public String getBindShape() {
+        return bindShape;
+    }
+
+    /**
+     * Get the query plan of a slow statement.
+     * @return The plan, or null if it was not sampled
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    /**
+     * Get the frames of the code that acquired a long-held connection.
+     * @return The stack trace, innermost frame first, or null for a slow query
+     */
+    public List<String> getStackTrace() {
+        return stackTrace;
+    }
+}
@@ -15,6 +15,7 @@ public class Project {
     private String description;
     private Integer staffId;
     private Integer available = 1;
+    private Integer capacity;
     private String staffName;
 
     /**
@@ -35,6 +36,7 @@ public class Project {
         this.title = title;
         this.description = description;
         this.staffId = staffId;
+        this.capacity = 1;
     }
 
     /**
@@ -112,6 +114,23 @@ public class Project {
         this.available = available;
     }
 
+    /**
+     * Get the number of students the project can take.
+     * @return The capacity, or null if it was not given, in which case a new project takes one student and an
+     * updated project keeps its stored capacity.
+     */
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set the number of students the project can take.
+     * @param capacity The capacity, at least 1, or null to leave it unset.
+     */
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getStaffName() {
         return staffName;
     }
@@ -0,0 +1,58 @@
+package com.example.cs5031p3.demo.backend.model;
+
+/**
+ * The ProjectVacancy class holds how many more students an available project and its supervisor can take,
+ * as read by an allocation repair.
+ */
+public class ProjectVacancy {
+    private final int projectId;
+    private final int staffId;
+    private final int places;
+    private final Integer staffPlaces;
+
+    /**
+     * Constructs a ProjectVacancy.
+     * @param projectId The ID of the project
+     * @param staffId The ID of the staff member supervising the project
+     * @param places The number of students the project can still take
+     * @param staffPlaces The number of students the supervisor can still take, or null if they have no maximum load
+     */
+    public ProjectVacancy(int projectId, int staffId, int places, Integer staffPlaces) {
+        this.projectId = projectId;
+        this.staffId = staffId;
+        this.places = places;
+        this.staffPlaces = staffPlaces;
+    }
+
+    /**
+     * Get the ID of the project.
+     * @return The project ID
+     */
+    public int getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Get the ID of the staff member supervising the project.
+     * @return The staff ID
+     */
+    public int getStaffId() {
+        return staffId;
+    }
+
+    /**
+     * Get the number of students the project can still take.
+     * @return The remaining capacity, which is negative if the project is over capacity
+     */
+    public int getPlaces() {
+        return places;
+    }
+
+    /**
+     * Get the number of students the supervisor can still take across all of their projects.
+     * @return The remaining load, or null if the supervisor has no maximum load
+     */
+    public Integer getStaffPlaces() {
+        return staffPlaces;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.cs5031p3.demo.backend.model;
+
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Objects;
+
+/**
+ * Represents a project registration, i.e. a student's interest in or assignment to a project.
+ * The student name, project title and staff name are only filled in by the queries that join them,
+ * and are left out of the JSON when they are absent, as is the waitlist position of a registration that is not
+ * waitlisted.
+ */
+@JsonPropertyOrder({"registrationId", "projectId", "studentId", "registrationState",
+        "studentName", "projectTitle", "staffName", "waitlistPosition"})
+public class Registration {
+
+    private int registrationId;
+    private int projectId;
+    private int studentId;
+    private RegistrationStateEnum state;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String studentName;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String projectTitle;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String staffName;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer waitlistPosition;
+
+    /**
+     * Default constructor for Registration.
+     */
+    public Registration() {
+    }
+
+    /**
+     * Parameterized constructor for Registration.
+     * @param registrationId The ID of the registration.
+     * @param projectId The ID of the project registered for.
+     * @param studentId The ID of the registered student.
+     * @param state The state of the registration.
+     */
+    public Registration(int registrationId, int projectId, int studentId, RegistrationStateEnum state) {
+        this.registrationId = registrationId;
+        this.projectId = projectId;
+        this.studentId = studentId;
+        this.state = state;
+    }
+
+    /**
+     * Compares this registration with the specified object for equality.
+     * Two registrations are considered equal if they have the same ID, project ID and student ID.
+     * @param other The object to compare with this registration.
+     * @return true if the specified object is equal to this registration, false otherwise.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if(this == other) {
+            return true;
+        }
+        if (!(other instanceof Registration otherRegistration)) return false;
+        return otherRegistration.registrationId == this.registrationId
+                && otherRegistration.projectId == this.projectId
+                && otherRegistration.studentId == this.studentId;
+    }
+
+    /**
+     * Generates a hash code for this registration based on its ID, project ID and student ID.
+     * @return The hash code value for this registration.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(registrationId, projectId, studentId);
+    }
+
+    //Getter and Setter
+    public int getRegistrationId() {
+        return registrationId;
+    }
+
+    public void setRegistrationId(int registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    @JsonIgnore
+    public RegistrationStateEnum getState() {
+        return state;
+    }
+
+    public void setState(RegistrationStateEnum state) {
+        this.state = state;
+    }
+
+    /**
+     * Get the code of the registration state, which is how the state is written to JSON.
+     * @return The state code.
+     */
+    public int getRegistrationState() {
+        return state.getCode();
+    }
+
+    /**
+     * Set the registration state from its code.
+     * @param code The state code.
+     */
+    public void setRegistrationState(int code) {
+        this.state = RegistrationStateEnum.fromCode(code);
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public void setStaffName(String staffName) {
+        this.staffName = staffName;
+    }
+
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public void setWaitlistPosition(Integer waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.cs5031p3.demo.backend.model;
+
+/**
+ * The SyntheticCohort class holds the IDs of the users and projects written by a cohort generator, in generation
+ * order, so that benchmarks and stress tests can address them by index. The i-th student and staff member have the
+ * usernames given by {@link #studentUsername(int)} and {@link #staffUsername(int)}.
+ */
+public class SyntheticCohort {
+    private final int[] studentIds;
+    private final int[] staffIds;
+    private final int[] projectIds;
+    private final int[] registrationIds;
+
+    /**
+     * Constructs a SyntheticCohort.
+     * @param studentIds The user ID of each generated student
+     * @param staffIds The user ID of each generated staff member
+     * @param projectIds The project ID of each generated project
+     * @param registrationIds The registration ID of each generated registration
+     */
+    public SyntheticCohort(int[] studentIds, int[] staffIds, int[] projectIds, int[] registrationIds) {
+        this.studentIds = studentIds;
+        this.staffIds = staffIds;
+        this.projectIds = projectIds;
+        this.registrationIds = registrationIds;
+    }
+
+    /**
+     * Get the username of a generated student.
+     * @param index The index of the student
+     * @return The username
+     */
+    public static String studentUsername(int index) {
+        return "student" + index;
+    }
+
+    /**
+     * Get the username of a generated staff member.
+     * @param index The index of the staff member
+     * @return The username
+     */
+    public static String staffUsername(int index) {
+        return "staff" + index;
+    }
+
+    /**
+     * Get the user IDs of the generated students.
+     * @return The student IDs, in generation order
+     */
+    public int[] getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * Get the user IDs of the generated staff members.
+     * @return The staff IDs, in generation order
+     */
+    public int[] getStaffIds() {
+        return staffIds;
+    }
+
+    /**
+     * Get the IDs of the generated projects.
+     * @return The project IDs, in generation order
+     */
+    public int[] getProjectIds() {
+        return projectIds;
+    }
+
+    /**
+     * Get the IDs of the generated registrations.
+     * @return The registration IDs, grouped by student in generation order
+     */
+    public int[] getRegistrationIds() {
+        return registrationIds;
+    }
+}
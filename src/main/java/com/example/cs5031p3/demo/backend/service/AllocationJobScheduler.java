@@ -0,0 +1,156 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dto.AllocationJobDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationJob;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for running allocations in the background, so that a long run does not hold a request thread.
+ * <p>
+ * Jobs are queued on a bounded executor with a single worker, so runs of the allocation round, which covers the
+ * whole cohort, are serialised in the order they were queued. Finished jobs are kept for the configured retention
+ * (allocation.jobs.retention-ms) and dropped lazily by the next request that touches the scheduler.
+ */
+@Service
+public class AllocationJobScheduler {
+
+    private final AllocationService allocationService;
+    private final long retentionMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, AllocationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Constructs an AllocationJobScheduler with the specified AllocationService and limits.
+     * @param allocationService The service running the allocations.
+     * @param queueCapacity How many jobs may wait for the worker before new ones are rejected.
+     * @param retentionMillis How long, in milliseconds, a finished job can still be read.
+     */
+    public AllocationJobScheduler(AllocationService allocationService,
+                                  @Value("${allocation.jobs.queue-capacity:8}") int queueCapacity,
+                                  @Value("${allocation.jobs.retention-ms:600000}") long retentionMillis) {
+        this.allocationService = allocationService;
+        this.retentionMillis = retentionMillis;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "allocation-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues an allocation run.
+     * @param mode The algorithm to allocate with.
+     * @return The state of the new job.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public AllocationJobDTO submit(AllocationModeEnum mode) {
+        return submit(mode, 0);
+    }
+
+    /**
+     * Queues an allocation run whose allocation is improved by local search before it is written back.
+     * @param mode The algorithm to allocate with.
+     * @param improveMillis The time to spend improving the allocation, 0 for none.
+     * @return The state of the new job.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public AllocationJobDTO submit(AllocationModeEnum mode, long improveMillis) {
+        purgeExpired();
+        long now = System.currentTimeMillis();
+        AllocationJob job = new AllocationJob(nextId.getAndIncrement(), mode, improveMillis, now);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return new AllocationJobDTO(job, now);
+    }
+
+    /**
+     * Get the state of a job.
+     * @param id The ID of the job.
+     * @return The state of the job, or null if there is no such job or it finished longer ago than the retention.
+     */
+    public AllocationJobDTO getJob(long id) {
+        purgeExpired();
+        AllocationJob job = jobs.get(id);
+        return job == null ? null : new AllocationJobDTO(job, System.currentTimeMillis());
+    }
+
+    /**
+     * Asks a job to stop. A queued job is cancelled at once; a running one stops before the next phase it enters or
+     * at the next checkpoint of its local-search pass, and a run that has started writing back completes.
+     * @param id The ID of the job.
+     * @return The state of the job, or null if there is no such job or it finished longer ago than the retention.
+     */
+    public AllocationJobDTO cancel(long id) {
+        purgeExpired();
+        AllocationJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        job.requestCancel();
+        return new AllocationJobDTO(job, System.currentTimeMillis());
+    }
+
+    /**
+     * Stops the worker when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a job on the worker thread and records how it finished.
+     * @param job The job to run.
+     */
+    private void run(AllocationJob job) {
+        try {
+            AllocationProgress progress = new AllocationProgress() {
+                @Override
+                public void enter(AllocationJobPhaseEnum phase) {
+                    job.enterPhase(phase);
+                }
+
+                @Override
+                public void checkpoint() {
+                    job.checkpoint();
+                }
+            };
+            job.complete(allocationService.runAllocation(job.getMode(), job.getImproveMillis(), progress));
+        } catch (CancellationException e) {
+            job.markCancelled();
+        } catch (SQLException e) {
+            job.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            job.fail(e.toString());
+        }
+    }
+
+    /**
+     * Drops the jobs that finished longer ago than the retention.
+     */
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.getPhase().isFinished() && job.getFinishedAt() < cutoff);
+    }
+}
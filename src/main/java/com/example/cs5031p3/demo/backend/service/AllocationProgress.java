@@ -0,0 +1,33 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Receives the phases of an allocation run as it enters them, and can stop the run between phases or at a
+ * checkpoint of its local-search pass.
+ */
+@FunctionalInterface
+public interface AllocationProgress {
+
+    /**
+     * Progress that is not reported anywhere and never stops a run.
+     */
+    AllocationProgress NONE = phase -> {
+    };
+
+    /**
+     * Called as a run enters LOADING, SOLVING and WRITING in turn.
+     * @param phase The phase the run is entering.
+     * @throws CancellationException to stop the run; nothing has been written when this is thrown.
+     */
+    void enter(AllocationJobPhaseEnum phase);
+
+    /**
+     * Called every few thousand moves of the local-search pass, which can run for seconds within the solving phase.
+     * @throws CancellationException to stop the run; nothing has been written when this is thrown.
+     */
+    default void checkpoint() {
+    }
+}
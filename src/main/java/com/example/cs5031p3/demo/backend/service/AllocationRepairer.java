@@ -0,0 +1,240 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.ProjectVacancy;
+import com.example.cs5031p3.demo.backend.model.Registration;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The AllocationRepairer class re-assigns students who lost their project, without re-running a full allocation.
+ * <p>
+ * For each such student it searches breadth first for an augmenting path in the existing allocation: the student
+ * takes a project they are interested in, whose assigned student moves to another project they are interested in,
+ * and so on, until a project with a free place under a supervisor with a free place is reached. Only the last
+ * project of the path gains a student, so only its capacity and its supervisor's load need checking. Preferences are
+ * tried in rank order, so a student prefers a short path to a good project.
+ * <p>
+ * The registrations, assignments and vacancies are loaded from the database lazily, one query per kind and level of
+ * the search, so the work grows with the part of the allocation the search visits rather than with the cohort.
+ * Nothing is written until {@link #getReleasedRegistrations()} and {@link #getAssignedRegistrations()} are persisted;
+ * a student moved by several paths only contributes their first and last registration.
+ */
+public final class AllocationRepairer {
+
+    private final ProjectRegistrationsDAO projectRegistrationsDAO;
+    private final Map<Integer, StudentState> students = new HashMap<>();
+    private final Map<Integer, ProjectState> projects = new HashMap<>();
+    private final Map<Integer, Integer> staffPlaces = new HashMap<>();
+
+    /**
+     * The registrations of a student on available projects and the assignment they hold now and held before.
+     */
+    private static final class StudentState {
+        private final List<Registration> registrations = new ArrayList<>();
+        private int originalRegistration;
+        private int registration;
+        private int project;
+    }
+
+    /**
+     * The free places of an available project and the students assigned to it.
+     */
+    private static final class ProjectState {
+        private int places;
+        private int staffId;
+        private final Set<Integer> assigned = new HashSet<>();
+    }
+
+    /**
+     * Constructs an AllocationRepairer reading the allocation through the given DAO.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     */
+    public AllocationRepairer(ProjectRegistrationsDAO projectRegistrationsDAO) {
+        this.projectRegistrationsDAO = projectRegistrationsDAO;
+    }
+
+    /**
+     * Tries to re-assign each of the given students, who must hold no assignment, in turn.
+     * @param studentIds The IDs of the students who lost their project.
+     * @return The number of them who were re-assigned.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int repair(int[] studentIds) throws SQLException {
+        int reassigned = 0;
+        for (int studentId : studentIds) {
+            if (augment(studentId)) {
+                reassigned++;
+            }
+        }
+        return reassigned;
+    }
+
+    /**
+     * Get the assigned registrations the repair moved students away from.
+     * @return The IDs of the registrations to release.
+     */
+    public int[] getReleasedRegistrations() {
+        return students.values().stream()
+                .filter(s -> s.registration != s.originalRegistration && s.originalRegistration != 0)
+                .mapToInt(s -> s.originalRegistration)
+                .toArray();
+    }
+
+    /**
+     * Get the interested registrations the repair moved students to.
+     * @return The IDs of the registrations to assign.
+     */
+    public int[] getAssignedRegistrations() {
+        return students.values().stream()
+                .filter(s -> s.registration != s.originalRegistration && s.registration != 0)
+                .mapToInt(s -> s.registration)
+                .toArray();
+    }
+
+    /**
+     * Get the number of students who already held an assignment and were moved to another project.
+     * @return The number of moved students.
+     */
+    public int getMovedStudents() {
+        return (int) students.values().stream()
+                .filter(s -> s.registration != s.originalRegistration && s.originalRegistration != 0)
+                .count();
+    }
+
+    /**
+     * Searches for an augmenting path from one student and applies it to the in-memory allocation.
+     * @param root The ID of the student to re-assign.
+     * @return true if a path was found, false if the student stays unassigned.
+     * @throws SQLException if a database access error occurs.
+     */
+    private boolean augment(int root) throws SQLException {
+        loadStudents(List.of(root));
+        if (students.get(root).project != 0) {
+            return false; // assigned again since their project was taken away
+        }
+        // For every project reached, the student and registration it was reached through
+        Map<Integer, Registration> reachedBy = new HashMap<>();
+        Set<Integer> visitedStudents = new HashSet<>();
+        visitedStudents.add(root);
+        List<Integer> frontier = List.of(root);
+        while (!frontier.isEmpty()) {
+            loadStudents(frontier);
+            List<Integer> candidates = new ArrayList<>();
+            for (int studentId : frontier) {
+                StudentState student = students.get(studentId);
+                for (Registration registration : student.registrations) {
+                    int projectId = registration.getProjectId();
+                    if (projectId != student.project && !reachedBy.containsKey(projectId)) {
+                        reachedBy.put(projectId, registration);
+                        candidates.add(projectId);
+                    }
+                }
+            }
+            loadProjects(candidates);
+
+            List<Integer> next = new ArrayList<>();
+            for (int projectId : candidates) {
+                ProjectState project = projects.get(projectId);
+                if (project == null) {
+                    continue; // made unavailable since the registrations were read
+                }
+                if (project.places > 0 && staffPlaces.getOrDefault(project.staffId, Integer.MAX_VALUE) > 0) {
+                    apply(projectId, reachedBy);
+                    return true;
+                }
+                for (int studentId : project.assigned) {
+                    if (visitedStudents.add(studentId)) {
+                        next.add(studentId);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return false;
+    }
+
+    /**
+     * Moves every student along the path ending at a project with a free place.
+     * @param projectId The ID of the project at the end of the path.
+     * @param reachedBy The registration each project on the path was reached through.
+     */
+    private void apply(int projectId, Map<Integer, Registration> reachedBy) {
+        ProjectState last = projects.get(projectId);
+        last.places--;
+        staffPlaces.computeIfPresent(last.staffId, (staffId, places) -> places - 1);
+        int next = projectId;
+        while (next != 0) {
+            Registration registration = reachedBy.get(next);
+            StudentState student = students.get(registration.getStudentId());
+            int previous = student.project;
+            projects.get(next).assigned.add(registration.getStudentId());
+            if (previous != 0) {
+                projects.get(previous).assigned.remove(registration.getStudentId());
+            }
+            student.registration = registration.getRegistrationId();
+            student.project = next;
+            next = previous;
+        }
+    }
+
+    /**
+     * Loads the registrations of the students not loaded yet.
+     * @param studentIds The IDs of the students the search needs.
+     * @throws SQLException if a database access error occurs.
+     */
+    private void loadStudents(List<Integer> studentIds) throws SQLException {
+        int[] missing = studentIds.stream().filter(id -> !students.containsKey(id))
+                .mapToInt(Integer::intValue).toArray();
+        if (missing.length == 0) {
+            return;
+        }
+        for (int studentId : missing) {
+            students.put(studentId, new StudentState());
+        }
+        for (Registration registration : projectRegistrationsDAO.findPreferencesByStudentIds(missing)) {
+            StudentState student = students.get(registration.getStudentId());
+            student.registrations.add(registration);
+            if (registration.getState() == RegistrationStateEnum.SUCCESS) {
+                student.originalRegistration = registration.getRegistrationId();
+                student.registration = registration.getRegistrationId();
+                student.project = registration.getProjectId();
+            }
+        }
+    }
+
+    /**
+     * Loads the vacancies and assigned students of the projects not loaded yet.
+     * @param projectIds The IDs of the projects the search needs.
+     * @throws SQLException if a database access error occurs.
+     */
+    private void loadProjects(List<Integer> projectIds) throws SQLException {
+        int[] missing = projectIds.stream().filter(id -> !projects.containsKey(id))
+                .mapToInt(Integer::intValue).toArray();
+        if (missing.length == 0) {
+            return;
+        }
+        for (ProjectVacancy vacancy : projectRegistrationsDAO.findProjectVacancies(missing)) {
+            ProjectState project = new ProjectState();
+            project.places = vacancy.getPlaces();
+            project.staffId = vacancy.getStaffId();
+            projects.put(vacancy.getProjectId(), project);
+            if (vacancy.getStaffPlaces() != null) {
+                staffPlaces.putIfAbsent(vacancy.getStaffId(), vacancy.getStaffPlaces());
+            }
+        }
+        for (Registration registration : projectRegistrationsDAO.findAssignedRegistrationsByProjectIds(missing)) {
+            ProjectState project = projects.get(registration.getProjectId());
+            if (project != null) {
+                project.assigned.add(registration.getStudentId());
+            }
+        }
+    }
+}
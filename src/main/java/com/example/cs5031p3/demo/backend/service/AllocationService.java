@@ -0,0 +1,171 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.RepairResultDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for allocating projects to students in bulk from their ranked registrations.
+ */
+@Service
+public class AllocationService {
+
+    /**
+     * The longest local-search pass a run may ask for, in milliseconds.
+     */
+    public static final long MAX_IMPROVE_MILLIS = 10_000;
+
+    /**
+     * The weight of the supervisor load balance against the rank sum in the local-search pass.
+     */
+    private static final int BALANCE_WEIGHT = 1;
+
+    private final ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    /**
+     * Constructs an AllocationService with the specified ProjectRegistrationsDAO.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     */
+    public AllocationService(ProjectRegistrationsDAO projectRegistrationsDAO) {
+        this.projectRegistrationsDAO = projectRegistrationsDAO;
+    }
+
+    /**
+     * Allocates projects to every unassigned student from their interested registrations and writes the allocation
+     * back in one transaction. Independent parts of the cohort, such as departments with separate project pools,
+     * are solved in parallel. Runs are serialised so that two runs never allocate the same registrations.
+     * @param mode The algorithm to allocate with: a stable matching that ignores supervisor loads, or an optimal
+     *             allocation that respects them.
+     * @return The summary of the run.
+     * @throws SQLException if a database access error occurs or the registrations changed during the run,
+     *                      in which case nothing is assigned.
+     */
+    public AllocationResultDTO runAllocation(AllocationModeEnum mode) throws SQLException {
+        return runAllocation(mode, 0, AllocationProgress.NONE);
+    }
+
+    /**
+     * Allocates projects to every unassigned student as {@link #runAllocation(AllocationModeEnum)} does, then improves
+     * the allocation by local search for up to the given time before writing it back.
+     * @param mode The algorithm to allocate with.
+     * @param improveMillis The wall-clock budget of the local-search pass in milliseconds, 0 to skip it.
+     * @return The summary of the run.
+     * @throws SQLException if a database access error occurs or the registrations changed during the run,
+     *                      in which case nothing is assigned.
+     */
+    public AllocationResultDTO runAllocation(AllocationModeEnum mode, long improveMillis) throws SQLException {
+        return runAllocation(mode, improveMillis, AllocationProgress.NONE);
+    }
+
+    /**
+     * Allocates projects to every unassigned student as {@link #runAllocation(AllocationModeEnum)} does, reporting
+     * each phase of the run as it is entered.
+     * @param mode The algorithm to allocate with.
+     * @param progress Receives the phases of the run, and may stop it by throwing a CancellationException before
+     *                 the assignments are written back.
+     * @return The summary of the run.
+     * @throws SQLException if a database access error occurs or the registrations changed during the run,
+     *                      in which case nothing is assigned.
+     */
+    public AllocationResultDTO runAllocation(AllocationModeEnum mode, AllocationProgress progress)
+            throws SQLException {
+        return runAllocation(mode, 0, progress);
+    }
+
+    /**
+     * Allocates projects to every unassigned student, optionally improving the allocation by local search, and
+     * reports each phase of the run as it is entered. The local search counts as part of the solving phase and
+     * calls the progress checkpoint as it goes, so the run can be stopped within it.
+     * @param mode The algorithm to allocate with.
+     * @param improveMillis The wall-clock budget of the local-search pass in milliseconds, 0 to skip it.
+     * @param progress Receives the phases of the run, and may stop it by throwing a CancellationException before
+     *                 the assignments are written back.
+     * @return The summary of the run.
+     * @throws SQLException if a database access error occurs or the registrations changed during the run,
+     *                      in which case nothing is assigned.
+     */
+    public synchronized AllocationResultDTO runAllocation(AllocationModeEnum mode, long improveMillis,
+                                                          AllocationProgress progress) throws SQLException {
+        progress.enter(AllocationJobPhaseEnum.LOADING);
+        long start = System.nanoTime();
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+        long loaded = System.nanoTime();
+        progress.enter(AllocationJobPhaseEnum.SOLVING);
+        int[] matched = ParallelAllocator.allocate(problem, mode);
+        LocalSearchImprover improver = null;
+        if (improveMillis > 0) {
+            improver = new LocalSearchImprover(problem, matched, BALANCE_WEIGHT);
+            improver.improve(TimeUnit.MILLISECONDS.toNanos(Math.min(improveMillis, MAX_IMPROVE_MILLIS)),
+                    System.nanoTime(), progress::checkpoint);
+        }
+        long solved = System.nanoTime();
+        progress.enter(AllocationJobPhaseEnum.WRITING);
+
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceRegistration = problem.getPreferenceRegistration();
+        int[] registrationIds = new int[matched.length];
+        int assigned = 0;
+        long rankSum = 0;
+        for (int s = 0; s < matched.length; s++) {
+            if (matched[s] >= 0) {
+                registrationIds[assigned++] = preferenceRegistration[matched[s]];
+                rankSum += matched[s] - preferenceStart[s];
+            }
+        }
+        if (assigned > 0) {
+            projectRegistrationsDAO.assignAllocatedRegistrations(Arrays.copyOf(registrationIds, assigned));
+        }
+        long written = System.nanoTime();
+
+        AllocationResultDTO result = new AllocationResultDTO(problem.getStudentCount(), assigned,
+                TimeUnit.NANOSECONDS.toMillis(loaded - start),
+                TimeUnit.NANOSECONDS.toMillis(solved - loaded),
+                TimeUnit.NANOSECONDS.toMillis(written - solved));
+        result.setMode(mode);
+        result.setRankSum(rankSum);
+        if (improver != null) {
+            result.setImproveMillis(TimeUnit.NANOSECONDS.toMillis(improver.getElapsedNanos()));
+            result.setImprovement(improver.getImprovement());
+            result.setImprovementPerSecond(improver.getImprovementPerSecond());
+        }
+        return result;
+    }
+
+    /**
+     * Takes the assignments to a project away before it is made unavailable, or deletes it, and re-assigns the
+     * students who held them along augmenting paths in the existing allocation. Only the registrations whose state
+     * changes are written, in one transaction, so the cost grows with the students involved rather than with the
+     * cohort. Serialised with allocation runs.
+     * @param projectId The ID of the project being taken away.
+     * @param delete Whether the project is being deleted, in which case it is deleted together with all of its
+     *               registrations before the students are re-assigned.
+     * @return The summary of the repair.
+     * @throws SQLException if a database access error occurs or the registrations changed during the repair,
+     *                      in which case the students stay unassigned.
+     */
+    public synchronized RepairResultDTO repairProject(int projectId, boolean delete) throws SQLException {
+        long start = System.nanoTime();
+        int[] studentIds = projectRegistrationsDAO.releaseAssignedRegistrations(projectId, delete);
+        int reassigned = 0;
+        int moved = 0;
+        if (studentIds.length > 0) {
+            AllocationRepairer repairer = new AllocationRepairer(projectRegistrationsDAO);
+            reassigned = repairer.repair(studentIds);
+            moved = repairer.getMovedStudents();
+            if (reassigned > 0) {
+                projectRegistrationsDAO.moveAllocatedRegistrations(repairer.getReleasedRegistrations(),
+                        repairer.getAssignedRegistrations());
+            }
+        }
+        return new RepairResultDTO(projectId, studentIds.length, reassigned, moved,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.enums.TieBreakEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AllocationSimulator class runs what-if variants of an allocation over a shared snapshot, without touching the
+ * database. A scenario copies only the arrays it changes and shares the rest with the snapshot, which is never
+ * modified, so any number of scenarios can run at the same time on different threads.
+ */
+public final class AllocationSimulator {
+
+    private final AllocationSnapshot snapshot;
+
+    /**
+     * Constructs an AllocationSimulator over a snapshot.
+     * @param snapshot The snapshot shared by all scenarios.
+     */
+    public AllocationSimulator(AllocationSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Allocates one scenario and measures the quality of the result.
+     * @param scenario The variant to simulate.
+     * @return The quality statistics of the simulated allocation.
+     */
+    public SimulationResultDTO simulate(SimulationScenarioDTO scenario) {
+        long start = System.nanoTime();
+        AllocationModeEnum mode = scenario.getMode() == null ? AllocationModeEnum.STABLE : scenario.getMode();
+        AllocationProblem problem = apply(scenario);
+        int[] matched = ParallelAllocator.allocate(problem, mode);
+
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceProject = problem.getPreferenceProject();
+        int[] projectStaff = snapshot.getProjectStaff();
+        int[] rankHistogram = new int[0];
+        Map<Integer, Integer> supervisorLoads = new TreeMap<>(snapshot.getStaffLoads());
+        int assigned = 0;
+        long rankSum = 0;
+        for (int s = 0; s < matched.length; s++) {
+            if (matched[s] < 0) {
+                continue;
+            }
+            int rank = matched[s] - preferenceStart[s];
+            if (rank >= rankHistogram.length) {
+                rankHistogram = Arrays.copyOf(rankHistogram, rank + 1);
+            }
+            rankHistogram[rank]++;
+            supervisorLoads.merge(projectStaff[preferenceProject[matched[s]]], 1, Integer::sum);
+            assigned++;
+            rankSum += rank;
+        }
+        return new SimulationResultDTO(scenario.getName(), mode, problem.getStudentCount(), assigned, rankSum,
+                rankHistogram, supervisorLoads, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Builds the problem of a scenario, copying only the snapshot arrays the scenario changes.
+     * @param scenario The variant to simulate.
+     * @return The allocation problem of the scenario.
+     */
+    private AllocationProblem apply(SimulationScenarioDTO scenario) {
+        AllocationProblem base = snapshot.getProblem();
+        int[] projectIds = base.getProjectIds();
+        int[] projectCapacity = base.getProjectCapacity();
+        int[] projectSupervisor = base.getProjectSupervisor();
+        int[] supervisorCapacity = base.getSupervisorCapacity();
+        int[] preferenceRegistration = base.getPreferenceRegistration();
+
+        if (scenario.getRemovedProjectIds() != null && !scenario.getRemovedProjectIds().isEmpty()) {
+            projectCapacity = projectCapacity.clone();
+            for (int projectId : scenario.getRemovedProjectIds()) {
+                int p = Arrays.binarySearch(projectIds, projectId);
+                if (p >= 0) {
+                    projectCapacity[p] = 0;
+                }
+            }
+        }
+
+        if (scenario.getMaxLoads() != null && !scenario.getMaxLoads().isEmpty()) {
+            int[] projectStaff = snapshot.getProjectStaff();
+            projectSupervisor = projectSupervisor.clone();
+            supervisorCapacity = Arrays.copyOf(supervisorCapacity,
+                    supervisorCapacity.length + scenario.getMaxLoads().size());
+            int supervisorCount = base.getSupervisorCount();
+            for (Map.Entry<Integer, Integer> entry : new TreeMap<>(scenario.getMaxLoads()).entrySet()) {
+                int staffId = entry.getKey();
+                // All projects of a staff member share their supervisor index, or all have none
+                int supervisor = -1;
+                for (int p = 0; p < projectStaff.length && supervisor < 0; p++) {
+                    if (projectStaff[p] == staffId) {
+                        supervisor = projectSupervisor[p];
+                    }
+                }
+                if (entry.getValue() != null && supervisor < 0) {
+                    supervisor = supervisorCount++;
+                }
+                for (int p = 0; p < projectStaff.length; p++) {
+                    if (projectStaff[p] == staffId) {
+                        projectSupervisor[p] = entry.getValue() == null ? -1 : supervisor;
+                    }
+                }
+                if (entry.getValue() != null) {
+                    supervisorCapacity[supervisor] = Math.max(0, entry.getValue() - snapshot.getStaffLoad(staffId));
+                }
+            }
+            supervisorCapacity = Arrays.copyOf(supervisorCapacity, supervisorCount);
+        }
+
+        TieBreakEnum tieBreak = scenario.getTieBreak() == null ? TieBreakEnum.EARLIEST_REGISTRATION
+                : scenario.getTieBreak();
+        if (tieBreak == TieBreakEnum.LATEST_REGISTRATION) {
+            // Reverse the order of the registration IDs, which only serve as priorities in a simulation
+            int max = Arrays.stream(preferenceRegistration).max().orElse(0);
+            preferenceRegistration = Arrays.stream(preferenceRegistration).map(id -> max + 1 - id).toArray();
+        } else if (tieBreak == TieBreakEnum.RANDOM) {
+            Random random = new Random(scenario.getSeed());
+            preferenceRegistration = new int[preferenceRegistration.length];
+            for (int k = 0; k < preferenceRegistration.length; k++) {
+                int j = random.nextInt(k + 1);
+                preferenceRegistration[k] = preferenceRegistration[j];
+                preferenceRegistration[j] = k + 1;
+            }
+        }
+
+        return new AllocationProblem(base.getStudentIds(), projectIds, projectCapacity, base.getPreferenceStart(),
+                base.getPreferenceProject(), preferenceRegistration, projectSupervisor, supervisorCapacity);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.model.SyntheticCohort;
+import com.example.cs5031p3.demo.backend.model.User;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The CohortGenerator class fills the database with a synthetic cohort for load and scale testing: students, staff
+ * members, projects spread evenly over the staff, and registrations whose projects follow a Zipf distribution, so that
+ * a few popular projects attract most of the interest, as they do in a real cohort. Every student registers for the
+ * same number of distinct projects, ranked in the order they were drawn.
+ * <p>
+ * The cohort is a function of its parameters and seed alone, so two databases filled with the same arguments hold the
+ * same rows. Everything is written with the batched insert methods of the DAOs, one transaction per table.
+ */
+public final class CohortGenerator {
+
+    private final UserDAO userDAO;
+    private final ProjectDAO projectDAO;
+    private final ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    /**
+     * Constructs a CohortGenerator writing through the given DAOs.
+     * @param userDAO The Data Access Object (DAO) for users.
+     * @param projectDAO The Data Access Object (DAO) for projects.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     */
+    public CohortGenerator(UserDAO userDAO, ProjectDAO projectDAO, ProjectRegistrationsDAO projectRegistrationsDAO) {
+        this.userDAO = userDAO;
+        this.projectDAO = projectDAO;
+        this.projectRegistrationsDAO = projectRegistrationsDAO;
+    }
+
+    /**
+     * Generates a cohort and writes it to the database.
+     * @param students The number of students.
+     * @param staff The number of staff members.
+     * @param projects The number of projects.
+     * @param registrationsPerStudent The number of projects each student registers for.
+     * @param zipfExponent The skew of project popularity: 0 for uniform, around 1 for a realistic cohort.
+     * @param seed The seed of the random choices.
+     * @return The IDs of the generated rows.
+     * @throws IllegalArgumentException if a count is negative, there are projects but no staff, or students register
+     *                                  for more projects than there are.
+     * @throws SQLException if a database access error occurs.
+     */
+    public SyntheticCohort generate(int students, int staff, int projects, int registrationsPerStudent,
+                                    double zipfExponent, long seed) throws SQLException {
+        if (students < 0 || staff < 0 || projects < 0 || registrationsPerStudent < 0 || zipfExponent < 0) {
+            throw new IllegalArgumentException("The cohort sizes and the Zipf exponent must not be negative");
+        }
+        if (projects > 0 && staff == 0) {
+            throw new IllegalArgumentException("Projects need at least one staff member to supervise them");
+        }
+        if (students > 0 && registrationsPerStudent > projects) {
+            throw new IllegalArgumentException("Students cannot register for more projects than there are");
+        }
+        Random random = new Random(seed);
+        int[] staffIds = createUsers(staff, TypeEnum.STAFF);
+        int[] studentIds = createUsers(students, TypeEnum.STUDENT);
+
+        List<Project> projectList = new ArrayList<>(projects);
+        for (int i = 0; i < projects; i++) {
+            Project project = new Project(0, "Project " + i,
+                    "A generated project for load testing, supervised by staff member " + (i % staff) + ".",
+                    staffIds[i % staff]);
+            project.setAvailable(1);
+            project.setCapacity(1 + random.nextInt(3));
+            projectList.add(project);
+        }
+        if (!projectList.isEmpty()) {
+            projectDAO.createProjects(projectList);
+        }
+        int[] projectIds = projectList.stream().mapToInt(Project::getId).toArray();
+
+        int[] registrationProjects = new int[students * registrationsPerStudent];
+        int[] registrationStudents = new int[registrationProjects.length];
+        int[] registrationRanks = new int[registrationProjects.length];
+        drawRegistrations(random, studentIds, projectIds, registrationsPerStudent, zipfExponent,
+                registrationProjects, registrationStudents, registrationRanks);
+        int[] registrationIds = registrationProjects.length == 0 ? new int[0]
+                : projectRegistrationsDAO.insertProjectRegistrations(registrationProjects, registrationStudents,
+                        registrationRanks);
+        return new SyntheticCohort(studentIds, staffIds, projectIds, registrationIds);
+    }
+
+    /**
+     * Creates users of one type named by index.
+     * @param count The number of users.
+     * @param type The type of the users.
+     * @return The IDs of the users, in index order.
+     * @throws SQLException if a database access error occurs.
+     */
+    private int[] createUsers(int count, TypeEnum type) throws SQLException {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String username = type == TypeEnum.STUDENT
+                    ? SyntheticCohort.studentUsername(i)
+                    : SyntheticCohort.staffUsername(i);
+            users.add(new User(null, type.getDescription() + " " + i, username, "password", type.getCode()));
+        }
+        if (!users.isEmpty()) {
+            userDAO.createUsers(users);
+        }
+        return users.stream().mapToInt(User::getId).toArray();
+    }
+
+    /**
+     * Draws the distinct projects each student registers for from a Zipf distribution over the projects, whose
+     * popularity order is shuffled so that the popular projects are spread over the staff.
+     * @param random The source of randomness.
+     * @param studentIds The IDs of the students.
+     * @param projectIds The IDs of the projects.
+     * @param perStudent The number of registrations of each student.
+     * @param exponent The Zipf exponent.
+     * @param projects Receives the project ID of each registration.
+     * @param students Receives the student ID of each registration.
+     * @param ranks Receives the preference rank of each registration.
+     */
+    private static void drawRegistrations(Random random, int[] studentIds, int[] projectIds, int perStudent,
+                                          double exponent, int[] projects, int[] students, int[] ranks) {
+        int projectCount = projectIds.length;
+        if (projectCount == 0) {
+            return;
+        }
+        int[] byPopularity = projectIds.clone();
+        for (int i = projectCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byPopularity[i];
+            byPopularity[i] = byPopularity[j];
+            byPopularity[j] = swap;
+        }
+        double[] cumulative = new double[projectCount];
+        double total = 0;
+        for (int i = 0; i < projectCount; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+
+        boolean[] taken = new boolean[projectCount];
+        int[] drawn = new int[perStudent];
+        int k = 0;
+        for (int studentId : studentIds) {
+            for (int rank = 0; rank < perStudent; rank++) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                index = Math.min(index < 0 ? -index - 1 : index, projectCount - 1);
+                // A repeated draw takes the next less popular project not taken yet, so every draw terminates
+                while (taken[index]) {
+                    index = (index + 1) % projectCount;
+                }
+                taken[index] = true;
+                drawn[rank] = index;
+                projects[k] = byPopularity[index];
+                students[k] = studentId;
+                ranks[k++] = rank + 1;
+            }
+            for (int rank = 0; rank < perStudent; rank++) {
+                taken[drawn[rank]] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.model.SyntheticCohort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with a synthetic cohort when the application starts with the {@code cohort} profile, e.g.
+ * {@code java -jar demo.jar --spring.profiles.active=cohort --cohort.students=50000}. The sizes, skew and seed are
+ * read from the {@code cohort.*} properties.
+ */
+@Component
+@Profile("cohort")
+public class CohortSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CohortSeeder.class);
+
+    private final CohortGenerator cohortGenerator;
+    private final int students;
+    private final int staff;
+    private final int projects;
+    private final int registrationsPerStudent;
+    private final double zipfExponent;
+    private final long seed;
+
+    /**
+     * Constructs a CohortSeeder writing through the given DAOs.
+     * @param userDAO The Data Access Object (DAO) for users.
+     * @param projectDAO The Data Access Object (DAO) for projects.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     * @param students The number of students to generate.
+     * @param staff The number of staff members to generate.
+     * @param projects The number of projects to generate.
+     * @param registrationsPerStudent The number of projects each student registers for.
+     * @param zipfExponent The skew of project popularity.
+     * @param seed The seed of the random choices.
+     */
+    public CohortSeeder(UserDAO userDAO, ProjectDAO projectDAO, ProjectRegistrationsDAO projectRegistrationsDAO,
+                        @Value("${cohort.students:10000}") int students,
+                        @Value("${cohort.staff:200}") int staff,
+                        @Value("${cohort.projects:2000}") int projects,
+                        @Value("${cohort.registrations-per-student:5}") int registrationsPerStudent,
+                        @Value("${cohort.zipf-exponent:1.0}") double zipfExponent,
+                        @Value("${cohort.seed:42}") long seed) {
+        this.cohortGenerator = new CohortGenerator(userDAO, projectDAO, projectRegistrationsDAO);
+        this.students = students;
+        this.staff = staff;
+        this.projects = projects;
+        this.registrationsPerStudent = registrationsPerStudent;
+        this.zipfExponent = zipfExponent;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the cohort and logs its size.
+     * @param args The application arguments, which are not used.
+     * @throws Exception if the cohort cannot be written.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        SyntheticCohort cohort = cohortGenerator.generate(students, staff, projects, registrationsPerStudent,
+                zipfExponent, seed);
+        logger.info("Generated {} students, {} staff, {} projects and {} registrations in {} ms",
+                cohort.getStudentIds().length, cohort.getStaffIds().length, cohort.getProjectIds().length,
+                cohort.getRegistrationIds().length, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+
+/**
+ * The GaleShapleyAllocator class matches students to projects with the student-proposing deferred acceptance
+ * algorithm. Students propose down their preference lists; a project holds its best proposals up to its
+ * capacity, where a lower registration ID (an earlier registration) is better, and rejects the rest.
+ * The result is the student-optimal stable matching. It runs in O(P log C) time for P preferences and
+ * project capacity C, using only primitive arrays. Supervisor load limits are not taken into account;
+ * {@link MinCostFlowAllocator} respects them.
+ */
+public final class GaleShapleyAllocator {
+
+    private GaleShapleyAllocator() {
+    }
+
+    /**
+     * Computes the student-optimal stable matching of the given problem.
+     * @param problem The students, projects and preferences to match
+     * @return For each student, the index of the matched preference, or -1 if the student is unmatched
+     */
+    public static int[] allocate(AllocationProblem problem) {
+        int studentCount = problem.getStudentCount();
+        int projectCount = problem.getProjectCount();
+        int[] capacity = problem.getProjectCapacity();
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceProject = problem.getPreferenceProject();
+        int[] preferenceRegistration = problem.getPreferenceRegistration();
+
+        int[] preferenceStudent = new int[problem.getPreferenceCount()];
+        for (int s = 0; s < studentCount; s++) {
+            for (int k = preferenceStart[s]; k < preferenceStart[s + 1]; k++) {
+                preferenceStudent[k] = s;
+            }
+        }
+
+        // The proposals held by project p form a max-heap on registration ID in heap[heapStart[p] ..]
+        int[] heapStart = new int[projectCount + 1];
+        for (int p = 0; p < projectCount; p++) {
+            heapStart[p + 1] = heapStart[p] + Math.max(0, Math.min(capacity[p], studentCount));
+        }
+        int[] heap = new int[heapStart[projectCount]];
+        int[] heapSize = new int[projectCount];
+
+        int[] matched = new int[studentCount];
+        int[] next = new int[studentCount];
+        int[] free = new int[studentCount];
+        int freeCount = 0;
+        for (int s = studentCount - 1; s >= 0; s--) {
+            matched[s] = -1;
+            next[s] = preferenceStart[s];
+            free[freeCount++] = s;
+        }
+
+        while (freeCount > 0) {
+            int s = free[--freeCount];
+            if (next[s] == preferenceStart[s + 1]) {
+                continue;
+            }
+            int k = next[s]++;
+            int p = preferenceProject[k];
+            int base = heapStart[p];
+            int slots = heapStart[p + 1] - base;
+            if (heapSize[p] < slots) {
+                siftUp(heap, base, heapSize[p]++, k, preferenceRegistration);
+                matched[s] = k;
+            } else if (slots > 0 && preferenceRegistration[k] < preferenceRegistration[heap[base]]) {
+                int rejected = heap[base];
+                siftDown(heap, base, slots, k, preferenceRegistration);
+                matched[s] = k;
+                int rejectedStudent = preferenceStudent[rejected];
+                matched[rejectedStudent] = -1;
+                free[freeCount++] = rejectedStudent;
+            } else {
+                free[freeCount++] = s;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Inserts a preference at the given position of a max-heap and moves it up to its place.
+     * @param heap The array holding the heap
+     * @param base The offset of the heap in the array
+     * @param position The position to insert at, which is the current heap size
+     * @param preference The preference index to insert
+     * @param key The registration ID of each preference, which orders the heap
+     */
+    private static void siftUp(int[] heap, int base, int position, int preference, int[] key) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (key[heap[base + parent]] >= key[preference]) {
+                break;
+            }
+            heap[base + position] = heap[base + parent];
+            position = parent;
+        }
+        heap[base + position] = preference;
+    }
+
+    /**
+     * Replaces the top of a max-heap with a preference and moves it down to its place.
+     * @param heap The array holding the heap
+     * @param base The offset of the heap in the array
+     * @param size The number of entries in the heap
+     * @param preference The preference index replacing the top
+     * @param key The registration ID of each preference, which orders the heap
+     */
+    private static void siftDown(int[] heap, int base, int size, int preference, int[] key) {
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && key[heap[base + child + 1]] > key[heap[base + child]]) {
+                child++;
+            }
+            if (key[heap[base + child]] <= key[preference]) {
+                break;
+            }
+            heap[base + position] = heap[base + child];
+            position = child;
+        }
+        heap[base + position] = preference;
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+
+/**
+ * The LocalSearchImprover class improves an existing allocation by local search, within a wall-clock budget.
+ * <p>
+ * The objective, lower being better, is the rank sum of the assigned students plus a balance weight times the sum of
+ * the squared loads of the load-limited supervisors, so that of two allocations equally good for the students the one
+ * spreading them more evenly over the supervisors wins. Two moves are tried on randomly drawn students:
+ * <ul>
+ *     <li>a relocation, moving a student to another of their preferences whose project and supervisor have room;</li>
+ *     <li>a swap, exchanging the projects of a student and of a student assigned to the project they would rather
+ *     have, if that student ranks the first student's project too. Swaps leave every load unchanged.</li>
+ * </ul>
+ * A move is applied if it does not make the objective worse, so the search walks across plateaus while the current
+ * allocation stays the best one found. No student gains or loses an assignment, and no move fills a project or a
+ * supervisor beyond its capacity. Moves may break the stability of a stable matching; the pass is meant for runs
+ * that favour overall quality.
+ * <p>
+ * The search keeps its state in primitive arrays built once, so the inner loop allocates nothing. It stops when the
+ * budget runs out or when no move has improved the objective for a long stretch.
+ */
+public final class LocalSearchImprover {
+
+    /**
+     * The number of moves tried between two reads of the clock and two checkpoints.
+     */
+    private static final int CLOCK_INTERVAL = 1024;
+
+    /**
+     * The least number of moves tried without an improvement before the search gives up early.
+     */
+    private static final long MIN_STALL_ITERATIONS = 1 << 16;
+
+    private final int[] matched;
+    private final int[] preferenceStart;
+    private final int[] preferenceProject;
+    private final int[] projectCapacity;
+    private final int[] projectSupervisor;
+    private final int[] supervisorCapacity;
+    private final long balanceWeight;
+
+    private final int[] projectLoad;
+    private final int[] supervisorLoad;
+    private final int[] projectSlotStart;
+    private final int[] projectStudents;
+    private final int[] studentSlot;
+    private final int[] assignedStudents;
+
+    private final long initialObjective;
+    private long objective;
+    private long iterations;
+    private long moves;
+    private long elapsedNanos;
+    private long seed;
+
+    /**
+     * Prepares the search over an allocation, which is improved in place.
+     * @param problem The allocation problem.
+     * @param matched For each student, the index of their matched preference, or -1 if they are not assigned.
+     * @param balanceWeight The weight of the supervisor load balance against the rank sum, 0 to ignore it.
+     */
+    public LocalSearchImprover(AllocationProblem problem, int[] matched, int balanceWeight) {
+        this.matched = matched;
+        this.preferenceStart = problem.getPreferenceStart();
+        this.preferenceProject = problem.getPreferenceProject();
+        this.projectCapacity = problem.getProjectCapacity();
+        this.projectSupervisor = problem.getProjectSupervisor();
+        this.supervisorCapacity = problem.getSupervisorCapacity();
+        this.balanceWeight = balanceWeight;
+        int studentCount = problem.getStudentCount();
+        int projectCount = problem.getProjectCount();
+
+        // Every project gets one slot per preference for it, which bounds the students it can hold
+        projectSlotStart = new int[projectCount + 1];
+        for (int project : preferenceProject) {
+            projectSlotStart[project + 1]++;
+        }
+        for (int p = 0; p < projectCount; p++) {
+            projectSlotStart[p + 1] += projectSlotStart[p];
+        }
+        projectStudents = new int[preferenceProject.length];
+        studentSlot = new int[studentCount];
+        projectLoad = new int[projectCount];
+        supervisorLoad = new int[problem.getSupervisorCount()];
+
+        int assigned = 0;
+        long rankSum = 0;
+        for (int s = 0; s < studentCount; s++) {
+            if (matched[s] >= 0) {
+                int p = preferenceProject[matched[s]];
+                studentSlot[s] = projectSlotStart[p] + projectLoad[p];
+                projectStudents[studentSlot[s]] = s;
+                projectLoad[p]++;
+                if (projectSupervisor[p] >= 0) {
+                    supervisorLoad[projectSupervisor[p]]++;
+                }
+                rankSum += matched[s] - preferenceStart[s];
+                assigned++;
+            }
+        }
+        assignedStudents = new int[assigned];
+        for (int s = 0, i = 0; s < studentCount; s++) {
+            if (matched[s] >= 0) {
+                assignedStudents[i++] = s;
+            }
+        }
+        long squaredLoads = 0;
+        for (int load : supervisorLoad) {
+            squaredLoads += (long) load * load;
+        }
+        initialObjective = rankSum + balanceWeight * squaredLoads;
+        objective = initialObjective;
+    }
+
+    /**
+     * Runs the search until the budget runs out or it stops finding improvements.
+     * @param budgetNanos The wall-clock budget, in nanoseconds.
+     * @param randomSeed The seed of the random choice of moves, so that runs can be repeated.
+     */
+    public void improve(long budgetNanos, long randomSeed) {
+        improve(budgetNanos, randomSeed, () -> {
+        });
+    }
+
+    /**
+     * Runs the search until the budget runs out or it stops finding improvements, calling a checkpoint between
+     * batches of moves. An exception thrown by the checkpoint stops the search and is passed on to the caller.
+     * @param budgetNanos The wall-clock budget, in nanoseconds.
+     * @param randomSeed The seed of the random choice of moves, so that runs can be repeated.
+     * @param checkpoint Called every {@value #CLOCK_INTERVAL} moves.
+     */
+    public void improve(long budgetNanos, long randomSeed, Runnable checkpoint) {
+        long start = System.nanoTime();
+        seed = randomSeed == 0 ? 0x9E3779B97F4A7C15L : randomSeed;
+        long stallLimit = Math.max(MIN_STALL_ITERATIONS, 32L * preferenceProject.length);
+        long sinceImprovement = 0;
+        while (assignedStudents.length > 0 && sinceImprovement < stallLimit) {
+            if (iterations % CLOCK_INTERVAL == 0) {
+                if (System.nanoTime() - start >= budgetNanos) {
+                    break;
+                }
+                checkpoint.run();
+            }
+            iterations++;
+            sinceImprovement++;
+            long delta = tryMove(assignedStudents[nextInt(assignedStudents.length)]);
+            if (delta < 0) {
+                sinceImprovement = 0;
+            }
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Tries one move of a student to another of their preferences, by relocation if the project has room and by a
+     * swap with one of its students otherwise.
+     * @param s The index of an assigned student.
+     * @return The change in the objective if the move was applied, or 1 if it was not.
+     */
+    private long tryMove(int s) {
+        int first = preferenceStart[s];
+        int count = preferenceStart[s + 1] - first;
+        if (count < 2) {
+            return 1;
+        }
+        int k = matched[s];
+        int k2 = first + nextInt(count - 1);
+        if (k2 >= k) {
+            k2++;
+        }
+        int p = preferenceProject[k];
+        int q = preferenceProject[k2];
+        int fp = projectSupervisor[p];
+        int fq = projectSupervisor[q];
+
+        if (projectLoad[q] < projectCapacity[q]
+                && (fq < 0 || fq == fp || supervisorLoad[fq] < supervisorCapacity[fq])) {
+            long delta = k2 - k + balanceWeight * balanceDelta(fp, fq);
+            if (delta > 0) {
+                return 1;
+            }
+            relocate(s, p, q, k2);
+            if (fp != fq) {
+                if (fp >= 0) {
+                    supervisorLoad[fp]--;
+                }
+                if (fq >= 0) {
+                    supervisorLoad[fq]++;
+                }
+            }
+            return apply(delta);
+        }
+        if (projectLoad[q] == 0) {
+            return 1;
+        }
+
+        int t = projectStudents[projectSlotStart[q] + nextInt(projectLoad[q])];
+        int kt = matched[t];
+        int kt2 = -1;
+        for (int j = preferenceStart[t]; j < preferenceStart[t + 1]; j++) {
+            if (preferenceProject[j] == p) {
+                kt2 = j;
+                break;
+            }
+        }
+        if (kt2 < 0) {
+            return 1;
+        }
+        long delta = k2 - k + kt2 - kt;
+        if (delta > 0) {
+            return 1;
+        }
+        matched[s] = k2;
+        matched[t] = kt2;
+        int slot = studentSlot[s];
+        studentSlot[s] = studentSlot[t];
+        studentSlot[t] = slot;
+        projectStudents[studentSlot[s]] = s;
+        projectStudents[studentSlot[t]] = t;
+        return apply(delta);
+    }
+
+    /**
+     * Get the change in the sum of squared supervisor loads when a student moves between two supervisors.
+     * @param from The supervisor index the student leaves, or -1.
+     * @param to The supervisor index the student joins, or -1.
+     * @return The change in the sum of squared loads.
+     */
+    private long balanceDelta(int from, int to) {
+        if (from == to) {
+            return 0;
+        }
+        long delta = 0;
+        if (from >= 0) {
+            delta += 1 - 2L * supervisorLoad[from];
+        }
+        if (to >= 0) {
+            delta += 1 + 2L * supervisorLoad[to];
+        }
+        return delta;
+    }
+
+    /**
+     * Moves a student from one project to another, keeping the students of each project contiguous.
+     * @param s The index of the student.
+     * @param p The project index the student leaves.
+     * @param q The project index the student joins.
+     * @param k2 The index of the student's preference for q.
+     */
+    private void relocate(int s, int p, int q, int k2) {
+        int last = projectSlotStart[p] + --projectLoad[p];
+        int moved = projectStudents[last];
+        projectStudents[studentSlot[s]] = moved;
+        studentSlot[moved] = studentSlot[s];
+        studentSlot[s] = projectSlotStart[q] + projectLoad[q]++;
+        projectStudents[studentSlot[s]] = s;
+        matched[s] = k2;
+    }
+
+    /**
+     * Records an applied move.
+     * @param delta The change in the objective.
+     * @return The change in the objective.
+     */
+    private long apply(long delta) {
+        objective += delta;
+        moves++;
+        return delta;
+    }
+
+    /**
+     * Draws a random index with a xorshift generator, which keeps its state in one field.
+     * @param bound The number of indexes, which must be positive.
+     * @return An index from 0 (inclusive) to bound (exclusive).
+     */
+    private int nextInt(int bound) {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (((seed >>> 33) * bound) >>> 31);
+    }
+
+    /**
+     * Get the objective of the allocation the search started from.
+     * @return The initial objective.
+     */
+    public long getInitialObjective() {
+        return initialObjective;
+    }
+
+    /**
+     * Get the objective of the allocation now.
+     * @return The current objective, never above the initial one.
+     */
+    public long getObjective() {
+        return objective;
+    }
+
+    /**
+     * Get how much the search lowered the objective.
+     * @return The improvement.
+     */
+    public long getImprovement() {
+        return initialObjective - objective;
+    }
+
+    /**
+     * Get the rate at which the search lowered the objective.
+     * @return The improvement per second of search, or 0 if it did not run.
+     */
+    public double getImprovementPerSecond() {
+        return elapsedNanos == 0 ? 0 : getImprovement() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the number of moves tried.
+     * @return The number of iterations.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get the number of moves applied.
+     * @return The number of moves.
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Get the time spent searching.
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every public method of the controllers, services and DAOs in an {@code app.method} timer
+ * tagged with the layer, class and method, such as {@code dao}, {@code ProjectRegistrationsDAO} and
+ * {@code findByStudentId}, and counts the exceptions they throw in {@code app.method.errors}, tagged with the
+ * exception class as well. Per-endpoint request metrics come from Spring Boot's {@code http.server.requests}; both are
+ * scraped from {@code /actuator/prometheus}, with the histogram buckets configured in application.properties.
+ * <p>
+ * The meters of a method are looked up once and kept by method, so a call only costs two clock reads and a histogram
+ * update on top of the proxy. Controllers turn most exceptions into error responses themselves, so their failures
+ * show in the status tag of {@code http.server.requests} rather than in the error counter.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    /**
+     * The name of the method timers.
+     */
+    public static final String TIMER = "app.method";
+
+    /**
+     * The name of the method error counters.
+     */
+    public static final String ERRORS = "app.method.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Method, Map<Class<?>, Counter>> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a MethodMetricsAspect registering its meters in the given registry.
+     * @param meterRegistry The registry of the application's meters.
+     */
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times a public method of a controller, service or DAO and counts the exception it throws, if any.
+     * @param joinPoint The intercepted call.
+     * @return The value returned by the method.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("execution(public * com.example.cs5031p3.demo.backend..*(..)) && ("
+            + "@within(org.springframework.web.bind.annotation.RestController)"
+            + " || @within(org.springframework.stereotype.Service)"
+            + " || @within(org.springframework.stereotype.Repository))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers.computeIfAbsent(method, this::timer);
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            errors.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(e.getClass(), type -> counter(method, type))
+                    .increment();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Registers the timer of a method.
+     * @param method The method.
+     * @return The timer.
+     */
+    private Timer timer(Method method) {
+        return Timer.builder(TIMER)
+                .description("Latency of controller, service and DAO methods")
+                .tag("layer", layer(method.getDeclaringClass()))
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the error counter of a method and exception class.
+     * @param method The method.
+     * @param exception The class of the exception thrown.
+     * @return The counter.
+     */
+    private Counter counter(Method method, Class<?> exception) {
+        return Counter.builder(ERRORS)
+                .description("Exceptions thrown by controller, service and DAO methods")
+                .tag("layer", layer(method.getDeclaringClass()))
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the layer of a bean class from its stereotype.
+     * @param type The class declaring the method.
+     * @return "dao", "service" or "controller".
+     */
+    private static String layer(Class<?> type) {
+        if (type.isAnnotationPresent(Repository.class)) {
+            return "dao";
+        }
+        return type.isAnnotationPresent(Service.class) ? "service" : "controller";
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+
+import java.util.Arrays;
+
+/**
+ * The MinCostFlowAllocator class finds an optimal allocation: as many students as possible are assigned, and among
+ * those allocations one with the smallest sum of preference ranks (0 for a first choice, 1 for a second, ...).
+ * Both project capacities and supervisor load limits are respected.
+ * <p>
+ * The allocation is solved as a min-cost max-flow problem on the network
+ * source &rarr; student &rarr; project &rarr; supervisor &rarr; sink, where a project whose supervisor has no load
+ * limit connects to the sink directly. It uses the primal-dual method: Dijkstra on reduced costs updates the node
+ * potentials, then a Dinic-style blocking flow pushes along every zero reduced-cost path before the next Dijkstra.
+ * The graph is held in compact adjacency arrays with one reverse edge per edge.
+ */
+public final class MinCostFlowAllocator {
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final int nodeCount;
+    private final int source;
+    private final int sink;
+    private final int[] firstEdge;
+    private final int[] target;
+    private final int[] residual;
+    private final int[] cost;
+    private final int[] reverse;
+    private final int[] potential;
+    private final int[] distance;
+    private final int[] level;
+    private final int[] currentEdge;
+    private final int[] queue;
+    private final int[] path;
+    private final long[] heap;
+
+    /**
+     * Builds the flow network of a problem.
+     * @param problem The problem to solve
+     * @param preferenceEdge Receives, for each preference, the index of its student to project edge
+     */
+    private MinCostFlowAllocator(AllocationProblem problem, int[] preferenceEdge) {
+        int studentCount = problem.getStudentCount();
+        int projectCount = problem.getProjectCount();
+        int supervisorCount = problem.getSupervisorCount();
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceProject = problem.getPreferenceProject();
+        int[] projectCapacity = problem.getProjectCapacity();
+        int[] projectSupervisor = problem.getProjectSupervisor();
+        int[] supervisorCapacity = problem.getSupervisorCapacity();
+
+        int firstStudent = 1;
+        int firstProject = firstStudent + studentCount;
+        int firstSupervisor = firstProject + projectCount;
+        source = 0;
+        sink = firstSupervisor + supervisorCount;
+        nodeCount = sink + 1;
+
+        // Collect the edges in pairs, a forward edge at 2i and its reverse at 2i + 1
+        int pairCount = studentCount + problem.getPreferenceCount() + projectCount + supervisorCount;
+        int[] from = new int[2 * pairCount];
+        int[] to = new int[2 * pairCount];
+        int[] capacity = new int[2 * pairCount];
+        int[] edgeCost = new int[2 * pairCount];
+        int pair = 0;
+        for (int s = 0; s < studentCount; s++) {
+            pair = addPair(from, to, capacity, edgeCost, pair, source, firstStudent + s, 1, 0);
+            for (int k = preferenceStart[s]; k < preferenceStart[s + 1]; k++) {
+                preferenceEdge[k] = 2 * pair;
+                pair = addPair(from, to, capacity, edgeCost, pair, firstStudent + s,
+                        firstProject + preferenceProject[k], 1, k - preferenceStart[s]);
+            }
+        }
+        for (int p = 0; p < projectCount; p++) {
+            int next = projectSupervisor[p] < 0 ? sink : firstSupervisor + projectSupervisor[p];
+            pair = addPair(from, to, capacity, edgeCost, pair, firstProject + p, next,
+                    Math.max(0, Math.min(projectCapacity[p], studentCount)), 0);
+        }
+        for (int f = 0; f < supervisorCount; f++) {
+            pair = addPair(from, to, capacity, edgeCost, pair, firstSupervisor + f, sink,
+                    Math.max(0, Math.min(supervisorCapacity[f], studentCount)), 0);
+        }
+
+        // Lay the edges out by tail node, so that the edges leaving node u are firstEdge[u] .. firstEdge[u + 1]
+        int edgeCount = 2 * pairCount;
+        firstEdge = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            firstEdge[from[e] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            firstEdge[u + 1] += firstEdge[u];
+        }
+        int[] position = new int[edgeCount];
+        int[] fill = firstEdge.clone();
+        for (int e = 0; e < edgeCount; e++) {
+            position[e] = fill[from[e]]++;
+        }
+        target = new int[edgeCount];
+        residual = new int[edgeCount];
+        cost = new int[edgeCount];
+        reverse = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int at = position[e];
+            target[at] = to[e];
+            residual[at] = capacity[e];
+            cost[at] = edgeCost[e];
+            reverse[at] = position[e ^ 1];
+        }
+        for (int k = 0; k < preferenceEdge.length; k++) {
+            preferenceEdge[k] = position[preferenceEdge[k]];
+        }
+
+        potential = new int[nodeCount];
+        distance = new int[nodeCount];
+        level = new int[nodeCount];
+        currentEdge = new int[nodeCount];
+        queue = new int[nodeCount];
+        path = new int[nodeCount];
+        heap = new long[edgeCount + 1];
+    }
+
+    /**
+     * Adds an edge and its zero-capacity reverse edge to the edge list.
+     * @param from The tail node of each edge
+     * @param to The head node of each edge
+     * @param capacity The capacity of each edge
+     * @param cost The cost of each edge
+     * @param pair The index of the pair to fill
+     * @param u The tail node of the forward edge
+     * @param v The head node of the forward edge
+     * @param edgeCapacity The capacity of the forward edge
+     * @param edgeCost The cost of the forward edge, which the reverse edge refunds
+     * @return The index of the next pair
+     */
+    private static int addPair(int[] from, int[] to, int[] capacity, int[] cost, int pair,
+                               int u, int v, int edgeCapacity, int edgeCost) {
+        int e = 2 * pair;
+        from[e] = u;
+        to[e] = v;
+        capacity[e] = edgeCapacity;
+        cost[e] = edgeCost;
+        from[e + 1] = v;
+        to[e + 1] = u;
+        capacity[e + 1] = 0;
+        cost[e + 1] = -edgeCost;
+        return pair + 1;
+    }
+
+    /**
+     * Computes an allocation of the given problem that assigns as many students as possible at the lowest total
+     * preference rank.
+     * @param problem The students, projects, supervisors and preferences to allocate
+     * @return For each student, the index of the matched preference, or -1 if the student is unmatched
+     */
+    public static int[] allocate(AllocationProblem problem) {
+        int[] preferenceEdge = new int[problem.getPreferenceCount()];
+        MinCostFlowAllocator network = new MinCostFlowAllocator(problem, preferenceEdge);
+        network.solve();
+
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] matched = new int[problem.getStudentCount()];
+        for (int s = 0; s < matched.length; s++) {
+            matched[s] = -1;
+            for (int k = preferenceStart[s]; k < preferenceStart[s + 1]; k++) {
+                if (network.residual[preferenceEdge[k]] == 0) {
+                    matched[s] = k;
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Pushes a maximum flow of minimum cost from the source to the sink.
+     */
+    private void solve() {
+        while (shortestPaths()) {
+            while (buildLevels()) {
+                System.arraycopy(firstEdge, 0, currentEdge, 0, nodeCount);
+                while (augment()) {
+                    // keep pushing along the current level graph until it is blocked
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs Dijkstra on the reduced costs from the source and folds the distances into the potentials, so that every
+     * edge on a shortest path to the sink gets reduced cost 0 and no residual edge gets a negative reduced cost.
+     * Distances are capped at the distance of the sink, which lets the search stop as soon as the sink is settled.
+     * @return true if the sink is reachable, false if the flow is maximum
+     */
+    private boolean shortestPaths() {
+        Arrays.fill(distance, INFINITY);
+        distance[source] = 0;
+        int heapSize = 0;
+        heap[heapSize++] = source;
+        while (heapSize > 0) {
+            long top = heap[0];
+            heapSize = popHeap(heapSize);
+            int u = (int) top;
+            int d = (int) (top >>> 32);
+            if (d > distance[u]) {
+                continue;
+            }
+            if (u == sink) {
+                break;
+            }
+            for (int e = firstEdge[u]; e < firstEdge[u + 1]; e++) {
+                if (residual[e] > 0) {
+                    int v = target[e];
+                    int candidate = d + cost[e] + potential[u] - potential[v];
+                    if (candidate < distance[v]) {
+                        distance[v] = candidate;
+                        heapSize = pushHeap(heapSize, ((long) candidate << 32) | v);
+                    }
+                }
+            }
+        }
+        int sinkDistance = distance[sink];
+        if (sinkDistance == INFINITY) {
+            return false;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            potential[u] += Math.min(distance[u], sinkDistance);
+        }
+        return true;
+    }
+
+    /**
+     * Adds an entry to the binary min-heap of (distance, node) pairs.
+     * @param size The current heap size
+     * @param entry The distance in the high 32 bits and the node in the low 32 bits
+     * @return The new heap size
+     */
+    private int pushHeap(int size, long entry) {
+        int position = size;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = entry;
+        return size + 1;
+    }
+
+    /**
+     * Removes the smallest entry of the binary min-heap of (distance, node) pairs.
+     * @param size The current heap size
+     * @return The new heap size
+     */
+    private int popHeap(int size) {
+        long last = heap[--size];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = last;
+        return size;
+    }
+
+    /**
+     * Checks whether a residual edge has zero reduced cost, which puts it on a shortest path.
+     * @param u The tail node of the edge
+     * @param e The edge
+     * @return true if the edge has spare capacity and zero reduced cost
+     */
+    private boolean admissible(int u, int e) {
+        return residual[e] > 0 && cost[e] + potential[u] - potential[target[e]] == 0;
+    }
+
+    /**
+     * Computes the breadth-first level of every node over the admissible edges.
+     * @return true if the sink is reachable over admissible edges
+     */
+    private boolean buildLevels() {
+        Arrays.fill(level, -1);
+        level[source] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = firstEdge[u]; e < firstEdge[u + 1]; e++) {
+                int v = target[e];
+                if (level[v] < 0 && admissible(u, e)) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    /**
+     * Finds one path from the source to the sink through the level graph, advancing the current edge of each node
+     * past dead ends, and pushes its bottleneck capacity along it. The path is searched iteratively, since residual
+     * paths can alternate between students and projects many times.
+     * @return true if a path was found and augmented, false if the level graph is blocked
+     */
+    private boolean augment() {
+        int depth = 0;
+        int u = source;
+        while (u != sink) {
+            int e = currentEdge[u];
+            int end = firstEdge[u + 1];
+            while (e < end && !(level[target[e]] == level[u] + 1 && admissible(u, e))) {
+                e++;
+            }
+            currentEdge[u] = e;
+            if (e < end) {
+                path[depth++] = e;
+                u = target[e];
+            } else {
+                level[u] = -1;
+                if (depth == 0) {
+                    return false;
+                }
+                int back = path[--depth];
+                u = target[reverse[back]];
+                currentEdge[u]++;
+            }
+        }
+        int bottleneck = INFINITY;
+        for (int i = 0; i < depth; i++) {
+            bottleneck = Math.min(bottleneck, residual[path[i]]);
+        }
+        for (int i = 0; i < depth; i++) {
+            residual[path[i]] -= bottleneck;
+            residual[reverse[path[i]]] += bottleneck;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ParallelAllocator class splits an allocation problem into independent parts and solves them in parallel.
+ * <p>
+ * Students, projects and load-limited supervisors are the nodes of a graph in which a preference joins a student to
+ * a project and a project is joined to its supervisor. No assignment in one connected component can affect another,
+ * so each component can be solved on its own, and the union of their solutions is a solution of the whole problem:
+ * the same stable matching for {@link AllocationModeEnum#STABLE}, and an allocation of the same size and rank sum for
+ * {@link AllocationModeEnum#OPTIMAL}. Cohorts of several departments with separate project pools fall apart into one
+ * component per department.
+ * <p>
+ * The components are laid out contiguously by a counting sort and solved by a fork-join task that halves the list of
+ * components by weight until a part is small enough; each part is then copied into one sub-problem, so that many
+ * small components do not cost one task each. Every part writes a disjoint range of the shared result array.
+ */
+public final class ParallelAllocator {
+
+    /**
+     * The number of students plus preferences below which a part is solved without splitting it further.
+     */
+    private static final int SEQUENTIAL_WEIGHT = 4096;
+
+    private final AllocationProblem problem;
+    private final AllocationModeEnum mode;
+    private final int[] matched;
+    private final int[] studentOrder;
+    private final int[] projectOrder;
+    private final int[] projectPosition;
+    private final int[] supervisorOrder;
+    private final int[] supervisorPosition;
+    private final int[] componentStudentStart;
+    private final int[] componentProjectStart;
+    private final int[] componentSupervisorStart;
+    private final long[] componentWeightStart;
+
+    /**
+     * Finds the connected components of a problem and lays them out contiguously.
+     * @param problem The problem to solve
+     * @param mode The algorithm to solve each part with
+     */
+    private ParallelAllocator(AllocationProblem problem, AllocationModeEnum mode) {
+        this.problem = problem;
+        this.mode = mode;
+        int studentCount = problem.getStudentCount();
+        int projectCount = problem.getProjectCount();
+        int supervisorCount = problem.getSupervisorCount();
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceProject = problem.getPreferenceProject();
+        int[] projectSupervisor = problem.getProjectSupervisor();
+        matched = new int[studentCount];
+
+        // Union-find over students, then projects, then supervisors
+        int firstProject = studentCount;
+        int firstSupervisor = firstProject + projectCount;
+        int nodeCount = firstSupervisor + supervisorCount;
+        int[] parent = new int[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            parent[v] = v;
+        }
+        for (int s = 0; s < studentCount; s++) {
+            for (int k = preferenceStart[s]; k < preferenceStart[s + 1]; k++) {
+                union(parent, s, firstProject + preferenceProject[k]);
+            }
+        }
+        for (int p = 0; p < projectCount; p++) {
+            if (projectSupervisor[p] >= 0) {
+                union(parent, firstProject + p, firstSupervisor + projectSupervisor[p]);
+            }
+        }
+
+        // Number the components in order of their first node
+        int[] component = new int[nodeCount];
+        int componentCount = 0;
+        for (int v = 0; v < nodeCount; v++) {
+            int root = find(parent, v);
+            component[v] = root == v ? componentCount++ : component[root];
+        }
+
+        componentStudentStart = new int[componentCount + 1];
+        componentProjectStart = new int[componentCount + 1];
+        componentSupervisorStart = new int[componentCount + 1];
+        componentWeightStart = new long[componentCount + 1];
+        for (int s = 0; s < studentCount; s++) {
+            componentStudentStart[component[s] + 1]++;
+            componentWeightStart[component[s] + 1] += 1 + preferenceStart[s + 1] - preferenceStart[s];
+        }
+        for (int p = 0; p < projectCount; p++) {
+            componentProjectStart[component[firstProject + p] + 1]++;
+        }
+        for (int f = 0; f < supervisorCount; f++) {
+            componentSupervisorStart[component[firstSupervisor + f] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentStudentStart[c + 1] += componentStudentStart[c];
+            componentProjectStart[c + 1] += componentProjectStart[c];
+            componentSupervisorStart[c + 1] += componentSupervisorStart[c];
+            componentWeightStart[c + 1] += componentWeightStart[c];
+        }
+
+        studentOrder = new int[studentCount];
+        projectOrder = new int[projectCount];
+        projectPosition = new int[projectCount];
+        supervisorOrder = new int[supervisorCount];
+        supervisorPosition = new int[supervisorCount];
+        int[] next = new int[componentCount];
+        System.arraycopy(componentStudentStart, 0, next, 0, componentCount);
+        for (int s = 0; s < studentCount; s++) {
+            studentOrder[next[component[s]]++] = s;
+        }
+        System.arraycopy(componentProjectStart, 0, next, 0, componentCount);
+        for (int p = 0; p < projectCount; p++) {
+            int position = next[component[firstProject + p]]++;
+            projectOrder[position] = p;
+            projectPosition[p] = position;
+        }
+        System.arraycopy(componentSupervisorStart, 0, next, 0, componentCount);
+        for (int f = 0; f < supervisorCount; f++) {
+            int position = next[component[firstSupervisor + f]]++;
+            supervisorOrder[position] = f;
+            supervisorPosition[f] = position;
+        }
+    }
+
+    /**
+     * Allocates projects to students on the common fork-join pool.
+     * @param problem The problem to solve
+     * @param mode The algorithm to allocate with
+     * @return For each student, the index of their matched preference, or -1 if they are not assigned
+     */
+    public static int[] allocate(AllocationProblem problem, AllocationModeEnum mode) {
+        return allocate(problem, mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Allocates projects to students on the given fork-join pool.
+     * @param problem The problem to solve
+     * @param mode The algorithm to allocate with
+     * @param pool The pool to solve the components on
+     * @return For each student, the index of their matched preference, or -1 if they are not assigned
+     */
+    public static int[] allocate(AllocationProblem problem, AllocationModeEnum mode, ForkJoinPool pool) {
+        long weight = problem.getStudentCount() + (long) problem.getPreferenceProject().length;
+        if (weight <= SEQUENTIAL_WEIGHT || pool.getParallelism() == 1) {
+            return solve(problem, mode);
+        }
+        ParallelAllocator allocator = new ParallelAllocator(problem, mode);
+        int componentCount = allocator.componentStudentStart.length - 1;
+        if (componentCount == 1) {
+            return solve(problem, mode);
+        }
+        pool.invoke(allocator.new PartTask(0, componentCount));
+        return allocator.matched;
+    }
+
+    /**
+     * Allocates projects to students on the calling thread.
+     * @param problem The problem to solve
+     * @param mode The algorithm to allocate with
+     * @return For each student, the index of their matched preference, or -1 if they are not assigned
+     */
+    static int[] solve(AllocationProblem problem, AllocationModeEnum mode) {
+        return mode == AllocationModeEnum.OPTIMAL
+                ? MinCostFlowAllocator.allocate(problem)
+                : GaleShapleyAllocator.allocate(problem);
+    }
+
+    /**
+     * Copies the components from lo (inclusive) to hi (exclusive) into one sub-problem, solves it and writes
+     * the matched preferences of its students back into the result in terms of the whole problem.
+     * @param lo The first component
+     * @param hi The component after the last
+     */
+    private void solveComponents(int lo, int hi) {
+        int[] preferenceStart = problem.getPreferenceStart();
+        int[] preferenceProject = problem.getPreferenceProject();
+        int[] preferenceRegistration = problem.getPreferenceRegistration();
+        int[] projectSupervisor = problem.getProjectSupervisor();
+        int studentLo = componentStudentStart[lo];
+        int projectLo = componentProjectStart[lo];
+        int supervisorLo = componentSupervisorStart[lo];
+        int studentCount = componentStudentStart[hi] - studentLo;
+        int projectCount = componentProjectStart[hi] - projectLo;
+        int supervisorCount = componentSupervisorStart[hi] - supervisorLo;
+
+        int[] studentIds = new int[studentCount];
+        int[] partStart = new int[studentCount + 1];
+        for (int i = 0; i < studentCount; i++) {
+            int s = studentOrder[studentLo + i];
+            studentIds[i] = problem.getStudentIds()[s];
+            partStart[i + 1] = partStart[i] + preferenceStart[s + 1] - preferenceStart[s];
+        }
+        int[] partProject = new int[partStart[studentCount]];
+        int[] partRegistration = new int[partStart[studentCount]];
+        for (int i = 0; i < studentCount; i++) {
+            int s = studentOrder[studentLo + i];
+            int offset = partStart[i] - preferenceStart[s];
+            for (int k = preferenceStart[s]; k < preferenceStart[s + 1]; k++) {
+                partProject[k + offset] = projectPosition[preferenceProject[k]] - projectLo;
+                partRegistration[k + offset] = preferenceRegistration[k];
+            }
+        }
+        int[] projectIds = new int[projectCount];
+        int[] projectCapacity = new int[projectCount];
+        int[] partSupervisor = new int[projectCount];
+        for (int j = 0; j < projectCount; j++) {
+            int p = projectOrder[projectLo + j];
+            projectIds[j] = problem.getProjectIds()[p];
+            projectCapacity[j] = problem.getProjectCapacity()[p];
+            partSupervisor[j] = projectSupervisor[p] < 0 ? -1 : supervisorPosition[projectSupervisor[p]] - supervisorLo;
+        }
+        int[] supervisorCapacity = new int[supervisorCount];
+        for (int j = 0; j < supervisorCount; j++) {
+            supervisorCapacity[j] = problem.getSupervisorCapacity()[supervisorOrder[supervisorLo + j]];
+        }
+
+        int[] partMatched = solve(new AllocationProblem(studentIds, projectIds, projectCapacity, partStart,
+                partProject, partRegistration, partSupervisor, supervisorCapacity), mode);
+        for (int i = 0; i < studentCount; i++) {
+            int s = studentOrder[studentLo + i];
+            matched[s] = partMatched[i] < 0 ? -1 : partMatched[i] - partStart[i] + preferenceStart[s];
+        }
+    }
+
+    /**
+     * Finds the root of a node, halving the path on the way.
+     * @param parent The parent of each node
+     * @param v The node
+     * @return The root of its tree
+     */
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Joins the trees of two nodes, keeping the smaller root so that roots come first in node order.
+     * @param parent The parent of each node
+     * @param u One node
+     * @param v The other node
+     */
+    private static void union(int[] parent, int u, int v) {
+        int ru = find(parent, u);
+        int rv = find(parent, v);
+        if (ru < rv) {
+            parent[rv] = ru;
+        } else if (rv < ru) {
+            parent[ru] = rv;
+        }
+    }
+
+    /**
+     * A fork-join task solving a range of components, split in two halves of about equal weight while it is heavy.
+     */
+    private final class PartTask extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a task for the components from lo (inclusive) to hi (exclusive).
+         * @param lo The first component
+         * @param hi The component after the last
+         */
+        PartTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            long weight = componentWeightStart[hi] - componentWeightStart[lo];
+            if (hi - lo == 1 || weight <= SEQUENTIAL_WEIGHT) {
+                solveComponents(lo, hi);
+                return;
+            }
+            // The first component past the half-way weight, kept strictly inside the range
+            long half = componentWeightStart[lo] + weight / 2;
+            int a = lo + 1;
+            int b = hi - 1;
+            while (a < b) {
+                int m = (a + b) >>> 1;
+                if (componentWeightStart[m] < half) {
+                    a = m + 1;
+                } else {
+                    b = m;
+                }
+            }
+            invokeAll(new PartTask(lo, a), new PartTask(a, hi));
+        }
+    }
+}
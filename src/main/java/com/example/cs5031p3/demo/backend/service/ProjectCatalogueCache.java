@@ -0,0 +1,220 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.model.Project;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of the full project catalogue served by /project/all, both as one list and as keyset pages.
+ * The list is rebuilt from the database on the first read after an invalidation or once it is older than the
+ * configured max age (project.catalogue.max-age-ms). The cached list is sorted by project ID, shared between callers
+ * and read-only; a page is a copy of a slice of it.
+ * <p>
+ * Hit and miss counts, the hit ratio and the rebuild times are bound to the meter registry as {@code cache.gets},
+ * {@code cache.hit.ratio}, {@code cache.rebuild} and {@code cache.rebuild.last}, tagged with {@code cache=projects}.
+ */
+@Component
+public class ProjectCatalogueCache implements MeterBinder {
+
+    /**
+     * The name of the cache in the tags of its meters.
+     */
+    public static final String CACHE_NAME = "projects";
+
+    private final ProjectDAO projectDAO;
+    private final long maxAgeNanos;
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong totalRebuildNanos = new AtomicLong();
+    private volatile long lastRebuildNanos;
+
+    /**
+     * A catalogue read from the database, with the time it was read.
+     * @param projects The read-only list of projects
+     * @param loadedAtNanos The System.nanoTime() value when the list was read
+     */
+    private record Snapshot(List<Project> projects, long loadedAtNanos) {
+    }
+
+    /**
+     * Constructs a ProjectCatalogueCache with the specified ProjectDAO and max age.
+     * @param projectDAO The Data Access Object (DAO) for project entities.
+     * @param maxAgeMillis How long, in milliseconds, a catalogue is served before it is read again.
+     */
+    public ProjectCatalogueCache(ProjectDAO projectDAO,
+                                 @Value("${project.catalogue.max-age-ms:30000}") long maxAgeMillis) {
+        this.projectDAO = projectDAO;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    /**
+     * Get all projects, from memory if the cached catalogue is still fresh and from the database otherwise.
+     * @return The read-only list of all projects.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Project> getAllProjects() throws SQLException {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.incrementAndGet();
+            return current.projects();
+        }
+        synchronized (rebuildLock) {
+            // Another request may have rebuilt the catalogue while this one waited
+            current = snapshot;
+            if (isFresh(current)) {
+                hits.incrementAndGet();
+                return current.projects();
+            }
+            misses.incrementAndGet();
+            long loadGeneration;
+            synchronized (this) {
+                loadGeneration = generation;
+            }
+            long start = System.nanoTime();
+            List<Project> loaded = new ArrayList<>(projectDAO.getAllProjects());
+            loaded.sort(Comparator.comparing(Project::getId));
+            List<Project> projects = Collections.unmodifiableList(loaded);
+            long end = System.nanoTime();
+            lastRebuildNanos = end - start;
+            totalRebuildNanos.addAndGet(end - start);
+            synchronized (this) {
+                // A write during the rebuild may not be part of the list read, so it is only kept if none happened
+                if (loadGeneration == generation) {
+                    snapshot = new Snapshot(projects, end);
+                }
+            }
+            return projects;
+        }
+    }
+
+    /**
+     * Get the projects of a catalogue whose ID is greater than the given one.
+     * @param catalogue A catalogue list returned by {@link #getAllProjects()}, sorted by project ID.
+     * @param afterId Only projects with an ID greater than this are returned; 0 starts from the beginning.
+     * @param limit The maximum number of projects to return.
+     * @return A new, modifiable list of at most limit projects.
+     */
+    public static List<Project> slice(List<Project> catalogue, int afterId, int limit) {
+        // Binary search for the first project with an ID greater than afterId
+        int low = 0;
+        int high = catalogue.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalogue.get(mid).getId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = (int) Math.min(catalogue.size(), (long) low + limit);
+        return new ArrayList<>(catalogue.subList(low, end));
+    }
+
+    /**
+     * Discards the cached catalogue, so that the next read rebuilds it. Called after every project write.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+        generation++;
+    }
+
+    /**
+     * Checks whether a snapshot exists and is younger than the max age.
+     * @param current The snapshot to check, possibly null
+     * @return true if the snapshot can be served
+     */
+    private boolean isFresh(Snapshot current) {
+        return current != null && System.nanoTime() - current.loadedAtNanos() < maxAgeNanos;
+    }
+
+    /**
+     * Get the number of reads served from memory.
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of reads that rebuilt the catalogue from the database.
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the fraction of reads served from memory.
+     * @return The hit ratio between 0 and 1, or 0 before the first read.
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Get the time taken by the last rebuild.
+     * @return The duration of the last rebuild in nanoseconds, or 0 if none has run.
+     */
+    public long getLastRebuildNanos() {
+        return lastRebuildNanos;
+    }
+
+    /**
+     * Get the total time spent rebuilding the catalogue.
+     * @return The summed duration of all rebuilds in nanoseconds.
+     */
+    public long getTotalRebuildNanos() {
+        return totalRebuildNanos.get();
+    }
+
+    /**
+     * Registers the hit and miss counts, the hit ratio and the rebuild times with the meter registry.
+     * @param registry The registry of the application's meters.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, ProjectCatalogueCache::getHitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("The number of catalogue reads served from memory")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, ProjectCatalogueCache::getMissCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("The number of catalogue reads that rebuilt the catalogue")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, ProjectCatalogueCache::getHitRatio)
+                .tag("cache", CACHE_NAME)
+                .description("The fraction of catalogue reads served from memory")
+                .register(registry);
+        FunctionTimer.builder("cache.rebuild", this, ProjectCatalogueCache::getMissCount,
+                        ProjectCatalogueCache::getTotalRebuildNanos, TimeUnit.NANOSECONDS)
+                .tag("cache", CACHE_NAME)
+                .description("The time spent rebuilding the catalogue from the database")
+                .register(registry);
+        TimeGauge.builder("cache.rebuild.last", this, TimeUnit.NANOSECONDS,
+                        ProjectCatalogueCache::getLastRebuildNanos)
+                .tag("cache", CACHE_NAME)
+                .description("The time taken by the last rebuild")
+                .register(registry);
+    }
+}
@@ -1,12 +1,12 @@
 package com.example.cs5031p3.demo.backend.service;
 
 import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
-import com.example.cs5031p3.demo.backend.dao.UserDAO;
-import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.model.Project;
-import com.example.cs5031p3.demo.backend.model.User;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -16,16 +16,28 @@ import java.util.List;
 @Service
 public class ProjectService {
     private final ProjectDAO projectDAO;
-    private final UserDAO userDAO;
+    private final UserRoleCache userRoleCache;
+    private final ProjectCatalogueCache projectCatalogueCache;
+    private final AllocationService allocationService;
+    private final WaitlistService waitlistService;
 
     /**
-     * Constructs a ProjectService with the specified ProjectDAO and UserDAO.
+     * Constructs a ProjectService with the specified ProjectDAO, UserRoleCache, ProjectCatalogueCache,
+     * AllocationService and WaitlistService.
      * @param projectDAO The Data Access Object (DAO) for project entities.
-     * @param userDAO The Data Access Object (DAO) for user entities.
+     * @param userRoleCache The cache used to check the type of a user.
+     * @param projectCatalogueCache The cache serving the list of all projects.
+     * @param allocationService The service re-assigning the students of a project that is taken away.
+     * @param waitlistService The service promoting waitlisted students when a project gains places.
      */
-    public ProjectService(ProjectDAO projectDAO, UserDAO userDAO) {
+    public ProjectService(ProjectDAO projectDAO, UserRoleCache userRoleCache,
+                          ProjectCatalogueCache projectCatalogueCache, AllocationService allocationService,
+                          WaitlistService waitlistService) {
         this.projectDAO = projectDAO;
-        this.userDAO = userDAO;
+        this.userRoleCache = userRoleCache;
+        this.projectCatalogueCache = projectCatalogueCache;
+        this.allocationService = allocationService;
+        this.waitlistService = waitlistService;
     }
 
     /**
@@ -45,33 +57,90 @@ public class ProjectService {
      */
     public void createProject(Project project) throws SQLException {
         projectDAO.createProject(project);
+        projectCatalogueCache.invalidate();
     }
 
     /**
-     * Updates an existing project.
+     * Creates several projects at once, for example when a term's catalogue is imported.
+     * @param projects The projects to create.
+     * @throws SQLException if a database access error occurs.
+     */
+    public void createProjects(List<Project> projects) throws SQLException {
+        projectDAO.createProjects(projects);
+        projectCatalogueCache.invalidate();
+    }
+
+    /**
+     * Updates an existing project, promoting waitlisted students if the update frees places on it.
      * @param project The project to update.
      * @throws SQLException if a database access error occurs.
      */
     public void updateProject(Project project) throws SQLException {
         projectDAO.updateProject(project);
+        projectCatalogueCache.invalidate();
+        waitlistService.promote(project.getId());
     }
 
     /**
-     * Deletes a project by its ID.
+     * Deletes a project by its ID, together with its registrations, in one transaction. Students assigned to it are
+     * then re-assigned where the existing allocation leaves room.
      * @param id The ID of the project to delete.
      * @throws SQLException if a database access error occurs.
      */
     public void deleteProject(int id) throws SQLException {
-        projectDAO.deleteProject(id);
+        allocationService.repairProject(id, true);
+        projectCatalogueCache.invalidate();
+        waitlistService.removeProject(id);
     }
 
     /**
-     * Retrieves all projects.
-     * @return A list of all projects.
+     * Retrieves all projects, served from the catalogue cache while it is fresh.
+     * @return A read-only list of all projects.
      * @throws SQLException if a database access error occurs.
      */
     public List<Project> getAllProjects() throws SQLException {
-        return projectDAO.getAllProjects();
+        return projectCatalogueCache.getAllProjects();
+    }
+
+    /**
+     * Streams all projects to the given callback without collecting them into a list.
+     * @param callback The callback that receives each project as it is read.
+     * @throws SQLException if a database access error occurs.
+     * @throws IOException if the callback fails to write a project out.
+     */
+    public void streamAllProjects(RowCallback<Project> callback) throws SQLException, IOException {
+        projectDAO.streamAllProjects(callback);
+    }
+
+    /**
+     * Retrieves one page of projects in ID order, sliced out of the catalogue cache while it is fresh.
+     * @param after The cursor returned with the previous page, or 0 for the first page.
+     * @param limit The requested page size, capped at {@link PageDTO#MAX_LIMIT}.
+     * @return The page of projects and the cursor of the next page.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PageDTO<Project> getProjectsPage(int after, int limit) throws SQLException {
+        return getProjectsPage(getAllProjects(), after, limit);
+    }
+
+    /**
+     * Retrieves one page of projects in ID order from a catalogue already read with {@link #getAllProjects()},
+     * so that the page matches the version of the catalogue its ETag was derived from.
+     * @param catalogue The catalogue list, sorted by project ID.
+     * @param after The cursor returned with the previous page, or 0 for the first page.
+     * @param limit The requested page size, capped at {@link PageDTO#MAX_LIMIT}.
+     * @return The page of projects and the cursor of the next page.
+     */
+    public PageDTO<Project> getProjectsPage(List<Project> catalogue, int after, int limit) {
+        int pageSize = Math.min(limit, PageDTO.MAX_LIMIT);
+        // Fetch one extra row to learn whether another page follows
+        List<Project> projects = ProjectCatalogueCache.slice(catalogue, after, pageSize + 1);
+        Integer nextCursor = null;
+        if (projects.size() > pageSize) {
+            projects.remove(pageSize);
+            nextCursor = projects.get(pageSize - 1).getId();
+        }
+        return new PageDTO<>(projects, nextCursor);
     }
 
     /**
@@ -89,12 +158,15 @@ public class ProjectService {
     }
 
     /**
-     * Marks a project as unavailable.
+     * Marks a project as unavailable. Students assigned to it go back to interested and are re-assigned
+     * where the existing allocation leaves room.
      * @param projectId The ID of the project to make unavailable.
      * @throws SQLException if a database access error occurs.
      */
     public void makeProjectUnavailable(int projectId) throws SQLException {
         projectDAO.makeProjectUnavailable(projectId);
+        projectCatalogueCache.invalidate();
+        allocationService.repairProject(projectId, false);
     }
 
     /**
@@ -104,8 +176,6 @@ public class ProjectService {
      * @throws SQLException if a database access error occurs or the user does not exist.
      */
     public boolean isStaff(int id) throws SQLException {
-        User user=userDAO.getUserById(id);
-        if(user==null) throw new SQLException("The user doesn't exist");
-        return user.getTypeId().equals(TypeEnum.STAFF.getCode());
+        return userRoleCache.isStaff(id);
     }
 }
@@ -0,0 +1,168 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The ProjectWaitlist class holds the waitlisted registrations of one project in an indexed binary min-heap on
+ * their waitlist position, so that the head is read in O(1), and a registration is added, promoted or removed from
+ * anywhere in the list in O(log n). The heap is kept in two parallel primitive arrays, with a map from registration
+ * ID to heap slot for the removals.
+ * <p>
+ * The class is not thread-safe; the WaitlistService synchronises on the waitlist of a project while it uses it.
+ */
+public final class ProjectWaitlist {
+
+    private int[] positions = new int[8];
+    private int[] registrationIds = new int[8];
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds a registration to the waitlist.
+     * @param registrationId The ID of the waitlisted registration.
+     * @param position Its waitlist position; lower positions are promoted first.
+     * @throws IllegalArgumentException if the registration is already on the waitlist.
+     */
+    public void add(int registrationId, int position) {
+        if (slots.containsKey(registrationId)) {
+            throw new IllegalArgumentException("Registration " + registrationId + " is already waitlisted");
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            registrationIds = Arrays.copyOf(registrationIds, size * 2);
+        }
+        set(size, registrationId, position);
+        siftUp(size++);
+    }
+
+    /**
+     * Get the registration at the head of the waitlist.
+     * @return The ID of the registration with the lowest position.
+     * @throws NoSuchElementException if the waitlist is empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("The waitlist is empty");
+        }
+        return registrationIds[0];
+    }
+
+    /**
+     * Removes the registration at the head of the waitlist.
+     * @return The ID of the registration with the lowest position.
+     * @throws NoSuchElementException if the waitlist is empty.
+     */
+    public int poll() {
+        int head = peek();
+        removeAt(0);
+        return head;
+    }
+
+    /**
+     * Removes a registration from anywhere in the waitlist.
+     * @param registrationId The ID of the registration.
+     * @return true if it was on the waitlist, false otherwise.
+     */
+    public boolean remove(int registrationId) {
+        Integer slot = slots.get(registrationId);
+        if (slot == null) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Check whether a registration is on the waitlist.
+     * @param registrationId The ID of the registration.
+     * @return true if it is on the waitlist, false otherwise.
+     */
+    public boolean contains(int registrationId) {
+        return slots.containsKey(registrationId);
+    }
+
+    /**
+     * Get the number of waitlisted registrations.
+     * @return The size of the waitlist.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check whether the waitlist is empty.
+     * @return true if no registration is waitlisted, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes the entry in a heap slot, moving the last entry into it.
+     * @param slot The heap slot.
+     */
+    private void removeAt(int slot) {
+        slots.remove(registrationIds[slot]);
+        int last = --size;
+        if (slot != last) {
+            set(slot, registrationIds[last], positions[last]);
+            siftDown(slot);
+            siftUp(slot);
+        }
+    }
+
+    /**
+     * Moves an entry up the heap while its position is lower than its parent's.
+     * @param slot The heap slot of the entry.
+     */
+    private void siftUp(int slot) {
+        int registrationId = registrationIds[slot];
+        int position = positions[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (positions[parent] <= position) {
+                break;
+            }
+            set(slot, registrationIds[parent], positions[parent]);
+            slot = parent;
+        }
+        set(slot, registrationId, position);
+    }
+
+    /**
+     * Moves an entry down the heap while a child has a lower position.
+     * @param slot The heap slot of the entry.
+     */
+    private void siftDown(int slot) {
+        int registrationId = registrationIds[slot];
+        int position = positions[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && positions[child + 1] < positions[child]) {
+                child++;
+            }
+            if (position <= positions[child]) {
+                break;
+            }
+            set(slot, registrationIds[child], positions[child]);
+            slot = child;
+        }
+        set(slot, registrationId, position);
+    }
+
+    /**
+     * Stores an entry in a heap slot and records the slot of its registration.
+     * @param slot The heap slot.
+     * @param registrationId The ID of the registration.
+     * @param position Its waitlist position.
+     */
+    private void set(int slot, int registrationId, int position) {
+        registrationIds[slot] = registrationId;
+        positions[slot] = position;
+        slots.put(registrationId, slot);
+    }
+}
@@ -1,49 +1,66 @@
 package com.example.cs5031p3.demo.backend.service;
 
-import com.example.cs5031p3.demo.backend.dao.UserDAO;
-import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
-import com.example.cs5031p3.demo.backend.enums.TypeEnum;
-import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
+import com.example.cs5031p3.demo.backend.dto.AssignmentOutcomeDTO;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import org.springframework.stereotype.Service;
 import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
 
+import java.io.IOException;
 import java.sql.SQLException;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Service class for handling project registration-related operations.
+ * <p>
+ * Registrations, assignments and preference changes of one student are serialised by a lock striped on the student
+ * ID, so that two staff members approving registrations of the same student, or a student registering while being
+ * approved, queue in the JVM rather than contend for row locks in the database.
+ * <p>
+ * An assignment deletes the student's other waitlisted registrations, so they are taken off the in-memory waitlists
+ * of the WaitlistService once it commits.
  */
 @Service
 public class RegistrationService {
     private final ProjectRegistrationsDAO projectRegistrationsDAO;
-    private final UserDAO userDAO;
+    private final UserRoleCache userRoleCache;
+    private final WaitlistService waitlistService;
+    private final StripedLock studentLocks = new StripedLock(Runtime.getRuntime().availableProcessors());
 
     /**
-     * Constructs a RegistrationService with the specified ProjectRegistrationsDAO and UserDAO.
+     * Constructs a RegistrationService with the specified ProjectRegistrationsDAO, UserRoleCache and
+     * WaitlistService.
      * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
-     * @param userDAO The Data Access Object (DAO) for user entities.
+     * @param userRoleCache The cache used to check the type of a user.
+     * @param waitlistService The service holding the in-memory waitlists of the projects.
      */
-    public RegistrationService(ProjectRegistrationsDAO projectRegistrationsDAO, UserDAO userDAO) {
+    public RegistrationService(ProjectRegistrationsDAO projectRegistrationsDAO, UserRoleCache userRoleCache,
+                               WaitlistService waitlistService) {
         this.projectRegistrationsDAO = projectRegistrationsDAO;
-        this.userDAO = userDAO;
+        this.userRoleCache = userRoleCache;
+        this.waitlistService = waitlistService;
     }
 
     /**
-     * Creates a project registration for a student.
+     * Creates a project registration for a student with one atomic conditional insert.
      * @param projectId The ID of the project to register for.
      * @param studentId The ID of the student registering for the project.
+     * @return The outcome of the registration.
      * @throws SQLException if a database access error occurs.
      */
-    public void createProjectRegistration(int projectId, int studentId) throws SQLException {
-        if (projectRegistrationsDAO.isStudentAssignedToProject(studentId)) {
-            throw new SQLException("Student is already assigned to a project");
-        }
-
-        if (!projectRegistrationsDAO.isStudentInterestedInProject(projectId, studentId)) {
-            projectRegistrationsDAO.insertProjectRegistration(projectId, studentId);
-        } else {
-            throw new SQLException("Student is already interested in this project");
+    public RegistrationResultEnum createProjectRegistration(int projectId, int studentId) throws SQLException {
+        Lock lock = studentLocks.get(studentId);
+        lock.lock();
+        try {
+            return projectRegistrationsDAO.createProjectRegistration(projectId, studentId);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -53,7 +70,7 @@ public class RegistrationService {
      * @return A list of project registrations for the student.
      * @throws SQLException if a database access error occurs or the user is not a student.
      */
-    public List<Map<String, Object>> getProjectRegistrationsByStudentId(int studentId) throws SQLException {
+    public List<Registration> getProjectRegistrationsByStudentId(int studentId) throws SQLException {
         if(isStudent(studentId)) {
             return projectRegistrationsDAO.findByStudentId(studentId);
         }
@@ -68,7 +85,7 @@ public class RegistrationService {
      * @return A list of project registrations associated with the staff member.
      * @throws SQLException if a database access error occurs or the user is not a staff member.
      */
-    public List<Map<String, Object>> findRegistrationStudentsByStaffId(int staffId) throws SQLException {
+    public List<Registration> findRegistrationStudentsByStaffId(int staffId) throws SQLException {
         if (isStaff(staffId)) {
             return projectRegistrationsDAO.findRegistrationStudentsByStaffId(staffId);
         }
@@ -78,25 +95,96 @@ public class RegistrationService {
     }
 
     /**
-     * Assigns a project registration to a student.
+     * Streams the project registrations associated with a staff member to the given callback.
+     * @param staffId The ID of the staff member.
+     * @param callback The callback that receives each registration as it is read.
+     * @throws SQLException if a database access error occurs or the user is not a staff member.
+     * @throws IOException if the callback fails to write a registration out.
+     */
+    public void streamRegistrationStudentsByStaffId(int staffId, RowCallback<Registration> callback)
+            throws SQLException, IOException {
+        if (isStaff(staffId)) {
+            projectRegistrationsDAO.streamRegistrationStudentsByStaffId(staffId, callback);
+        }
+        else {
+            throw new SQLException("The user is not a staff");
+        }
+    }
+
+    /**
+     * Assigns a project registration to a student, removing the student's other interested and waitlisted
+     * registrations. The lookup, delete and update run in one transaction on a single connection, under the
+     * student's lock. A waitlisted registration is not assigned; it waits for its turn on the waitlist.
      * @param registrationId The ID of the project registration to assign.
-     * @return true if the assignment is successful, false otherwise.
+     * @return The outcome of the assignment.
      * @throws SQLException if a database access error occurs.
      */
-    public boolean assignRegistration(int registrationId) throws SQLException {
-        Map<String, Object> registration = projectRegistrationsDAO.getRegistrationById(registrationId);
-
+    public AssignmentResultEnum assignRegistration(int registrationId) throws SQLException {
+        Registration registration = projectRegistrationsDAO.getRegistrationById(registrationId);
         if (registration == null) {
-            return false;
+            return AssignmentResultEnum.NOT_FOUND;
         }
+        Lock lock = studentLocks.get(registration.getStudentId());
+        lock.lock();
+        try {
+            Map<Integer, List<Registration>> waitlisted =
+                    projectRegistrationsDAO.findOtherWaitlistedRegistrations(new int[]{registrationId});
+            AssignmentResultEnum result = projectRegistrationsDAO.assignRegistration(registrationId);
+            if (result == AssignmentResultEnum.ASSIGNED) {
+                waitlistService.removeAll(waitlisted.getOrDefault(registrationId, List.of()));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        int studentId = (int) registration.get("studentId");
-
-        projectRegistrationsDAO.deleteInterestedRegistrationsByStudentId(studentId, registrationId);
-
-        projectRegistrationsDAO.updateRegistrationState(registrationId, RegistrationStateEnum.SUCCESS.getCode());
+    /**
+     * Assigns many project registrations at once in one transaction. No two registrations of the batch may assign
+     * the same student; those that do are all left unchanged, as are missing registrations and those of students
+     * already assigned elsewhere, and waitlisted registrations. The batch locks the rows of all of its students in the database, so it does not take
+     * the per-student locks, which would have to be taken in a fixed order to avoid deadlocks.
+     * @param registrationIds The IDs of the project registrations to assign.
+     * @return The outcome of each registration, in the order of the IDs.
+     * @throws SQLException if a database access error occurs, in which case no registration is assigned.
+     */
+    public List<AssignmentOutcomeDTO> assignRegistrations(List<Integer> registrationIds) throws SQLException {
+        int[] ids = registrationIds.stream().mapToInt(Integer::intValue).toArray();
+        Map<Integer, List<Registration>> waitlisted = projectRegistrationsDAO.findOtherWaitlistedRegistrations(ids);
+        AssignmentResultEnum[] results = projectRegistrationsDAO.assignRegistrations(ids);
+        List<AssignmentOutcomeDTO> outcomes = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            outcomes.add(new AssignmentOutcomeDTO(ids[i], results[i]));
+            if (results[i] == AssignmentResultEnum.ASSIGNED) {
+                waitlistService.removeAll(waitlisted.getOrDefault(ids[i], List.of()));
+            }
+        }
+        return outcomes;
+    }
 
-        return true;
+    /**
+     * Replaces a student's preference ranking over the projects they registered for.
+     * @param studentId The ID of the student.
+     * @param projectIds The IDs of the projects the student registered for, best first.
+     * @return true if the ranking was saved, false if it lists a project the student has not registered for.
+     * @throws SQLException if a database access error occurs, the user is not a student or a project is
+     *                      listed twice.
+     */
+    public boolean updatePreferences(int studentId, List<Integer> projectIds) throws SQLException {
+        if (!isStudent(studentId)) {
+            throw new SQLException("The user is not a student");
+        }
+        int[] ranking = projectIds.stream().mapToInt(Integer::intValue).toArray();
+        if (Arrays.stream(ranking).distinct().count() != ranking.length) {
+            throw new SQLException("A project can only be ranked once");
+        }
+        Lock lock = studentLocks.get(studentId);
+        lock.lock();
+        try {
+            return projectRegistrationsDAO.updatePreferenceRanks(studentId, ranking);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -116,9 +204,7 @@ public class RegistrationService {
      * @throws SQLException if a database access error occurs or the user does not exist.
      */
     public boolean isStudent(int id) throws SQLException {
-        User user=userDAO.getUserById(id);
-        if(user==null) throw new SQLException("The user doesn't exist");
-        return user.getTypeId().equals(TypeEnum.STUDENT.getCode());
+        return userRoleCache.isStudent(id);
     }
 
     /**
@@ -128,8 +214,6 @@ public class RegistrationService {
      * @throws SQLException if a database access error occurs or the user does not exist.
      */
     public boolean isStaff(int id) throws SQLException {
-        User user=userDAO.getUserById(id);
-        if(user==null) throw new SQLException("The user doesn't exist");
-        return user.getTypeId().equals(TypeEnum.STAFF.getCode());
+        return userRoleCache.isStaff(id);
     }
 }
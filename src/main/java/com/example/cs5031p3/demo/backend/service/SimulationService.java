@@ -0,0 +1,58 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service class for dry runs of an allocation: what-if scenarios are allocated in memory over one snapshot of the
+ * projects and registrations, concurrently, and nothing is written back.
+ */
+@Service
+public class SimulationService {
+
+    /**
+     * The largest number of scenarios simulated by one request.
+     */
+    public static final int MAX_SCENARIOS = 16;
+
+    private final ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    /**
+     * Constructs a SimulationService with the specified ProjectRegistrationsDAO.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     */
+    public SimulationService(ProjectRegistrationsDAO projectRegistrationsDAO) {
+        this.projectRegistrationsDAO = projectRegistrationsDAO;
+    }
+
+    /**
+     * Loads a snapshot of the input of an allocation run: the problem a real run would solve, the supervisor
+     * of each of its projects and the students already assigned to each supervisor, all read in one transaction.
+     * @return The snapshot.
+     * @throws SQLException if a database access error occurs.
+     */
+    public AllocationSnapshot loadSnapshot() throws SQLException {
+        return projectRegistrationsDAO.loadAllocationSnapshot();
+    }
+
+    /**
+     * Simulates the scenarios over one shared snapshot, each on its own thread.
+     * @param scenarios The variants to simulate.
+     * @return The result of each scenario, in the order of the scenarios.
+     * @throws SQLException if a database access error occurs while loading the snapshot.
+     */
+    public List<SimulationResultDTO> simulate(List<SimulationScenarioDTO> scenarios) throws SQLException {
+        AllocationSimulator simulator = new AllocationSimulator(loadSnapshot());
+        List<CompletableFuture<SimulationResultDTO>> results = scenarios.stream()
+                .map(scenario -> CompletableFuture.supplyAsync(() -> simulator.simulate(scenario)))
+                .toList();
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+}
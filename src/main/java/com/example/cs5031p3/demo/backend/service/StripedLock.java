@@ -0,0 +1,44 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by integer keys, so that operations on the same key are serialised without keeping
+ * a lock per key. Two keys may share a stripe, which only costs some needless waiting; the number of stripes is a
+ * power of two of a few per core, so that threads working on different keys rarely collide.
+ */
+public final class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Constructs a StripedLock with at least four stripes per core.
+     * @param cores The number of cores the locks are shared between.
+     */
+    public StripedLock(int cores) {
+        int count = Integer.highestOneBit(Math.max(1, cores) * 4 - 1) << 1;
+        stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Get the lock guarding a key.
+     * @param key The key, such as a student ID.
+     * @return The lock of the key's stripe.
+     */
+    public ReentrantLock get(int key) {
+        // Spread the bits so that consecutive IDs land on different stripes
+        int hash = key * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Get the number of stripes.
+     * @return The number of locks.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+}
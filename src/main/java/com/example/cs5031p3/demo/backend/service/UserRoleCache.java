@@ -0,0 +1,190 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded in-process cache of user type codes, used by the staff and student checks of the services.
+ * On a miss only the type_id column is read. UserService invalidates an entry whenever the user is updated or deleted.
+ * <p>
+ * The cache is a direct-mapped table of primitive longs with no lock: each slot packs a user ID, its type code, a
+ * valid bit and a stamp, and is selected by the low bits of the user ID, so sequential IDs never collide until the
+ * table is full and a colliding user simply replaces the previous one. A load stores its value with a compare-and-set
+ * against the slot it read before going to the database; an invalidation always moves the stamp on, so a value read
+ * before a concurrent invalidation is never kept.
+ * <p>
+ * Hit and miss counts and the number of entries are bound to the meter registry as {@code cache.gets} and
+ * {@code cache.size}, tagged with {@code cache=userRoles}.
+ */
+@Component
+public class UserRoleCache implements MeterBinder {
+
+    /**
+     * The number of slots, which is the largest number of users whose type code is kept; a power of two.
+     */
+    public static final int MAX_ENTRIES = 16_384;
+
+    /**
+     * The name of the cache in the tags of its meters.
+     */
+    public static final String CACHE_NAME = "userRoles";
+
+    private static final long TYPE_MASK = 0xFFL;
+    private static final long VALID = 1L << 8;
+    private static final long STAMP_ONE = 1L << 9;
+    private static final long STAMP_MASK = 0xFFFF_FE00L;
+
+    private final UserDAO userDAO;
+    private final AtomicLongArray slots = new AtomicLongArray(MAX_ENTRIES);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a UserRoleCache that loads type codes with the specified UserDAO.
+     * @param userDAO The Data Access Object (DAO) for user entities.
+     */
+    public UserRoleCache(UserDAO userDAO) {
+        this.userDAO = userDAO;
+    }
+
+    /**
+     * Get the type code of a user, from the cache if present and from the database otherwise.
+     * @param userId The ID of the user.
+     * @return The type code of the user.
+     * @throws SQLException if a database access error occurs or the user does not exist.
+     */
+    public int getTypeId(int userId) throws SQLException {
+        int index = userId & (MAX_ENTRIES - 1);
+        long slot = slots.get(index);
+        if (holds(slot, userId)) {
+            hits.incrementAndGet();
+            return (int) (slot & TYPE_MASK);
+        }
+        misses.incrementAndGet();
+        Integer typeId = userDAO.getUserTypeId(userId);
+        if (typeId == null) throw new SQLException("The user doesn't exist");
+        // A code that does not fit the slot is returned without being kept
+        if ((typeId & ~TYPE_MASK) == 0) {
+            long loaded = ((long) userId << 32) | nextStamp(slot) | VALID | typeId;
+            slots.compareAndSet(index, slot, loaded);
+        }
+        return typeId;
+    }
+
+    /**
+     * Checks if a user is a staff member.
+     * @param userId The ID of the user.
+     * @return true if the user is a staff member, false otherwise.
+     * @throws SQLException if a database access error occurs or the user does not exist.
+     */
+    public boolean isStaff(int userId) throws SQLException {
+        return getTypeId(userId) == TypeEnum.STAFF.getCode();
+    }
+
+    /**
+     * Checks if a user is a student.
+     * @param userId The ID of the user.
+     * @return true if the user is a student, false otherwise.
+     * @throws SQLException if a database access error occurs or the user does not exist.
+     */
+    public boolean isStudent(int userId) throws SQLException {
+        return getTypeId(userId) == TypeEnum.STUDENT.getCode();
+    }
+
+    /**
+     * Removes the cached type code of a user, so that the next check reads it from the database again.
+     * @param userId The ID of the user that was updated or deleted.
+     */
+    public void invalidate(int userId) {
+        // The stamp moves on even when another user holds the slot, so that a load in flight is discarded
+        slots.getAndUpdate(userId & (MAX_ENTRIES - 1),
+                slot -> holds(slot, userId) ? nextStamp(slot) : (slot & ~STAMP_MASK) | nextStamp(slot));
+    }
+
+    /**
+     * Removes every cached type code.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            slots.getAndUpdate(i, UserRoleCache::nextStamp);
+        }
+    }
+
+    /**
+     * Get the number of checks answered from the cache.
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of checks that had to read the database.
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of users whose type code is cached. The slots are counted one by one.
+     * @return The number of cached entries.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            if ((slots.get(i) & VALID) != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Registers the hit and miss counts and the number of entries with the meter registry.
+     * @param registry The registry of the application's meters.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, UserRoleCache::getHitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("The number of role checks answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, UserRoleCache::getMissCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("The number of role checks that read the database")
+                .register(registry);
+        Gauge.builder("cache.size", this, UserRoleCache::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of users whose type code is cached")
+                .register(registry);
+    }
+
+    /**
+     * Checks whether a slot holds a valid type code for a user.
+     * @param slot The packed slot.
+     * @param userId The ID of the user.
+     * @return true if the slot is valid and belongs to the user, false otherwise.
+     */
+    private static boolean holds(long slot, int userId) {
+        return (slot & VALID) != 0 && (int) (slot >>> 32) == userId;
+    }
+
+    /**
+     * Get the stamp following the one of a slot, with the valid bit, type code and user ID cleared.
+     * @param slot The packed slot.
+     * @return The next stamp, shifted into place.
+     */
+    private static long nextStamp(long slot) {
+        return ((slot & STAMP_MASK) + STAMP_ONE) & STAMP_MASK;
+    }
+}
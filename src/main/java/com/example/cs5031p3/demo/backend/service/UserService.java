@@ -1,12 +1,15 @@
 package com.example.cs5031p3.demo.backend.service;
 
 import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service class for handling user-related operations.
@@ -14,13 +17,19 @@ import java.util.List;
 @Service
 public class UserService {
     private final UserDAO userDAO;
+    private final UserRoleCache userRoleCache;
+    private final ProjectCatalogueCache projectCatalogueCache;
 
     /**
-     * Constructs a UserService with the specified UserDAO.
+     * Constructs a UserService with the specified UserDAO and caches.
      * @param userDAO The Data Access Object (DAO) for user entities.
+     * @param userRoleCache The role cache to invalidate when a user is updated or deleted.
+     * @param projectCatalogueCache The project catalogue cache, which holds staff names, to invalidate on the same writes.
      */
-    public UserService(UserDAO userDAO) {
+    public UserService(UserDAO userDAO, UserRoleCache userRoleCache, ProjectCatalogueCache projectCatalogueCache) {
         this.userDAO = userDAO;
+        this.userRoleCache = userRoleCache;
+        this.projectCatalogueCache = projectCatalogueCache;
     }
 
     /**
@@ -64,6 +73,23 @@ public class UserService {
         else userDAO.createUser(user);
     }
 
+    /**
+     * Creates several users at once, for example when a cohort is imported.
+     * @param users The users to create.
+     * @throws SQLException if a database access error occurs or a username already exists or is repeated in the list.
+     */
+    public void createUsers(List<User> users) throws SQLException {
+        Set<String> usernames = new HashSet<>();
+        for (User user : users) {
+            if (!usernames.add(user.getUsername())) {
+                throw new SQLException("The username is repeated: " + user.getUsername());
+            }
+        }
+        Set<String> existing = userDAO.findExistingUsernames(usernames);
+        if (!existing.isEmpty()) throw new SQLException("The username has already existed: " + existing.iterator().next());
+        else userDAO.createUsers(users);
+    }
+
     /**
      * Updates an existing user.
      * @param user The user to update.
@@ -71,6 +97,8 @@ public class UserService {
      */
     public void updateUser(User user) throws SQLException {
         userDAO.updateUser(user);
+        userRoleCache.invalidate(user.getId());
+        projectCatalogueCache.invalidate();
     }
 
     /**
@@ -80,6 +108,8 @@ public class UserService {
      */
     public void deleteUser(int id) throws SQLException {
         userDAO.deleteUser(id);
+        userRoleCache.invalidate(id);
+        projectCatalogueCache.invalidate();
     }
 
     /**
@@ -91,6 +121,25 @@ public class UserService {
         return userDAO.getAllUsers();
     }
 
+    /**
+     * Retrieves one page of users in ID order.
+     * @param after The cursor returned with the previous page, or 0 for the first page.
+     * @param limit The requested page size, capped at {@link PageDTO#MAX_LIMIT}.
+     * @return The page of users and the cursor of the next page.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PageDTO<User> getUsersPage(int after, int limit) throws SQLException {
+        int pageSize = Math.min(limit, PageDTO.MAX_LIMIT);
+        // Fetch one extra row to learn whether another page follows
+        List<User> users = userDAO.getUsersAfter(after, pageSize + 1);
+        Integer nextCursor = null;
+        if (users.size() > pageSize) {
+            users.remove(pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return new PageDTO<>(users, nextCursor);
+    }
+
     /**
      * Updates the password of a user.
      * @param user The user whose password to update.
@@ -100,6 +149,19 @@ public class UserService {
         userDAO.updatePassword(user);
     }
 
+    /**
+     * Updates the maximum number of students a staff member supervises.
+     * @param staffId The ID of the staff member.
+     * @param maxLoad The maximum load, or null to remove the limit.
+     * @throws SQLException if a database access error occurs, the user is not a staff member or the load is negative.
+     */
+    public void updateMaxLoad(int staffId, Integer maxLoad) throws SQLException {
+        if (!userRoleCache.isStaff(staffId)) {
+            throw new SQLException("The user is not a staff");
+        }
+        userDAO.updateMaxLoad(staffId, maxLoad);
+    }
+
     /**
      * Authenticates a user's login credentials.
      * @param username The username provided during login.
@@ -0,0 +1,165 @@
+package com.example.cs5031p3.demo.backend.service;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for the per-project waitlists of students who registered for a project that has no free place.
+ * <p>
+ * The waitlist positions are kept in the database, so that the order survives a restart; each project's waitlist is
+ * also mirrored in a {@link ProjectWaitlist} heap, read from the database the first time the project is used, so that
+ * finding the next student to promote does not scan the project's registrations. When a place frees up the head of
+ * the heap is promoted while the project has room. Registrations deleted by an assignment of their student elsewhere
+ * and the waitlists of deleted projects are taken out of the heaps as they leave the database. Registrations that left
+ * the waitlist by a route the service does not see, for example an allocation run assigning their student, stay in
+ * the heap until they reach its head and the promotion takes them off.
+ */
+@Service
+public class WaitlistService {
+    private final ProjectRegistrationsDAO projectRegistrationsDAO;
+    private final Map<Integer, ProjectWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+
+    /**
+     * Constructs a WaitlistService with the specified ProjectRegistrationsDAO.
+     * @param projectRegistrationsDAO The Data Access Object (DAO) for project registrations.
+     */
+    public WaitlistService(ProjectRegistrationsDAO projectRegistrationsDAO) {
+        this.projectRegistrationsDAO = projectRegistrationsDAO;
+    }
+
+    /**
+     * Puts an interested registration at the end of its project's waitlist, and promotes it straight away if the
+     * project has a free place.
+     * @param registrationId The ID of the registration.
+     * @return The registration with its waitlist position, or null if it is not an interested registration.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Registration join(int registrationId) throws SQLException {
+        Registration registration = projectRegistrationsDAO.getRegistrationById(registrationId);
+        if (registration == null) {
+            return null;
+        }
+        ProjectWaitlist waitlist = waitlist(registration.getProjectId());
+        Registration waitlisted;
+        synchronized (waitlist) {
+            waitlisted = projectRegistrationsDAO.addToWaitlist(registrationId);
+            if (waitlisted == null) {
+                return null;
+            }
+            // An entry left over from an earlier time on the waitlist carries the old position
+            waitlist.remove(registrationId);
+            waitlist.add(registrationId, waitlisted.getWaitlistPosition());
+        }
+        promote(registration.getProjectId());
+        return waitlisted;
+    }
+
+    /**
+     * Promotes the head of a project's waitlist for as long as the project has a free place. A head whose student
+     * already holds another assignment is taken off the waitlist and goes back to interested.
+     * @param projectId The ID of the project.
+     * @return The IDs of the promoted registrations, in promotion order.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Integer> promote(int projectId) throws SQLException {
+        ProjectWaitlist waitlist = waitlist(projectId);
+        List<Integer> promoted = new ArrayList<>();
+        synchronized (waitlist) {
+            while (!waitlist.isEmpty()) {
+                int registrationId = waitlist.peek();
+                AssignmentResultEnum result = projectRegistrationsDAO.promoteWaitlisted(projectId, registrationId);
+                if (result == AssignmentResultEnum.PROJECT_FULL) {
+                    break;
+                }
+                waitlist.poll();
+                if (result == AssignmentResultEnum.ASSIGNED) {
+                    promoted.add(registrationId);
+                }
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Takes an assignment away from its student, who goes back to being interested in the project, and promotes
+     * the head of the project's waitlist into the freed place.
+     * @param registrationId The ID of the assigned registration.
+     * @return The IDs of the promoted registrations, or null if the registration is not assigned.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Integer> unassign(int registrationId) throws SQLException {
+        Registration registration = projectRegistrationsDAO.getRegistrationById(registrationId);
+        if (registration == null || registration.getState() != RegistrationStateEnum.SUCCESS
+                || !projectRegistrationsDAO.releaseAssignment(registrationId)) {
+            return null;
+        }
+        return promote(registration.getProjectId());
+    }
+
+    /**
+     * Takes registrations that were deleted from the database off the in-memory waitlists of their projects.
+     * @param registrations The deleted waitlisted registrations.
+     */
+    public void removeAll(List<Registration> registrations) {
+        for (Registration registration : registrations) {
+            ProjectWaitlist waitlist = waitlists.get(registration.getProjectId());
+            if (waitlist != null) {
+                synchronized (waitlist) {
+                    waitlist.remove(registration.getRegistrationId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the in-memory waitlist of a project whose registrations were deleted together with it.
+     * @param projectId The ID of the deleted project.
+     */
+    public void removeProject(int projectId) {
+        waitlists.remove(projectId);
+    }
+
+    /**
+     * Retrieves the waitlist of a project.
+     * @param projectId The ID of the project.
+     * @return The waitlisted registrations with their positions, first in line first.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Registration> getWaitlist(int projectId) throws SQLException {
+        return projectRegistrationsDAO.findWaitlistByProjectId(projectId);
+    }
+
+    /**
+     * Get the in-memory waitlist of a project, reading it from the database the first time.
+     * @param projectId The ID of the project.
+     * @return The waitlist.
+     * @throws SQLException if a database access error occurs.
+     */
+    private ProjectWaitlist waitlist(int projectId) throws SQLException {
+        ProjectWaitlist waitlist = waitlists.get(projectId);
+        if (waitlist != null) {
+            return waitlist;
+        }
+        synchronized (loadLock) {
+            waitlist = waitlists.get(projectId);
+            if (waitlist == null) {
+                waitlist = new ProjectWaitlist();
+                for (Registration registration : projectRegistrationsDAO.findWaitlistByProjectId(projectId)) {
+                    waitlist.add(registration.getRegistrationId(), registration.getWaitlistPosition());
+                }
+                waitlists.put(projectId, waitlist);
+            }
+            return waitlist;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import axios from 'axios';
 
 const { Content } = Layout;
 
+const PAGE_SIZE = 50;
+
 /**
  * ProjectList component displays a list of projects and provides functionalities based on user type.
  */
@@ -14,6 +16,7 @@ const ProjectList = () => {
     const [form] = Form.useForm();
     const [userId, setUserId] = useState(null);
     const [isAssigned, setIsAssigned] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null);
 
     useEffect(() => {
       // Fetch user information from local storage
@@ -27,11 +30,16 @@ const ProjectList = () => {
         checkAssignedProject(); // Check if user is assigned a project
       }, []);
 
-  // Function to fetch projects from the server
-  const fetchProjects = async () => {
+  // Function to fetch projects from the server, one page at a time.
+  // Without a cursor the list is reloaded from the first page; with one the next page is appended.
+  const fetchProjects = async (after = null) => {
       try {
-        const response = await axios.get('http://localhost:8080/project/all');
-        setProjects(response.data);
+        const response = await axios.get('http://localhost:8080/project/all', {
+          params: { after: after || 0, limit: PAGE_SIZE },
+        });
+        const { items, nextCursor: cursor } = response.data;
+        setProjects((previous) => (after ? [...previous, ...items] : items));
+        setNextCursor(cursor);
       } catch (error) {
         console.error('Error fetching projects:', error);
       }
@@ -199,6 +207,14 @@ const ProjectList = () => {
     }
   };
 
+  // Button for loading the next page of projects, shown while more pages remain
+  const renderLoadMore = () =>
+    nextCursor && (
+      <Button onClick={() => fetchProjects(nextCursor)} style={{ marginTop: 16 }}>
+        Load more
+      </Button>
+    );
+
   const renderContent = () => {
     if (userType === 1) {
         return (
@@ -218,6 +234,7 @@ const ProjectList = () => {
                 )}
               </div>
               <Table dataSource={projects} columns={columns_student} rowKey="id" />
+              {renderLoadMore()}
             </div>
           );
     } else if (userType === 2) {
@@ -228,6 +245,7 @@ const ProjectList = () => {
                 Create Project
               </Button>
               <Table dataSource={projects} columns={columns_staff} rowKey="id" />
+              {renderLoadMore()}
               <Modal
                 title="Create Project"
                 visible={visible}
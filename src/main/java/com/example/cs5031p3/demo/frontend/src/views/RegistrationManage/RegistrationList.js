@@ -81,7 +81,7 @@ const RegistrationList = () => {
       title: 'Registration State',
       dataIndex: 'registrationState',
       key: 'registrationState',
-      render: (state) => (state === 1 ? 'Interested' : 'Assigned'),
+      render: (state) => ({ 1: 'Interested', 2: 'Assigned', 3: 'Waitlisted' }[state]),
     },
   ];
 
@@ -90,11 +90,17 @@ const RegistrationList = () => {
     if (selectedRegistrationIds.length > 0) {
       Modal.confirm({
         title: 'Assign Confirmation',
-        content: 'Are you sure you want to assign the selected student to this project?',
+        content: 'Are you sure you want to assign the selected students to these projects?',
         onOk: async () => {
           try {
-            const response = await axios.put(`http://localhost:8080/registration/assign/${selectedRegistrationIds[0]}`);
-            message.success(response.data);
+            const response = await axios.put('http://localhost:8080/registration/assign-batch', selectedRegistrationIds);
+            const failed = response.data.filter((outcome) => outcome.result !== 'ASSIGNED');
+            if (failed.length === 0) {
+              message.success(`${response.data.length} registration(s) approved successfully`);
+            } else {
+              failed.forEach((outcome) => message.warning(`Registration ${outcome.registrationId}: ${outcome.message}`));
+            }
+            setSelectedRegistrationIds([]);
             fetchRegistrations();
           } catch (error) {
             message.error('Failed to assign registration');
@@ -193,7 +199,7 @@ const renderContent = () => {
                 columns={columns}
                 rowKey="registrationId"
                 rowSelection={userType === 2 ? {
-                  type: 'radio',
+                  type: 'checkbox',
                   selectedRowKeys: selectedRegistrationIds,
                   onChange: (selectedRowKeys) => setSelectedRegistrationIds(selectedRowKeys),
                 } : null}
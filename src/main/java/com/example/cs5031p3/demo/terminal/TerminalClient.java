@@ -21,6 +21,8 @@ import com.google.gson.reflect.TypeToken;
 
 public class TerminalClient {
 
+    private static final int PAGE_SIZE = 50;
+
     private final HttpClient httpClient = HttpClient.newBuilder().build();
     private final Scanner scanner = new Scanner(System.in);
     private Integer userType;
@@ -85,24 +87,31 @@ public class TerminalClient {
 
     /**
      * Fetches the list of all projects from the server and displays them.
-     * This method sends a GET request to the server's '/project/all' endpoint and prints the response.
+     * This method pages through the server's '/project/all' endpoint with a keyset cursor and prints each page
+     * as it arrives, so only one page is held in memory at a time.
      * @throws IOException if an I/O error occurs when sending or receiving
      * @throws InterruptedException if the operation is interrupted
      */
     public void getProjects() throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("http://localhost:8080/project/all"))
-                .GET()
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        System.out.println("Projects:");
+        JsonElement cursor = null;
+        do {
+            String after = cursor == null ? "0" : cursor.getAsString();
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/project/all?after=" + after + "&limit=" + PAGE_SIZE))
+                    .GET()
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                System.out.println("Failed to retrieve projects: " + response.body());
+                return;
+            }
 
-        if (response.statusCode() == 200) {
             JsonParser parser = new JsonParser();
-            JsonArray jsonArray = parser.parse(response.body()).getAsJsonArray();
-
-            System.out.println("Projects:");
-            for (JsonElement element : jsonArray) {
+            JsonObject page = parser.parse(response.body()).getAsJsonObject();
+            for (JsonElement element : page.getAsJsonArray("items")) {
                 JsonObject project = element.getAsJsonObject();
                 int projectId = project.get("id").getAsInt();
                 String projectTitle = project.get("title").getAsString();
@@ -115,9 +124,8 @@ public class TerminalClient {
                 System.out.println("Availability: " + (availabilityStatus == 1 ? "Available" : "Unavailable"));
                 System.out.println("------------------------");
             }
-        } else {
-            System.out.println("Failed to retrieve projects: " + response.body());
-        }
+            cursor = page.get("nextCursor");
+        } while (cursor != null && !cursor.isJsonNull());
     }
 
     /**
@@ -243,6 +251,7 @@ public class TerminalClient {
 
             List<String> interestedProjects = new ArrayList<>();
             List<String> assignedProjects = new ArrayList<>();
+            List<String> waitlistedProjects = new ArrayList<>();
 
             for (JsonElement element : jsonArray) {
                 JsonObject registration = element.getAsJsonObject();
@@ -253,6 +262,8 @@ public class TerminalClient {
                     interestedProjects.add(projectTitle);
                 } else if (registrationState == 2) {
                     assignedProjects.add(projectTitle);
+                } else if (registrationState == 3) {
+                    waitlistedProjects.add(projectTitle);
                 }
             }
 
@@ -263,6 +274,13 @@ public class TerminalClient {
                 }
             }
 
+            if (!waitlistedProjects.isEmpty()) {
+                System.out.println("Waitlisted projects:");
+                for (String projectTitle : waitlistedProjects) {
+                    System.out.println("- " + projectTitle);
+                }
+            }
+
             if (!assignedProjects.isEmpty()) {
                 System.out.println("You have been assigned to a project:");
                 for (String projectTitle : assignedProjects) {
@@ -270,7 +288,7 @@ public class TerminalClient {
                 }
             }
 
-            if (interestedProjects.isEmpty() && assignedProjects.isEmpty()) {
+            if (interestedProjects.isEmpty() && assignedProjects.isEmpty() && waitlistedProjects.isEmpty()) {
                 System.out.println("You have no registered projects.");
             }
         } else {
@@ -380,7 +398,8 @@ public class TerminalClient {
                     System.out.println("Registration ID: " + registrationId);
                     System.out.println("Student Name: " + studentName);
                     System.out.println("Project Title: " + projectTitle);
-                    System.out.println("Registration State: " + (registrationState == 1 ? "Interested" : "Assigned"));
+                    System.out.println("Registration State: " + (registrationState == 1 ? "Interested"
+                            : registrationState == 3 ? "Waitlisted" : "Assigned"));
                     System.out.println("------------------------");
                 }
             } else {
@@ -3,12 +3,11 @@ package com.example.cs5031p3.demo;
 import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
 import com.example.cs5031p3.demo.backend.enums.TypeEnum;
 import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import com.example.cs5031p3.demo.backend.model.User;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A class with mock samples to reduce repeated code in tests
@@ -74,19 +73,15 @@ public class MockObject {
      * Mock a registration list
      * @return mock registration list
      */
-    public static List<Map<String, Object>> mockRegistration()
+    public static List<Registration> mockRegistration()
     {
-        List<Map<String, Object>> registrationList=new ArrayList<>();
+        List<Registration> registrationList=new ArrayList<>();
         for(int i =0;i<3;i++)
         {
-            Map<String, Object> registration = new HashMap<>();
-            registration.put("registrationId", i);
-            registration.put("projectId", i);
-            registration.put("studentId", i);
-            registration.put("registrationState", RegistrationStateEnum.WAIT.getCode());
-            registration.put("studentName", "mockStudentName");
-            registration.put("projectTitle", "project_title"+i);
-            registration.put("staffName","mockStaffName");
+            Registration registration = new Registration(i, i, i, RegistrationStateEnum.WAIT);
+            registration.setStudentName("mockStudentName");
+            registration.setProjectTitle("project_title"+i);
+            registration.setStaffName("mockStaffName");
             registrationList.add(registration);
         }
         return registrationList;
@@ -95,19 +90,15 @@ public class MockObject {
      * Mock a registration list with studentId
      * @return mock registration list of the specific student
      */
-    public static List<Map<String, Object>> mockRegistration(int studentId)
+    public static List<Registration> mockRegistration(int studentId)
     {
-        List<Map<String, Object>> registrationList=new ArrayList<>();
+        List<Registration> registrationList=new ArrayList<>();
         for(int i =0;i<3;i++)
         {
-            Map<String, Object> registration = new HashMap<>();
-            registration.put("registrationId", i);
-            registration.put("projectId", i);
-            registration.put("studentId", studentId);
-            registration.put("registrationState", RegistrationStateEnum.WAIT.getCode());
-            registration.put("studentName", "mockStudentName");
-            registration.put("projectTitle", "project_title"+i);
-            registration.put("staffName","mockStaffName");
+            Registration registration = new Registration(i, i, studentId, RegistrationStateEnum.WAIT);
+            registration.setStudentName("mockStudentName");
+            registration.setProjectTitle("project_title"+i);
+            registration.setStaffName("mockStaffName");
             registrationList.add(registration);
         }
         return registrationList;
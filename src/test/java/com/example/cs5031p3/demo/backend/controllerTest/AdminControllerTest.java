@@ -0,0 +1,83 @@
+package com.example.cs5031p3.demo.backend.controllerTest;
+
+import com.example.cs5031p3.demo.backend.controller.AdminController;
+import com.example.cs5031p3.demo.backend.dao.QueryMonitor;
+import com.example.cs5031p3.demo.backend.enums.DatabaseEventTypeEnum;
+import com.example.cs5031p3.demo.backend.model.DatabaseEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the AdminController class.
+ */
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private QueryMonitor queryMonitor;
+
+    /**
+     * Test case for reading the flagged database events.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getDatabaseEvents() throws Exception {
+        when(queryMonitor.getEvents(100)).thenReturn(List.of(
+                new DatabaseEvent(DatabaseEventTypeEnum.SLOW_QUERY, 1000, 350, "http-nio-8080-exec-1",
+                        "SELECT * FROM users WHERE username = ?", "(String)", null, null),
+                new DatabaseEvent(DatabaseEventTypeEnum.LONG_HELD_CONNECTION, 900, 6000, "allocation-1",
+                        null, null, null, List.of("com.example.Caller.run(Caller.java:10)"))));
+        mvc.perform(get("/admin/db-events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("SLOW_QUERY"))
+                .andExpect(jsonPath("$[0].millis").value(350))
+                .andExpect(jsonPath("$[0].bindShape").value("(String)"))
+                .andExpect(jsonPath("$[0].plan").doesNotExist())
+                .andExpect(jsonPath("$[1].type").value("LONG_HELD_CONNECTION"))
+                .andExpect(jsonPath("$[1].stackTrace[0]").value("com.example.Caller.run(Caller.java:10)"));
+    }
+
+    /**
+     * Test case for reading the database events with a limit out of range.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getDatabaseEventsInvalidLimit() throws Exception {
+        mvc.perform(get("/admin/db-events").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/admin/db-events").param("limit", String.valueOf(AdminController.MAX_EVENTS + 1)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(queryMonitor);
+    }
+
+    /**
+     * Test case for discarding the database events.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void clearDatabaseEvents() throws Exception {
+        mvc.perform(delete("/admin/db-events"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Database events cleared"));
+        verify(queryMonitor).clear();
+    }
+}
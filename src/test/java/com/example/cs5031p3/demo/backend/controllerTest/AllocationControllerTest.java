@@ -0,0 +1,286 @@
+package com.example.cs5031p3.demo.backend.controllerTest;
+
+import com.example.cs5031p3.demo.backend.controller.AllocationController;
+import com.example.cs5031p3.demo.backend.dto.AllocationJobDTO;
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationJob;
+import com.example.cs5031p3.demo.backend.service.AllocationJobScheduler;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import com.example.cs5031p3.demo.backend.service.SimulationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the AllocationController class.
+ */
+@WebMvcTest(AllocationController.class)
+class AllocationControllerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private AllocationService allocationService;
+
+    @MockBean
+    private SimulationService simulationService;
+
+    @MockBean
+    private AllocationJobScheduler allocationJobScheduler;
+
+    /**
+     * Test case for running an allocation.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocation() throws Exception {
+        AllocationResultDTO result = new AllocationResultDTO(3, 2, 4, 1, 6);
+        result.setMode(AllocationModeEnum.STABLE);
+        when(allocationService.runAllocation(AllocationModeEnum.STABLE, 0)).thenReturn(result);
+        mvc.perform(post("/allocation/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("STABLE"))
+                .andExpect(jsonPath("$.students").value(3))
+                .andExpect(jsonPath("$.assigned").value(2))
+                .andExpect(jsonPath("$.unassigned").value(1))
+                .andExpect(jsonPath("$.writeMillis").value(6));
+    }
+
+    /**
+     * Test case for running an optimal allocation.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocationOptimal() throws Exception {
+        AllocationResultDTO result = new AllocationResultDTO(3, 3, 4, 9, 6);
+        result.setMode(AllocationModeEnum.OPTIMAL);
+        result.setRankSum(2);
+        when(allocationService.runAllocation(AllocationModeEnum.OPTIMAL, 0)).thenReturn(result);
+        mvc.perform(post("/allocation/run").param("mode", "OPTIMAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("OPTIMAL"))
+                .andExpect(jsonPath("$.rankSum").value(2));
+    }
+
+    /**
+     * Test case for running an allocation with a local-search pass.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocationImproved() throws Exception {
+        AllocationResultDTO result = new AllocationResultDTO(3, 3, 4, 209, 6);
+        result.setMode(AllocationModeEnum.STABLE);
+        result.setImproveMillis(200);
+        result.setImprovement(4);
+        result.setImprovementPerSecond(20.0);
+        when(allocationService.runAllocation(AllocationModeEnum.STABLE, 200)).thenReturn(result);
+        mvc.perform(post("/allocation/run").param("improveMillis", "200"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.improveMillis").value(200))
+                .andExpect(jsonPath("$.improvement").value(4))
+                .andExpect(jsonPath("$.improvementPerSecond").value(20.0));
+    }
+
+    /**
+     * Test case for a local-search budget out of range.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocationImproveBudgetOutOfRange() throws Exception {
+        mvc.perform(post("/allocation/run").param("improveMillis", "600000"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/allocation/run").param("improveMillis", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(allocationService);
+    }
+
+    /**
+     * Test case for an unknown allocation mode.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocationUnknownMode() throws Exception {
+        mvc.perform(post("/allocation/run").param("mode", "FASTEST"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(allocationService);
+    }
+
+    /**
+     * Test case for an allocation run that fails.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void runAllocationException() throws Exception {
+        when(allocationService.runAllocation(AllocationModeEnum.STABLE, 0))
+                .thenThrow(new SQLException("The registrations changed while the allocation was running"));
+        mvc.perform(post("/allocation/run"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(equalTo("The registrations changed while the allocation was running")));
+    }
+
+    /**
+     * Test case for simulating scenarios.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void simulate() throws Exception {
+        SimulationResultDTO result = new SimulationResultDTO("baseline", AllocationModeEnum.STABLE, 3, 2, 1,
+                new int[]{1, 1}, Map.of(2, 2), 5);
+        when(simulationService.simulate(anyList())).thenReturn(List.of(result));
+        mvc.perform(post("/allocation/simulate").contentType(APPLICATION_JSON)
+                        .content("[{\"name\":\"baseline\",\"removedProjectIds\":[1],\"maxLoads\":{\"2\":3}}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("baseline"))
+                .andExpect(jsonPath("$[0].unassigned").value(1))
+                .andExpect(jsonPath("$[0].rankHistogram[1]").value(1))
+                .andExpect(jsonPath("$[0].supervisorLoads.2").value(2));
+    }
+
+    /**
+     * Test case for simulating no scenarios.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void simulateNoScenarios() throws Exception {
+        mvc.perform(post("/allocation/simulate").contentType(APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(simulationService);
+    }
+
+    /**
+     * Test case for a database error while simulating.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void simulateDatabaseError() throws Exception {
+        when(simulationService.simulate(anyList())).thenThrow(new SQLException("Database error"));
+        mvc.perform(post("/allocation/simulate").contentType(APPLICATION_JSON).content("[{}]"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(equalTo("Database error")));
+    }
+
+    /**
+     * Test case for queuing an allocation job.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void submitJob() throws Exception {
+        AllocationJob job = new AllocationJob(7, AllocationModeEnum.OPTIMAL, 1000);
+        when(allocationJobScheduler.submit(AllocationModeEnum.OPTIMAL, 0)).thenReturn(new AllocationJobDTO(job, 1000));
+        mvc.perform(post("/allocation/jobs").param("mode", "OPTIMAL"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.phase").value("QUEUED"))
+                .andExpect(jsonPath("$.percent").value(0));
+    }
+
+    /**
+     * Test case for queuing an allocation job when the queue is full.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void submitJobQueueFull() throws Exception {
+        when(allocationJobScheduler.submit(AllocationModeEnum.STABLE, 0)).thenThrow(new RejectedExecutionException());
+        mvc.perform(post("/allocation/jobs"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Test case for queuing an allocation job with a local-search budget, and with one out of range.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void submitJobWithImproveBudget() throws Exception {
+        AllocationJob job = new AllocationJob(7, AllocationModeEnum.STABLE, 2000, 1000);
+        when(allocationJobScheduler.submit(AllocationModeEnum.STABLE, 2000)).thenReturn(new AllocationJobDTO(job, 1000));
+        mvc.perform(post("/allocation/jobs").param("improveMillis", "2000"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.improveMillis").value(2000));
+
+        mvc.perform(post("/allocation/jobs").param("improveMillis", "600000"))
+                .andExpect(status().isBadRequest());
+        verify(allocationJobScheduler, times(1)).submit(any(), anyLong());
+    }
+
+    /**
+     * Test case for reading the state of a finished allocation job.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getJob() throws Exception {
+        AllocationJob job = new AllocationJob(7, AllocationModeEnum.STABLE, System.currentTimeMillis());
+        job.complete(new AllocationResultDTO(3, 2, 4, 1, 6));
+        when(allocationJobScheduler.getJob(7)).thenReturn(new AllocationJobDTO(job, System.currentTimeMillis()));
+        mvc.perform(get("/allocation/jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phase").value("COMPLETED"))
+                .andExpect(jsonPath("$.percent").value(100))
+                .andExpect(jsonPath("$.result.assigned").value(2));
+    }
+
+    /**
+     * Test case for reading an unknown allocation job.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getJobNotFound() throws Exception {
+        mvc.perform(get("/allocation/jobs/8"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test case for cancelling an allocation job.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void cancelJob() throws Exception {
+        AllocationJob job = new AllocationJob(7, AllocationModeEnum.STABLE, System.currentTimeMillis());
+        job.requestCancel();
+        when(allocationJobScheduler.cancel(7)).thenReturn(new AllocationJobDTO(job, System.currentTimeMillis()));
+        mvc.perform(delete("/allocation/jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7));
+        mvc.perform(delete("/allocation/jobs/8"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,6 +2,8 @@ package com.example.cs5031p3.demo.backend.controllerTest;
 
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.controller.ProjectController;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.model.Project;
 import com.example.cs5031p3.demo.backend.service.ProjectService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -18,9 +21,14 @@ import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -88,6 +96,7 @@ class ProjectControllerTest {
                                 "\"description\":\"1\"," +
                                 "\"staffId\":1," +
                                 "\"available\":1," +
+                                "\"capacity\":1," +
                                 "\"staffName\":null}")))// The staffName is null in test since we didn't set it
         ;
         verify(projectService, times(1)).getProjectById(1);
@@ -146,6 +155,41 @@ class ProjectControllerTest {
         verify(projectService, times(1)).updateProject(any(Project.class));
     }
 
+    /**
+     * Test case for rejecting a project update whose capacity is below 1.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updateProjectInvalidCapacity() throws Exception {
+        Project projectToUpdate = new Project(1, "Project Title", "Project Description", 10);
+        projectToUpdate.setCapacity(0);
+
+        mvc.perform(put("/project/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(projectToUpdate)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The capacity must be at least 1")));
+
+        verify(projectService, never()).updateProject(any(Project.class));
+    }
+
+    /**
+     * Test case for updating a project sent without a capacity, which is passed on as absent.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updateProjectWithoutCapacity() throws Exception {
+        mvc.perform(put("/project/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"title\":\"Title\",\"description\":\"Description\"," +
+                                "\"staffId\":10,\"available\":1,\"capacity\":null}"))
+                .andExpect(status().isOk());
+
+        verify(projectService, times(1)).updateProject(argThat(project -> project.getCapacity() == null));
+    }
+
     /**
      * Test case for handling failure during project update.
      *
@@ -343,4 +387,187 @@ class ProjectControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
-}
\ No newline at end of file
+    /**
+     * Test case for creating several projects at once.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createProjectsBulk() throws Exception {
+        List<Project> projects = MockObject.projectList(187);
+        mvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(projects))
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo("4 new projects are created")));
+        verify(projectService,times(1)).createProjects(projects);
+    }
+
+    /**
+     * Test case for handling exception while creating several projects.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createProjectsBulkException() throws Exception {
+        List<Project> projects = MockObject.projectList(187);
+        doThrow(new SQLException("msg")).when(projectService).createProjects(projects);
+        mvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(projects))
+                )
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(equalTo("msg")));
+    }
+
+    /**
+     * Test case for getting one page of projects.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsPage() throws Exception {
+        List<Project> projects = MockObject.projectList(1);
+        PageDTO<Project> page = new PageDTO<>(List.of(new Project(3, "Project 3", "Description 3", 1)), 3);
+        when(projectService.getAllProjects()).thenReturn(projects);
+        when(projectService.getProjectsPage(projects, 2, 1)).thenReturn(page);
+
+        mvc.perform(get("/project/all").param("after", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}-2-1\"")))
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+        verify(projectService, never()).getProjectsPage(anyInt(), anyInt());
+    }
+
+    /**
+     * Test case for answering a poll of an unchanged page with 304 Not Modified, and sending the page again
+     * once the catalogue changed.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsPageNotModified() throws Exception {
+        List<Project> before = List.of(new Project(1, "Project 1", "Description 1", 1));
+        List<Project> after = List.of(new Project(1, "Project 1", "Changed description", 1));
+        when(projectService.getAllProjects()).thenReturn(before).thenReturn(before).thenReturn(after);
+        when(projectService.getProjectsPage(anyList(), eq(0), eq(20)))
+                .thenAnswer(invocation -> new PageDTO<>(invocation.getArgument(0), null));
+        String eTag = mvc.perform(get("/project/all").param("after", "0").param("limit", "20"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/project/all").param("after", "0").param("limit", "20").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mvc.perform(get("/project/all").param("after", "0").param("limit", "20").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.items[0].description").value("Changed description"));
+        verify(projectService, times(2)).getProjectsPage(anyList(), eq(0), eq(20));
+    }
+
+    /**
+     * Test case for getting a page of projects with an invalid limit.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsPageInvalidLimit() throws Exception {
+        mvc.perform(get("/project/all").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The limit must be positive")));
+    }
+
+    /**
+     * Test case for streaming all projects as one JSON array.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsStream() throws Exception {
+        List<Project> projects = MockObject.projectList(9);
+        doAnswer(invocation -> {
+            RowCallback<Project> callback = invocation.getArgument(0);
+            for (Project project : projects) {
+                callback.accept(project);
+            }
+            return null;
+        }).when(projectService).streamAllProjects(any());
+
+        MvcResult result = mvc.perform(get("/project/all").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(projects), true));
+        verify(projectService, never()).getAllProjects();
+    }
+
+    /**
+     * Test case for streaming an empty catalogue.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsStreamEmpty() throws Exception {
+        MvcResult result = mvc.perform(get("/project/all").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo("[]")));
+    }
+
+    /**
+     * Test case for the strong ETag sent with the full project list.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsETag() throws Exception {
+        List<Project> projects = List.of(new Project(1, "Project 1", "Description 1", 1));
+        when(projectService.getAllProjects()).thenReturn(projects);
+
+        String eTag = mvc.perform(get("/project/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}\"")))
+                .andReturn().getResponse().getHeader("ETag");
+        // The same catalogue keeps the same tag
+        mvc.perform(get("/project/all"))
+                .andExpect(header().string("ETag", eTag));
+    }
+
+    /**
+     * Test case for answering a matching If-None-Match with 304 Not Modified.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsNotModified() throws Exception {
+        List<Project> projects = List.of(new Project(1, "Project 1", "Description 1", 1));
+        when(projectService.getAllProjects()).thenReturn(projects);
+        String eTag = mvc.perform(get("/project/all")).andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/project/all").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * Test case for sending the new list when the catalogue changed since the client's ETag.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllProjectsChangedCatalogue() throws Exception {
+        List<Project> before = List.of(new Project(1, "Project 1", "Description 1", 1));
+        List<Project> after = List.of(new Project(1, "Project 1", "Changed description", 1));
+        when(projectService.getAllProjects()).thenReturn(before).thenReturn(after);
+        String eTag = mvc.perform(get("/project/all")).andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/project/all").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(content().json(objectMapper.writeValueAsString(after)));
+    }
+}
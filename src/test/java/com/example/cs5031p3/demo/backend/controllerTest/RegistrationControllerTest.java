@@ -2,7 +2,14 @@ package com.example.cs5031p3.demo.backend.controllerTest;
 
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.controller.RegistrationController;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
+import com.example.cs5031p3.demo.backend.dto.AssignmentOutcomeDTO;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
 import com.example.cs5031p3.demo.backend.service.RegistrationService;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -20,6 +28,8 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -36,6 +46,9 @@ class RegistrationControllerTest {
     @MockBean
     private RegistrationService registrationService;
 
+    @MockBean
+    private WaitlistService waitlistService;
+
     /**
      * Test case for creating a new project registration.
      *
@@ -48,8 +61,8 @@ class RegistrationControllerTest {
         Map<String, String> createInfo = new HashMap<>();
         createInfo.put("projectId", String.valueOf(projectId));
         createInfo.put("studentId", String.valueOf(studentId));
-        //ref:https://www.javacodegeeks.com/2020/06/mock-void-method-with-mockito.html
-        doNothing().when(registrationService).createProjectRegistration(projectId,studentId);
+        when(registrationService.createProjectRegistration(projectId,studentId))
+                .thenReturn(RegistrationResultEnum.CREATED);
         mvc.perform(post("/registration/create").contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createInfo))
                 )
@@ -70,8 +83,8 @@ class RegistrationControllerTest {
         Map<String, String> createInfo = new HashMap<>();
         createInfo.put("projectId", String.valueOf(projectId));
         createInfo.put("studentId", String.valueOf(studentId));
-        doThrow(new SQLException("Student is already assigned to a project"))
-                .when(registrationService).createProjectRegistration(projectId,studentId);
+        when(registrationService.createProjectRegistration(projectId,studentId))
+                .thenReturn(RegistrationResultEnum.ALREADY_ASSIGNED);
         mvc.perform(post("/registration/create").contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createInfo))
                 )
@@ -92,8 +105,8 @@ class RegistrationControllerTest {
         Map<String, String> createInfo = new HashMap<>();
         createInfo.put("projectId", String.valueOf(projectId));
         createInfo.put("studentId", String.valueOf(studentId));
-        doThrow(new SQLException("Student is already interested in this project"))
-                .when(registrationService).createProjectRegistration(projectId,studentId);
+        when(registrationService.createProjectRegistration(projectId,studentId))
+                .thenReturn(RegistrationResultEnum.DUPLICATE);
         mvc.perform(post("/registration/create").contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createInfo))
                 )
@@ -102,6 +115,28 @@ class RegistrationControllerTest {
         ;
     }
 
+    /**
+     * Test case for handling a database error while creating a project registration.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createProjectRegistrationException() throws Exception{
+        int projectId = 1;
+        int studentId = 3;
+        Map<String, String> createInfo = new HashMap<>();
+        createInfo.put("projectId", String.valueOf(projectId));
+        createInfo.put("studentId", String.valueOf(studentId));
+        doThrow(new SQLException("msg"))
+                .when(registrationService).createProjectRegistration(projectId,studentId);
+        mvc.perform(post("/registration/create").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createInfo))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("msg")))
+        ;
+    }
+
     /**
      * Test case for getting project registrations by an existed student ID.
      *
@@ -110,7 +145,7 @@ class RegistrationControllerTest {
     @Test
     void getProjectRegistrationsByExistedStudentId() throws Exception {
         int studentId = 2;
-        List<Map<String, Object>> registrationList= MockObject.mockRegistration(studentId);
+        List<Registration> registrationList= MockObject.mockRegistration(studentId);
         when(registrationService.getProjectRegistrationsByStudentId(studentId)).thenReturn(registrationList);
         mvc.perform(get("/registration/student/"+studentId))
                 .andExpect(status().isOk())
@@ -160,7 +195,7 @@ class RegistrationControllerTest {
     @Test
     void getRegistrationStudentsByExistedStaffId() throws Exception{
         int staffId = 2;
-        List<Map<String, Object>> registrationList= MockObject.mockRegistration();
+        List<Registration> registrationList= MockObject.mockRegistration();
         when(registrationService.findRegistrationStudentsByStaffId(staffId)).thenReturn(registrationList);
         mvc.perform(get("/registration/students-registration/"+staffId)
                 )
@@ -191,7 +226,7 @@ class RegistrationControllerTest {
     @Test
     void assignRegistrationSuccessful() throws Exception {
         int registrationId=2;
-        when(registrationService.assignRegistration(registrationId)).thenReturn(true);
+        when(registrationService.assignRegistration(registrationId)).thenReturn(AssignmentResultEnum.ASSIGNED);
         mvc.perform(put("/registration/assign/"+registrationId))
                 .andExpect(status().isOk())
                 .andExpect(content().string(equalTo("Registration approved successfully")));
@@ -205,12 +240,27 @@ class RegistrationControllerTest {
     @Test
     void assignRegistrationFail() throws Exception {
         int registrationId=6;
-        when(registrationService.assignRegistration(registrationId)).thenReturn(false);
+        when(registrationService.assignRegistration(registrationId)).thenReturn(AssignmentResultEnum.NOT_FOUND);
         mvc.perform(put("/registration/assign/"+registrationId))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string(equalTo("Failed to approve registration")));
     }
 
+    /**
+     * Test case for assigning a registration of a student who is already assigned to another project.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void assignRegistrationConflict() throws Exception {
+        int registrationId=6;
+        when(registrationService.assignRegistration(registrationId))
+                .thenReturn(AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED);
+        mvc.perform(put("/registration/assign/"+registrationId))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(equalTo("Student is already assigned to another project")));
+    }
+
     /**
      * Test case for handling an exception while assigning a project registration.
      *
@@ -226,6 +276,49 @@ class RegistrationControllerTest {
                 ;
     }
 
+    /**
+     * Test case for assigning many project registrations at once.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void assignRegistrations() throws Exception {
+        when(registrationService.assignRegistrations(List.of(2, 6))).thenReturn(List.of(
+                new AssignmentOutcomeDTO(2, AssignmentResultEnum.ASSIGNED),
+                new AssignmentOutcomeDTO(6, AssignmentResultEnum.DUPLICATE_STUDENT)));
+        mvc.perform(put("/registration/assign-batch").content("[2,6]").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].registrationId").value(2))
+                .andExpect(jsonPath("$[0].result").value("ASSIGNED"))
+                .andExpect(jsonPath("$[1].result").value("DUPLICATE_STUDENT"))
+                .andExpect(jsonPath("$[1].message").value("Another registration in the batch assigns the same student"));
+    }
+
+    /**
+     * Test case for assigning an empty batch of registrations.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void assignRegistrationsEmpty() throws Exception {
+        mvc.perform(put("/registration/assign-batch").content("[]").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(registrationService, never()).assignRegistrations(anyList());
+    }
+
+    /**
+     * Test case for handling an exception while assigning many registrations.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void assignRegistrationsException() throws Exception {
+        when(registrationService.assignRegistrations(List.of(2))).thenThrow(new SQLException("msg"));
+        mvc.perform(put("/registration/assign-batch").content("[2]").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("msg")));
+    }
+
     /**
      * Test case for checking if a student is assigned to a project (returns true).
      *
@@ -269,4 +362,177 @@ class RegistrationControllerTest {
 
         verify(registrationService, times(1)).isStudentAssignedToProject(studentId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for streaming project registrations by staff ID.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getRegistrationStudentsByStaffIdStream() throws Exception {
+        int staffId = 2;
+        List<Registration> registrationList = MockObject.mockRegistration();
+        when(registrationService.isStaff(staffId)).thenReturn(true);
+        doAnswer(invocation -> {
+            RowCallback<Registration> callback = invocation.getArgument(1);
+            for (Registration registration : registrationList) {
+                callback.accept(registration);
+            }
+            return null;
+        }).when(registrationService).streamRegistrationStudentsByStaffId(eq(staffId), any());
+
+        MvcResult result = mvc.perform(get("/registration/students-registration/" + staffId).param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo(objectMapper.writeValueAsString(registrationList))));
+        verify(registrationService, never()).findRegistrationStudentsByStaffId(anyInt());
+    }
+
+    /**
+     * Test case for streaming project registrations with an ID that is not a staff member.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getRegistrationStudentsByStaffIdStreamNotStaff() throws Exception {
+        int studentId = 1;
+        when(registrationService.isStaff(studentId)).thenReturn(false);
+
+        MvcResult result = mvc.perform(get("/registration/students-registration/" + studentId).param("stream", "true"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The user is not a staff")));
+        verify(registrationService, never()).streamRegistrationStudentsByStaffId(anyInt(), any());
+    }
+
+    /**
+     * Test case for saving a student's preference ranking.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updatePreferencesSuccessful() throws Exception {
+        when(registrationService.updatePreferences(3, List.of(2, 1))).thenReturn(true);
+        mvc.perform(put("/registration/student/3/preferences").contentType(MediaType.APPLICATION_JSON)
+                        .content("[2,1]"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo("Preferences updated successfully")));
+    }
+
+    /**
+     * Test case for a preference ranking that lists a project the student has not registered for.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updatePreferencesUnregisteredProject() throws Exception {
+        when(registrationService.updatePreferences(3, List.of(4))).thenReturn(false);
+        mvc.perform(put("/registration/student/3/preferences").contentType(MediaType.APPLICATION_JSON)
+                        .content("[4]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("Only registered projects can be ranked")));
+    }
+
+    /**
+     * Test case for handling an exception while saving a preference ranking.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updatePreferencesException() throws Exception {
+        when(registrationService.updatePreferences(2, List.of(1)))
+                .thenThrow(new SQLException("The user is not a student"));
+        mvc.perform(put("/registration/student/2/preferences").contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The user is not a student")));
+    }
+
+    /**
+     * Test case for putting a registration on its project's waitlist.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void joinWaitlistSuccessful() throws Exception {
+        Registration registration = new Registration(3, 2, 3, RegistrationStateEnum.WAITLISTED);
+        registration.setWaitlistPosition(1);
+        when(waitlistService.join(3)).thenReturn(registration);
+        mvc.perform(put("/registration/waitlist/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registrationState").value(3))
+                .andExpect(jsonPath("$.waitlistPosition").value(1));
+    }
+
+    /**
+     * Test case for waitlisting a registration that is not an interested one.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void joinWaitlistNotInterested() throws Exception {
+        when(waitlistService.join(3)).thenReturn(null);
+        mvc.perform(put("/registration/waitlist/3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("Only interested registrations can be waitlisted")));
+    }
+
+    /**
+     * Test case for taking an assignment away, which promotes a waitlisted registration.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void unassignRegistrationSuccessful() throws Exception {
+        when(waitlistService.unassign(1)).thenReturn(List.of(3));
+        mvc.perform(put("/registration/unassign/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[3]"));
+    }
+
+    /**
+     * Test case for taking away a registration that is not assigned.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void unassignRegistrationNotAssigned() throws Exception {
+        when(waitlistService.unassign(1)).thenReturn(null);
+        mvc.perform(put("/registration/unassign/1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("Only assigned registrations can be unassigned")));
+    }
+
+    /**
+     * Test case for retrieving the waitlist of a project.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getWaitlist() throws Exception {
+        Registration registration = new Registration(3, 2, 3, RegistrationStateEnum.WAITLISTED);
+        registration.setWaitlistPosition(1);
+        when(waitlistService.getWaitlist(2)).thenReturn(List.of(registration));
+        mvc.perform(get("/registration/waitlist/project/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].registrationId").value(3))
+                .andExpect(jsonPath("$[0].waitlistPosition").value(1));
+    }
+
+    /**
+     * Test case for handling an exception while retrieving a waitlist.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getWaitlistException() throws Exception {
+        when(waitlistService.getWaitlist(2)).thenThrow(new SQLException("Database error"));
+        mvc.perform(get("/registration/waitlist/project/2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("Database error")));
+    }
+}
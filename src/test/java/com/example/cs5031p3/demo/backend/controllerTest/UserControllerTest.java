@@ -3,6 +3,7 @@ package com.example.cs5031p3.demo.backend.controllerTest;
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.bean.ResponseMessage;
 import com.example.cs5031p3.demo.backend.controller.UserController;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.dto.ResponseDTO;
 import com.example.cs5031p3.demo.backend.model.User;
 import com.example.cs5031p3.demo.backend.service.UserService;
@@ -477,4 +478,91 @@ class UserControllerTest {
 
         verify(userService, times(1)).getUserIdByUsername(username);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for creating several users at once.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createUsersBulk() throws Exception {
+        List<User> users=MockObject.mockUserList();
+        mvc.perform(post("/user/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users))
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo("3 new users are created")));
+        verify(userService,times(1)).createUsers(users);
+    }
+
+    /**
+     * Test case for creating several users when one username already exists.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createUsersBulkExistedUsername() throws Exception {
+        List<User> users=MockObject.mockUserList();
+        doThrow(new SQLException("The username has already existed: mock"))
+                .when(userService).createUsers(users);
+        mvc.perform(post("/user/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The username has already existed: mock")));
+    }
+
+    /**
+     * Test case for getting one page of users.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllUsersPage() throws Exception{
+        PageDTO<User> page = new PageDTO<>(MockObject.mockUserList(), 2);
+        when(userService.getUsersPage(0, 3)).thenReturn(page);
+        mvc.perform(get("/user/all").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(page)));
+        verify(userService, never()).getAllUsers();
+    }
+
+    /**
+     * Test case for getting a page of users with an invalid limit.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getAllUsersPageInvalidLimit() throws Exception{
+        mvc.perform(get("/user/all").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case for setting the maximum load of a staff member.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updateMaxLoad() throws Exception {
+        mvc.perform(put("/user/2/max-load").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxLoad\":4}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(equalTo("Maximum load updated")));
+        verify(userService).updateMaxLoad(2, 4);
+    }
+
+    /**
+     * Test case for setting the maximum load of a user who is not a staff member.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updateMaxLoadNotStaff() throws Exception {
+        doThrow(new SQLException("The user is not a staff")).when(userService).updateMaxLoad(1, 4);
+        mvc.perform(put("/user/1/max-load").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxLoad\":4}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(equalTo("The user is not a staff")));
+    }
+}
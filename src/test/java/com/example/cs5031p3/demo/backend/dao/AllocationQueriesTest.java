@@ -0,0 +1,573 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.RepairResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import com.example.cs5031p3.demo.backend.service.SimulationService;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The AllocationQueriesTest class runs the allocation queries of ProjectRegistrationsDAO against the sample data
+ * of a freshly migrated H2 database. Students 1 and 3 hold registrations 1 (project 1, student 1),
+ * 2 (project 2, student 1) and 3 (project 2, student 3); staff 2 supervises projects 1 and 2.
+ */
+class AllocationQueriesTest {
+
+    private EmbeddedDatabase dataSource;
+    private DatabaseManager databaseManager;
+    private ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    /**
+     * Sets up a freshly migrated database with the sample data.
+     */
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databaseManager = new DatabaseManager(dataSource);
+        projectRegistrationsDAO = new ProjectRegistrationsDAO(databaseManager);
+    }
+
+    /**
+     * Shuts down the embedded database after each test method.
+     */
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Tests that the problem holds every unassigned student's registrations, unranked ones in registration order.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void loadAllocationProblemTest() throws SQLException {
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+
+        assertArrayEquals(new int[]{1, 3}, problem.getStudentIds());
+        assertArrayEquals(new int[]{1, 2, 3, 4}, problem.getProjectIds());
+        assertArrayEquals(new int[]{1, 1, 1, 1}, problem.getProjectCapacity());
+        assertArrayEquals(new int[]{0, 2, 3}, problem.getPreferenceStart());
+        assertArrayEquals(new int[]{0, 1, 1}, problem.getPreferenceProject());
+        assertArrayEquals(new int[]{1, 2, 3}, problem.getPreferenceRegistration());
+    }
+
+    /**
+     * Tests that ranked preferences come first, in rank order.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void loadAllocationProblemTestRanked() throws SQLException {
+        assertTrue(projectRegistrationsDAO.updatePreferenceRanks(1, new int[]{2, 1}));
+
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+
+        assertArrayEquals(new int[]{2, 1, 3}, problem.getPreferenceRegistration());
+    }
+
+    /**
+     * Tests that a ranking listing a project the student did not register for is rejected without changes.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void updatePreferenceRanksTestUnregistered() throws SQLException {
+        assertTrue(projectRegistrationsDAO.updatePreferenceRanks(1, new int[]{2, 1}));
+        assertFalse(projectRegistrationsDAO.updatePreferenceRanks(1, new int[]{1, 3}));
+
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+
+        assertArrayEquals(new int[]{2, 1, 3}, problem.getPreferenceRegistration());
+    }
+
+    /**
+     * Tests that unavailable projects and assigned students are left out, and that assignments use up capacity.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void loadAllocationProblemTestExclusions() throws SQLException {
+        execute("UPDATE projects SET available = 0 WHERE project_id = 1");
+        execute("UPDATE projects SET capacity = 2");
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{3});
+
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+
+        assertArrayEquals(new int[]{1}, problem.getStudentIds());
+        assertArrayEquals(new int[]{2, 3, 4}, problem.getProjectIds());
+        assertArrayEquals(new int[]{1, 2, 2}, problem.getProjectCapacity());
+        assertArrayEquals(new int[]{2}, problem.getPreferenceRegistration());
+    }
+
+    /**
+     * Tests that staff with a maximum load become supervisors whose capacity is reduced by their assigned students,
+     * and that projects of staff without a limit have no supervisor.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void loadAllocationProblemTestSupervisors() throws SQLException {
+        execute("UPDATE users SET max_load = 2 WHERE user_id = 2");
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{3});
+
+        AllocationProblem problem = projectRegistrationsDAO.loadAllocationProblem();
+
+        assertArrayEquals(new int[]{1}, problem.getSupervisorCapacity());
+        assertArrayEquals(new int[]{0, 0, -1, -1}, problem.getProjectSupervisor());
+    }
+
+    /**
+     * Tests that a write back fails as a whole when one of its registrations was assigned meanwhile.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignAllocatedRegistrationsTestChanged() throws SQLException {
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{2});
+
+        assertThrows(SQLException.class, () -> projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{3, 1}));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+    }
+
+    /**
+     * Tests a full run: student 1 ranks project 2 first and registered for it before student 3, so student 1
+     * takes project 2 and student 3 is left without a project.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void runAllocationTest() throws SQLException {
+        projectRegistrationsDAO.updatePreferenceRanks(1, new int[]{2, 1});
+
+        new AllocationService(projectRegistrationsDAO).runAllocation(AllocationModeEnum.STABLE);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+        assertEquals(2, count("SELECT registration_id FROM project_registrations WHERE registration_state = 2"));
+        assertEquals(3, count("SELECT COUNT(*) FROM project_registrations"));
+    }
+
+    /**
+     * Tests a full optimal run on the same preferences: student 1 gives up their first choice so that student 3
+     * is assigned too.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void runAllocationTestOptimal() throws SQLException {
+        projectRegistrationsDAO.updatePreferenceRanks(1, new int[]{2, 1});
+
+        AllocationResultDTO result = new AllocationService(projectRegistrationsDAO).runAllocation(AllocationModeEnum.OPTIMAL);
+
+        assertEquals(2, result.getAssigned());
+        assertEquals(1, result.getRankSum());
+        assertEquals(1, count("SELECT project_id FROM project_registrations WHERE registration_state = 2 AND student_id = 1"));
+        assertEquals(2, count("SELECT project_id FROM project_registrations WHERE registration_state = 2 AND student_id = 3"));
+    }
+
+    /**
+     * Tests that an optimal run respects the maximum load of the staff member supervising both contested projects.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void runAllocationTestOptimalMaxLoad() throws SQLException {
+        execute("UPDATE users SET max_load = 1 WHERE user_id = 2");
+
+        AllocationResultDTO result = new AllocationService(projectRegistrationsDAO).runAllocation(AllocationModeEnum.OPTIMAL);
+
+        assertEquals(1, result.getAssigned());
+        assertEquals(1, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+    }
+
+    /**
+     * Sets up an allocation with a repair path: student 1 holds project 1 and is also interested in project 3, and
+     * student 3 holds project 2 and is also interested in project 1 (registrations 4 and 5).
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void allocateWithRepairPath() throws SQLException {
+        execute("INSERT INTO project_registrations (project_id, student_id, registration_state) VALUES (1, 3, 1)");
+        execute("INSERT INTO project_registrations (project_id, student_id, registration_state) VALUES (3, 1, 1)");
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1, 3});
+    }
+
+    /**
+     * Tests that a student whose project is made unavailable takes another project along an augmenting path:
+     * student 3 takes project 1, and student 1 moves on to project 3.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void repairProjectTestAugmentingPath() throws SQLException {
+        allocateWithRepairPath();
+        execute("UPDATE projects SET available = 2 WHERE project_id = 2");
+
+        RepairResultDTO result = new AllocationService(projectRegistrationsDAO).repairProject(2, false);
+
+        assertEquals(1, result.getAffected());
+        assertEquals(1, result.getReassigned());
+        assertEquals(1, result.getMoved());
+        assertEquals(1, count("SELECT project_id FROM project_registrations WHERE registration_state = 2 AND student_id = 3"));
+        assertEquals(3, count("SELECT project_id FROM project_registrations WHERE registration_state = 2 AND student_id = 1"));
+        assertEquals(1, count("SELECT registration_state FROM project_registrations WHERE registration_id = 3"));
+        assertEquals(5, count("SELECT COUNT(*) FROM project_registrations"));
+    }
+
+    /**
+     * Tests that a repair respects the maximum load of the supervisor at the end of the path, and changes nothing
+     * when no path is left.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void repairProjectTestSupervisorFull() throws SQLException {
+        allocateWithRepairPath();
+        execute("UPDATE users SET max_load = 0 WHERE user_id = 4");
+        execute("UPDATE projects SET available = 2 WHERE project_id = 2");
+
+        RepairResultDTO result = new AllocationService(projectRegistrationsDAO).repairProject(2, false);
+
+        assertEquals(1, result.getAffected());
+        assertEquals(0, result.getReassigned());
+        assertEquals(1, result.getUnassigned());
+        assertEquals(1, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+        assertEquals(1, count("SELECT project_id FROM project_registrations WHERE registration_state = 2"));
+    }
+
+    /**
+     * Tests that deleting an assigned project removes its registrations and the project itself, and moves its student
+     * to their remaining preference.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void repairProjectTestDelete() throws SQLException {
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1});
+
+        RepairResultDTO result = new AllocationService(projectRegistrationsDAO).repairProject(1, true);
+
+        assertEquals(1, result.getReassigned());
+        assertEquals(0, result.getMoved());
+        assertEquals(2, count("SELECT registration_id FROM project_registrations WHERE registration_state = 2"));
+        assertEquals(0, count("SELECT COUNT(*) FROM projects WHERE project_id = 1"));
+    }
+
+    /**
+     * Tests that taking away a project nobody is assigned to changes nothing.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void repairProjectTestNobodyAssigned() throws SQLException {
+        RepairResultDTO result = new AllocationService(projectRegistrationsDAO).repairProject(4, false);
+
+        assertEquals(0, result.getAffected());
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+    }
+
+    /**
+     * Tests that assigned students are counted against the supervisor of their project.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void countAssignedRegistrationsByStaffTest() throws SQLException {
+        assertTrue(projectRegistrationsDAO.countAssignedRegistrationsByStaff().isEmpty());
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1, 3});
+
+        assertEquals(Map.of(2, 2), projectRegistrationsDAO.countAssignedRegistrationsByStaff());
+    }
+
+    /**
+     * Tests that a snapshot maps every project of the problem to the supervisor read in the same transaction, counts
+     * the supervisors' assigned students, and hands the connection back with its settings restored.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void loadAllocationSnapshotTest() throws SQLException {
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1});
+
+        AllocationSnapshot snapshot = projectRegistrationsDAO.loadAllocationSnapshot();
+
+        assertArrayEquals(new int[]{1, 2, 3, 4}, snapshot.getProblem().getProjectIds());
+        assertArrayEquals(new int[]{2, 2, 4, 4}, snapshot.getProjectStaff());
+        assertEquals(1, snapshot.getStaffLoad(2));
+        assertEquals(0, snapshot.getStaffLoad(4));
+        try (Connection connection = databaseManager.getConnection()) {
+            assertTrue(connection.getAutoCommit());
+            assertFalse(connection.isReadOnly());
+        }
+    }
+
+    /**
+     * Tests that a simulation over the sample data writes nothing.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void simulateTest() throws SQLException {
+        SimulationService simulationService = new SimulationService(projectRegistrationsDAO);
+
+        List<SimulationResultDTO> results = simulationService.simulate(List.of(
+                new SimulationScenarioDTO("stable", AllocationModeEnum.STABLE),
+                new SimulationScenarioDTO("optimal", AllocationModeEnum.OPTIMAL)));
+
+        assertEquals(2, results.get(0).getAssigned());
+        assertEquals(0, results.get(0).getRankSum());
+        assertEquals(2, results.get(1).getAssigned());
+        assertEquals(Map.of(2, 2), results.get(1).getSupervisorLoads());
+        assertTrue(projectRegistrationsDAO.countAssignedRegistrationsByStaff().isEmpty());
+    }
+
+    /**
+     * Tests that a batch assignment applies every valid registration and reports the missing ones.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationsTest() throws SQLException {
+        AssignmentResultEnum[] results = projectRegistrationsDAO.assignRegistrations(new int[]{1, 3, 99});
+
+        assertArrayEquals(new AssignmentResultEnum[]{AssignmentResultEnum.ASSIGNED, AssignmentResultEnum.ASSIGNED,
+                AssignmentResultEnum.NOT_FOUND}, results);
+        assertEquals(2, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+        // Student 1's other interested registration is deleted
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE registration_id = 2"));
+    }
+
+    /**
+     * Tests that registrations of a batch assigning the same student, or a student already assigned, are left
+     * unchanged while the rest are applied.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationsTestConflicts() throws SQLException {
+        AssignmentResultEnum[] results = projectRegistrationsDAO.assignRegistrations(new int[]{1, 2, 3});
+
+        assertArrayEquals(new AssignmentResultEnum[]{AssignmentResultEnum.DUPLICATE_STUDENT,
+                AssignmentResultEnum.DUPLICATE_STUDENT, AssignmentResultEnum.ASSIGNED}, results);
+        assertEquals(2, count("SELECT COUNT(*) FROM project_registrations WHERE student_id = 1 " +
+                "AND registration_state = 1"));
+
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1});
+        assertArrayEquals(new AssignmentResultEnum[]{AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED},
+                projectRegistrationsDAO.assignRegistrations(new int[]{2}));
+    }
+
+    /**
+     * Tests that a project updated without a capacity keeps its stored one, and that a project created without
+     * one takes a single student.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void updateProjectKeepsCapacityWhenAbsent() throws SQLException {
+        ProjectDAO projectDAO = new ProjectDAO(databaseManager);
+        execute("UPDATE projects SET capacity = 3 WHERE project_id = 1");
+        Project project = new Project();
+        project.setId(1);
+        project.setTitle("Renamed");
+        project.setDescription("Description");
+        project.setStaffId(2);
+        projectDAO.updateProject(project);
+        assertEquals(3, projectDAO.getProjectById(1).getCapacity());
+
+        project.setCapacity(2);
+        projectDAO.updateProject(project);
+        assertEquals(2, projectDAO.getProjectById(1).getCapacity());
+
+        Project created = new Project();
+        created.setTitle("New");
+        created.setDescription("Description");
+        created.setStaffId(2);
+        projectDAO.createProject(created);
+        assertEquals(1, projectDAO.getProjectById(created.getId()).getCapacity());
+    }
+
+    /**
+     * Tests that registering twice for a project is a duplicate, while registering for a project that does not
+     * exist is an error rather than a duplicate.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestUnknownProject() throws SQLException {
+        assertEquals(RegistrationResultEnum.DUPLICATE, projectRegistrationsDAO.createProjectRegistration(2, 3));
+        assertThrows(SQLException.class, () -> projectRegistrationsDAO.createProjectRegistration(99, 3));
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE project_id = 99"));
+    }
+
+    /**
+     * Tests that a student joining the waitlist of a full project is promoted when the assigned student is taken
+     * away, losing their other interested registration, and that the taken-away student becomes interested again.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void waitlistTestPromotion() throws SQLException {
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        assertEquals(AssignmentResultEnum.ASSIGNED, projectRegistrationsDAO.assignRegistration(3));
+
+        Registration waitlisted = waitlistService.join(2);
+        assertEquals(1, waitlisted.getWaitlistPosition());
+        assertNull(waitlistService.join(2));
+        assertEquals(List.of(2), waitlistService.getWaitlist(2).stream()
+                .map(Registration::getRegistrationId).toList());
+        // The project is full, so the registration stays on the waitlist
+        assertEquals(3, count("SELECT registration_state FROM project_registrations WHERE registration_id = 2"));
+
+        assertNull(waitlistService.unassign(1));
+        assertEquals(List.of(2), waitlistService.unassign(3));
+        assertEquals(2, count("SELECT registration_state FROM project_registrations WHERE registration_id = 2"));
+        assertEquals(1, count("SELECT registration_state FROM project_registrations WHERE registration_id = 3"));
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE registration_id = 1"));
+        assertTrue(waitlistService.getWaitlist(2).isEmpty());
+    }
+
+    /**
+     * Tests that raising a project's capacity promotes its waitlist in position order, and that a waitlisted
+     * registration is deleted when its student is assigned elsewhere.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void waitlistTestCapacityRaised() throws SQLException {
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        execute("INSERT INTO project_registrations (project_id, student_id, registration_state) VALUES (1, 3, 1)");
+        assertEquals(AssignmentResultEnum.ASSIGNED, projectRegistrationsDAO.assignRegistration(1));
+        waitlistService.join(4);
+        assertEquals(AssignmentResultEnum.PROJECT_FULL, projectRegistrationsDAO.promoteWaitlisted(1, 4));
+
+        execute("UPDATE projects SET capacity = 2 WHERE project_id = 1");
+        assertEquals(List.of(4), waitlistService.promote(1));
+        // Student 3's interested registration on project 2 is deleted by the promotion
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE registration_id = 3"));
+        assertEquals(2, count("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2"));
+    }
+
+    /**
+     * Tests that a waitlisted registration whose student is assigned elsewhere by an allocation run is taken off the
+     * waitlist when it reaches the head, and goes back to interested rather than staying waitlisted.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void waitlistTestAllocatedElsewhere() throws SQLException {
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        assertEquals(AssignmentResultEnum.ASSIGNED, projectRegistrationsDAO.assignRegistration(3));
+        assertEquals(1, waitlistService.join(2).getWaitlistPosition());
+
+        projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{1});
+        assertEquals(List.of(), waitlistService.unassign(3));
+        assertEquals(1, count("SELECT registration_state FROM project_registrations WHERE registration_id = 2"));
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations " +
+                "WHERE registration_id = 2 AND waitlist_position IS NOT NULL"));
+        assertTrue(waitlistService.getWaitlist(2).isEmpty());
+        assertEquals(2, count("SELECT registration_state FROM project_registrations WHERE registration_id = 1"));
+        // The freed place stays free for the next promotion or allocation
+        assertEquals(0, count("SELECT COUNT(*) FROM project_registrations WHERE project_id = 2 " +
+                "AND registration_state = 2"));
+    }
+
+    /**
+     * Tests that a waitlisted registration cannot be assigned by hand, alone or in a batch, which would skip the
+     * queue and the project's capacity, and that it stays on the waitlist.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void waitlistTestManualAssignRejected() throws SQLException {
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        assertEquals(AssignmentResultEnum.ASSIGNED, projectRegistrationsDAO.assignRegistration(3));
+        waitlistService.join(2);
+
+        assertEquals(AssignmentResultEnum.WAITLISTED, projectRegistrationsDAO.assignRegistration(2));
+        assertArrayEquals(new AssignmentResultEnum[]{AssignmentResultEnum.WAITLISTED},
+                projectRegistrationsDAO.assignRegistrations(new int[]{2}));
+        assertEquals(3, count("SELECT registration_state FROM project_registrations WHERE registration_id = 2"));
+        assertEquals(1, count("SELECT COUNT(*) FROM project_registrations WHERE project_id = 2 " +
+                "AND registration_state = 2"));
+        assertEquals(List.of(2), waitlistService.getWaitlist(2).stream()
+                .map(Registration::getRegistrationId).toList());
+    }
+
+    /**
+     * Tests that the other waitlisted registrations of the students of the given registrations are found, keyed by
+     * the registration whose assignment would delete them.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void findOtherWaitlistedRegistrationsTest() throws SQLException {
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        assertEquals(AssignmentResultEnum.ASSIGNED, projectRegistrationsDAO.assignRegistration(3));
+        waitlistService.join(2);
+
+        Map<Integer, List<Registration>> waitlisted =
+                projectRegistrationsDAO.findOtherWaitlistedRegistrations(new int[]{1, 2, 3});
+        assertEquals(Set.of(1), waitlisted.keySet());
+        assertEquals(2, waitlisted.get(1).get(0).getRegistrationId());
+        assertEquals(2, waitlisted.get(1).get(0).getProjectId());
+    }
+
+    /**
+     * Runs an update statement on the test database.
+     *
+     * @param sql The statement to run
+     * @throws SQLException if a database access error occurs
+     */
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Runs a query returning one integer on the test database.
+     *
+     * @param sql The query to run
+     * @return The integer in the first column of the first row
+     * @throws SQLException if a database access error occurs
+     */
+    private int count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+}
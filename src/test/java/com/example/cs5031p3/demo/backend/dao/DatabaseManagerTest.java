@@ -11,6 +11,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -56,7 +57,7 @@ class DatabaseManagerTest {
         try (Connection connection = databaseManager.getConnection();
              Statement stmt = connection.createStatement()) {
             ResultSet rs = stmt.executeQuery("SHOW TABLES;");
-            List<String> expectedTables = Arrays.asList("users", "projects", "project_registrations");
+            List<String> expectedTables = Arrays.asList("users", "projects", "project_registrations", "schema_version");
             List<String> actualTables = new ArrayList<>();
 
             while (rs.next()) {
@@ -93,6 +94,72 @@ class DatabaseManagerTest {
         }
     }
 
+    /**
+     * Tests whether every migration is applied and recorded in the schema_version table.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void testSchemaVersionIsLatest() throws SQLException {
+        assertEquals(DatabaseManager.getLatestSchemaVersion(), databaseManager.getSchemaVersion(),
+                "All migrations should be applied");
+    }
+
+    /**
+     * Tests whether running the migrations again leaves the schema and its recorded versions unchanged.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void testMigrationsAreIdempotent() throws SQLException {
+        databaseManager.createTable();
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM schema_version;");
+            assertTrue(rs.next());
+            assertEquals(DatabaseManager.getLatestSchemaVersion(), rs.getInt(1),
+                    "Each migration should be recorded exactly once");
+        }
+    }
+
+    /**
+     * Tests whether the secondary indexes are created by the migrations.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void testIndexesCreated() throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                    "WHERE TABLE_SCHEMA = 'PUBLIC';");
+            List<String> actualIndexes = new ArrayList<>();
+            while (rs.next()) {
+                actualIndexes.add(rs.getString(1).toLowerCase());
+            }
+            assertTrue(actualIndexes.containsAll(Arrays.asList(
+                            "idx_users_username",
+                            "idx_projects_staff_id",
+                            "idx_registrations_student_state",
+                            "idx_registrations_project_waitlist")),
+                    "All secondary indexes should exist: " + actualIndexes);
+        }
+    }
+
+    /**
+     * Tests whether a student can register for the same project only once.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void testDuplicateRegistrationRejected() throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement()) {
+            assertThrows(SQLIntegrityConstraintViolationException.class, () -> stmt.execute(
+                    "INSERT INTO project_registrations (project_id, student_id, registration_state) VALUES (1, 1, 1);"));
+        }
+    }
+
     /**
      * Tests the getConnection() method to ensure that it returns a valid connection.
      *
@@ -266,4 +266,57 @@ public class ProjectDAOTest {
         // Assert
         verify(preparedStatement, times(1)).executeUpdate();
     }
+
+    /**
+     * Tests the createProjects() method of ProjectDAO, including the write-back of generated IDs.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjects() throws SQLException {
+        // Arrange
+        List<Project> projects = new ArrayList<>();
+        projects.add(new Project(0, "Project 1", "Description 1", 2));
+        projects.add(new Project(0, "Project 2", "Description 2", 2));
+        when(preparedStatement.getGeneratedKeys()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(resultSet.getInt(1)).thenReturn(11).thenReturn(12);
+
+        // Act
+        projectDAO.createProjects(projects);
+
+        // Assert
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement, times(1)).executeBatch();
+        verify(connection).commit();
+        assertEquals(11, projects.get(0).getId());
+        assertEquals(12, projects.get(1).getId());
+    }
+
+    /**
+     * Tests the streamAllProjects() method of ProjectDAO.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void streamAllProjects() throws Exception {
+        // Arrange
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getInt("project_id")).thenReturn(1, 2);
+        when(resultSet.getString("title")).thenReturn("Project 1", "Project 2");
+        List<Project> streamed = new ArrayList<>();
+
+        // Act
+        projectDAO.streamAllProjects(streamed::add);
+
+        // Assert
+        verify(preparedStatement).setFetchSize(DatabaseManager.STREAM_FETCH_SIZE);
+        assertEquals(2, streamed.size());
+        assertEquals(1, streamed.get(0).getId());
+        assertEquals("Project 2", streamed.get(1).getTitle());
+        verify(resultSet).close();
+    }
 }
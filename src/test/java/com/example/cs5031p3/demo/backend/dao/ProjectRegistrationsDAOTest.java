@@ -1,6 +1,11 @@
 package com.example.cs5031p3.demo.backend.dao;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,8 +13,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,7 +48,9 @@ class ProjectRegistrationsDAOTest {
     @BeforeEach
     void setUp() throws SQLException {
         when(databaseManager.getConnection()).thenReturn(connection);
-        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        // Plain statements and statements returning generated keys are both used, so neither stub is required
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(connection.prepareStatement(anyString(), anyInt())).thenReturn(preparedStatement);
     }
 
     /**
@@ -75,11 +82,11 @@ class ProjectRegistrationsDAOTest {
         int studentId = 1;
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true).thenReturn(false); // Simulate one result
-        when(resultSet.getInt(anyString())).thenReturn(1);
-        when(resultSet.getString(anyString())).thenReturn("Sample Data");
+        when(resultSet.getInt(anyInt())).thenReturn(1);
+        when(resultSet.getString(anyInt())).thenReturn("Sample Data");
 
         // Act
-        List<Map<String, Object>> results = projectRegistrationsDAO.findByStudentId(studentId);
+        List<Registration> results = projectRegistrationsDAO.findByStudentId(studentId);
 
         // Assert
         assertFalse(results.isEmpty());
@@ -160,14 +167,15 @@ class ProjectRegistrationsDAOTest {
         int staffId = 1;
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true).thenReturn(false); // Simulate one result
-        when(resultSet.getInt(anyString())).thenReturn(1);
-        when(resultSet.getString(anyString())).thenReturn("Sample Data");
+        when(resultSet.getInt(anyInt())).thenReturn(1);
+        when(resultSet.getString(anyInt())).thenReturn("Sample Data");
 
         // Act
-        List<Map<String, Object>> results = projectRegistrationsDAO.findRegistrationStudentsByStaffId(staffId);
+        List<Registration> results = projectRegistrationsDAO.findRegistrationStudentsByStaffId(staffId);
 
         // Assert
         assertFalse(results.isEmpty());
+        assertEquals("Sample Data", results.get(0).getProjectTitle());
         verify(preparedStatement, times(1)).executeQuery();
     }
 
@@ -223,13 +231,16 @@ class ProjectRegistrationsDAOTest {
         int registrationId = 1;
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true);
-        when(resultSet.getInt(anyString())).thenReturn(1);
+        when(resultSet.getInt(anyInt())).thenReturn(1);
 
         // Act
-        Map<String, Object> registration = projectRegistrationsDAO.getRegistrationById(registrationId);
+        Registration registration = projectRegistrationsDAO.getRegistrationById(registrationId);
 
         // Assert
         assertNotNull(registration);
+        assertEquals(1, registration.getRegistrationId());
+        assertEquals(RegistrationStateEnum.WAIT, registration.getState());
+        assertNull(registration.getStudentName());
         verify(preparedStatement, times(1)).executeQuery();
     }
 
@@ -246,7 +257,7 @@ class ProjectRegistrationsDAOTest {
         when(resultSet.next()).thenReturn(false);
 
         // Act
-        Map<String, Object> registration = projectRegistrationsDAO.getRegistrationById(registrationId);
+        Registration registration = projectRegistrationsDAO.getRegistrationById(registrationId);
 
         // Assert
         assertNull(registration);
@@ -274,4 +285,355 @@ class ProjectRegistrationsDAOTest {
         assertFalse(isInterested);
         verify(preparedStatement, times(1)).executeQuery();
     }
+
+    /**
+     * Tests the assignRegistration() method of ProjectRegistrationsDAO when the assignment succeeds.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationTestAssigned() throws SQLException {
+        // Arrange
+        int registrationId = 1;
+        int studentId = 3;
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(resultSet.getInt(1)).thenReturn(studentId).thenReturn(registrationId);
+        when(resultSet.getInt(2)).thenReturn(RegistrationStateEnum.WAIT.getCode());
+
+        // Act
+        AssignmentResultEnum result = projectRegistrationsDAO.assignRegistration(registrationId);
+
+        // Assert
+        assertEquals(AssignmentResultEnum.ASSIGNED, result);
+        verify(connection, atLeastOnce()).setAutoCommit(false);
+        verify(preparedStatement, times(2)).executeUpdate();
+        verify(connection).commit();
+        verify(databaseManager, times(1)).getConnection();
+    }
+
+    /**
+     * Tests the assignRegistration() method of ProjectRegistrationsDAO when the registration does not exist.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationTestNotFound() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        // Act
+        AssignmentResultEnum result = projectRegistrationsDAO.assignRegistration(1);
+
+        // Assert
+        assertEquals(AssignmentResultEnum.NOT_FOUND, result);
+        verify(preparedStatement, never()).executeUpdate();
+    }
+
+    /**
+     * Tests the assignRegistration() method of ProjectRegistrationsDAO when the student already holds an assignment.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationTestStudentAlreadyAssigned() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(3).thenReturn(5); // Student 3 already holds registration 5
+        when(resultSet.getInt(2)).thenReturn(RegistrationStateEnum.SUCCESS.getCode());
+
+        // Act
+        AssignmentResultEnum result = projectRegistrationsDAO.assignRegistration(1);
+
+        // Assert
+        assertEquals(AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED, result);
+        verify(preparedStatement, never()).executeUpdate();
+    }
+
+    /**
+     * Tests that the assignRegistration() method of ProjectRegistrationsDAO rolls back when an update fails.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationTestRollback() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true).thenReturn(false);
+        when(resultSet.getInt(1)).thenReturn(3);
+        when(resultSet.getInt(2)).thenReturn(RegistrationStateEnum.WAIT.getCode());
+        when(preparedStatement.executeUpdate()).thenThrow(new SQLException("Mocked SQLException"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> projectRegistrationsDAO.assignRegistration(1));
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    /**
+     * Tests that the assignRegistrations() method of ProjectRegistrationsDAO rolls back when a batch fails.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignRegistrationsTestRollback() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false, false);
+        when(resultSet.getInt(1)).thenReturn(1);
+        when(resultSet.getInt(2)).thenReturn(3);
+        when(resultSet.getInt(3)).thenReturn(RegistrationStateEnum.WAIT.getCode());
+        when(preparedStatement.executeBatch()).thenThrow(new SQLException("Mocked SQLException"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> projectRegistrationsDAO.assignRegistrations(new int[]{1}));
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    /**
+     * Tests that the releaseAssignedRegistrations() method of ProjectRegistrationsDAO deletes the project in the
+     * transaction that deletes its registrations, and rolls both back when the project cannot be deleted.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void releaseAssignedRegistrationsTestDeleteRollback() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(3);
+        when(preparedStatement.executeUpdate()).thenReturn(1).thenThrow(new SQLException("Mocked SQLException"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> projectRegistrationsDAO.releaseAssignedRegistrations(1, true));
+        verify(connection).prepareStatement("DELETE FROM projects WHERE project_id = ?");
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    /**
+     * Tests the createProjectRegistration() method of ProjectRegistrationsDAO when the row is inserted.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestCreated() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+
+        // Act
+        RegistrationResultEnum result = projectRegistrationsDAO.createProjectRegistration(1, 3);
+
+        // Assert
+        assertEquals(RegistrationResultEnum.CREATED, result);
+        verify(preparedStatement, times(1)).executeUpdate();
+        verify(preparedStatement, never()).executeQuery();
+    }
+
+    /**
+     * Tests the createProjectRegistration() method of ProjectRegistrationsDAO when the student already registered.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestDuplicate() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeUpdate()).thenReturn(0);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(0); // Simulate the student holds no assignment
+
+        // Act
+        RegistrationResultEnum result = projectRegistrationsDAO.createProjectRegistration(1, 3);
+
+        // Assert
+        assertEquals(RegistrationResultEnum.DUPLICATE, result);
+    }
+
+    /**
+     * Tests the createProjectRegistration() method of ProjectRegistrationsDAO when the student is already assigned.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestAlreadyAssigned() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeUpdate()).thenReturn(0);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(1); // Simulate the student holds an assignment
+
+        // Act
+        RegistrationResultEnum result = projectRegistrationsDAO.createProjectRegistration(1, 3);
+
+        // Assert
+        assertEquals(RegistrationResultEnum.ALREADY_ASSIGNED, result);
+    }
+
+    /**
+     * Tests the createProjectRegistration() method of ProjectRegistrationsDAO when a concurrent insert
+     * violates the unique constraint.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestConstraintViolation() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("duplicate", "23505"));
+
+        // Act
+        RegistrationResultEnum result = projectRegistrationsDAO.createProjectRegistration(1, 3);
+
+        // Assert
+        assertEquals(RegistrationResultEnum.DUPLICATE, result);
+    }
+
+    /**
+     * Tests the createProjectRegistration() method of ProjectRegistrationsDAO when the insert violates a
+     * foreign key rather than the unique constraint.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationTestForeignKeyViolation() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLIntegrityConstraintViolationException("missing parent", "23506"));
+
+        // Act & Assert
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+                () -> projectRegistrationsDAO.createProjectRegistration(99, 3));
+    }
+
+    /**
+     * Tests the insertProjectRegistrations() method of ProjectRegistrationsDAO.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void insertProjectRegistrationsTest() throws SQLException {
+        // Arrange
+        when(preparedStatement.getGeneratedKeys()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(resultSet.getInt(1)).thenReturn(21).thenReturn(22);
+
+        // Act
+        int[] registrationIds = projectRegistrationsDAO.insertProjectRegistrations(new int[]{1, 2}, new int[]{3, 3});
+
+        // Assert
+        assertArrayEquals(new int[]{21, 22}, registrationIds);
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement, times(1)).executeBatch();
+        verify(connection).commit();
+    }
+
+    /**
+     * Tests the streamRegistrationStudentsByStaffId() method of ProjectRegistrationsDAO.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void streamRegistrationStudentsByStaffIdTest() throws Exception {
+        // Arrange
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getInt(anyInt())).thenReturn(1);
+        when(resultSet.getString(anyInt())).thenReturn("Sample Data");
+        List<Registration> streamed = new ArrayList<>();
+
+        // Act
+        projectRegistrationsDAO.streamRegistrationStudentsByStaffId(1, streamed::add);
+
+        // Assert
+        verify(preparedStatement).setInt(1, 1);
+        verify(preparedStatement).setFetchSize(DatabaseManager.STREAM_FETCH_SIZE);
+        assertEquals(2, streamed.size());
+        assertEquals("Sample Data", streamed.get(0).getStudentName());
+    }
+
+    /**
+     * Tests the updatePreferenceRanks() method of ProjectRegistrationsDAO.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void updatePreferenceRanksTest() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        // Act
+        boolean updated = projectRegistrationsDAO.updatePreferenceRanks(3, new int[]{2, 1});
+
+        // Assert
+        assertTrue(updated);
+        verify(preparedStatement).setInt(1, 2);
+        verify(preparedStatement, times(2)).addBatch();
+        verify(connection).commit();
+    }
+
+    /**
+     * Tests that updatePreferenceRanks() rolls back when a ranked project has no registration of the student.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void updatePreferenceRanksTestUnregistered() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 0});
+
+        // Act
+        boolean updated = projectRegistrationsDAO.updatePreferenceRanks(3, new int[]{2, 4});
+
+        // Assert
+        assertFalse(updated);
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    /**
+     * Tests that assignAllocatedRegistrations() rolls back when a registration changed since it was loaded.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void assignAllocatedRegistrationsTestChanged() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 0});
+
+        // Act
+        SQLException e = assertThrows(SQLException.class,
+                () -> projectRegistrationsDAO.assignAllocatedRegistrations(new int[]{5, 6}));
+
+        // Assert
+        assertEquals("The registrations changed while the allocation was running", e.getMessage());
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    /**
+     * Tests that moveAllocatedRegistrations() rolls back the releases when an assignment fails.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void moveAllocatedRegistrationsTestChanged() throws SQLException {
+        // Arrange
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1}, new int[]{0});
+
+        // Act
+        SQLException e = assertThrows(SQLException.class,
+                () -> projectRegistrationsDAO.moveAllocatedRegistrations(new int[]{5}, new int[]{6}));
+
+        // Assert
+        assertEquals("The registrations changed while the allocation was running", e.getMessage());
+        verify(preparedStatement, times(2)).executeBatch();
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
 }
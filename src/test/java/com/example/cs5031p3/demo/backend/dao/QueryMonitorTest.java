@@ -0,0 +1,166 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import com.example.cs5031p3.demo.backend.enums.DatabaseEventTypeEnum;
+import com.example.cs5031p3.demo.backend.model.DatabaseEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The QueryMonitorTest class runs DAO calls through connections watched by a QueryMonitor, against the sample data
+ * of a freshly migrated H2 database.
+ */
+class QueryMonitorTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Tests that a statement over the threshold is flagged with its SQL, bind shape and sampled plan.
+     */
+    @Test
+    void flagSlowQuery() throws SQLException {
+        QueryMonitor queryMonitor = new QueryMonitor(true, 0, 0, 1, 16);
+        UserDAO userDAO = new UserDAO(new DatabaseManager(dataSource, queryMonitor));
+
+        assertEquals(2, userDAO.getUserTypeId(2));
+
+        List<DatabaseEvent> events = queryMonitor.getEvents(10);
+        assertEquals(1, events.size());
+        DatabaseEvent event = events.get(0);
+        assertEquals(DatabaseEventTypeEnum.SLOW_QUERY, event.getType());
+        assertTrue(event.getSql().contains("FROM users"));
+        assertEquals("(Int)", event.getBindShape());
+        assertNotNull(event.getPlan());
+        assertTrue(event.getPlan().toUpperCase().contains("USERS"), event.getPlan());
+        assertNull(event.getStackTrace());
+    }
+
+    /**
+     * Tests that the bind shape of a batch gives the array lengths and the number of rows, not the values.
+     */
+    @Test
+    void describeBatchAndArrayBinds() throws SQLException {
+        QueryMonitor queryMonitor = new QueryMonitor(true, 0, 0, 0, 16);
+        ProjectRegistrationsDAO dao = new ProjectRegistrationsDAO(new DatabaseManager(dataSource, queryMonitor));
+
+        dao.insertProjectRegistrations(new int[]{3, 4}, new int[]{1, 3}, new int[]{3, 1});
+        dao.findPreferencesByStudentIds(new int[]{1, 3});
+
+        List<DatabaseEvent> events = queryMonitor.getEvents(10);
+        assertEquals(2, events.size());
+        assertEquals("(Integer[2], Int, Int)", events.get(0).getBindShape());
+        assertNull(events.get(0).getPlan(), "Plans are not sampled at a rate of 0");
+        assertEquals("(Int, Int, Int, Int) x 2", events.get(1).getBindShape());
+    }
+
+    /**
+     * Tests that statements under the threshold are not flagged.
+     */
+    @Test
+    void ignoreFastQueries() throws SQLException {
+        QueryMonitor queryMonitor = new QueryMonitor(true, 60_000, 0, 1, 16);
+        new ProjectDAO(new DatabaseManager(dataSource, queryMonitor)).getAllProjects();
+        assertTrue(queryMonitor.getEvents(10).isEmpty());
+    }
+
+    /**
+     * Tests that a connection closed after the leak threshold is flagged with the stack trace that acquired it.
+     */
+    @Test
+    void flagLongHeldConnection() throws Exception {
+        QueryMonitor queryMonitor = new QueryMonitor(true, -1, 5, 0, 16);
+        DatabaseManager databaseManager = new DatabaseManager(dataSource, queryMonitor);
+
+        try (Connection connection = databaseManager.getConnection()) {
+            Thread.sleep(20);
+            try (PreparedStatement pstmt = connection.prepareStatement("SELECT 1")) {
+                pstmt.executeQuery().close();
+            }
+        }
+        try (Connection connection = databaseManager.getConnection()) {
+            assertFalse(connection.isClosed());
+        }
+
+        List<DatabaseEvent> events = queryMonitor.getEvents(10);
+        assertEquals(1, events.size());
+        DatabaseEvent event = events.get(0);
+        assertEquals(DatabaseEventTypeEnum.LONG_HELD_CONNECTION, event.getType());
+        assertTrue(event.getMillis() >= 5);
+        assertNull(event.getSql());
+        assertTrue(event.getStackTrace().stream().anyMatch(frame -> frame.contains("flagLongHeldConnection")),
+                String.valueOf(event.getStackTrace()));
+    }
+
+    /**
+     * Tests that a connection which is never closed is flagged once, when the events are read.
+     */
+    @Test
+    void flagOpenConnection() throws Exception {
+        QueryMonitor queryMonitor = new QueryMonitor(true, -1, 5, 0, 16);
+        Connection connection = new DatabaseManager(dataSource, queryMonitor).getConnection();
+        try {
+            Thread.sleep(20);
+            assertEquals(1, queryMonitor.getEvents(10).size());
+            assertEquals(1, queryMonitor.getEvents(10).size());
+        } finally {
+            connection.close();
+        }
+        assertEquals(1, queryMonitor.getEvents(10).size());
+    }
+
+    /**
+     * Tests that the ring buffer keeps the newest events only, and that it can be cleared.
+     */
+    @Test
+    void keepNewestEvents() throws SQLException {
+        QueryMonitor queryMonitor = new QueryMonitor(true, 0, 0, 0, 2);
+        UserDAO userDAO = new UserDAO(new DatabaseManager(dataSource, queryMonitor));
+        userDAO.getUserTypeId(1);
+        userDAO.getUserByUsername("20240001");
+        userDAO.getUserTypeId(3);
+
+        List<DatabaseEvent> events = queryMonitor.getEvents(10);
+        assertEquals(2, events.size());
+        assertTrue(events.get(0).getSql().contains("type_id"));
+        assertTrue(events.get(1).getSql().contains("username"));
+        assertEquals(1, queryMonitor.getEvents(1).size());
+
+        queryMonitor.clear();
+        assertTrue(queryMonitor.getEvents(10).isEmpty());
+    }
+
+    /**
+     * Tests that a disabled monitor hands out the connections of the data source unchanged.
+     */
+    @Test
+    void disabled() throws SQLException {
+        QueryMonitor queryMonitor = new QueryMonitor(false, 0, 1, 1, 16);
+        try (Connection raw = dataSource.getConnection()) {
+            assertSame(raw, queryMonitor.track(raw));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new QueryMonitor(true, 0, 0, 0, 0));
+    }
+}
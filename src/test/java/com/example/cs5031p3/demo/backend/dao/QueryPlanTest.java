@@ -0,0 +1,187 @@
+package com.example.cs5031p3.demo.backend.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The QueryPlanTest class checks, with H2's EXPLAIN, that the lookup queries issued by the DAOs
+ * are answered from an index rather than a full table scan.
+ */
+class QueryPlanTest {
+
+    private EmbeddedDatabase dataSource;
+    private DatabaseManager databaseManager;
+    private final List<String> capturedSql = new ArrayList<>();
+
+    /**
+     * Sets up a freshly migrated database and a DatabaseManager that records the SQL prepared by the DAOs.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databaseManager = spy(new DatabaseManager(dataSource));
+        doAnswer(invocation -> recordingConnection(dataSource.getConnection()))
+                .when(databaseManager).getConnection();
+    }
+
+    /**
+     * Shuts down the embedded database after each test method.
+     */
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Tests that UserDAO.getUserByUsername() looks users up through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void getUserByUsernameUsesIndex() throws SQLException {
+        new UserDAO(databaseManager).getUserByUsername("20240001");
+        assertIndexed(lastSql(), "USERS", "20240001");
+    }
+
+    /**
+     * Tests that ProjectDAO.findProjectsByStaffId() looks projects up through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void findProjectsByStaffIdUsesIndex() throws SQLException {
+        new ProjectDAO(databaseManager).findProjectsByStaffId(2);
+        assertIndexed(lastSql(), "PROJECTS", 2);
+    }
+
+    /**
+     * Tests that ProjectRegistrationsDAO.findByStudentId() looks registrations up through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void findByStudentIdUsesIndex() throws SQLException {
+        new ProjectRegistrationsDAO(databaseManager).findByStudentId(1);
+        assertIndexed(lastSql(), "PROJECT_REGISTRATIONS", 1);
+    }
+
+    /**
+     * Tests that ProjectRegistrationsDAO.isStudentAssignedToProject() looks registrations up through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void isStudentAssignedToProjectUsesIndex() throws SQLException {
+        new ProjectRegistrationsDAO(databaseManager).isStudentAssignedToProject(1);
+        assertIndexed(lastSql(), "PROJECT_REGISTRATIONS", 1);
+    }
+
+    /**
+     * Tests that ProjectRegistrationsDAO.isStudentInterestedInProject() looks registrations up through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void isStudentInterestedInProjectUsesIndex() throws SQLException {
+        new ProjectRegistrationsDAO(databaseManager).isStudentInterestedInProject(1, 1);
+        assertIndexed(lastSql(), "PROJECT_REGISTRATIONS", 1, 1);
+    }
+
+    /**
+     * Tests that the existence checks of ProjectRegistrationsDAO.createProjectRegistration() use an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void createProjectRegistrationUsesIndex() throws SQLException {
+        new ProjectRegistrationsDAO(databaseManager).createProjectRegistration(3, 3);
+        assertIndexed(capturedSql.get(0), "PROJECT_REGISTRATIONS", 3, 3, 1, 3, 2, 3, 3);
+    }
+
+    /**
+     * Tests that ProjectRegistrationsDAO.findRegistrationStudentsByStaffId() joins every table through an index.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Test
+    void findRegistrationStudentsByStaffIdUsesIndex() throws SQLException {
+        new ProjectRegistrationsDAO(databaseManager).findRegistrationStudentsByStaffId(2);
+        String sql = lastSql();
+        assertIndexed(sql, "PROJECTS", 2);
+        assertIndexed(sql, "PROJECT_REGISTRATIONS", 2);
+    }
+
+    /**
+     * Returns the last SQL statement prepared by a DAO.
+     *
+     * @return The SQL text
+     */
+    private String lastSql() {
+        assertFalse(capturedSql.isEmpty(), "The DAO should have prepared a statement");
+        return capturedSql.get(capturedSql.size() - 1);
+    }
+
+    /**
+     * Asserts that the EXPLAIN plan of the given query does not scan the given table.
+     *
+     * @param sql The query to explain
+     * @param table The upper-case table name that must be read through an index
+     * @param parameters The values bound to the query parameters
+     * @throws SQLException if a database access error occurs
+     */
+    private void assertIndexed(String sql, String table, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                String plan = rs.getString(1);
+                assertFalse(plan.contains("PUBLIC." + table + ".tableScan"),
+                        table + " should be read through an index:\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * Wraps a connection so that the SQL of every prepared statement is recorded.
+     *
+     * @param connection The connection to wrap
+     * @return The recording connection
+     */
+    private Connection recordingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        capturedSql.add((String) args[0]);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
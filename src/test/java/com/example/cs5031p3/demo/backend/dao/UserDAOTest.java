@@ -16,8 +16,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The UserDAOTest class contains unit tests for the UserDAO class.
@@ -497,4 +499,179 @@ public class UserDAOTest {
         // Assert
         assertEquals(-1, result, "The result should be -1 when the user is not found.");
     }
+
+    /**
+     * Tests the createUsers() method of UserDAO, including the write-back of generated IDs.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void createUsersTest() throws Exception {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        users.add(new User(null, "Harry Potter", "harry", "wicked", 1));
+        users.add(new User(null, "Ron Weasley", "ron", "wicked", 1));
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString(), anyInt())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt(1)).thenReturn(7).thenReturn(8);
+
+        // Act
+        userDAO.createUsers(users);
+
+        // Assert
+        verify(mockPreparedStatement, times(2)).addBatch();
+        verify(mockPreparedStatement, times(1)).executeBatch();
+        verify(mockConnection).commit();
+        assertEquals(7, users.get(0).getId());
+        assertEquals(8, users.get(1).getId());
+    }
+
+    /**
+     * Tests that the createUsers() method of UserDAO rolls back when the batch fails.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void createUsersRollbackTest() throws Exception {
+        // Arrange
+        List<User> users = List.of(new User(null, "Harry Potter", "harry", "wicked", 1));
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString(), anyInt())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeBatch()).thenThrow(new SQLException("Mocked SQLException"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, () -> userDAO.createUsers(users));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    /**
+     * Tests the findExistingUsernames() method of UserDAO.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void findExistingUsernamesTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getString("username")).thenReturn("harry");
+
+        // Act
+        Set<String> existing = userDAO.findExistingUsernames(List.of("harry", "ron"));
+
+        // Assert
+        assertEquals(Set.of("harry"), existing);
+        verify(mockPreparedStatement, times(1)).executeQuery();
+    }
+
+    /**
+     * Tests the getUsersAfter() method of UserDAO.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void getUsersAfterTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getInt("user_id")).thenReturn(4);
+        when(mockResultSet.getString("name")).thenReturn("Student 4");
+        when(mockResultSet.getString("username")).thenReturn("20240004");
+        when(mockResultSet.getString("password")).thenReturn("password");
+
+        // Act
+        List<User> result = userDAO.getUsersAfter(3, 2);
+
+        // Assert
+        verify(mockPreparedStatement).setInt(1, 3);
+        verify(mockPreparedStatement).setInt(2, 2);
+        assertEquals(1, result.size());
+        assertEquals(4, result.get(0).getId());
+        assertEquals("20240004", result.get(0).getUsername());
+    }
+
+    /**
+     * Tests the getUserTypeId() method of UserDAO when the user exists.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void getUserTypeIdTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getInt(1)).thenReturn(2);
+
+        // Act
+        Integer typeId = userDAO.getUserTypeId(7);
+
+        // Assert
+        verify(mockPreparedStatement).setInt(1, 7);
+        assertEquals(2, typeId);
+    }
+
+    /**
+     * Tests the getUserTypeId() method of UserDAO when the user does not exist.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void getUserTypeIdNotFoundTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(false);
+
+        // Act & Assert
+        assertNull(userDAO.getUserTypeId(7));
+    }
+
+    /**
+     * Tests the updateMaxLoad() method of UserDAO with a limit.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void updateMaxLoadTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+
+        // Act
+        userDAO.updateMaxLoad(2, 5);
+
+        // Assert
+        verify(mockPreparedStatement).setInt(1, 5);
+        verify(mockPreparedStatement).setInt(2, 2);
+        verify(mockPreparedStatement).executeUpdate();
+    }
+
+    /**
+     * Tests the updateMaxLoad() method of UserDAO removing the limit.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    public void updateMaxLoadNullTest() throws Exception {
+        // Arrange
+        when(databaseManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+
+        // Act
+        userDAO.updateMaxLoad(2, null);
+
+        // Assert
+        verify(mockPreparedStatement).setNull(1, Types.INTEGER);
+        verify(mockPreparedStatement).setInt(2, 2);
+    }
 }
@@ -19,6 +19,19 @@ public class ResgistrationStateEnumTest {
 
         Assertions.assertEquals(2, RegistrationStateEnum.SUCCESS.getCode());
         Assertions.assertEquals("Assigned", RegistrationStateEnum.SUCCESS.getDescription());
+
+        Assertions.assertEquals(3, RegistrationStateEnum.WAITLISTED.getCode());
+        Assertions.assertEquals("Waitlisted", RegistrationStateEnum.WAITLISTED.getDescription());
     }
 
+    /**
+     * Test case to verify looking a state up by its code.
+     */
+    @Test
+    public void testFromCode() {
+        Assertions.assertEquals(RegistrationStateEnum.WAIT, RegistrationStateEnum.fromCode(1));
+        Assertions.assertEquals(RegistrationStateEnum.SUCCESS, RegistrationStateEnum.fromCode(2));
+        Assertions.assertEquals(RegistrationStateEnum.WAITLISTED, RegistrationStateEnum.fromCode(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RegistrationStateEnum.fromCode(0));
+    }
 }
@@ -0,0 +1,83 @@
+package com.example.cs5031p3.demo.backend.modelTest;
+
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Registration class.
+ */
+class RegistrationTest {
+    Registration registration1;
+    Registration registration2;
+    Registration differentRegistration;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Sets up the test environment by initializing registration objects.
+     */
+    @BeforeEach
+    void setUp() {
+        registration1 = new Registration(1, 2, 3, RegistrationStateEnum.WAIT);
+        registration1.setStudentName("Student John Doe");
+        registration1.setProjectTitle("Project 2");
+        registration1.setStaffName("Staff Jane Doe");
+        registration2 = new Registration(1, 2, 3, RegistrationStateEnum.SUCCESS);
+        differentRegistration = new Registration(4, 2, 3, RegistrationStateEnum.WAIT);
+    }
+
+    /**
+     * Test case to verify equality and hash code of registrations with the same IDs.
+     */
+    @Test
+    void testEqualsAndHashCode() {
+        assertEquals(registration1, registration2, "Registrations with the same IDs should be equal");
+        assertEquals(registration1.hashCode(), registration2.hashCode());
+        assertNotEquals(registration1, differentRegistration);
+        assertFalse(registration1.equals(null));
+        assertFalse(registration1.equals(new Object()));
+    }
+
+    /**
+     * Test case to verify that the registration state is exposed as its code.
+     */
+    @Test
+    void testRegistrationStateCode() {
+        assertEquals(RegistrationStateEnum.WAIT.getCode(), registration1.getRegistrationState());
+        registration1.setRegistrationState(RegistrationStateEnum.SUCCESS.getCode());
+        assertEquals(RegistrationStateEnum.SUCCESS, registration1.getState());
+        assertThrows(IllegalArgumentException.class, () -> registration1.setRegistrationState(99));
+    }
+
+    /**
+     * Test case to verify that the JSON keeps the keys and values of the former map rows.
+     *
+     * @throws Exception if the registration cannot be serialized
+     */
+    @Test
+    void testJsonWireFormat() throws Exception {
+        JSONAssert.assertEquals("{\"registrationId\":1,\"projectId\":2,\"studentId\":3,\"registrationState\":1," +
+                        "\"studentName\":\"Student John Doe\",\"projectTitle\":\"Project 2\",\"staffName\":\"Staff Jane Doe\"}",
+                objectMapper.writeValueAsString(registration1), true);
+        JSONAssert.assertEquals("{\"registrationId\":1,\"projectId\":2,\"studentId\":3,\"registrationState\":2}",
+                objectMapper.writeValueAsString(registration2), true);
+    }
+
+    /**
+     * Test case to verify that a registration can be read back from its JSON.
+     *
+     * @throws Exception if the registration cannot be serialized or deserialized
+     */
+    @Test
+    void testJsonRoundTrip() throws Exception {
+        Registration read = objectMapper.readValue(objectMapper.writeValueAsString(registration1), Registration.class);
+        assertEquals(registration1, read);
+        assertEquals(RegistrationStateEnum.WAIT, read.getState());
+        assertEquals("Project 2", read.getProjectTitle());
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dto.AllocationJobDTO;
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.service.AllocationJobScheduler;
+import com.example.cs5031p3.demo.backend.service.AllocationProgress;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the AllocationJobScheduler class.
+ */
+class AllocationJobSchedulerTest {
+    AllocationJobScheduler scheduler;
+
+    @Mock
+    AllocationService allocationService;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new AllocationJobScheduler(allocationService, 1, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    /**
+     * Makes allocation runs enter the LOADING phase, then block until released and enter SOLVING and WRITING.
+     *
+     * @throws SQLException never, declared by the mocked method
+     */
+    private void blockRuns() throws SQLException {
+        when(allocationService.runAllocation(any(), anyLong(), any())).thenAnswer(invocation -> {
+            AllocationProgress progress = invocation.getArgument(2);
+            progress.enter(AllocationJobPhaseEnum.LOADING);
+            entered.countDown();
+            release.await();
+            progress.enter(AllocationJobPhaseEnum.SOLVING);
+            progress.enter(AllocationJobPhaseEnum.WRITING);
+            return new AllocationResultDTO(2, 1, 0, 0, 0);
+        });
+    }
+
+    /**
+     * Polls a job until it has finished.
+     *
+     * @param id The ID of the job
+     * @return The final state of the job
+     * @throws InterruptedException if the test is interrupted
+     */
+    private AllocationJobDTO awaitFinished(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AllocationJobDTO job = scheduler.getJob(id);
+        while (!job.getPhase().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = scheduler.getJob(id);
+        }
+        return job;
+    }
+
+    /**
+     * Test case for a job that runs to completion.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void submitCompletes() throws Exception {
+        blockRuns();
+        AllocationJobDTO submitted = scheduler.submit(AllocationModeEnum.OPTIMAL);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        AllocationJobDTO running = scheduler.getJob(submitted.getId());
+        assertEquals(AllocationJobPhaseEnum.LOADING, running.getPhase());
+        assertTrue(running.getPercent() > 0 && running.getPercent() < 100);
+
+        release.countDown();
+        AllocationJobDTO finished = awaitFinished(submitted.getId());
+        assertEquals(AllocationJobPhaseEnum.COMPLETED, finished.getPhase());
+        assertEquals(100, finished.getPercent());
+        assertEquals(1, finished.getResult().getAssigned());
+        verify(allocationService).runAllocation(eq(AllocationModeEnum.OPTIMAL), eq(0L), any());
+    }
+
+    /**
+     * Test case for cancelling a running job, which stops before its next phase.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void cancelRunning() throws Exception {
+        blockRuns();
+        long id = scheduler.submit(AllocationModeEnum.STABLE).getId();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(AllocationJobPhaseEnum.LOADING, scheduler.cancel(id).getPhase());
+        release.countDown();
+
+        AllocationJobDTO finished = awaitFinished(id);
+        assertEquals(AllocationJobPhaseEnum.CANCELLED, finished.getPhase());
+        assertNull(finished.getResult());
+    }
+
+    /**
+     * Test case for cancelling a job during its local-search pass, which stops at the next checkpoint instead of
+     * running out its budget.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void cancelDuringLocalSearch() throws Exception {
+        when(allocationService.runAllocation(any(), anyLong(), any())).thenAnswer(invocation -> {
+            AllocationProgress progress = invocation.getArgument(2);
+            progress.enter(AllocationJobPhaseEnum.LOADING);
+            progress.enter(AllocationJobPhaseEnum.SOLVING);
+            entered.countDown();
+            // Stands in for the search loop, which calls the checkpoint until its budget runs out
+            while (true) {
+                progress.checkpoint();
+                Thread.sleep(1);
+            }
+        });
+        AllocationJobDTO submitted = scheduler.submit(AllocationModeEnum.STABLE, 10_000);
+        assertEquals(10_000, submitted.getImproveMillis());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(AllocationJobPhaseEnum.SOLVING, scheduler.cancel(submitted.getId()).getPhase());
+        assertEquals(AllocationJobPhaseEnum.CANCELLED, awaitFinished(submitted.getId()).getPhase());
+        verify(allocationService).runAllocation(eq(AllocationModeEnum.STABLE), eq(10_000L), any());
+    }
+
+    /**
+     * Test case for cancelling a queued job, which never runs, and for a full queue.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void cancelQueued() throws Exception {
+        blockRuns();
+        scheduler.submit(AllocationModeEnum.STABLE);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        long queued = scheduler.submit(AllocationModeEnum.STABLE).getId();
+        assertThrows(RejectedExecutionException.class, () -> scheduler.submit(AllocationModeEnum.STABLE));
+
+        AllocationJobDTO cancelled = scheduler.cancel(queued);
+        assertEquals(AllocationJobPhaseEnum.CANCELLED, cancelled.getPhase());
+        assertEquals(0, cancelled.getRunMillis());
+        release.countDown();
+        verify(allocationService, timeout(5000).times(1)).runAllocation(any(), anyLong(), any());
+    }
+
+    /**
+     * Test case for a job whose run fails.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void submitFails() throws Exception {
+        when(allocationService.runAllocation(any(), anyLong(), any())).thenThrow(new SQLException("Database error"));
+
+        AllocationJobDTO finished = awaitFinished(scheduler.submit(AllocationModeEnum.STABLE).getId());
+
+        assertEquals(AllocationJobPhaseEnum.FAILED, finished.getPhase());
+        assertEquals("Database error", finished.getError());
+    }
+
+    /**
+     * Test case for finished jobs being dropped after the retention.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void finishedJobsExpire() throws Exception {
+        AllocationJobScheduler shortLived = new AllocationJobScheduler(allocationService, 1, 0);
+        try {
+            when(allocationService.runAllocation(any(), anyLong(), any()))
+                    .thenReturn(new AllocationResultDTO(0, 0, 0, 0, 0));
+            long id = shortLived.submit(AllocationModeEnum.STABLE).getId();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (shortLived.getJob(id) != null && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertNull(shortLived.getJob(id));
+            assertNull(shortLived.cancel(id));
+        } finally {
+            shortLived.shutdown();
+        }
+    }
+}
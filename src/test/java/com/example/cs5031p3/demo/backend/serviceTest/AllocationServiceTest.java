@@ -0,0 +1,203 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dto.AllocationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.RepairResultDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationJobPhaseEnum;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.ProjectVacancy;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the AllocationService class.
+ */
+class AllocationServiceTest {
+    AllocationService allocationService;
+
+    @Mock
+    ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        allocationService = new AllocationService(projectRegistrationsDAO);
+    }
+
+    /**
+     * Test case for an allocation run that assigns some of the students.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocation() throws Exception {
+        // Students 1 and 3 both rank project 10 first; student 1 registered for it earlier (registration 11)
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 3}, new int[]{10, 20}, new int[]{1, 0},
+                new int[]{0, 1, 3}, new int[]{0, 0, 1}, new int[]{11, 12, 13});
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+
+        AllocationResultDTO result = allocationService.runAllocation(AllocationModeEnum.STABLE);
+
+        assertEquals(AllocationModeEnum.STABLE, result.getMode());
+        assertEquals(2, result.getStudents());
+        assertEquals(1, result.getAssigned());
+        assertEquals(1, result.getUnassigned());
+        assertEquals(0, result.getRankSum());
+        verify(projectRegistrationsDAO).assignAllocatedRegistrations(new int[]{11});
+    }
+
+    /**
+     * Test case for an allocation run that reports its phases and is cancelled before writing back.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocationCancelled() throws Exception {
+        AllocationProblem problem = new AllocationProblem(new int[]{1}, new int[]{10}, new int[]{1},
+                new int[]{0, 1}, new int[]{0}, new int[]{11});
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+        List<AllocationJobPhaseEnum> phases = new ArrayList<>();
+
+        assertThrows(CancellationException.class, () -> allocationService.runAllocation(AllocationModeEnum.STABLE,
+                phase -> {
+                    phases.add(phase);
+                    if (phase == AllocationJobPhaseEnum.WRITING) {
+                        throw new CancellationException();
+                    }
+                }));
+
+        assertEquals(List.of(AllocationJobPhaseEnum.LOADING, AllocationJobPhaseEnum.SOLVING,
+                AllocationJobPhaseEnum.WRITING), phases);
+        verify(projectRegistrationsDAO, never()).assignAllocatedRegistrations(any());
+    }
+
+    /**
+     * Test case for an optimal allocation run, which moves student 1 to their second choice so that both students
+     * are assigned.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocationOptimal() throws Exception {
+        // Student 1 ranks project 10 then 20; student 3 only wants project 10
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 3}, new int[]{10, 20}, new int[]{1, 1},
+                new int[]{0, 2, 3}, new int[]{0, 1, 0}, new int[]{11, 12, 13});
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+
+        AllocationResultDTO result = allocationService.runAllocation(AllocationModeEnum.OPTIMAL);
+
+        assertEquals(AllocationModeEnum.OPTIMAL, result.getMode());
+        assertEquals(2, result.getAssigned());
+        assertEquals(1, result.getRankSum());
+        verify(projectRegistrationsDAO).assignAllocatedRegistrations(new int[]{12, 13});
+    }
+
+    /**
+     * Test case for a stable allocation run whose local-search pass swaps two students onto their first choices.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocationImproved() throws Exception {
+        // Students 1 and 2 each hold the other's first choice in the stable matching, because student 3 is
+        // rejected by project 10 only after displacing student 2 from it
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 2, 3}, new int[]{10, 20, 30},
+                new int[]{1, 1, 1}, new int[]{0, 3, 6, 9}, new int[]{1, 0, 2, 0, 1, 2, 0, 1, 2},
+                new int[]{5, 1, 7, 3, 4, 8, 2, 6, 9});
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+
+        assertEquals(4, allocationService.runAllocation(AllocationModeEnum.STABLE).getRankSum());
+        AllocationResultDTO result = allocationService.runAllocation(AllocationModeEnum.STABLE, 50);
+
+        assertEquals(3, result.getAssigned());
+        assertEquals(2, result.getRankSum());
+        assertEquals(2, result.getImprovement());
+        assertTrue(result.getImprovementPerSecond() > 0);
+    }
+
+    /**
+     * Test case for an allocation run with nobody to allocate, which writes nothing.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocationEmpty() throws Exception {
+        AllocationProblem problem = new AllocationProblem(new int[0], new int[0], new int[0],
+                new int[]{0}, new int[0], new int[0]);
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+
+        AllocationResultDTO result = allocationService.runAllocation(AllocationModeEnum.STABLE);
+
+        assertEquals(0, result.getStudents());
+        assertEquals(0, result.getAssigned());
+        verify(projectRegistrationsDAO, never()).assignAllocatedRegistrations(any());
+    }
+
+    /**
+     * Test case for an allocation run whose write back fails.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void runAllocationWriteFails() throws Exception {
+        AllocationProblem problem = new AllocationProblem(new int[]{1}, new int[]{10}, new int[]{1},
+                new int[]{0, 1}, new int[]{0}, new int[]{11});
+        when(projectRegistrationsDAO.loadAllocationProblem()).thenReturn(problem);
+        doThrow(new SQLException("The registrations changed while the allocation was running"))
+                .when(projectRegistrationsDAO).assignAllocatedRegistrations(any());
+
+        SQLException e = assertThrows(SQLException.class, () -> allocationService.runAllocation(AllocationModeEnum.STABLE));
+        assertEquals("The registrations changed while the allocation was running", e.getMessage());
+    }
+
+    /**
+     * Test case for a repair of a project nobody was assigned to, which searches and writes nothing.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void repairProjectNobodyAssigned() throws Exception {
+        when(projectRegistrationsDAO.releaseAssignedRegistrations(4, false)).thenReturn(new int[0]);
+
+        RepairResultDTO result = allocationService.repairProject(4, false);
+
+        assertEquals(0, result.getAffected());
+        verify(projectRegistrationsDAO, never()).findPreferencesByStudentIds(any());
+        verify(projectRegistrationsDAO, never()).moveAllocatedRegistrations(any(), any());
+    }
+
+    /**
+     * Test case for a repair that moves the affected student straight to a project with a free place.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void repairProjectFreePlace() throws Exception {
+        when(projectRegistrationsDAO.releaseAssignedRegistrations(2, true)).thenReturn(new int[]{3});
+        when(projectRegistrationsDAO.findPreferencesByStudentIds(new int[]{3}))
+                .thenReturn(List.of(new Registration(14, 20, 3, RegistrationStateEnum.WAIT)));
+        when(projectRegistrationsDAO.findProjectVacancies(new int[]{20}))
+                .thenReturn(List.of(new ProjectVacancy(20, 9, 1, null)));
+        when(projectRegistrationsDAO.findAssignedRegistrationsByProjectIds(new int[]{20})).thenReturn(List.of());
+
+        RepairResultDTO result = allocationService.repairProject(2, true);
+
+        assertEquals(1, result.getReassigned());
+        assertEquals(0, result.getMoved());
+        verify(projectRegistrationsDAO).moveAllocatedRegistrations(new int[0], new int[]{14});
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.enums.TieBreakEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+import com.example.cs5031p3.demo.backend.service.AllocationSimulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AllocationSimulator class. Students 1 and 3 both rank project 10 of staff 2 first, and student 1
+ * ranks project 20 of staff 4 second; student 1 registered first. Staff 2 already supervises one assigned student.
+ */
+class AllocationSimulatorTest {
+
+    private AllocationProblem problem;
+    private AllocationSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        problem = new AllocationProblem(new int[]{1, 3}, new int[]{10, 20}, new int[]{1, 1},
+                new int[]{0, 2, 3}, new int[]{0, 1, 0}, new int[]{11, 12, 13}, new int[]{-1, -1}, new int[0]);
+        simulator = new AllocationSimulator(new AllocationSnapshot(problem, new int[]{2, 4}, Map.of(2, 1)));
+    }
+
+    /**
+     * Test case for a scenario that changes nothing.
+     */
+    @Test
+    void simulateBaseline() {
+        SimulationResultDTO result = simulator.simulate(new SimulationScenarioDTO("baseline", AllocationModeEnum.STABLE));
+
+        assertEquals("baseline", result.getName());
+        assertEquals(2, result.getStudents());
+        assertEquals(1, result.getAssigned());
+        assertEquals(1, result.getUnassigned());
+        assertArrayEquals(new int[]{1}, result.getRankHistogram());
+        assertEquals(Map.of(2, 2), result.getSupervisorLoads());
+    }
+
+    /**
+     * Test case for breaking ties in favour of the latest registration.
+     */
+    @Test
+    void simulateLatestRegistration() {
+        SimulationScenarioDTO scenario = new SimulationScenarioDTO("latest", AllocationModeEnum.STABLE);
+        scenario.setTieBreak(TieBreakEnum.LATEST_REGISTRATION);
+
+        SimulationResultDTO result = simulator.simulate(scenario);
+
+        assertEquals(2, result.getAssigned());
+        assertEquals(1, result.getRankSum());
+        assertArrayEquals(new int[]{1, 1}, result.getRankHistogram());
+        assertEquals(Map.of(2, 2, 4, 1), result.getSupervisorLoads());
+    }
+
+    /**
+     * Test case for a random tie-break, which is the same for the same seed.
+     */
+    @Test
+    void simulateRandomTieBreak() {
+        SimulationScenarioDTO scenario = new SimulationScenarioDTO("random", AllocationModeEnum.STABLE);
+        scenario.setTieBreak(TieBreakEnum.RANDOM);
+        scenario.setSeed(7);
+
+        SimulationResultDTO first = simulator.simulate(scenario);
+        SimulationResultDTO second = simulator.simulate(scenario);
+
+        assertArrayEquals(first.getRankHistogram(), second.getRankHistogram());
+        assertEquals(first.getSupervisorLoads(), second.getSupervisorLoads());
+    }
+
+    /**
+     * Test case for removing a project, which must leave the snapshot unchanged.
+     */
+    @Test
+    void simulateRemovedProject() {
+        SimulationScenarioDTO scenario = new SimulationScenarioDTO("no 10", AllocationModeEnum.STABLE);
+        scenario.setRemovedProjectIds(List.of(10, 99));
+
+        SimulationResultDTO result = simulator.simulate(scenario);
+
+        assertEquals(1, result.getAssigned());
+        assertArrayEquals(new int[]{0, 1}, result.getRankHistogram());
+        assertEquals(Map.of(2, 1, 4, 1), result.getSupervisorLoads());
+        assertArrayEquals(new int[]{1, 1}, problem.getProjectCapacity());
+    }
+
+    /**
+     * Test case for a maximum load that the supervisor has already reached.
+     */
+    @Test
+    void simulateMaxLoadReached() {
+        SimulationScenarioDTO scenario = new SimulationScenarioDTO("full", AllocationModeEnum.OPTIMAL);
+        scenario.setMaxLoads(Map.of(2, 1));
+
+        SimulationResultDTO result = simulator.simulate(scenario);
+
+        assertEquals(1, result.getAssigned());
+        assertEquals(Map.of(2, 1, 4, 1), result.getSupervisorLoads());
+        assertArrayEquals(new int[]{-1, -1}, problem.getProjectSupervisor());
+    }
+
+    /**
+     * Test case for lifting the maximum load of a supervisor who has one.
+     */
+    @Test
+    void simulateMaxLoadLifted() {
+        AllocationProblem limited = new AllocationProblem(problem.getStudentIds(), problem.getProjectIds(),
+                problem.getProjectCapacity(), problem.getPreferenceStart(), problem.getPreferenceProject(),
+                problem.getPreferenceRegistration(), new int[]{0, -1}, new int[]{0});
+        AllocationSimulator limitedSimulator = new AllocationSimulator(
+                new AllocationSnapshot(limited, new int[]{2, 4}, Map.of(2, 1)));
+        SimulationScenarioDTO scenario = new SimulationScenarioDTO("lifted", AllocationModeEnum.OPTIMAL);
+        Map<Integer, Integer> maxLoads = new HashMap<>();
+        maxLoads.put(2, null);
+        scenario.setMaxLoads(maxLoads);
+
+        assertEquals(1, limitedSimulator.simulate(new SimulationScenarioDTO("limited", AllocationModeEnum.OPTIMAL))
+                .getAssigned());
+        assertEquals(2, limitedSimulator.simulate(scenario).getAssigned());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.model.SyntheticCohort;
+import com.example.cs5031p3.demo.backend.service.CohortGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CohortGenerator class, against a freshly migrated H2 database.
+ */
+class CohortGeneratorTest {
+
+    private EmbeddedDatabase dataSource;
+    private UserDAO userDAO;
+    private CohortGenerator cohortGenerator;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = database();
+        DatabaseManager databaseManager = new DatabaseManager(dataSource);
+        userDAO = new UserDAO(databaseManager);
+        cohortGenerator = generator(databaseManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    private static EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+    }
+
+    private static CohortGenerator generator(DatabaseManager databaseManager) {
+        return new CohortGenerator(new UserDAO(databaseManager), new ProjectDAO(databaseManager),
+                new ProjectRegistrationsDAO(databaseManager));
+    }
+
+    /**
+     * Reads the generated registrations, ordered by ID, as (project, student, rank) triples.
+     *
+     * @param dataSource The database
+     * @return The registrations
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<int[]> registrations(EmbeddedDatabase dataSource) throws SQLException {
+        List<int[]> registrations = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT project_id, student_id, preference_rank " +
+                     "FROM project_registrations WHERE preference_rank IS NOT NULL ORDER BY registration_id")) {
+            while (rs.next()) {
+                registrations.add(new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)});
+            }
+        }
+        return registrations;
+    }
+
+    /**
+     * Tests that the generator writes the requested numbers of users, projects and ranked registrations.
+     */
+    @Test
+    void generateWritesCohort() throws SQLException {
+        SyntheticCohort cohort = cohortGenerator.generate(200, 5, 40, 4, 1.0, 7);
+
+        assertEquals(200, cohort.getStudentIds().length);
+        assertEquals(5, cohort.getStaffIds().length);
+        assertEquals(40, cohort.getProjectIds().length);
+        assertEquals(800, cohort.getRegistrationIds().length);
+        assertEquals(cohort.getStudentIds()[3],
+                userDAO.getUserByUsername(SyntheticCohort.studentUsername(3)).getId());
+        assertEquals(cohort.getStaffIds()[4], userDAO.getUserByUsername(SyntheticCohort.staffUsername(4)).getId());
+
+        List<int[]> registrations = registrations(dataSource);
+        assertEquals(800, registrations.size());
+        for (int s = 0; s < 200; s++) {
+            long distinct = registrations.subList(4 * s, 4 * s + 4).stream().mapToInt(r -> r[0]).distinct().count();
+            assertEquals(4, distinct, "A student registered twice for a project");
+            for (int rank = 0; rank < 4; rank++) {
+                int[] registration = registrations.get(4 * s + rank);
+                assertEquals(cohort.getStudentIds()[s], registration[1]);
+                assertEquals(rank + 1, registration[2]);
+            }
+        }
+    }
+
+    /**
+     * Tests that the same seed gives the same registrations in another database.
+     */
+    @Test
+    void generateIsReproducible() throws SQLException {
+        cohortGenerator.generate(100, 4, 30, 3, 1.2, 11);
+        EmbeddedDatabase other = database();
+        try {
+            generator(new DatabaseManager(other)).generate(100, 4, 30, 3, 1.2, 11);
+            List<int[]> expected = registrations(dataSource);
+            List<int[]> actual = registrations(other);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a Zipf exponent concentrates first choices on a few popular projects, while an exponent of 0
+     * spreads them evenly.
+     */
+    @Test
+    void generateSkewsPopularity() throws SQLException {
+        SyntheticCohort cohort = cohortGenerator.generate(2000, 10, 100, 1, 1.0, 3);
+        assertTrue(mostPopularShare(cohort, dataSource) > 0.15, "The most popular project should draw a sixth of the students");
+
+        EmbeddedDatabase other = database();
+        try {
+            SyntheticCohort uniform = generator(new DatabaseManager(other)).generate(2000, 10, 100, 1, 0, 3);
+            assertTrue(mostPopularShare(uniform, other) < 0.05, "No project should stand out without skew");
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private static double mostPopularShare(SyntheticCohort cohort, EmbeddedDatabase dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM project_registrations " +
+                     "WHERE preference_rank IS NOT NULL GROUP BY project_id)")) {
+            rs.next();
+            return rs.getDouble(1) / cohort.getRegistrationIds().length;
+        }
+    }
+
+    /**
+     * Tests that a student can register for every project, which exhausts the distinct draws.
+     */
+    @Test
+    void generateEveryProject() throws SQLException {
+        cohortGenerator.generate(10, 1, 6, 6, 2.0, 5);
+        List<int[]> registrations = registrations(dataSource);
+        assertEquals(60, registrations.size());
+        assertEquals(6, registrations.stream().mapToInt(r -> r[0]).distinct().count());
+    }
+
+    /**
+     * Tests that impossible cohorts are rejected before anything is written.
+     */
+    @Test
+    void generateInvalid() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> cohortGenerator.generate(10, 1, 3, 4, 1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> cohortGenerator.generate(10, 0, 3, 1, 1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> cohortGenerator.generate(-1, 1, 3, 1, 1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> cohortGenerator.generate(10, 1, 3, 1, -1, 1));
+        assertTrue(registrations(dataSource).isEmpty());
+    }
+
+    /**
+     * Tests that an empty cohort writes nothing.
+     */
+    @Test
+    void generateEmpty() throws SQLException {
+        SyntheticCohort cohort = cohortGenerator.generate(0, 0, 0, 0, 1.0, 1);
+        assertEquals(0, cohort.getStudentIds().length);
+        assertEquals(0, cohort.getRegistrationIds().length);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.GaleShapleyAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GaleShapleyAllocator class.
+ */
+class GaleShapleyAllocatorTest {
+
+    /**
+     * Builds a problem from the project indexes each student ranks, best first. The registration IDs are given
+     * in the same shape, so a test controls which student each project prefers.
+     *
+     * @param capacity The capacity of each project
+     * @param projects The ranked project indexes of each student
+     * @param registrations The registration ID of each ranked project
+     * @return The allocation problem
+     */
+    private static AllocationProblem problem(int[] capacity, int[][] projects, int[][] registrations) {
+        int students = projects.length;
+        int[] start = new int[students + 1];
+        for (int s = 0; s < students; s++) {
+            start[s + 1] = start[s] + projects[s].length;
+        }
+        int[] preferenceProject = new int[start[students]];
+        int[] preferenceRegistration = new int[start[students]];
+        for (int s = 0; s < students; s++) {
+            System.arraycopy(projects[s], 0, preferenceProject, start[s], projects[s].length);
+            System.arraycopy(registrations[s], 0, preferenceRegistration, start[s], projects[s].length);
+        }
+        int[] studentIds = new int[students];
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = 100 + s;
+        }
+        int[] projectIds = new int[capacity.length];
+        for (int p = 0; p < capacity.length; p++) {
+            projectIds[p] = p + 1;
+        }
+        return new AllocationProblem(studentIds, projectIds, capacity, start, preferenceProject, preferenceRegistration);
+    }
+
+    /**
+     * Builds a random problem where every student ranks up to maxChoices distinct projects.
+     *
+     * @param random The source of randomness
+     * @param students The number of students
+     * @param projects The number of projects
+     * @param maxCapacity The largest capacity of a project
+     * @param maxChoices The largest number of projects a student ranks
+     * @return The allocation problem
+     */
+    private static AllocationProblem randomProblem(Random random, int students, int projects,
+                                                   int maxCapacity, int maxChoices) {
+        int[] capacity = new int[projects];
+        for (int p = 0; p < projects; p++) {
+            capacity[p] = random.nextInt(maxCapacity + 1);
+        }
+        int[][] ranked = new int[students][];
+        int[][] registrations = new int[students][];
+        int nextRegistration = 1;
+        int[] order = new int[projects];
+        for (int s = 0; s < students; s++) {
+            for (int p = 0; p < projects; p++) {
+                order[p] = p;
+            }
+            int choices = 1 + random.nextInt(Math.min(maxChoices, projects));
+            ranked[s] = new int[choices];
+            registrations[s] = new int[choices];
+            for (int i = 0; i < choices; i++) {
+                int j = i + random.nextInt(projects - i);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+                ranked[s][i] = order[i];
+                registrations[s][i] = nextRegistration++;
+            }
+        }
+        // Shuffle the registration IDs so that project priorities do not follow the student order
+        int[] shuffled = new int[nextRegistration - 1];
+        for (int i = 0; i < shuffled.length; i++) {
+            int j = random.nextInt(i + 1);
+            shuffled[i] = shuffled[j];
+            shuffled[j] = i + 1;
+        }
+        int next = 0;
+        for (int[] studentRegistrations : registrations) {
+            for (int i = 0; i < studentRegistrations.length; i++) {
+                studentRegistrations[i] = shuffled[next++];
+            }
+        }
+        return problem(capacity, ranked, registrations);
+    }
+
+    /**
+     * Asserts that a matching respects the capacities and leaves no student and project that would both
+     * rather be matched to each other.
+     *
+     * @param problem The allocation problem
+     * @param matched The matched preference of each student
+     */
+    private static void assertStable(AllocationProblem problem, int[] matched) {
+        int[] start = problem.getPreferenceStart();
+        int[] project = problem.getPreferenceProject();
+        int[] registration = problem.getPreferenceRegistration();
+        int projects = problem.getProjectCount();
+        int[] held = new int[projects];
+        int[] worstHeld = new int[projects];
+        for (int s = 0; s < matched.length; s++) {
+            int k = matched[s];
+            if (k >= 0) {
+                assertTrue(k >= start[s] && k < start[s + 1], "A student is matched to another student's preference");
+                int p = project[k];
+                held[p]++;
+                worstHeld[p] = Math.max(worstHeld[p], registration[k]);
+            }
+        }
+        for (int p = 0; p < projects; p++) {
+            assertTrue(held[p] <= problem.getProjectCapacity()[p], "Project " + p + " is over capacity");
+        }
+        for (int s = 0; s < matched.length; s++) {
+            int end = matched[s] >= 0 ? matched[s] : start[s + 1];
+            for (int k = start[s]; k < end; k++) {
+                int p = project[k];
+                boolean projectWouldTakeStudent = held[p] < problem.getProjectCapacity()[p]
+                        || registration[k] < worstHeld[p];
+                assertFalse(projectWouldTakeStudent, "Student " + s + " and project " + p + " form a blocking pair");
+            }
+        }
+    }
+
+    /**
+     * Tests that students get their first choice when nobody competes for it.
+     */
+    @Test
+    void allocateFirstChoices() {
+        AllocationProblem problem = problem(new int[]{1, 1},
+                new int[][]{{0, 1}, {1, 0}}, new int[][]{{1, 2}, {3, 4}});
+        assertArrayEquals(new int[]{0, 2}, GaleShapleyAllocator.allocate(problem));
+    }
+
+    /**
+     * Tests that a project prefers the earlier registration and the displaced student moves down their list.
+     */
+    @Test
+    void allocateEarlierRegistrationWins() {
+        // Both students want project 0 first; student 1 registered for it earlier
+        AllocationProblem problem = problem(new int[]{1, 1},
+                new int[][]{{0, 1}, {0, 1}}, new int[][]{{5, 6}, {2, 7}});
+        int[] matched = GaleShapleyAllocator.allocate(problem);
+        assertEquals(1, matched[0]);
+        assertEquals(2, matched[1]);
+        assertStable(problem, matched);
+    }
+
+    /**
+     * Tests that a project with a larger capacity holds several students and that students
+     * left without any acceptable project stay unmatched.
+     */
+    @Test
+    void allocateCapacityAndUnmatched() {
+        AllocationProblem problem = problem(new int[]{2, 0},
+                new int[][]{{0}, {0}, {0, 1}}, new int[][]{{1}, {2}, {3, 4}});
+        int[] matched = GaleShapleyAllocator.allocate(problem);
+        assertEquals(0, matched[0]);
+        assertEquals(1, matched[1]);
+        assertEquals(-1, matched[2]);
+        assertStable(problem, matched);
+    }
+
+    /**
+     * Tests that an empty problem gives an empty matching.
+     */
+    @Test
+    void allocateEmpty() {
+        AllocationProblem problem = problem(new int[0], new int[0][], new int[0][]);
+        assertEquals(0, GaleShapleyAllocator.allocate(problem).length);
+    }
+
+    /**
+     * Tests that the arrays of a problem must agree in length.
+     */
+    @Test
+    void problemRejectsInconsistentArrays() {
+        assertThrows(IllegalArgumentException.class, () -> new AllocationProblem(
+                new int[]{1}, new int[]{1}, new int[]{1}, new int[]{0, 2}, new int[]{0}, new int[]{1}));
+    }
+
+    /**
+     * Tests that random problems always get a stable matching.
+     */
+    @Test
+    void allocateRandomIsStable() {
+        Random random = new Random(5031);
+        for (int round = 0; round < 200; round++) {
+            AllocationProblem problem = randomProblem(random, 1 + random.nextInt(40), 1 + random.nextInt(15), 3, 6);
+            assertStable(problem, GaleShapleyAllocator.allocate(problem));
+        }
+    }
+
+    /**
+     * Tests that a full cohort of 10,000 students ranking 10 of 2,000 projects gets a stable matching.
+     * Its running time is measured by AllocationScalingBenchmark rather than asserted here.
+     */
+    @Test
+    void allocateFullCohortIsStable() {
+        AllocationProblem problem = randomProblem(new Random(42), 10_000, 2_000, 5, 10);
+        assertStable(problem, GaleShapleyAllocator.allocate(problem));
+    }
+}
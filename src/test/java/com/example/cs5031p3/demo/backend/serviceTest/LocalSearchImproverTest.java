@@ -0,0 +1,205 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.GaleShapleyAllocator;
+import com.example.cs5031p3.demo.backend.service.LocalSearchImprover;
+import com.example.cs5031p3.demo.backend.service.MinCostFlowAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LocalSearchImprover class.
+ */
+class LocalSearchImproverTest {
+
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * Builds a cohort where every student ranks up to five random projects, about half of which have a load-limited
+     * supervisor if there are any.
+     *
+     * @param random The source of randomness
+     * @param students The number of students
+     * @param projects The number of projects
+     * @param supervisors The number of load-limited supervisors
+     * @return The allocation problem
+     */
+    private static AllocationProblem cohort(Random random, int students, int projects, int supervisors) {
+        int[] projectIds = new int[projects];
+        int[] projectCapacity = new int[projects];
+        int[] projectSupervisor = new int[projects];
+        for (int p = 0; p < projects; p++) {
+            projectIds[p] = p + 1;
+            projectCapacity[p] = 1 + random.nextInt(3);
+            projectSupervisor[p] = supervisors > 0 && random.nextBoolean() ? random.nextInt(supervisors) : -1;
+        }
+        int[] supervisorCapacity = new int[supervisors];
+        for (int f = 0; f < supervisors; f++) {
+            supervisorCapacity[f] = 2 + random.nextInt(8);
+        }
+        int[] studentIds = new int[students];
+        int[] start = new int[students + 1];
+        int[] preferenceProject = new int[students * 5];
+        int count = 0;
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = 1000 + s;
+            int first = count;
+            int choices = 1 + random.nextInt(5);
+            while (count - first < choices) {
+                int p = random.nextInt(projects);
+                boolean repeated = false;
+                for (int k = first; k < count; k++) {
+                    repeated |= preferenceProject[k] == p;
+                }
+                if (!repeated) {
+                    preferenceProject[count++] = p;
+                }
+            }
+            start[s + 1] = count;
+        }
+        int[] preferenceRegistration = new int[count];
+        for (int k = 0; k < count; k++) {
+            preferenceRegistration[k] = 1 + random.nextInt(1_000_000);
+        }
+        return new AllocationProblem(studentIds, projectIds, projectCapacity, start,
+                Arrays.copyOf(preferenceProject, count), preferenceRegistration, projectSupervisor,
+                supervisorCapacity);
+    }
+
+    /**
+     * Computes the objective of an allocation, checking that it respects every capacity.
+     *
+     * @param problem The allocation problem
+     * @param matched The matched preference of each student
+     * @param balanceWeight The weight of the supervisor load balance
+     * @return The rank sum plus the weighted sum of squared supervisor loads
+     */
+    private static long objective(AllocationProblem problem, int[] matched, int balanceWeight) {
+        int[] start = problem.getPreferenceStart();
+        int[] projectLoad = new int[problem.getProjectCount()];
+        int[] supervisorLoad = new int[problem.getSupervisorCount()];
+        long rankSum = 0;
+        for (int s = 0; s < matched.length; s++) {
+            int k = matched[s];
+            if (k < 0) {
+                continue;
+            }
+            assertTrue(k >= start[s] && k < start[s + 1], "A student holds another student's preference");
+            int p = problem.getPreferenceProject()[k];
+            int f = problem.getProjectSupervisor()[p];
+            assertTrue(++projectLoad[p] <= problem.getProjectCapacity()[p], "A project is over capacity");
+            if (f >= 0) {
+                assertTrue(++supervisorLoad[f] <= problem.getSupervisorCapacity()[f], "A supervisor is over capacity");
+            }
+            rankSum += k - start[s];
+        }
+        long squaredLoads = 0;
+        for (int load : supervisorLoad) {
+            squaredLoads += (long) load * load;
+        }
+        return rankSum + balanceWeight * squaredLoads;
+    }
+
+    /**
+     * Tests that the pass lowers the objective of a stable matching without assigning or unassigning anybody, and
+     * that the objective it reports is the objective of the allocation it leaves. The stable matching ignores
+     * supervisor loads, so the cohort has no load-limited supervisors.
+     */
+    @Test
+    void improveStableMatching() {
+        AllocationProblem problem = cohort(new Random(1), 3_000, 900, 0);
+        int[] matched = GaleShapleyAllocator.allocate(problem);
+        int[] before = matched.clone();
+        LocalSearchImprover improver = new LocalSearchImprover(problem, matched, 0);
+        assertEquals(objective(problem, before, 0), improver.getInitialObjective());
+
+        improver.improve(BUDGET, 42);
+
+        assertTrue(improver.getImprovement() > 0);
+        assertEquals(objective(problem, matched, 0), improver.getObjective());
+        assertTrue(improver.getMoves() > 0 && improver.getMoves() <= improver.getIterations());
+        assertTrue(improver.getImprovementPerSecond() > 0);
+        for (int s = 0; s < matched.length; s++) {
+            assertEquals(before[s] < 0, matched[s] < 0);
+        }
+    }
+
+    /**
+     * Tests that the pass balances supervisor loads within an optimal allocation while keeping every capacity.
+     */
+    @Test
+    void improveBalance() {
+        AllocationProblem problem = cohort(new Random(2), 2_000, 600, 40);
+        int[] matched = MinCostFlowAllocator.allocate(problem);
+        LocalSearchImprover improver = new LocalSearchImprover(problem, matched, 1);
+
+        improver.improve(BUDGET, 7);
+
+        assertTrue(improver.getObjective() <= improver.getInitialObjective());
+        assertEquals(objective(problem, matched, 1), improver.getObjective());
+    }
+
+    /**
+     * Tests that a student moves to a better project with a free place, but not to one whose supervisor is full.
+     */
+    @Test
+    void improveRelocation() {
+        // Student 0 holds their second choice, project 1, while their first choice, project 0, has a free place;
+        // student 1 holds their second choice, project 3, while their first, project 2, has a full supervisor
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 2, 3}, new int[]{10, 20, 30, 40, 50},
+                new int[]{1, 1, 2, 1, 1}, new int[]{0, 2, 4, 5}, new int[]{0, 1, 2, 3, 4},
+                new int[]{1, 2, 3, 4, 5}, new int[]{-1, -1, 0, -1, 0}, new int[]{1});
+        int[] matched = {1, 3, 4};
+        LocalSearchImprover improver = new LocalSearchImprover(problem, matched, 0);
+        improver.improve(BUDGET, 3);
+        assertArrayEquals(new int[]{0, 3, 4}, matched);
+        assertEquals(1, improver.getImprovement());
+    }
+
+    /**
+     * Tests that a zero budget leaves the allocation unchanged and that an empty allocation is left alone.
+     */
+    @Test
+    void improveNothing() {
+        AllocationProblem problem = cohort(new Random(3), 500, 150, 10);
+        int[] matched = GaleShapleyAllocator.allocate(problem);
+        int[] before = matched.clone();
+        LocalSearchImprover improver = new LocalSearchImprover(problem, matched, 1);
+        improver.improve(0, 1);
+        assertArrayEquals(before, matched);
+        assertEquals(0, improver.getImprovement());
+        assertEquals(0, improver.getIterations());
+
+        AllocationProblem empty = new AllocationProblem(new int[0], new int[0], new int[0],
+                new int[]{0}, new int[0], new int[0]);
+        LocalSearchImprover idle = new LocalSearchImprover(empty, new int[0], 1);
+        idle.improve(BUDGET, 1);
+        assertEquals(0, idle.getIterations());
+    }
+
+    /**
+     * Tests that an exception thrown by the checkpoint stops the search within one batch of moves, however much of
+     * the budget is left.
+     */
+    @Test
+    void improveStopsAtCheckpoint() {
+        AllocationProblem problem = cohort(new Random(4), 3_000, 900, 0);
+        LocalSearchImprover improver = new LocalSearchImprover(problem, GaleShapleyAllocator.allocate(problem), 0);
+        AtomicInteger checkpoints = new AtomicInteger();
+
+        assertThrows(CancellationException.class, () -> improver.improve(TimeUnit.SECONDS.toNanos(60), 5, () -> {
+            if (checkpoints.incrementAndGet() == 3) {
+                throw new CancellationException();
+            }
+        }));
+        assertEquals(3, checkpoints.get());
+        assertTrue(improver.getIterations() <= 3 * 1024);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.service.MethodMetricsAspect;
+import com.example.cs5031p3.demo.backend.service.ProjectCatalogueCache;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import com.example.cs5031p3.demo.backend.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MethodMetricsAspect class, applied to beans through AOP proxies as the application context does.
+ */
+class MethodMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MethodMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new MethodMetricsAspect(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T instrument(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    /**
+     * Tests that every call of a service method is timed under its layer, class and method.
+     */
+    @Test
+    void recordServiceCalls() throws SQLException {
+        UserDAO userDAO = mock(UserDAO.class);
+        when(userDAO.getUserById(1)).thenReturn(new User(1, "Student John Doe", "20240001", "password", 1));
+        UserService userService = instrument(new UserService(userDAO, new UserRoleCache(userDAO),
+                mock(ProjectCatalogueCache.class)));
+
+        userService.getUserById(1);
+        userService.getUserById(1);
+
+        Timer timer = meterRegistry.find(MethodMetricsAspect.TIMER)
+                .tags("layer", "service", "class", "UserService", "method", "getUserById").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertNull(meterRegistry.find(MethodMetricsAspect.ERRORS).counter());
+    }
+
+    /**
+     * Tests that an exception thrown by a DAO method is counted by class and passed on unchanged.
+     */
+    @Test
+    void recordDaoErrors() throws SQLException {
+        DatabaseManager databaseManager = mock(DatabaseManager.class);
+        SQLException failure = new SQLException("The database is down");
+        when(databaseManager.getConnection()).thenThrow(failure);
+        UserDAO userDAO = instrument(new UserDAO(databaseManager));
+
+        assertSame(failure, assertThrows(SQLException.class, () -> userDAO.getUserTypeId(1)));
+        assertThrows(SQLException.class, () -> userDAO.getUserTypeId(2));
+
+        Counter errors = meterRegistry.find(MethodMetricsAspect.ERRORS).tags("layer", "dao", "class", "UserDAO",
+                "method", "getUserTypeId", "exception", "SQLException").counter();
+        assertNotNull(errors);
+        assertEquals(2, errors.count());
+        assertEquals(2, meterRegistry.get(MethodMetricsAspect.TIMER).tags("method", "getUserTypeId").timer().count());
+    }
+
+    /**
+     * Tests that beans without a controller, service or DAO stereotype are left alone.
+     */
+    @Test
+    void ignoreOtherBeans() throws SQLException {
+        UserDAO userDAO = mock(UserDAO.class);
+        when(userDAO.getUserTypeId(1)).thenReturn(2);
+        UserRoleCache userRoleCache = instrument(new UserRoleCache(userDAO));
+
+        assertTrue(userRoleCache.isStaff(1));
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}
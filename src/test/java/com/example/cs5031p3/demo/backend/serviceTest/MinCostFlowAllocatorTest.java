@@ -0,0 +1,205 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.MinCostFlowAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MinCostFlowAllocator class.
+ */
+class MinCostFlowAllocatorTest {
+
+    /**
+     * Builds a random problem where every student ranks up to maxChoices distinct projects, and every project
+     * belongs to one of the supervisors or, when its supervisor index falls outside, to no load-limited supervisor.
+     *
+     * @param random The source of randomness
+     * @param students The number of students
+     * @param projects The number of projects
+     * @param supervisors The number of load-limited supervisors
+     * @param maxCapacity The largest capacity of a project or supervisor
+     * @param maxChoices The largest number of projects a student ranks
+     * @return The allocation problem
+     */
+    private static AllocationProblem randomProblem(Random random, int students, int projects, int supervisors,
+                                                   int maxCapacity, int maxChoices) {
+        int[] projectCapacity = new int[projects];
+        int[] projectSupervisor = new int[projects];
+        int[] projectIds = new int[projects];
+        for (int p = 0; p < projects; p++) {
+            projectIds[p] = p + 1;
+            projectCapacity[p] = random.nextInt(maxCapacity + 1);
+            int supervisor = random.nextInt(supervisors + 1);
+            projectSupervisor[p] = supervisor < supervisors ? supervisor : -1;
+        }
+        int[] supervisorCapacity = new int[supervisors];
+        for (int f = 0; f < supervisors; f++) {
+            supervisorCapacity[f] = random.nextInt(maxCapacity + 1);
+        }
+        int[] studentIds = new int[students];
+        int[] start = new int[students + 1];
+        int[] preferenceProject = new int[students * Math.min(maxChoices, projects)];
+        int[] order = new int[projects];
+        int count = 0;
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = 100 + s;
+            for (int p = 0; p < projects; p++) {
+                order[p] = p;
+            }
+            int choices = random.nextInt(Math.min(maxChoices, projects) + 1);
+            for (int i = 0; i < choices; i++) {
+                int j = i + random.nextInt(projects - i);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+                preferenceProject[count++] = order[i];
+            }
+            start[s + 1] = count;
+        }
+        int[] preferenceRegistration = new int[count];
+        for (int k = 0; k < count; k++) {
+            preferenceRegistration[k] = k + 1;
+        }
+        return new AllocationProblem(studentIds, projectIds, projectCapacity, start,
+                Arrays.copyOf(preferenceProject, count), preferenceRegistration,
+                projectSupervisor, supervisorCapacity);
+    }
+
+    /**
+     * Checks an allocation against the capacities and returns its size and rank sum.
+     *
+     * @param problem The allocation problem
+     * @param matched The matched preference of each student
+     * @return The number of assigned students and the sum of their ranks, or null if a capacity is exceeded
+     */
+    private static long[] evaluate(AllocationProblem problem, int[] matched) {
+        int[] start = problem.getPreferenceStart();
+        int[] projectLoad = new int[problem.getProjectCount()];
+        int[] supervisorLoad = new int[problem.getSupervisorCount()];
+        long assigned = 0;
+        long rankSum = 0;
+        for (int s = 0; s < matched.length; s++) {
+            int k = matched[s];
+            if (k < 0) {
+                continue;
+            }
+            if (k < start[s] || k >= start[s + 1]) {
+                return null;
+            }
+            int p = problem.getPreferenceProject()[k];
+            int f = problem.getProjectSupervisor()[p];
+            if (++projectLoad[p] > problem.getProjectCapacity()[p]
+                    || (f >= 0 && ++supervisorLoad[f] > problem.getSupervisorCapacity()[f])) {
+                return null;
+            }
+            assigned++;
+            rankSum += k - start[s];
+        }
+        return new long[]{assigned, rankSum};
+    }
+
+    /**
+     * Finds the best allocation by trying every choice for every student.
+     *
+     * @param problem The allocation problem
+     * @param matched The choices made so far
+     * @param student The next student to choose for
+     * @param best The most students assigned and the lowest rank sum seen so far
+     */
+    private static void bruteForce(AllocationProblem problem, int[] matched, int student, long[] best) {
+        if (student == matched.length) {
+            long[] value = evaluate(problem, matched);
+            if (value != null && (value[0] > best[0] || (value[0] == best[0] && value[1] < best[1]))) {
+                best[0] = value[0];
+                best[1] = value[1];
+            }
+            return;
+        }
+        int[] start = problem.getPreferenceStart();
+        matched[student] = -1;
+        bruteForce(problem, matched, student + 1, best);
+        for (int k = start[student]; k < start[student + 1]; k++) {
+            matched[student] = k;
+            bruteForce(problem, matched, student + 1, best);
+        }
+        matched[student] = -1;
+    }
+
+    /**
+     * Tests that an optimal allocation moves a student to their second choice so that another student is assigned.
+     */
+    @Test
+    void allocatePrefersMoreStudents() {
+        // Student 0 ranks projects 0 then 1; student 1 only wants project 0
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 2}, new int[]{10, 20}, new int[]{1, 1},
+                new int[]{0, 2, 3}, new int[]{0, 1, 0}, new int[]{1, 2, 3});
+        assertArrayEquals(new int[]{1, 2}, MinCostFlowAllocator.allocate(problem));
+    }
+
+    /**
+     * Tests that, among allocations of the same size, the one with the lower rank sum is chosen.
+     */
+    @Test
+    void allocatePrefersLowerRanks() {
+        // Both students rank projects 0 and 1 in opposite orders; each gets their first choice
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 2}, new int[]{10, 20}, new int[]{1, 1},
+                new int[]{0, 2, 4}, new int[]{1, 0, 0, 1}, new int[]{1, 2, 3, 4});
+        assertArrayEquals(new int[]{0, 2}, MinCostFlowAllocator.allocate(problem));
+    }
+
+    /**
+     * Tests that a supervisor's maximum load caps the students assigned across all of their projects.
+     */
+    @Test
+    void allocateRespectsSupervisorLoad() {
+        // Three students each want a different project; projects 0 and 1 share a supervisor who takes one student
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 2, 3}, new int[]{10, 20, 30},
+                new int[]{1, 1, 1}, new int[]{0, 1, 2, 3}, new int[]{0, 1, 2}, new int[]{1, 2, 3},
+                new int[]{0, 0, -1}, new int[]{1});
+        int[] matched = MinCostFlowAllocator.allocate(problem);
+        assertEquals(2, evaluate(problem, matched)[0]);
+        assertEquals(2, matched[2]);
+    }
+
+    /**
+     * Tests that an empty problem gives an empty allocation.
+     */
+    @Test
+    void allocateEmpty() {
+        AllocationProblem problem = new AllocationProblem(new int[0], new int[0], new int[0],
+                new int[]{0}, new int[0], new int[0]);
+        assertEquals(0, MinCostFlowAllocator.allocate(problem).length);
+    }
+
+    /**
+     * Tests that small random problems get an allocation as large and as cheap as the exhaustive search finds.
+     */
+    @Test
+    void allocateRandomIsOptimal() {
+        Random random = new Random(5031);
+        for (int round = 0; round < 300; round++) {
+            AllocationProblem problem = randomProblem(random, 1 + random.nextInt(6), 1 + random.nextInt(4),
+                    random.nextInt(3), 2, 3);
+            long[] value = evaluate(problem, MinCostFlowAllocator.allocate(problem));
+            assertNotNull(value, "The allocation exceeds a capacity");
+            long[] best = {0, 0};
+            bruteForce(problem, new int[problem.getStudentCount()], 0, best);
+            assertArrayEquals(best, value, "Round " + round);
+        }
+    }
+
+    /**
+     * Tests that 10,000 students ranking 10 of 2,000 projects under 400 load-limited supervisors are allocated
+     * within every capacity. Its running time is measured by AllocationScalingBenchmark rather than asserted here.
+     */
+    @Test
+    void allocateFullCohortWithinCapacities() {
+        AllocationProblem problem = randomProblem(new Random(42), 10_000, 2_000, 400, 8, 10);
+        assertNotNull(evaluate(problem, MinCostFlowAllocator.allocate(problem)), "The allocation exceeds a capacity");
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.GaleShapleyAllocator;
+import com.example.cs5031p3.demo.backend.service.MinCostFlowAllocator;
+import com.example.cs5031p3.demo.backend.service.ParallelAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ParallelAllocator class.
+ */
+class ParallelAllocatorTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Builds a cohort of departments whose students only rank projects of their own department. Students, projects
+     * and supervisors of the departments are interleaved, so that department d holds every index equal to d modulo
+     * the number of departments.
+     *
+     * @param random The source of randomness
+     * @param departments The number of departments
+     * @param students The number of students
+     * @param projects The number of projects, at least 10 per department
+     * @param supervisors The number of load-limited supervisors
+     * @return The allocation problem
+     */
+    private static AllocationProblem departments(Random random, int departments, int students, int projects,
+                                                 int supervisors) {
+        int[] projectIds = new int[projects];
+        int[] projectCapacity = new int[projects];
+        int[] projectSupervisor = new int[projects];
+        for (int p = 0; p < projects; p++) {
+            projectIds[p] = p + 1;
+            projectCapacity[p] = 1 + random.nextInt(3);
+            // About half of the projects belong to one of their department's supervisors
+            int f = p % departments + departments * random.nextInt(Math.max(1, supervisors / departments));
+            projectSupervisor[p] = random.nextBoolean() && f < supervisors ? f : -1;
+        }
+        int[] supervisorCapacity = new int[supervisors];
+        for (int f = 0; f < supervisors; f++) {
+            supervisorCapacity[f] = 1 + random.nextInt(6);
+        }
+        int perDepartment = projects / departments;
+        int[] studentIds = new int[students];
+        int[] start = new int[students + 1];
+        int[] preferenceProject = new int[students * 5];
+        int count = 0;
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = 1000 + s;
+            int department = s % departments;
+            int choices = random.nextInt(6);
+            int first = count;
+            while (count - first < choices) {
+                int p = department + departments * random.nextInt(perDepartment);
+                boolean repeated = false;
+                for (int k = first; k < count; k++) {
+                    repeated |= preferenceProject[k] == p;
+                }
+                if (!repeated) {
+                    preferenceProject[count++] = p;
+                }
+            }
+            start[s + 1] = count;
+        }
+        int[] preferenceRegistration = new int[count];
+        for (int k = 0; k < count; k++) {
+            preferenceRegistration[k] = count - k;
+        }
+        return new AllocationProblem(studentIds, projectIds, projectCapacity, start,
+                Arrays.copyOf(preferenceProject, count), preferenceRegistration, projectSupervisor, supervisorCapacity);
+    }
+
+    /**
+     * Checks an allocation against the capacities and returns its size and rank sum.
+     *
+     * @param problem The allocation problem
+     * @param matched The matched preference of each student
+     * @return The number of assigned students and the sum of their ranks, or null if a capacity is exceeded
+     */
+    private static long[] evaluate(AllocationProblem problem, int[] matched) {
+        int[] start = problem.getPreferenceStart();
+        int[] projectLoad = new int[problem.getProjectCount()];
+        int[] supervisorLoad = new int[problem.getSupervisorCount()];
+        long assigned = 0;
+        long rankSum = 0;
+        for (int s = 0; s < matched.length; s++) {
+            int k = matched[s];
+            if (k < 0) {
+                continue;
+            }
+            if (k < start[s] || k >= start[s + 1]) {
+                return null;
+            }
+            int p = problem.getPreferenceProject()[k];
+            int f = problem.getProjectSupervisor()[p];
+            if (++projectLoad[p] > problem.getProjectCapacity()[p]
+                    || (f >= 0 && ++supervisorLoad[f] > problem.getSupervisorCapacity()[f])) {
+                return null;
+            }
+            assigned++;
+            rankSum += k - start[s];
+        }
+        return new long[]{assigned, rankSum};
+    }
+
+    /**
+     * Tests that a stable allocation of several departments in parallel is the same matching as a single-threaded one.
+     */
+    @Test
+    void allocateStableMatchesSequential() {
+        AllocationProblem problem = departments(new Random(1), 8, 8_000, 1_600, 160);
+        assertArrayEquals(GaleShapleyAllocator.allocate(problem),
+                ParallelAllocator.allocate(problem, AllocationModeEnum.STABLE, pool));
+    }
+
+    /**
+     * Tests that an optimal allocation of several departments in parallel respects every capacity and is as large
+     * and as cheap as a single-threaded one.
+     */
+    @Test
+    void allocateOptimalMatchesSequential() {
+        AllocationProblem problem = departments(new Random(2), 8, 8_000, 1_600, 160);
+        long[] parallel = evaluate(problem, ParallelAllocator.allocate(problem, AllocationModeEnum.OPTIMAL, pool));
+        assertNotNull(parallel, "The allocation exceeds a capacity");
+        assertArrayEquals(evaluate(problem, MinCostFlowAllocator.allocate(problem)), parallel);
+    }
+
+    /**
+     * Tests that thousands of tiny components, which are grouped into parts rather than solved one by one, are all
+     * allocated.
+     */
+    @Test
+    void allocateManySmallComponents() {
+        AllocationProblem problem = departments(new Random(3), 1_000, 10_000, 10_000, 0);
+        assertArrayEquals(GaleShapleyAllocator.allocate(problem),
+                ParallelAllocator.allocate(problem, AllocationModeEnum.STABLE, pool));
+    }
+
+    /**
+     * Tests that one cohort-wide component is solved as a whole.
+     */
+    @Test
+    void allocateSingleComponent() {
+        AllocationProblem problem = departments(new Random(4), 1, 6_000, 1_000, 50);
+        long[] parallel = evaluate(problem, ParallelAllocator.allocate(problem, AllocationModeEnum.OPTIMAL, pool));
+        assertArrayEquals(evaluate(problem, MinCostFlowAllocator.allocate(problem)), parallel);
+    }
+
+    /**
+     * Tests that an empty problem gives an empty allocation.
+     */
+    @Test
+    void allocateEmpty() {
+        AllocationProblem problem = new AllocationProblem(new int[0], new int[0], new int[0],
+                new int[]{0}, new int[0], new int[0]);
+        assertEquals(0, ParallelAllocator.allocate(problem, AllocationModeEnum.STABLE, pool).length);
+    }
+}
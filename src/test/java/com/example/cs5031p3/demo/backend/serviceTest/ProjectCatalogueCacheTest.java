@@ -0,0 +1,171 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.MockObject;
+import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.example.cs5031p3.demo.backend.service.ProjectCatalogueCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ProjectCatalogueCache class.
+ */
+class ProjectCatalogueCacheTest {
+
+    ProjectCatalogueCache projectCatalogueCache;
+
+    @Mock
+    ProjectDAO projectDAO;
+
+    /**
+     * Sets up the test environment.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        projectCatalogueCache = new ProjectCatalogueCache(projectDAO, 60_000);
+    }
+
+    /**
+     * Test case for serving a fresh catalogue from memory and recording the metrics.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void freshCatalogueServedFromMemory() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        List<Project> first = projectCatalogueCache.getAllProjects();
+        List<Project> second = projectCatalogueCache.getAllProjects();
+        assertSame(first, second);
+        verify(projectDAO, times(1)).getAllProjects();
+        assertEquals(1, projectCatalogueCache.getHitCount());
+        assertEquals(1, projectCatalogueCache.getMissCount());
+        assertEquals(0.5, projectCatalogueCache.getHitRatio());
+        assertTrue(projectCatalogueCache.getTotalRebuildNanos() >= projectCatalogueCache.getLastRebuildNanos());
+    }
+
+    /**
+     * Test case for the cached catalogue being read-only.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void catalogueIsReadOnly() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        List<Project> projects = projectCatalogueCache.getAllProjects();
+        assertThrows(UnsupportedOperationException.class, () -> projects.add(new Project()));
+    }
+
+    /**
+     * Test case for rebuilding the catalogue after an invalidation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void invalidateRebuildsCatalogue() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        projectCatalogueCache.getAllProjects();
+        projectCatalogueCache.invalidate();
+        projectCatalogueCache.getAllProjects();
+        verify(projectDAO, times(2)).getAllProjects();
+        assertEquals(0, projectCatalogueCache.getHitRatio());
+    }
+
+    /**
+     * Test case for rebuilding the catalogue once it is older than the max age.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void expiredCatalogueRebuilt() throws Exception {
+        ProjectCatalogueCache expiring = new ProjectCatalogueCache(projectDAO, 0);
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        expiring.getAllProjects();
+        expiring.getAllProjects();
+        verify(projectDAO, times(2)).getAllProjects();
+    }
+
+    /**
+     * Test case for a catalogue read while a write happened, which must not be kept.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void invalidationDuringRebuildDiscardsCatalogue() throws Exception {
+        when(projectDAO.getAllProjects()).thenAnswer(invocation -> {
+            projectCatalogueCache.invalidate();
+            return MockObject.projectList(9);
+        }).thenReturn(MockObject.projectList(9));
+        assertEquals(4, projectCatalogueCache.getAllProjects().size());
+        projectCatalogueCache.getAllProjects();
+        verify(projectDAO, times(2)).getAllProjects();
+    }
+
+    /**
+     * Test case for a failed rebuild, which must leave nothing cached.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void failedRebuildNotCached() throws Exception {
+        when(projectDAO.getAllProjects()).thenThrow(new SQLException("Database down"))
+                .thenReturn(MockObject.projectList(9));
+        assertThrows(SQLException.class, () -> projectCatalogueCache.getAllProjects());
+        assertEquals(4, projectCatalogueCache.getAllProjects().size());
+    }
+
+    /**
+     * Test case for a keyset page sliced out of the cached catalogue, which is sorted by ID.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void pageSlicedFromCatalogue() throws Exception {
+        List<Project> projects = new ArrayList<>(MockObject.projectList(9));
+        Collections.reverse(projects);
+        when(projectDAO.getAllProjects()).thenReturn(projects);
+
+        List<Project> catalogue = projectCatalogueCache.getAllProjects();
+        List<Project> page = ProjectCatalogueCache.slice(catalogue, 1, 2);
+        assertEquals(List.of(2, 3), page.stream().map(Project::getId).toList());
+        assertTrue(ProjectCatalogueCache.slice(catalogue, 3, 2).isEmpty());
+        // The page is a copy, so the service can trim it
+        page.remove(1);
+        assertEquals(4, projectCatalogueCache.getAllProjects().size());
+        verify(projectDAO, times(1)).getAllProjects();
+    }
+
+    /**
+     * Test case for exporting the cache metrics to a meter registry.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void metricsBoundToRegistry() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        projectCatalogueCache.bindTo(registry);
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        projectCatalogueCache.getAllProjects();
+        projectCatalogueCache.getAllProjects();
+
+        String cache = ProjectCatalogueCache.CACHE_NAME;
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", cache, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", cache, "result", "miss")
+                .functionCounter().count());
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", cache).gauge().value());
+        assertEquals(1.0, registry.get("cache.rebuild").tag("cache", cache).functionTimer().count());
+        registry.get("cache.rebuild.last").tag("cache", cache).timeGauge();
+    }
+}
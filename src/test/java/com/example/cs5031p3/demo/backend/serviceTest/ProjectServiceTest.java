@@ -2,13 +2,19 @@ package com.example.cs5031p3.demo.backend.serviceTest;
 
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.dao.ProjectDAO;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
 import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.model.Project;
 import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.service.AllocationService;
+import com.example.cs5031p3.demo.backend.service.ProjectCatalogueCache;
 import com.example.cs5031p3.demo.backend.service.ProjectService;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -24,13 +30,16 @@ import static org.mockito.Mockito.*;
  */
 class ProjectServiceTest {
 
-    @InjectMocks
     ProjectService projectService;
 
     @Mock
     ProjectDAO projectDAO;
     @Mock
     UserDAO userDAO;
+    @Mock
+    AllocationService allocationService;
+    @Mock
+    WaitlistService waitlistService;
 
     /**
      * Sets up the test environment.
@@ -38,6 +47,9 @@ class ProjectServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // The role checks go through a real cache so that the type lookups reach the mocked UserDAO
+        projectService = new ProjectService(projectDAO, new UserRoleCache(userDAO),
+                new ProjectCatalogueCache(projectDAO, 60_000), allocationService, waitlistService);
     }
 
     /**
@@ -89,6 +101,7 @@ class ProjectServiceTest {
         doNothing().when(projectDAO).updateProject(project);
         assertDoesNotThrow(() -> projectService.updateProject(project));
         verify(projectDAO, times(1)).updateProject(project);
+        verify(waitlistService).promote(project.getId());
     }
 
     /**
@@ -99,9 +112,23 @@ class ProjectServiceTest {
     @Test
     void testDeleteProject() throws SQLException {
         int projectId = 1;
-        doNothing().when(projectDAO).deleteProject(projectId);
         assertDoesNotThrow(() -> projectService.deleteProject(projectId));
-        verify(projectDAO, times(1)).deleteProject(projectId);
+        verify(allocationService, times(1)).repairProject(projectId, true);
+        // The project row is deleted in the release transaction of the repair
+        verify(projectDAO, never()).deleteProject(projectId);
+    }
+
+    /**
+     * Test case for deleting a project, which is deleted and its students repaired before its waitlist is forgotten.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void testDeleteProjectRepairsFirst() throws SQLException {
+        projectService.deleteProject(7);
+        InOrder inOrder = inOrder(allocationService, waitlistService);
+        inOrder.verify(allocationService).repairProject(7, true);
+        inOrder.verify(waitlistService).removeProject(7);
     }
 
     /**
@@ -135,8 +162,7 @@ class ProjectServiceTest {
     void getProjectsByStaffId() throws Exception{
         User staff=MockObject.mockStaff();
         int staffId=staff.getId();
-        when(userDAO.getUserById(staffId)).thenReturn
-                (staff);
+        when(userDAO.getUserTypeId(staffId)).thenReturn(staff.getTypeId());
         List<Project> projectList= MockObject.projectList(staffId);
         when(projectDAO.findProjectsByStaffId(staffId)).thenReturn(projectList);
         assertEquals(projectList,projectService.getProjectsByStaffId(staffId));
@@ -151,7 +177,7 @@ class ProjectServiceTest {
     void getProjectsByStaffIdEmptyList() throws Exception{
         User staff=MockObject.mockStaff();
         int staffId=staff.getId();
-        when(userDAO.getUserById(staffId)).thenReturn(staff);
+        when(userDAO.getUserTypeId(staffId)).thenReturn(staff.getTypeId());
         when(projectDAO.findProjectsByStaffId(staffId)).thenReturn(null);
         // It's ok to have empty project list for staff
         assertDoesNotThrow(()->projectService.getProjectsByStaffId(staffId));
@@ -165,7 +191,7 @@ class ProjectServiceTest {
     @Test
     void getProjectsByStaffIdNotExist() throws Exception{
         int staffId=2;
-        when(userDAO.getUserById(staffId)).thenReturn(null);
+        when(userDAO.getUserTypeId(staffId)).thenReturn(null);
         SQLException e=assertThrows(SQLException.class,
                 () ->projectService.getProjectsByStaffId(staffId));
         assertEquals("The user doesn't exist",e.getMessage());
@@ -180,7 +206,7 @@ class ProjectServiceTest {
     void getProjectsByStaffIdNotAStaff() throws Exception{
         User student=MockObject.mockStudent();
         int staffId=student.getId();
-        when(userDAO.getUserById(staffId)).thenReturn(student);
+        when(userDAO.getUserTypeId(staffId)).thenReturn(student.getTypeId());
         assertFalse(projectService.isStaff(staffId));
         SQLException e=assertThrows(SQLException.class,
                 () ->projectService.getProjectsByStaffId(staffId));
@@ -197,6 +223,9 @@ class ProjectServiceTest {
         int projectId=443;
         doNothing().when(projectDAO).makeProjectUnavailable(projectId);
         assertDoesNotThrow(()->projectService.makeProjectUnavailable(projectId));
+        InOrder inOrder = inOrder(projectDAO, allocationService);
+        inOrder.verify(projectDAO).makeProjectUnavailable(projectId);
+        inOrder.verify(allocationService).repairProject(projectId, false);
     }
 
     /**
@@ -210,4 +239,113 @@ class ProjectServiceTest {
         doThrow(new SQLException()).when(projectDAO).makeProjectUnavailable(projectId);
         assertThrows(SQLException.class,()->projectService.makeProjectUnavailable(projectId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for creating several projects at once.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void createProjects() throws Exception {
+        List<Project> projects = MockObject.projectList(9);
+        projectService.createProjects(projects);
+        verify(projectDAO,times(1)).createProjects(projects);
+    }
+
+    /**
+     * Test case for getting a page of projects when more pages follow, sliced out of the cached catalogue.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void getProjectsPageWithNextPage() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9)); // IDs 0 to 3
+        PageDTO<Project> page = projectService.getProjectsPage(0, 2);
+        assertEquals(List.of(1, 2), page.getItems().stream().map(Project::getId).toList());
+        assertEquals(2, page.getNextCursor());
+        PageDTO<Project> next = projectService.getProjectsPage(2, 2);
+        assertEquals(List.of(3), next.getItems().stream().map(Project::getId).toList());
+        assertNull(next.getNextCursor());
+        verify(projectDAO, times(1)).getAllProjects();
+    }
+
+    /**
+     * Test case for getting the last page of projects.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void getProjectsPageLastPage() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        PageDTO<Project> page = projectService.getProjectsPage(-1, 10);
+        assertEquals(4, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test case for getting a page of projects with a limit above the maximum page size.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void getProjectsPageLimitCapped() throws Exception {
+        List<Project> projects = new ArrayList<>();
+        for (int id = PageDTO.MAX_LIMIT + 10; id > 0; id--) {
+            projects.add(new Project(id, "mock", "mock", 9));
+        }
+        when(projectDAO.getAllProjects()).thenReturn(projects);
+        PageDTO<Project> page = projectService.getProjectsPage(7, Integer.MAX_VALUE - 1);
+        assertEquals(PageDTO.MAX_LIMIT, page.getItems().size());
+        assertEquals(8, page.getItems().get(0).getId());
+        assertEquals(PageDTO.MAX_LIMIT + 7, page.getNextCursor());
+    }
+
+    /**
+     * Test case for streaming all projects.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void streamAllProjects() throws Exception {
+        RowCallback<Project> callback = project -> { };
+        projectService.streamAllProjects(callback);
+        verify(projectDAO, times(1)).streamAllProjects(callback);
+    }
+
+    /**
+     * Test case for serving repeated catalogue reads from the cache.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void getAllProjectsCached() throws Exception {
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        projectService.getAllProjects();
+        List<Project> result = projectService.getAllProjects();
+        assertEquals(4, result.size());
+        verify(projectDAO, times(1)).getAllProjects();
+    }
+
+    /**
+     * Test case for rebuilding the catalogue after each kind of project write.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void projectWritesInvalidateCatalogue() throws Exception {
+        Project project = new Project(1, "Project", "Description", 9);
+        when(projectDAO.getAllProjects()).thenReturn(MockObject.projectList(9));
+        projectService.getAllProjects();
+        projectService.createProject(project);
+        projectService.getAllProjects();
+        projectService.createProjects(List.of(project));
+        projectService.getAllProjects();
+        projectService.updateProject(project);
+        projectService.getAllProjects();
+        projectService.makeProjectUnavailable(1);
+        projectService.getAllProjects();
+        projectService.deleteProject(1);
+        projectService.getAllProjects();
+        verify(projectDAO, times(6)).getAllProjects();
+    }
+}
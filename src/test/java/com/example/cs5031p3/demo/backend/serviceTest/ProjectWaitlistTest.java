@@ -0,0 +1,97 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.service.ProjectWaitlist;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProjectWaitlist class.
+ */
+class ProjectWaitlistTest {
+
+    /**
+     * Tests that registrations are polled in order of their waitlist position, whatever order they were added in.
+     */
+    @Test
+    void pollInPositionOrder() {
+        ProjectWaitlist waitlist = new ProjectWaitlist();
+        waitlist.add(30, 3);
+        waitlist.add(10, 1);
+        waitlist.add(50, 5);
+        waitlist.add(20, 2);
+        waitlist.add(40, 4);
+        assertEquals(5, waitlist.size());
+        assertEquals(10, waitlist.peek());
+        for (int id = 10; id <= 50; id += 10) {
+            assertEquals(id, waitlist.poll());
+        }
+        assertTrue(waitlist.isEmpty());
+    }
+
+    /**
+     * Tests that a registration can be removed from the middle of the waitlist.
+     */
+    @Test
+    void removeFromMiddle() {
+        ProjectWaitlist waitlist = new ProjectWaitlist();
+        for (int position = 1; position <= 6; position++) {
+            waitlist.add(position * 10, position);
+        }
+        assertTrue(waitlist.remove(30));
+        assertFalse(waitlist.remove(30));
+        assertFalse(waitlist.contains(30));
+        assertTrue(waitlist.contains(40));
+        assertEquals(10, waitlist.poll());
+        assertEquals(20, waitlist.poll());
+        assertEquals(40, waitlist.poll());
+    }
+
+    /**
+     * Tests that an empty waitlist has no head and that a registration cannot be waitlisted twice.
+     */
+    @Test
+    void emptyAndDuplicate() {
+        ProjectWaitlist waitlist = new ProjectWaitlist();
+        assertThrows(NoSuchElementException.class, waitlist::peek);
+        assertThrows(NoSuchElementException.class, waitlist::poll);
+        waitlist.add(1, 1);
+        assertThrows(IllegalArgumentException.class, () -> waitlist.add(1, 2));
+    }
+
+    /**
+     * Tests random adds, polls and removals against a sorted map.
+     */
+    @Test
+    void matchesSortedMap() {
+        Random random = new Random(7);
+        ProjectWaitlist waitlist = new ProjectWaitlist();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        int nextPosition = 1;
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 || expected.isEmpty()) {
+                int id = random.nextInt(5_000);
+                if (!waitlist.contains(id)) {
+                    waitlist.add(id, nextPosition);
+                    expected.put(nextPosition++, id);
+                }
+            } else if (action == 1) {
+                Map.Entry<Integer, Integer> head = expected.pollFirstEntry();
+                assertEquals(head.getValue(), waitlist.poll());
+            } else {
+                Integer position = expected.keySet().stream().skip(random.nextInt(expected.size())).findFirst().get();
+                assertTrue(waitlist.remove(expected.remove(position)));
+            }
+            assertEquals(expected.size(), waitlist.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.firstEntry().getValue(), waitlist.peek());
+            }
+        }
+    }
+}
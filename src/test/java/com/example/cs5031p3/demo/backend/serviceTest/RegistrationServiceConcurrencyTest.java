@@ -0,0 +1,164 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.service.RegistrationService;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test of RegistrationService against an H2 database: many threads register students and approve their
+ * registrations at random, and every student must end up with at most one assignment and, once assigned, with no
+ * interested registration left.
+ */
+class RegistrationServiceConcurrencyTest {
+
+    private static final int STUDENTS = 40;
+    private static final int PROJECTS = 20;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 300;
+
+    private EmbeddedDatabase dataSource;
+    private DatabaseManager databaseManager;
+    private RegistrationService registrationService;
+
+    /**
+     * Sets up a migrated database with extra students and projects, each student registered for five projects.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databaseManager = new DatabaseManager(dataSource);
+        ProjectRegistrationsDAO projectRegistrationsDAO = new ProjectRegistrationsDAO(databaseManager);
+        registrationService = new RegistrationService(projectRegistrationsDAO,
+                new UserRoleCache(new UserDAO(databaseManager)), new WaitlistService(projectRegistrationsDAO));
+        Random random = new Random(1);
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement()) {
+            for (int i = 0; i < STUDENTS; i++) {
+                stmt.execute("INSERT INTO users (name, username, password, type_id) " +
+                        "VALUES ('Student " + i + "', 's" + i + "', 'password', 1)");
+            }
+            for (int i = 0; i < PROJECTS; i++) {
+                stmt.execute("INSERT INTO projects (title, description, staff_id, available) " +
+                        "VALUES ('Project " + i + "', '', 2, 1)");
+            }
+        }
+        for (int studentId : studentIds()) {
+            for (int i = 0; i < 5; i++) {
+                registrationService.createProjectRegistration(1 + random.nextInt(PROJECTS + 4), studentId);
+            }
+        }
+    }
+
+    /**
+     * Shuts down the embedded database after each test method.
+     */
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    /**
+     * Tests that concurrent registrations and approvals never leave a student assigned twice, or assigned with
+     * interested registrations left over.
+     *
+     * @throws Exception if an operation fails
+     */
+    @Test
+    void concurrentAssignmentsKeepOneAssignmentPerStudent() throws Exception {
+        List<Integer> students = studentIds();
+        int maxRegistrationId = queryInt("SELECT MAX(registration_id) FROM project_registrations");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(100 + t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        if (random.nextInt(3) == 0) {
+                            registrationService.createProjectRegistration(1 + random.nextInt(PROJECTS + 4),
+                                    students.get(random.nextInt(students.size())));
+                        } else {
+                            registrationService.assignRegistration(1 + random.nextInt(maxRegistrationId));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM (SELECT student_id FROM project_registrations " +
+                "WHERE registration_state = 2 GROUP BY student_id HAVING COUNT(*) > 1)"));
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM project_registrations w WHERE w.registration_state = 1 " +
+                "AND EXISTS (SELECT 1 FROM project_registrations a " +
+                "WHERE a.student_id = w.student_id AND a.registration_state = 2)"));
+        assertTrue(queryInt("SELECT COUNT(*) FROM project_registrations WHERE registration_state = 2") > 0);
+    }
+
+    /**
+     * Get the IDs of all students.
+     *
+     * @return The student IDs
+     * @throws SQLException if a database access error occurs
+     */
+    private List<Integer> studentIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("SELECT user_id FROM users WHERE type_id = 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Runs a query returning one integer.
+     *
+     * @param sql The query
+     * @return The integer
+     * @throws SQLException if a database access error occurs
+     */
+    private int queryInt(String sql) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
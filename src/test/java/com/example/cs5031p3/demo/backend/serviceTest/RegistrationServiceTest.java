@@ -2,19 +2,24 @@ package com.example.cs5031p3.demo.backend.serviceTest;
 
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dao.RowCallback;
 import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.dto.AssignmentOutcomeDTO;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationResultEnum;
 import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
 import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
 import com.example.cs5031p3.demo.backend.model.User;
 import com.example.cs5031p3.demo.backend.service.RegistrationService;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,7 +30,6 @@ import static org.mockito.Mockito.*;
  * Unit tests for the RegistrationService class.
  */
 class RegistrationServiceTest {
-    @InjectMocks
     RegistrationService registrationService;
 
     @Mock
@@ -37,6 +41,9 @@ class RegistrationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // The role checks go through a real cache so that the type lookups reach the mocked UserDAO
+        registrationService = new RegistrationService(projectRegistrationsDAO, new UserRoleCache(userDAO),
+                new WaitlistService(projectRegistrationsDAO));
     }
 
     /**
@@ -48,12 +55,12 @@ class RegistrationServiceTest {
     void createProjectRegistration() throws Exception {
         int projectId=2;
         int studentId=3;
-        when(projectRegistrationsDAO.isStudentAssignedToProject(studentId)).thenReturn(false);
-        when(projectRegistrationsDAO.isStudentInterestedInProject(projectId, studentId)).thenReturn(false);
-        //ref: https://stackoverflow.com/questions/17731234/how-to-test-that-no-exception-is-thrown
-        assertDoesNotThrow(() -> registrationService.createProjectRegistration(projectId,studentId));
+        when(projectRegistrationsDAO.createProjectRegistration(projectId, studentId))
+                .thenReturn(RegistrationResultEnum.CREATED);
+        assertEquals(RegistrationResultEnum.CREATED,
+                registrationService.createProjectRegistration(projectId,studentId));
         verify(projectRegistrationsDAO,times(1))
-                .insertProjectRegistration(projectId,studentId);
+                .createProjectRegistration(projectId,studentId);
     }
 
     /**
@@ -65,11 +72,10 @@ class RegistrationServiceTest {
     void createProjectRegistrationAssigned() throws Exception {
         int projectId=2;
         int studentId=3;
-        when(projectRegistrationsDAO.isStudentAssignedToProject(studentId)).thenReturn(true);
-        //ref: https://stackoverflow.com/questions/40268446/junit-5-how-to-assert-an-exception-is-thrown
-        SQLException e=assertThrows(SQLException.class,
-                () -> registrationService.createProjectRegistration(projectId,studentId));
-        assertEquals("Student is already assigned to a project",e.getMessage());
+        when(projectRegistrationsDAO.createProjectRegistration(projectId, studentId))
+                .thenReturn(RegistrationResultEnum.ALREADY_ASSIGNED);
+        assertEquals(RegistrationResultEnum.ALREADY_ASSIGNED,
+                registrationService.createProjectRegistration(projectId,studentId));
     }
 
     /**
@@ -81,11 +87,10 @@ class RegistrationServiceTest {
     void createProjectRegistrationInterested() throws Exception {
         int projectId=2;
         int studentId=3;
-        when(projectRegistrationsDAO.isStudentAssignedToProject(studentId)).thenReturn(false);
-        when(projectRegistrationsDAO.isStudentInterestedInProject(projectId, studentId)).thenReturn(true);
-        SQLException e=assertThrows(SQLException.class,
-                () -> registrationService.createProjectRegistration(projectId,studentId));
-        assertEquals("Student is already interested in this project",e.getMessage());
+        when(projectRegistrationsDAO.createProjectRegistration(projectId, studentId))
+                .thenReturn(RegistrationResultEnum.DUPLICATE);
+        assertEquals(RegistrationResultEnum.DUPLICATE,
+                registrationService.createProjectRegistration(projectId,studentId));
     }
 
     /**
@@ -96,9 +101,8 @@ class RegistrationServiceTest {
     @Test
     void getProjectRegistrationsByStudentId() throws Exception{
         int studentId=3;
-        List<Map<String, Object>> registrationList= MockObject.mockRegistration(studentId);
-        when(userDAO.getUserById(studentId)).thenReturn(new User(studentId,
-                "mock","mock","mock", TypeEnum.STUDENT.getCode()));
+        List<Registration> registrationList= MockObject.mockRegistration(studentId);
+        when(userDAO.getUserTypeId(studentId)).thenReturn(TypeEnum.STUDENT.getCode());
         when(projectRegistrationsDAO.findByStudentId(studentId)).thenReturn(registrationList);
         assertEquals(registrationList,registrationService.getProjectRegistrationsByStudentId(studentId));
     }
@@ -111,7 +115,7 @@ class RegistrationServiceTest {
     @Test
     void getProjectRegistrationsByStudentIdNotExisted() throws Exception{
         int studentId=anyInt();
-        when(userDAO.getUserById(studentId)).thenReturn(null);
+        when(userDAO.getUserTypeId(studentId)).thenReturn(null);
         SQLException e=assertThrows(SQLException.class,
                 () ->registrationService.getProjectRegistrationsByStudentId(studentId));
         assertEquals("The user doesn't exist",e.getMessage());
@@ -126,7 +130,7 @@ class RegistrationServiceTest {
     void getProjectRegistrationsByStudentIdNotAStudent() throws Exception{
         User notStudent=MockObject.mockStaff();
         int studentId=notStudent.getId();
-        when(userDAO.getUserById(studentId)).thenReturn(notStudent);
+        when(userDAO.getUserTypeId(studentId)).thenReturn(notStudent.getTypeId());
         assertFalse(registrationService.isStudent(studentId));
         SQLException e=assertThrows(SQLException.class,
                 () ->registrationService.getProjectRegistrationsByStudentId(studentId));
@@ -141,9 +145,8 @@ class RegistrationServiceTest {
     @Test
     void findRegistrationStudentsByStaffId() throws Exception{
         int staffId=32;
-        List<Map<String, Object>> registrationList= MockObject.mockRegistration();
-        when(userDAO.getUserById(staffId)).thenReturn
-                (new User(staffId,"mock","mock","mock",TypeEnum.STAFF.getCode()));
+        List<Registration> registrationList= MockObject.mockRegistration();
+        when(userDAO.getUserTypeId(staffId)).thenReturn(TypeEnum.STAFF.getCode());
         when(projectRegistrationsDAO.findRegistrationStudentsByStaffId(staffId)).thenReturn(registrationList);
         assertEquals(registrationList,registrationService.findRegistrationStudentsByStaffId(staffId));
     }
@@ -156,7 +159,7 @@ class RegistrationServiceTest {
     @Test
     void findRegistrationStudentsByStaffIdNotExisted() throws Exception{
         int staffId=anyInt();
-        when(userDAO.getUserById(staffId)).thenReturn(null);
+        when(userDAO.getUserTypeId(staffId)).thenReturn(null);
         SQLException e=assertThrows(SQLException.class,
                 () ->registrationService.findRegistrationStudentsByStaffId(staffId));
         assertEquals("The user doesn't exist",e.getMessage());
@@ -170,7 +173,7 @@ class RegistrationServiceTest {
     @Test
     void findRegistrationStudentsByStaffIdNotAStaff() throws Exception{
         int staffId=anyInt();
-        when(userDAO.getUserById(staffId)).thenReturn(new User(staffId,"mock","mock","mock",1));
+        when(userDAO.getUserTypeId(staffId)).thenReturn(1);
         assertFalse(registrationService.isStaff(staffId));
         SQLException e=assertThrows(SQLException.class,
                 () ->registrationService.findRegistrationStudentsByStaffId(staffId));
@@ -185,18 +188,56 @@ class RegistrationServiceTest {
     @Test
     void assignRegistration() throws Exception{
         int registrationId=1;
-        int studentId=3;
-        Map<String, Object> registration = new HashMap<>();
-        registration.put("registrationId", registrationId);
-        registration.put("projectId", 2);
-        registration.put("studentId", studentId);
-        registration.put("registrationState", 3);
-        when(projectRegistrationsDAO.getRegistrationById(registrationId)).thenReturn(registration);
-        assertTrue(registrationService.assignRegistration(registrationId));
-        verify(projectRegistrationsDAO,times(1))
-                .deleteInterestedRegistrationsByStudentId(studentId,registrationId);
-        verify(projectRegistrationsDAO,times(1))
-                .updateRegistrationState(registrationId, 2);
+        when(projectRegistrationsDAO.getRegistrationById(registrationId))
+                .thenReturn(new Registration(registrationId, 2, 3, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.assignRegistration(registrationId)).thenReturn(AssignmentResultEnum.ASSIGNED);
+        assertEquals(AssignmentResultEnum.ASSIGNED, registrationService.assignRegistration(registrationId));
+        verify(projectRegistrationsDAO,times(1)).assignRegistration(registrationId);
+    }
+
+    /**
+     * Test case for assigning a registration, which takes the student's other waitlisted registrations off the
+     * in-memory waitlists as the assignment deletes them.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void assignRegistrationRemovesOtherWaitlisted() throws Exception{
+        WaitlistService waitlistService = new WaitlistService(projectRegistrationsDAO);
+        registrationService = new RegistrationService(projectRegistrationsDAO, new UserRoleCache(userDAO),
+                waitlistService);
+        Registration waitlisted = new Registration(4, 5, 3, RegistrationStateEnum.WAITLISTED);
+        waitlisted.setWaitlistPosition(1);
+        when(projectRegistrationsDAO.findWaitlistByProjectId(5)).thenReturn(List.of(waitlisted));
+        when(projectRegistrationsDAO.promoteWaitlisted(5, 4)).thenReturn(AssignmentResultEnum.PROJECT_FULL);
+        waitlistService.promote(5);
+
+        when(projectRegistrationsDAO.getRegistrationById(1))
+                .thenReturn(new Registration(1, 2, 3, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.findOtherWaitlistedRegistrations(new int[]{1}))
+                .thenReturn(Map.of(1, List.of(waitlisted)));
+        when(projectRegistrationsDAO.assignRegistration(1)).thenReturn(AssignmentResultEnum.ASSIGNED);
+        assertEquals(AssignmentResultEnum.ASSIGNED, registrationService.assignRegistration(1));
+
+        assertEquals(List.of(), waitlistService.promote(5));
+        verify(projectRegistrationsDAO, times(1)).promoteWaitlisted(5, 4);
+    }
+
+    /**
+     * Test case for assigning many project registrations at once.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void assignRegistrations() throws Exception{
+        when(projectRegistrationsDAO.assignRegistrations(new int[]{4, 5})).thenReturn(new AssignmentResultEnum[]{
+                AssignmentResultEnum.ASSIGNED, AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED});
+        List<AssignmentOutcomeDTO> outcomes = registrationService.assignRegistrations(List.of(4, 5));
+        assertEquals(2, outcomes.size());
+        assertEquals(4, outcomes.get(0).getRegistrationId());
+        assertEquals(AssignmentResultEnum.ASSIGNED, outcomes.get(0).getResult());
+        assertEquals(5, outcomes.get(1).getRegistrationId());
+        assertEquals(AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED, outcomes.get(1).getResult());
     }
 
     /**
@@ -206,50 +247,39 @@ class RegistrationServiceTest {
      */
     @Test
     void assignRegistrationNotFound() throws Exception{
-        int registrationId=anyInt();
-        when(projectRegistrationsDAO.getRegistrationById(registrationId)).thenReturn(null);
-        assertFalse(registrationService.assignRegistration(registrationId));
+        int registrationId=7;
+        when(projectRegistrationsDAO.assignRegistration(registrationId)).thenReturn(AssignmentResultEnum.NOT_FOUND);
+        assertEquals(AssignmentResultEnum.NOT_FOUND, registrationService.assignRegistration(registrationId));
+        verify(projectRegistrationsDAO, never()).assignRegistration(registrationId);
     }
 
     /**
-     * Test case for assigning a project registration when the student is not found or an exception occurs in delete operation.
+     * Test case for assigning a project registration when the student is already assigned elsewhere.
      *
      * @throws Exception if an unexpected error occurs
      */
     @Test
-    void assignRegistrationStudentNotFoundOrOtherExceptionInDelete() throws Exception{
+    void assignRegistrationStudentAlreadyAssigned() throws Exception{
         int registrationId=1;
-        int studentId=3;
-        Map<String, Object> registration = new HashMap<>();
-        registration.put("registrationId", registrationId);
-        registration.put("projectId", 2);
-        registration.put("studentId", studentId);
-        registration.put("registrationState", 3);
-        when(projectRegistrationsDAO.getRegistrationById(registrationId)).thenReturn(registration);
-        doThrow(new SQLException())
-                .when(projectRegistrationsDAO)
-                .deleteInterestedRegistrationsByStudentId(studentId,registrationId);
-        assertThrows(SQLException.class,()->registrationService.assignRegistration(registrationId));
+        when(projectRegistrationsDAO.getRegistrationById(registrationId))
+                .thenReturn(new Registration(registrationId, 2, 3, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.assignRegistration(registrationId))
+                .thenReturn(AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED);
+        assertEquals(AssignmentResultEnum.STUDENT_ALREADY_ASSIGNED,
+                registrationService.assignRegistration(registrationId));
     }
 
     /**
-     * Test case for assigning a project registration when an exception occurs in the update operation.
+     * Test case for assigning a project registration when an exception occurs in the transaction.
      *
      * @throws Exception if an unexpected error occurs
      */
     @Test
-    void assignRegistrationExceptionInUpdate() throws Exception{
+    void assignRegistrationException() throws Exception{
         int registrationId=1;
-        int studentId=3;
-        Map<String, Object> registration = new HashMap<>();
-        registration.put("registrationId", registrationId);
-        registration.put("projectId", 2);
-        registration.put("studentId", studentId);
-        registration.put("registrationState", 3);
-        when(projectRegistrationsDAO.getRegistrationById(registrationId)).thenReturn(registration);
-        doThrow(new SQLException())
-                .when(projectRegistrationsDAO)
-                .updateRegistrationState(registrationId,RegistrationStateEnum.SUCCESS.getCode());
+        when(projectRegistrationsDAO.getRegistrationById(registrationId))
+                .thenReturn(new Registration(registrationId, 2, 3, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.assignRegistration(registrationId)).thenThrow(new SQLException());
         assertThrows(SQLException.class,()->registrationService.assignRegistration(registrationId));
     }
 
@@ -276,4 +306,76 @@ class RegistrationServiceTest {
         when(projectRegistrationsDAO.isStudentAssignedToProject(studentId)).thenReturn(false);
         assertFalse(registrationService.isStudentAssignedToProject(studentId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for streaming registration students by staff ID.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void streamRegistrationStudentsByStaffId() throws Exception{
+        int staffId=32;
+        RowCallback<Registration> callback = registration -> { };
+        when(userDAO.getUserTypeId(staffId)).thenReturn(TypeEnum.STAFF.getCode());
+        registrationService.streamRegistrationStudentsByStaffId(staffId, callback);
+        verify(projectRegistrationsDAO,times(1)).streamRegistrationStudentsByStaffId(staffId, callback);
+    }
+
+    /**
+     * Test case for streaming registration students by staff ID when the user is not a staff.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void streamRegistrationStudentsByStaffIdNotAStaff() throws Exception{
+        int staffId=33;
+        when(userDAO.getUserTypeId(staffId)).thenReturn(1);
+        SQLException e=assertThrows(SQLException.class,
+                () ->registrationService.streamRegistrationStudentsByStaffId(staffId, registration -> { }));
+        assertEquals("The user is not a staff",e.getMessage());
+        verify(projectRegistrationsDAO,never()).streamRegistrationStudentsByStaffId(anyInt(), any());
+    }
+
+    /**
+     * Test case for saving a student's preference ranking.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void updatePreferences() throws Exception {
+        int studentId = 3;
+        when(userDAO.getUserTypeId(studentId)).thenReturn(TypeEnum.STUDENT.getCode());
+        when(projectRegistrationsDAO.updatePreferenceRanks(studentId, new int[]{2, 1})).thenReturn(true);
+        assertTrue(registrationService.updatePreferences(studentId, List.of(2, 1)));
+        verify(projectRegistrationsDAO).updatePreferenceRanks(studentId, new int[]{2, 1});
+    }
+
+    /**
+     * Test case for a preference ranking that lists a project twice.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void updatePreferencesDuplicate() throws Exception {
+        int studentId = 3;
+        when(userDAO.getUserTypeId(studentId)).thenReturn(TypeEnum.STUDENT.getCode());
+        SQLException e = assertThrows(SQLException.class,
+                () -> registrationService.updatePreferences(studentId, List.of(2, 1, 2)));
+        assertEquals("A project can only be ranked once", e.getMessage());
+        verify(projectRegistrationsDAO, never()).updatePreferenceRanks(anyInt(), any());
+    }
+
+    /**
+     * Test case for a preference ranking sent for a user who is not a student.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void updatePreferencesNotStudent() throws Exception {
+        int staffId = 2;
+        when(userDAO.getUserTypeId(staffId)).thenReturn(TypeEnum.STAFF.getCode());
+        SQLException e = assertThrows(SQLException.class,
+                () -> registrationService.updatePreferences(staffId, List.of(1)));
+        assertEquals("The user is not a student", e.getMessage());
+    }
+}
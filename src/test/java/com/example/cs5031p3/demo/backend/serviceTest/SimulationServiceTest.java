@@ -0,0 +1,91 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.dto.SimulationResultDTO;
+import com.example.cs5031p3.demo.backend.dto.SimulationScenarioDTO;
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.model.AllocationSnapshot;
+import com.example.cs5031p3.demo.backend.service.SimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the SimulationService class.
+ */
+class SimulationServiceTest {
+    SimulationService simulationService;
+
+    @Mock
+    ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        simulationService = new SimulationService(projectRegistrationsDAO);
+        AllocationProblem problem = new AllocationProblem(new int[]{1, 3}, new int[]{10, 20}, new int[]{1, 1},
+                new int[]{0, 2, 3}, new int[]{0, 1, 0}, new int[]{11, 12, 13});
+        when(projectRegistrationsDAO.loadAllocationSnapshot())
+                .thenReturn(new AllocationSnapshot(problem, new int[]{2, 4}, Map.of(4, 2)));
+    }
+
+    /**
+     * Test case for loading a snapshot, which is read by the DAO in one transaction.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void loadSnapshot() throws Exception {
+        AllocationSnapshot snapshot = simulationService.loadSnapshot();
+
+        assertArrayEquals(new int[]{2, 4}, snapshot.getProjectStaff());
+        assertEquals(2, snapshot.getStaffLoad(4));
+        assertEquals(0, snapshot.getStaffLoad(2));
+        verify(projectRegistrationsDAO, never()).loadAllocationProblem();
+    }
+
+    /**
+     * Test case for simulating several scenarios over one snapshot without writing anything.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void simulate() throws Exception {
+        SimulationScenarioDTO removed = new SimulationScenarioDTO("no 10", AllocationModeEnum.OPTIMAL);
+        removed.setRemovedProjectIds(List.of(10));
+
+        List<SimulationResultDTO> results = simulationService.simulate(List.of(
+                new SimulationScenarioDTO("stable", AllocationModeEnum.STABLE),
+                new SimulationScenarioDTO("optimal", AllocationModeEnum.OPTIMAL),
+                removed));
+
+        assertEquals(List.of("stable", "optimal", "no 10"), results.stream().map(SimulationResultDTO::getName).toList());
+        assertEquals(1, results.get(0).getAssigned());
+        assertEquals(2, results.get(1).getAssigned());
+        assertEquals(1, results.get(2).getAssigned());
+        assertEquals(Map.of(2, 1, 4, 3), results.get(1).getSupervisorLoads());
+        verify(projectRegistrationsDAO, times(1)).loadAllocationSnapshot();
+        verify(projectRegistrationsDAO, never()).assignAllocatedRegistrations(any());
+    }
+
+    /**
+     * Test case for a database error while loading the snapshot.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void simulateDatabaseError() throws Exception {
+        when(projectRegistrationsDAO.loadAllocationSnapshot()).thenThrow(new SQLException("Database error"));
+
+        assertThrows(SQLException.class, () -> simulationService.simulate(List.of(new SimulationScenarioDTO())));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.service.StripedLock;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StripedLock class.
+ */
+class StripedLockTest {
+
+    /**
+     * Tests that the number of stripes is a power of two of at least four per core.
+     */
+    @Test
+    void stripeCount() {
+        assertEquals(4, new StripedLock(1).getStripeCount());
+        assertEquals(16, new StripedLock(3).getStripeCount());
+        assertEquals(32, new StripedLock(8).getStripeCount());
+        assertEquals(4, new StripedLock(0).getStripeCount());
+    }
+
+    /**
+     * Tests that a key always maps to the same lock and that consecutive keys are spread over the stripes.
+     */
+    @Test
+    void getSpreadsKeys() {
+        StripedLock locks = new StripedLock(8);
+        assertSame(locks.get(42), locks.get(42));
+        Set<ReentrantLock> used = new HashSet<>();
+        for (int key = 1; key <= 64; key++) {
+            used.add(locks.get(key));
+        }
+        assertTrue(used.size() > locks.getStripeCount() / 2);
+    }
+}
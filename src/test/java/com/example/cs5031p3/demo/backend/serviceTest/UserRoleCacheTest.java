@@ -0,0 +1,138 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the UserRoleCache class.
+ */
+class UserRoleCacheTest {
+
+    UserRoleCache userRoleCache;
+
+    @Mock
+    UserDAO userDAO;
+
+    /**
+     * Sets up the test environment.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userRoleCache = new UserRoleCache(userDAO);
+    }
+
+    /**
+     * Test case for answering repeated checks from the cache.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void repeatedChecksHitCache() throws Exception {
+        when(userDAO.getUserTypeId(2)).thenReturn(TypeEnum.STAFF.getCode());
+        assertTrue(userRoleCache.isStaff(2));
+        assertTrue(userRoleCache.isStaff(2));
+        assertFalse(userRoleCache.isStudent(2));
+        verify(userDAO, times(1)).getUserTypeId(2);
+        assertEquals(1, userRoleCache.getMissCount());
+        assertEquals(2, userRoleCache.getHitCount());
+        assertEquals(1, userRoleCache.size());
+    }
+
+    /**
+     * Test case for checking a user that doesn't exist, which must not be cached.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void missingUserNotCached() throws Exception {
+        when(userDAO.getUserTypeId(5)).thenReturn(null);
+        SQLException e = assertThrows(SQLException.class, () -> userRoleCache.isStudent(5));
+        assertEquals("The user doesn't exist", e.getMessage());
+        assertEquals(0, userRoleCache.size());
+
+        when(userDAO.getUserTypeId(5)).thenReturn(TypeEnum.STUDENT.getCode());
+        assertTrue(userRoleCache.isStudent(5));
+        assertEquals(2, userRoleCache.getMissCount());
+    }
+
+    /**
+     * Test case for reading the type again after an invalidation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void invalidateReloadsType() throws Exception {
+        when(userDAO.getUserTypeId(3)).thenReturn(TypeEnum.STUDENT.getCode(), TypeEnum.STAFF.getCode());
+        assertTrue(userRoleCache.isStudent(3));
+        userRoleCache.invalidate(3);
+        assertTrue(userRoleCache.isStaff(3));
+        verify(userDAO, times(2)).getUserTypeId(3);
+
+        userRoleCache.invalidateAll();
+        assertEquals(0, userRoleCache.size());
+    }
+
+    /**
+     * Test case for a type read before an invalidation, which must not be kept.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void invalidationDuringLoadDiscardsValue() throws Exception {
+        when(userDAO.getUserTypeId(4)).thenAnswer(invocation -> {
+            userRoleCache.invalidate(4);
+            return TypeEnum.STUDENT.getCode();
+        });
+        assertTrue(userRoleCache.isStudent(4));
+        assertEquals(0, userRoleCache.size());
+    }
+
+    /**
+     * Test case for replacing the entry of a user whose slot is taken once the cache is full.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void cacheIsBounded() throws Exception {
+        when(userDAO.getUserTypeId(anyInt())).thenReturn(TypeEnum.STUDENT.getCode());
+        for (int id = 1; id <= UserRoleCache.MAX_ENTRIES + 1; id++) {
+            userRoleCache.isStudent(id);
+        }
+        assertEquals(UserRoleCache.MAX_ENTRIES, userRoleCache.size());
+        // The last user shares the first user's slot, so the first user has to be read again
+        userRoleCache.isStudent(1);
+        verify(userDAO, times(2)).getUserTypeId(1);
+    }
+
+    /**
+     * Test case for exporting the hit and miss counts and the size to a meter registry.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void metricsBoundToRegistry() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userRoleCache.bindTo(registry);
+        when(userDAO.getUserTypeId(2)).thenReturn(TypeEnum.STAFF.getCode());
+        userRoleCache.isStaff(2);
+        userRoleCache.isStaff(2);
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", UserRoleCache.CACHE_NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", UserRoleCache.CACHE_NAME, "result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", UserRoleCache.CACHE_NAME).gauge().value());
+    }
+}
@@ -2,7 +2,10 @@ package com.example.cs5031p3.demo.backend.serviceTest;
 
 import com.example.cs5031p3.demo.MockObject;
 import com.example.cs5031p3.demo.backend.dao.UserDAO;
+import com.example.cs5031p3.demo.backend.dto.PageDTO;
 import com.example.cs5031p3.demo.backend.model.User;
+import com.example.cs5031p3.demo.backend.service.ProjectCatalogueCache;
+import com.example.cs5031p3.demo.backend.service.UserRoleCache;
 import com.example.cs5031p3.demo.backend.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +14,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +31,12 @@ class UserServiceTest {
     @Mock
     UserDAO userDAO;
 
+    @Mock
+    UserRoleCache userRoleCache;
+
+    @Mock
+    ProjectCatalogueCache projectCatalogueCache;
+
     @BeforeEach
     void setUp()
     {
@@ -122,6 +133,8 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> userService.updateUser(user));
         verify(userDAO, times(1)).updateUser(user);
+        verify(userRoleCache, times(1)).invalidate(user.getId());
+        verify(projectCatalogueCache, times(1)).invalidate();
     }
 
     /**
@@ -137,6 +150,7 @@ class UserServiceTest {
         SQLException exception = assertThrows(SQLException.class, () -> userService.updateUser(user));
         assertEquals("Update failed", exception.getMessage());
         verify(userDAO, times(1)).updateUser(user);
+        verify(userRoleCache, never()).invalidate(anyInt());
     }
 
     /**
@@ -151,6 +165,8 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> userService.deleteUser(userId));
         verify(userDAO, times(1)).deleteUser(userId);
+        verify(userRoleCache, times(1)).invalidate(userId);
+        verify(projectCatalogueCache, times(1)).invalidate();
     }
 
     /**
@@ -338,4 +354,97 @@ class UserServiceTest {
         when(userDAO.getUserIdByUsername(username)).thenThrow(new SQLException("Database error"));
         assertThrows(SQLException.class, () -> userService.getUserIdByUsername(username));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for creating several users at once.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void createUsers() throws Exception {
+        List<User> users = List.of(new User(null,"a","a","a",1), new User(null,"b","b","b",1));
+        when(userDAO.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        assertDoesNotThrow(() -> userService.createUsers(users));
+        verify(userDAO,times(1)).createUsers(users);
+    }
+
+    /**
+     * Test case for creating several users when one username already exists.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void createUsersExistedUsername() throws Exception {
+        List<User> users = List.of(new User(null,"a","a","a",1), new User(null,"b","b","b",1));
+        when(userDAO.findExistingUsernames(anyCollection())).thenReturn(Set.of("b"));
+        SQLException e=assertThrows(SQLException.class, () -> userService.createUsers(users));
+        assertEquals("The username has already existed: b",e.getMessage());
+        verify(userDAO,never()).createUsers(anyList());
+    }
+
+    /**
+     * Test case for creating several users when a username is repeated in the list.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void createUsersRepeatedUsername() throws Exception {
+        List<User> users = List.of(new User(null,"a","a","a",1), new User(null,"a2","a","a",1));
+        SQLException e=assertThrows(SQLException.class, () -> userService.createUsers(users));
+        assertEquals("The username is repeated: a",e.getMessage());
+        verify(userDAO,never()).createUsers(anyList());
+    }
+
+    /**
+     * Test case for getting a page of users when more pages follow.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void getUsersPage() throws Exception {
+        List<User> users = new ArrayList<>(MockObject.mockUserList()); // IDs 0 to 2
+        when(userDAO.getUsersAfter(0, 3)).thenReturn(users);
+        PageDTO<User> page = userService.getUsersPage(0, 2);
+        assertEquals(2, page.getItems().size());
+        assertEquals(1, page.getNextCursor());
+    }
+
+    /**
+     * Test case for getting the last page of users.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void getUsersPageLastPage() throws Exception {
+        List<User> users = new ArrayList<>(MockObject.mockUserList());
+        when(userDAO.getUsersAfter(0, 6)).thenReturn(users);
+        PageDTO<User> page = userService.getUsersPage(0, 5);
+        assertEquals(3, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test case for setting the maximum load of a staff member.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void updateMaxLoad() throws Exception {
+        when(userRoleCache.isStaff(2)).thenReturn(true);
+        userService.updateMaxLoad(2, 4);
+        verify(userDAO, times(1)).updateMaxLoad(2, 4);
+    }
+
+    /**
+     * Test case for setting the maximum load of a user who is not a staff member.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    void updateMaxLoadNotStaff() throws Exception {
+        when(userRoleCache.isStaff(1)).thenReturn(false);
+        SQLException e = assertThrows(SQLException.class, () -> userService.updateMaxLoad(1, 4));
+        assertEquals("The user is not a staff", e.getMessage());
+        verify(userDAO, never()).updateMaxLoad(anyInt(), any());
+    }
+}
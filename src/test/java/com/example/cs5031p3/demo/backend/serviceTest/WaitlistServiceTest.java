@@ -0,0 +1,191 @@
+package com.example.cs5031p3.demo.backend.serviceTest;
+
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.enums.AssignmentResultEnum;
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.model.Registration;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the WaitlistService class.
+ */
+class WaitlistServiceTest {
+
+    WaitlistService waitlistService;
+
+    @Mock
+    ProjectRegistrationsDAO projectRegistrationsDAO;
+
+    /**
+     * Sets up the test environment.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        waitlistService = new WaitlistService(projectRegistrationsDAO);
+    }
+
+    /**
+     * Builds a waitlisted registration of project 1.
+     *
+     * @param registrationId The ID of the registration
+     * @param position Its waitlist position
+     * @return The registration
+     */
+    private static Registration waitlisted(int registrationId, int position) {
+        Registration registration = new Registration(registrationId, 1, 100 + registrationId,
+                RegistrationStateEnum.WAITLISTED);
+        registration.setWaitlistPosition(position);
+        return registration;
+    }
+
+    /**
+     * Test case for joining the waitlist of a full project.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void joinFullProject() throws SQLException {
+        when(projectRegistrationsDAO.getRegistrationById(5))
+                .thenReturn(new Registration(5, 1, 105, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1)).thenReturn(List.of());
+        when(projectRegistrationsDAO.addToWaitlist(5)).thenReturn(waitlisted(5, 1));
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 5)).thenReturn(AssignmentResultEnum.PROJECT_FULL);
+
+        Registration registration = waitlistService.join(5);
+        assertEquals(RegistrationStateEnum.WAITLISTED, registration.getState());
+        assertEquals(1, registration.getWaitlistPosition());
+    }
+
+    /**
+     * Test case for joining the waitlist again while the heap still holds the registration's earlier entry, which
+     * is replaced by the new position.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void joinAgainReplacesStaleEntry() throws SQLException {
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1))
+                .thenReturn(List.of(waitlisted(5, 1), waitlisted(6, 2)));
+        when(projectRegistrationsDAO.getRegistrationById(5))
+                .thenReturn(new Registration(5, 1, 105, RegistrationStateEnum.WAIT));
+        when(projectRegistrationsDAO.addToWaitlist(5)).thenReturn(waitlisted(5, 3));
+        when(projectRegistrationsDAO.promoteWaitlisted(eq(1), anyInt())).thenReturn(AssignmentResultEnum.PROJECT_FULL);
+
+        assertEquals(3, waitlistService.join(5).getWaitlistPosition());
+        verify(projectRegistrationsDAO, times(1)).promoteWaitlisted(1, 6);
+        verify(projectRegistrationsDAO, never()).promoteWaitlisted(1, 5);
+    }
+
+    /**
+     * Test case for taking deleted registrations off the waitlist, so that promotion skips them.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void removeAllSkipsDeletedRegistrations() throws SQLException {
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1))
+                .thenReturn(List.of(waitlisted(7, 1), waitlisted(8, 2)));
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 7)).thenReturn(AssignmentResultEnum.PROJECT_FULL);
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 8)).thenReturn(AssignmentResultEnum.ASSIGNED);
+        assertEquals(List.of(), waitlistService.promote(1));
+
+        Registration other = new Registration(9, 2, 107, RegistrationStateEnum.WAITLISTED);
+        waitlistService.removeAll(List.of(waitlisted(7, 1), other));
+        assertEquals(List.of(8), waitlistService.promote(1));
+        verify(projectRegistrationsDAO, times(1)).promoteWaitlisted(1, 7);
+        // The waitlist of project 2 was never loaded, so there is nothing to take the registration off
+        verify(projectRegistrationsDAO, never()).findWaitlistByProjectId(2);
+    }
+
+    /**
+     * Test case for forgetting the waitlist of a deleted project, which is read again on its next use.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void removeProjectForgetsWaitlist() throws SQLException {
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1)).thenReturn(List.of());
+        waitlistService.promote(1);
+        waitlistService.removeProject(1);
+        waitlistService.promote(1);
+        verify(projectRegistrationsDAO, times(2)).findWaitlistByProjectId(1);
+    }
+
+    /**
+     * Test case for joining the waitlist with a registration that is not an interested one.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void joinNotInterested() throws SQLException {
+        when(projectRegistrationsDAO.getRegistrationById(5))
+                .thenReturn(new Registration(5, 1, 105, RegistrationStateEnum.SUCCESS));
+        when(projectRegistrationsDAO.addToWaitlist(5)).thenReturn(null);
+        assertNull(waitlistService.join(5));
+        verify(projectRegistrationsDAO, never()).promoteWaitlisted(anyInt(), anyInt());
+
+        assertNull(waitlistService.join(6));
+    }
+
+    /**
+     * Test case for promoting in waitlist order until the project is full, dropping registrations that left the
+     * waitlist meanwhile.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void promoteInOrderUntilFull() throws SQLException {
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1))
+                .thenReturn(List.of(waitlisted(7, 1), waitlisted(8, 2), waitlisted(9, 3), waitlisted(6, 4)));
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 7)).thenReturn(AssignmentResultEnum.ASSIGNED);
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 8)).thenReturn(AssignmentResultEnum.NOT_FOUND);
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 9)).thenReturn(AssignmentResultEnum.ASSIGNED);
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 6)).thenReturn(AssignmentResultEnum.PROJECT_FULL);
+
+        assertEquals(List.of(7, 9), waitlistService.promote(1));
+        assertEquals(List.of(), waitlistService.promote(1));
+        verify(projectRegistrationsDAO, times(1)).findWaitlistByProjectId(1);
+        verify(projectRegistrationsDAO, times(2)).promoteWaitlisted(1, 6);
+        verify(projectRegistrationsDAO, times(1)).promoteWaitlisted(1, 8);
+    }
+
+    /**
+     * Test case for taking an assignment away, which promotes the head of the waitlist.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void unassignPromotesHead() throws SQLException {
+        when(projectRegistrationsDAO.getRegistrationById(2))
+                .thenReturn(new Registration(2, 1, 102, RegistrationStateEnum.SUCCESS));
+        when(projectRegistrationsDAO.releaseAssignment(2)).thenReturn(true);
+        when(projectRegistrationsDAO.findWaitlistByProjectId(1)).thenReturn(List.of(waitlisted(7, 1)));
+        when(projectRegistrationsDAO.promoteWaitlisted(1, 7)).thenReturn(AssignmentResultEnum.ASSIGNED);
+
+        assertEquals(List.of(7), waitlistService.unassign(2));
+    }
+
+    /**
+     * Test case for taking away a registration that is not assigned.
+     *
+     * @throws SQLException if an SQL error occurs
+     */
+    @Test
+    void unassignNotAssigned() throws SQLException {
+        when(projectRegistrationsDAO.getRegistrationById(2))
+                .thenReturn(new Registration(2, 1, 102, RegistrationStateEnum.WAIT));
+        assertNull(waitlistService.unassign(2));
+        verify(projectRegistrationsDAO, never()).releaseAssignment(anyInt());
+    }
+}
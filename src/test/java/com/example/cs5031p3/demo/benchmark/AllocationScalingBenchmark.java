@@ -0,0 +1,155 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.GaleShapleyAllocator;
+import com.example.cs5031p3.demo.backend.service.MinCostFlowAllocator;
+import com.example.cs5031p3.demo.backend.service.ParallelAllocator;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the single-threaded allocation engines with the ParallelAllocator on a multi-department cohort, using
+ * fork-join pools of 1, 2, 4, ... threads up to the number of available cores, and prints the speed-up of each.
+ * Each department has its own students, projects and load-limited supervisors, so the cohort splits into one
+ * component per department.
+ * <p>
+ * This is a plain main-method harness rather than a unit test, so it is not run by the build. Run it with
+ * {@code java -cp target/classes:target/test-classes com.example.cs5031p3.demo.benchmark.AllocationScalingBenchmark [departments] [studentsPerDepartment]}.
+ * With {@code 1 10000} it times the engines on one department of 10,000 students and 2,000 projects, the size
+ * of the full cohorts the engines' unit tests allocate without timing them.
+ */
+public class AllocationScalingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int CHOICES = 10;
+
+    private static volatile Object sink;
+
+    /**
+     * Runs the benchmark for both allocation modes.
+     * @param args Optionally, the number of departments (default 16) and of students per department (default 5000)
+     */
+    public static void main(String[] args) {
+        int departments = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int studentsPerDepartment = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        AllocationProblem problem = cohort(new Random(42), departments, studentsPerDepartment);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d departments of %d students, %d preferences, %d cores%n", departments,
+                studentsPerDepartment, problem.getPreferenceProject().length, cores);
+
+        for (AllocationModeEnum mode : AllocationModeEnum.values()) {
+            double single = measure(() -> mode == AllocationModeEnum.OPTIMAL
+                    ? MinCostFlowAllocator.allocate(problem)
+                    : GaleShapleyAllocator.allocate(problem));
+            report(mode + " single-threaded engine", single, single);
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    report(mode + " parallel, " + threads + " thread(s)", single,
+                            measure(() -> ParallelAllocator.allocate(problem, mode, pool)));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    /**
+     * An allocation to time.
+     */
+    @FunctionalInterface
+    private interface Allocation {
+        int[] run();
+    }
+
+    /**
+     * Times an allocation after a warm-up.
+     * @param allocation The allocation
+     * @return The average milliseconds per run
+     */
+    private static double measure(Allocation allocation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = allocation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = allocation.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+    }
+
+    /**
+     * Prints one result line.
+     * @param name The allocation
+     * @param baselineMillis The average milliseconds per run of the single-threaded engine
+     * @param millis The average milliseconds per run
+     */
+    private static void report(String name, double baselineMillis, double millis) {
+        System.out.printf("%-36s %10.1f ms/run %6.2fx%n", name, millis, baselineMillis / millis);
+    }
+
+    /**
+     * Builds a cohort where every department has a fifth as many projects as students, each project taking up to
+     * three students, and one supervisor for every ten projects, each taking up to twenty students.
+     * @param random The source of randomness
+     * @param departments The number of departments
+     * @param studentsPerDepartment The number of students in each department
+     * @return The allocation problem
+     */
+    static AllocationProblem cohort(Random random, int departments, int studentsPerDepartment) {
+        int projectsPerDepartment = Math.max(CHOICES, studentsPerDepartment / 5);
+        int supervisorsPerDepartment = Math.max(1, projectsPerDepartment / 10);
+        int students = departments * studentsPerDepartment;
+        int projects = departments * projectsPerDepartment;
+        int supervisors = departments * supervisorsPerDepartment;
+
+        int[] projectIds = new int[projects];
+        int[] projectCapacity = new int[projects];
+        int[] projectSupervisor = new int[projects];
+        for (int p = 0; p < projects; p++) {
+            int department = p / projectsPerDepartment;
+            projectIds[p] = p + 1;
+            projectCapacity[p] = 1 + random.nextInt(3);
+            projectSupervisor[p] = department * supervisorsPerDepartment + random.nextInt(supervisorsPerDepartment);
+        }
+        int[] supervisorCapacity = new int[supervisors];
+        for (int f = 0; f < supervisors; f++) {
+            supervisorCapacity[f] = 1 + random.nextInt(20);
+        }
+
+        int[] studentIds = new int[students];
+        int[] preferenceStart = new int[students + 1];
+        int[] preferenceProject = new int[students * CHOICES];
+        int[] preferenceRegistration = new int[students * CHOICES];
+        int[] order = new int[projectsPerDepartment];
+        for (int s = 0; s < students; s++) {
+            int firstProject = (s / studentsPerDepartment) * projectsPerDepartment;
+            studentIds[s] = s + 1;
+            for (int j = 0; j < projectsPerDepartment; j++) {
+                order[j] = j;
+            }
+            for (int i = 0; i < CHOICES; i++) {
+                int j = i + random.nextInt(projectsPerDepartment - i);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+                int k = s * CHOICES + i;
+                preferenceProject[k] = firstProject + order[i];
+                preferenceRegistration[k] = k + 1;
+            }
+            preferenceStart[s + 1] = (s + 1) * CHOICES;
+        }
+        // Shuffle registration IDs so that projects do not all rank students in the same order
+        for (int k = preferenceRegistration.length - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int swap = preferenceRegistration[k];
+            preferenceRegistration[k] = preferenceRegistration[j];
+            preferenceRegistration[j] = swap;
+        }
+        return new AllocationProblem(studentIds, projectIds, projectCapacity, preferenceStart,
+                preferenceProject, preferenceRegistration, projectSupervisor, supervisorCapacity);
+    }
+}
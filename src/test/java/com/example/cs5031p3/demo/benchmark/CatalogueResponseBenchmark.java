@@ -0,0 +1,109 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.model.Project;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Compares the response-path cost of the three ways /project/all can answer a poll of the full catalogue:
+ * serializing the project list with Jackson on every request (the behaviour before the JSON cache),
+ * writing the cached JSON bytes, and answering a matching If-None-Match with 304.
+ * <p>
+ * This is a plain main-method harness rather than a unit test, so it is not run by the build. Run it with
+ * {@code java -cp target/classes:target/test-classes:<dependency classpath> com.example.cs5031p3.demo.benchmark.CatalogueResponseBenchmark [projects]}.
+ */
+public class CatalogueResponseBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    /**
+     * An output stream that discards everything, standing in for the servlet response.
+     */
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private static volatile Object sink;
+
+    /**
+     * Runs the benchmark and prints the average time per request of each response path.
+     * @param args Optionally, the number of projects in the catalogue (default 1000)
+     * @throws Exception if serialization fails
+     */
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Project> projects = catalogue(size);
+        byte[] json = objectMapper.writeValueAsBytes(projects);
+        String eTag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16) + "\"";
+        String ifNoneMatch = new String(eTag);
+
+        System.out.printf("Catalogue of %d projects, %d bytes of JSON%n", size, json.length);
+        report("Jackson serialization per request", measure(() -> objectMapper.writeValue(DISCARD, projects)));
+        report("Cached JSON bytes", measure(() -> DISCARD.write(json)));
+        report("304 on matching If-None-Match", measure(() -> sink = eTag.equals(ifNoneMatch)));
+    }
+
+    /**
+     * A response path to time.
+     */
+    @FunctionalInterface
+    private interface Response {
+        void write() throws IOException;
+    }
+
+    /**
+     * Times a response path after a warm-up.
+     * @param response The response path
+     * @return The average nanoseconds per request
+     * @throws IOException if the response path fails
+     */
+    private static double measure(Response response) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            response.write();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            response.write();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    /**
+     * Prints one result line.
+     * @param name The response path
+     * @param nanosPerRequest The average nanoseconds per request
+     */
+    private static void report(String name, double nanosPerRequest) {
+        System.out.printf("%-36s %12.1f us/request%n", name, nanosPerRequest / 1_000);
+    }
+
+    /**
+     * Builds a catalogue with descriptions of a realistic length.
+     * @param size The number of projects
+     * @return The projects
+     */
+    private static List<Project> catalogue(int size) {
+        String description = "A project description of a few sentences, as staff usually write them. ".repeat(6);
+        List<Project> projects = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Project project = new Project(i, "Project " + i, description, 1 + i % 40);
+            project.setStaffName("Staff " + (1 + i % 40));
+            projects.add(project);
+        }
+        return projects;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent latency histogram with log-linear buckets in the style of HdrHistogram: values below 128 get a bucket
+ * each, and every power of two above is split into 64 buckets, so a recorded value is off by less than 1.6% whatever
+ * its magnitude. Recording is one atomic increment with no allocation, and the whole range of long values is covered
+ * by a few thousand buckets.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one value.
+     * @param value The value, such as a latency in microseconds; negative values are recorded as 0
+     */
+    void record(long value) {
+        counts.incrementAndGet(bucket(Math.max(0, value)));
+    }
+
+    /**
+     * Get the number of recorded values.
+     * @return The count
+     */
+    long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Get the value at a percentile, as the highest value of the bucket it falls in.
+     * @param percentile The percentile, from 0 to 100
+     * @return The value, or 0 if nothing was recorded
+     */
+    long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    /**
+     * Get the largest recorded value, to the precision of its bucket.
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    long max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return highestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get the bucket of a value.
+     * @param value A non-negative value
+     * @return The index of its bucket
+     */
+    private static int bucket(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        // Shift the value so that its top bits fall in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Get the highest value falling in a bucket.
+     * @param bucket The index of the bucket
+     * @return The value
+     */
+    private static long highestValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long lowest = (long) ((bucket - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
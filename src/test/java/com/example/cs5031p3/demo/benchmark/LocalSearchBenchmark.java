@@ -0,0 +1,55 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.enums.AllocationModeEnum;
+import com.example.cs5031p3.demo.backend.model.AllocationProblem;
+import com.example.cs5031p3.demo.backend.service.GaleShapleyAllocator;
+import com.example.cs5031p3.demo.backend.service.LocalSearchImprover;
+import com.example.cs5031p3.demo.backend.service.MinCostFlowAllocator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the local-search pass on the stable and optimal allocations of the multi-department cohort of
+ * {@link AllocationScalingBenchmark} with growing budgets, and prints how far and how fast it lowers the objective.
+ * Each budget starts again from the engine's allocation.
+ * <p>
+ * This is a plain main-method harness rather than a unit test, so it is not run by the build. Run it with
+ * {@code java -cp target/classes:target/test-classes com.example.cs5031p3.demo.benchmark.LocalSearchBenchmark [departments] [studentsPerDepartment]}.
+ */
+public class LocalSearchBenchmark {
+
+    private static final long[] BUDGET_MILLIS = {10, 50, 200, 1000};
+    private static final int BALANCE_WEIGHT = 1;
+
+    /**
+     * Runs the benchmark for both allocation modes.
+     * @param args Optionally, the number of departments (default 16) and of students per department (default 5000)
+     */
+    public static void main(String[] args) {
+        int departments = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int studentsPerDepartment = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        AllocationProblem problem = AllocationScalingBenchmark.cohort(new Random(42), departments,
+                studentsPerDepartment);
+        System.out.printf("%d departments of %d students, %d preferences%n", departments, studentsPerDepartment,
+                problem.getPreferenceProject().length);
+
+        for (AllocationModeEnum mode : AllocationModeEnum.values()) {
+            int[] allocation = mode == AllocationModeEnum.OPTIMAL
+                    ? MinCostFlowAllocator.allocate(problem)
+                    : GaleShapleyAllocator.allocate(problem);
+            // Warm the search up on a copy before measuring
+            new LocalSearchImprover(problem, allocation.clone(), BALANCE_WEIGHT)
+                    .improve(TimeUnit.MILLISECONDS.toNanos(500), 1);
+            for (long budget : BUDGET_MILLIS) {
+                LocalSearchImprover improver = new LocalSearchImprover(problem, allocation.clone(), BALANCE_WEIGHT);
+                improver.improve(TimeUnit.MILLISECONDS.toNanos(budget), 42);
+                System.out.printf("%-8s %5d ms budget: objective %,d -> %,d (%.2f%%), %,d moves of %,d tried, "
+                                + "%,.0f/s over %.0f ms%n", mode, budget, improver.getInitialObjective(),
+                        improver.getObjective(), 100.0 * improver.getImprovement() / improver.getInitialObjective(),
+                        improver.getMoves(), improver.getIterations(), improver.getImprovementPerSecond(),
+                        improver.getElapsedNanos() / 1e6);
+            }
+        }
+    }
+}
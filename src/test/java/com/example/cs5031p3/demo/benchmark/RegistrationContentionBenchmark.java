@@ -0,0 +1,191 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.dao.DatabaseManager;
+import com.example.cs5031p3.demo.backend.dao.ProjectRegistrationsDAO;
+import com.example.cs5031p3.demo.backend.service.RegistrationService;
+import com.example.cs5031p3.demo.backend.service.WaitlistService;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures registrations and approvals hammered from many threads at a small cohort, once through the DAO alone,
+ * as RegistrationService called it before the per-student locks, and once through RegistrationService with them.
+ * For each it prints the throughput, the operations that failed (lock timeouts or concurrent update errors) and the
+ * students left with more than one assignment or with interested registrations next to their assignment.
+ * <p>
+ * This is a plain main-method harness rather than a unit test, so it is not run by the build. Run it with
+ * {@code java -cp target/classes:target/test-classes:<dependencies> com.example.cs5031p3.demo.benchmark.RegistrationContentionBenchmark [threads] [students]}.
+ */
+public class RegistrationContentionBenchmark {
+
+    private static final int PROJECTS = 20;
+    private static final int OPERATIONS_PER_THREAD = 500;
+
+    /**
+     * One registration or approval.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        void run(boolean register, int projectId, int studentId, int registrationId) throws SQLException;
+    }
+
+    /**
+     * Runs the benchmark without and with the per-student locks.
+     * @param args Optionally, the number of threads (default 16) and of students (default 8)
+     * @throws Exception if the setup fails
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int students = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        System.out.printf("%d threads, %d students, %d cores%n", threads, students,
+                Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 2; round++) {
+            run("DAO only (before)", threads, students, dao -> (register, projectId, studentId, registrationId) -> {
+                if (register) {
+                    dao.createProjectRegistration(projectId, studentId);
+                } else {
+                    dao.assignRegistration(registrationId);
+                }
+            });
+            run("RegistrationService (after)", threads, students, dao -> {
+                RegistrationService service = new RegistrationService(dao, null, new WaitlistService(dao));
+                return (register, projectId, studentId, registrationId) -> {
+                    if (register) {
+                        service.createProjectRegistration(projectId, studentId);
+                    } else {
+                        service.assignRegistration(registrationId);
+                    }
+                };
+            });
+        }
+    }
+
+    /**
+     * Factory of the operation under test for a fresh database.
+     */
+    @FunctionalInterface
+    private interface Subject {
+        Operation create(ProjectRegistrationsDAO dao);
+    }
+
+    /**
+     * Runs one measurement on a fresh database and prints its line.
+     * @param name The name of the measurement
+     * @param threads The number of threads
+     * @param students The number of students
+     * @param subject The operation under test
+     * @throws Exception if the setup fails
+     */
+    private static void run(String name, int threads, int students, Subject subject) throws Exception {
+        EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            DatabaseManager databaseManager = new DatabaseManager(dataSource);
+            ProjectRegistrationsDAO dao = new ProjectRegistrationsDAO(databaseManager);
+            List<Integer> studentIds = populate(databaseManager, dao, students);
+            int maxRegistrationId = queryInt(databaseManager, "SELECT MAX(registration_id) FROM project_registrations");
+            Operation operation = subject.create(dao);
+
+            AtomicInteger failures = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(100 + t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        try {
+                            operation.run(random.nextInt(3) == 0, 1 + random.nextInt(PROJECTS + 4),
+                                    studentIds.get(random.nextInt(studentIds.size())),
+                                    1 + random.nextInt(maxRegistrationId));
+                        } catch (SQLException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            executor.shutdown();
+
+            int doubleAssigned = queryInt(databaseManager, "SELECT COUNT(*) FROM (SELECT student_id " +
+                    "FROM project_registrations WHERE registration_state = 2 GROUP BY student_id HAVING COUNT(*) > 1)");
+            int leftOver = queryInt(databaseManager, "SELECT COUNT(DISTINCT w.student_id) FROM project_registrations w " +
+                    "WHERE w.registration_state = 1 AND EXISTS (SELECT 1 FROM project_registrations a " +
+                    "WHERE a.student_id = w.student_id AND a.registration_state = 2)");
+            System.out.printf("%-28s %9.0f ops/s %6d failed %4d double-assigned %4d with left-over registrations%n",
+                    name, threads * OPERATIONS_PER_THREAD / seconds, failures.get(), doubleAssigned, leftOver);
+        } finally {
+            dataSource.shutdown();
+        }
+    }
+
+    /**
+     * Adds the students and projects, and registers every student for five projects.
+     * @param databaseManager The database
+     * @param dao The registrations DAO
+     * @param students The number of students to add
+     * @return The IDs of all students
+     * @throws SQLException if a database access error occurs
+     */
+    private static List<Integer> populate(DatabaseManager databaseManager, ProjectRegistrationsDAO dao, int students)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement()) {
+            for (int i = 0; i < students; i++) {
+                stmt.execute("INSERT INTO users (name, username, password, type_id) " +
+                        "VALUES ('Student " + i + "', 's" + i + "', 'password', 1)");
+            }
+            for (int i = 0; i < PROJECTS; i++) {
+                stmt.execute("INSERT INTO projects (title, description, staff_id, available) " +
+                        "VALUES ('Project " + i + "', '', 2, 1)");
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT user_id FROM users WHERE type_id = 1")) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        Random random = new Random(1);
+        for (int studentId : ids) {
+            for (int i = 0; i < 5; i++) {
+                dao.createProjectRegistration(1 + random.nextInt(PROJECTS + 4), studentId);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Runs a query returning one integer.
+     * @param databaseManager The database
+     * @param sql The query
+     * @return The integer
+     * @throws SQLException if a database access error occurs
+     */
+    private static int queryInt(DatabaseManager databaseManager, String sql) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
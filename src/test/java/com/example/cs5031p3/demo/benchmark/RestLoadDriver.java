@@ -0,0 +1,324 @@
+package com.example.cs5031p3.demo.benchmark;
+
+import com.example.cs5031p3.demo.backend.enums.RegistrationStateEnum;
+import com.example.cs5031p3.demo.backend.enums.TypeEnum;
+import com.example.cs5031p3.demo.backend.model.SyntheticCohort;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A closed-loop HTTP load test of the REST API, simulating the registration-opening rush: thousands of virtual
+ * students and staff members each run a script against a running backend, waiting for every response and a think
+ * time before their next request. Students log in, then repeatedly list the first page of the catalogue and a random
+ * page, register for a project on it and list their registrations. Staff members log in, then repeatedly list their
+ * projects and the registrations for them, and assign one waiting registration if there is any.
+ * <p>
+ * Requests are sent with the asynchronous {@link HttpClient} API, so the virtual users need no thread each. The
+ * latency of every request is recorded in microseconds in a {@link LatencyHistogram} per endpoint, and the run ends
+ * with a table of request counts, status classes, throughput and latency percentiles. As the loop is closed, a slow
+ * server also slows the offered load, so the percentiles describe what the simulated users saw.
+ * <p>
+ * The virtual users are the generated users of the {@code cohort} profile, so start the backend with it first, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.arguments=--spring.profiles.active=cohort}. This is a plain
+ * main-method harness rather than a unit test, so it is not run by the build. Run it with
+ * {@code java -cp target/classes:target/test-classes:<dependency classpath> com.example.cs5031p3.demo.benchmark.RestLoadDriver [baseUrl] [students] [staff] [seconds] [thinkMillis] [projects]}.
+ */
+public class RestLoadDriver {
+
+    private static final String PASSWORD = "password";
+    private static final int PAGE_SIZE = 50;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final long thinkMillis;
+    private final int projects;
+    private final long deadline;
+    private final ExecutorService executor;
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+
+    /**
+     * The counts and latencies of one endpoint.
+     */
+    private static final class EndpointStats {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    /**
+     * Prepares a run.
+     * @param baseUrl The URL of the backend, without a trailing slash
+     * @param seconds The length of the run
+     * @param thinkMillis The mean pause of a virtual user between two requests
+     * @param projects The number of projects, from which the random catalogue pages are drawn
+     */
+    private RestLoadDriver(String baseUrl, int seconds, long thinkMillis, int projects) {
+        this.baseUrl = baseUrl;
+        this.thinkMillis = thinkMillis;
+        this.projects = projects;
+        this.deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Runs the load test and prints the report.
+     * @param args Optionally, the backend URL (default http://localhost:8080), the number of virtual students
+     *             (default 2000) and staff members (default 100), the length of the run in seconds (default 60), the
+     *             mean think time in milliseconds (default 500) and the number of projects (default 2000)
+     */
+    public static void main(String[] args) {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int students = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int staff = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        long thinkMillis = args.length > 4 ? Long.parseLong(args[4]) : 500;
+        int projects = args.length > 5 ? Integer.parseInt(args[5]) : 2000;
+
+        RestLoadDriver driver = new RestLoadDriver(baseUrl, seconds, thinkMillis, projects);
+        System.out.printf("%d students and %d staff against %s for %d s, %d ms think time%n",
+                students, staff, baseUrl, seconds, thinkMillis);
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> users = new ArrayList<>(students + staff);
+        for (int i = 0; i < students; i++) {
+            users.add(driver.start(new Student(driver, SyntheticCohort.studentUsername(i))));
+        }
+        for (int i = 0; i < staff; i++) {
+            users.add(driver.start(new Staff(driver, SyntheticCohort.staffUsername(i))));
+        }
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).join();
+        driver.executor.shutdown();
+        driver.report((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * A scripted virtual user.
+     */
+    private abstract static class VirtualUser {
+        protected final RestLoadDriver driver;
+        protected final String username;
+        protected Integer userId;
+
+        VirtualUser(RestLoadDriver driver, String username) {
+            this.driver = driver;
+            this.username = username;
+        }
+
+        /**
+         * Logs in, or runs one round of the script once logged in.
+         * @return The completion of the requests
+         */
+        CompletableFuture<Void> step() {
+            return userId == null ? login() : round();
+        }
+
+        /**
+         * Logs in and keeps the user ID for the rest of the script.
+         * @return The completion of the login
+         */
+        private CompletableFuture<Void> login() {
+            TypeEnum type = this instanceof Student ? TypeEnum.STUDENT : TypeEnum.STAFF;
+            String json = String.format("{\"username\":\"%s\", \"password\":\"%s\", \"typeId\":%d}",
+                    username, PASSWORD, type.getCode());
+            return driver.send("POST /user/login", driver.post("/user/login", json)).thenAccept(response -> {
+                JsonObject body = JsonParser.parseString(response.body()).getAsJsonObject();
+                if (body.get("code").getAsInt() == 0) {
+                    userId = body.getAsJsonObject("data").get("id").getAsInt();
+                }
+            });
+        }
+
+        /**
+         * Runs one round of the script.
+         * @return The completion of the requests
+         */
+        abstract CompletableFuture<Void> round();
+    }
+
+    /**
+     * A student browsing the catalogue and registering for projects.
+     */
+    private static final class Student extends VirtualUser {
+
+        Student(RestLoadDriver driver, String username) {
+            super(driver, username);
+        }
+
+        @Override
+        CompletableFuture<Void> round() {
+            int after = ThreadLocalRandom.current().nextInt(Math.max(1, driver.projects));
+            return driver.send("GET /project/all", driver.get("/project/all?after=0&limit=" + PAGE_SIZE))
+                    .thenCompose(first -> driver.send("GET /project/all",
+                            driver.get("/project/all?after=" + after + "&limit=" + PAGE_SIZE)))
+                    .thenCompose(page -> {
+                        JsonArray items = JsonParser.parseString(page.body()).getAsJsonObject()
+                                .getAsJsonArray("items");
+                        if (items.size() == 0) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        int projectId = items.get(ThreadLocalRandom.current().nextInt(items.size()))
+                                .getAsJsonObject().get("id").getAsInt();
+                        String json = String.format("{\"projectId\":%d, \"studentId\":%d}", projectId, userId);
+                        return driver.send("POST /registration/create", driver.post("/registration/create", json));
+                    })
+                    .thenCompose(created -> driver.send("GET /registration/student/{id}",
+                            driver.get("/registration/student/" + userId)))
+                    .thenApply(registrations -> null);
+        }
+    }
+
+    /**
+     * A staff member reviewing the registrations for their projects.
+     */
+    private static final class Staff extends VirtualUser {
+
+        Staff(RestLoadDriver driver, String username) {
+            super(driver, username);
+        }
+
+        @Override
+        CompletableFuture<Void> round() {
+            return driver.send("GET /project/staff/{id}", driver.get("/project/staff/" + userId))
+                    .thenCompose(projects -> driver.send("GET /registration/students-registration/{id}",
+                            driver.get("/registration/students-registration/" + userId)))
+                    .thenCompose(listing -> {
+                        JsonElement body = JsonParser.parseString(listing.body());
+                        if (!body.isJsonArray()) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        for (JsonElement element : body.getAsJsonArray()) {
+                            JsonObject registration = element.getAsJsonObject();
+                            if (registration.get("registrationState").getAsInt()
+                                    == RegistrationStateEnum.WAIT.getCode()) {
+                                int registrationId = registration.get("registrationId").getAsInt();
+                                return driver.send("PUT /registration/assign/{id}", HttpRequest.newBuilder()
+                                        .uri(URI.create(driver.baseUrl + "/registration/assign/" + registrationId))
+                                        .PUT(HttpRequest.BodyPublishers.noBody())
+                                        .build());
+                            }
+                        }
+                        return CompletableFuture.completedFuture(null);
+                    })
+                    .thenApply(assigned -> null);
+        }
+    }
+
+    /**
+     * Starts the script of a virtual user after a random delay of up to one think time, so that the users do not
+     * all send their first request at once.
+     * @param user The virtual user
+     * @return The completion of the script at the end of the run
+     */
+    private CompletableFuture<Void> start(VirtualUser user) {
+        return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(
+                        ThreadLocalRandom.current().nextLong(thinkMillis + 1), TimeUnit.MILLISECONDS, executor))
+                .thenCompose(ignored -> loop(user));
+    }
+
+    /**
+     * Runs rounds of a script, each after a think time, until the run is over. A failed round is counted by the
+     * endpoint it failed on and the user carries on with the next one.
+     * @param user The virtual user
+     * @return The completion of the script
+     */
+    private CompletableFuture<Void> loop(VirtualUser user) {
+        if (System.nanoTime() - deadline >= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // Exponential think times, with a mean of thinkMillis, keep the users from falling into lockstep
+        long think = (long) (-thinkMillis * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+        return user.step()
+                .handle((result, failure) -> null)
+                .thenComposeAsync(ignored -> loop(user),
+                        CompletableFuture.delayedExecutor(think, TimeUnit.MILLISECONDS, executor));
+    }
+
+    /**
+     * Sends a request and records its latency and status under an endpoint.
+     * @param endpoint The name the endpoint is reported under
+     * @param request The request
+     * @return The response
+     */
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, name -> new EndpointStats());
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            endpointStats.latencies.record((System.nanoTime() - start) / 1_000);
+            if (failure != null) {
+                endpointStats.failures.increment();
+            } else if (response.statusCode() >= 500) {
+                endpointStats.serverErrors.increment();
+            } else if (response.statusCode() >= 400) {
+                endpointStats.clientErrors.increment();
+            } else {
+                endpointStats.successes.increment();
+            }
+        });
+    }
+
+    /**
+     * Builds a GET request.
+     * @param path The path and query of the URL
+     * @return The request
+     */
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).GET().build();
+    }
+
+    /**
+     * Builds a POST request with a JSON body.
+     * @param path The path of the URL
+     * @param json The body
+     * @return The request
+     */
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Prints one line per endpoint with its counts, throughput and latency percentiles in milliseconds. Client
+     * errors include expected rejections, such as registering twice for a project; failures are requests that got
+     * no response.
+     * @param seconds The length of the run
+     */
+    private void report(double seconds) {
+        System.out.printf("%-44s %8s %7s %7s %7s %7s %9s %8s %8s %8s %8s %8s%n", "endpoint", "requests", "2xx",
+                "4xx", "5xx", "failed", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            LatencyHistogram h = s.latencies;
+            long requests = h.count();
+            System.out.printf("%-44s %8d %7d %7d %7d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", entry.getKey(),
+                    requests, s.successes.sum(), s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum(),
+                    requests / seconds, h.percentile(50) / 1e3, h.percentile(90) / 1e3, h.percentile(99) / 1e3,
+                    h.percentile(99.9) / 1e3, h.max() / 1e3);
+        }
+    }
+}